@@ -0,0 +1,59 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.cassandra.utils.MD5Digest;
+
+import com.datastax.driver.core.ColumnDefinitions.Definition;
+
+/**
+ * In-memory driver objects for the benchmarks. Rows, column definitions and
+ * prepared statements have no public constructor so this class lives in the
+ * driver package
+ */
+public class DriverStubs {
+	public static final String KEYSPACE = "achilles_benchmarks";
+
+	public static ColumnDefinitions columnDefinitions(String table, List<String> names, List<DataType> types) {
+		Definition[] definitions = new Definition[names.size()];
+		for (int i = 0; i < names.size(); i++) {
+			definitions[i] = new Definition(KEYSPACE, table, names.get(i), types.get(i));
+		}
+		return new ColumnDefinitions(definitions);
+	}
+
+	public static Row row(ColumnDefinitions metadata, List<ByteBuffer> data) {
+		return Row.fromData(metadata, data);
+	}
+
+	public static PreparedStatement preparedStatement(ColumnDefinitions variables, String query) {
+		try {
+			Constructor<PreparedStatement> constructor = PreparedStatement.class.getDeclaredConstructor(
+					ColumnDefinitions.class, MD5Digest.class, int[].class, String.class, String.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(variables, MD5Digest.compute(query), null, query, KEYSPACE);
+		} catch (Exception e) {
+			throw new AchillesException("Cannot create stub prepared statement for query '" + query + "'", e);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.CQLEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.Row;
+
+/**
+ * Mapping of a CQL row to an entity, as done by CQLEntityLoader and slice
+ * queries for each loaded row
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CQLRowMappingBenchmark {
+
+	private CQLEntityMapper mapper = new CQLEntityMapper();
+	private CQLRowMethodInvoker invoker = new CQLRowMethodInvoker();
+
+	private EntityMeta meta;
+	private Row row;
+	private PropertyMeta namePm;
+	private PropertyMeta userPm;
+	private PropertyMeta preferencesPm;
+
+	@Setup
+	public void setUp() {
+		meta = EntityMetaFixtures.parse(EntityMetaFixtures.configContext(Impl.CQL), CompleteBean.class);
+		row = CQLStubs.eagerRow(meta, EntityMetaFixtures.completeBean());
+		namePm = meta.getPropertyMetas().get("name");
+		userPm = meta.getPropertyMetas().get("user");
+		preferencesPm = meta.getPropertyMetas().get("preferences");
+	}
+
+	@Benchmark
+	public CompleteBean mapEagerProperties() {
+		CompleteBean entity = new CompleteBean();
+		mapper.setEagerPropertiesToEntity(row, meta, entity);
+		return entity;
+	}
+
+	@Benchmark
+	public Object invokeOnRowForSimpleField() {
+		return invoker.invokeOnRowForFields(row, namePm);
+	}
+
+	@Benchmark
+	public Object invokeOnRowForJSONField() {
+		return invoker.invokeOnRowForFields(row, userPm);
+	}
+
+	@Benchmark
+	public Object invokeOnRowForMap() {
+		return invoker.invokeOnRowForFields(row, preferencesPm);
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementBinder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.PreparedStatement;
+
+/**
+ * Binding of entity values to prepared statements, as done for each persist
+ * and merge
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CQLStatementBindingBenchmark {
+
+	private CQLPreparedStatementBinder binder = new CQLPreparedStatementBinder();
+
+	private EntityMeta meta;
+	private CompleteBean entity;
+	private List<PropertyMeta> dirtyMetas;
+	private PreparedStatement insertPS;
+	private PreparedStatement updatePS;
+
+	@Setup
+	public void setUp() {
+		meta = EntityMetaFixtures.parse(EntityMetaFixtures.configContext(Impl.CQL), CompleteBean.class);
+		entity = EntityMetaFixtures.completeBean();
+		dirtyMetas = Arrays.asList(meta.getPropertyMetas().get("name"), meta.getPropertyMetas().get("user"),
+				meta.getPropertyMetas().get("preferences"));
+		insertPS = CQLStubs.insertStatement(meta);
+		updatePS = CQLStubs.updateStatement(meta, dirtyMetas);
+	}
+
+	@Benchmark
+	public BoundStatementWrapper bindForInsert() {
+		return binder.bindForInsert(insertPS, meta, entity);
+	}
+
+	@Benchmark
+	public BoundStatementWrapper bindForUpdate() {
+		return binder.bindForUpdate(updatePS, meta, dirtyMetas, entity);
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.cql.CQLTypeMapper.toCQLType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DataType.Name;
+import com.datastax.driver.core.DriverStubs;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+
+/**
+ * Builds driver rows and prepared statements matching an EntityMeta, as the
+ * CQL table creator would have declared the columns
+ */
+public class CQLStubs {
+
+	private static final Map<Name, DataType> primitiveTypes = new HashMap<Name, DataType>();
+
+	static {
+		for (DataType dataType : DataType.allPrimitiveTypes()) {
+			primitiveTypes.put(dataType.getName(), dataType);
+		}
+	}
+
+	public static Row eagerRow(EntityMeta meta, Object entity) {
+		List<PropertyMeta> pms = new ArrayList<PropertyMeta>();
+		if (!meta.getEagerMetas().contains(meta.getIdMeta())) {
+			pms.add(meta.getIdMeta());
+		}
+		pms.addAll(meta.getEagerMetas());
+
+		List<ByteBuffer> data = new ArrayList<ByteBuffer>();
+		for (PropertyMeta pm : pms) {
+			data.add(serialize(pm, pm.getValueFromField(entity)));
+		}
+		return DriverStubs.row(columnDefinitions(meta, pms), data);
+	}
+
+	public static PreparedStatement insertStatement(EntityMeta meta) {
+		List<PropertyMeta> pms = new ArrayList<PropertyMeta>();
+		pms.add(meta.getIdMeta());
+		for (PropertyMeta pm : meta.getAllMetasExceptIdMeta()) {
+			if (!pm.isCounter()) {
+				pms.add(pm);
+			}
+		}
+		ColumnDefinitions variables = columnDefinitions(meta, pms);
+
+		List<String> columns = columnNames(pms);
+		String query = "INSERT INTO " + meta.getTableName() + "(" + StringUtils.join(columns, ",") + ") VALUES ("
+				+ StringUtils.join(Collections.nCopies(columns.size(), "?"), ",") + ");";
+		return DriverStubs.preparedStatement(variables, query);
+	}
+
+	public static PreparedStatement updateStatement(EntityMeta meta, List<PropertyMeta> pms) {
+		List<PropertyMeta> variableMetas = new ArrayList<PropertyMeta>(pms);
+		variableMetas.add(meta.getIdMeta());
+		ColumnDefinitions variables = columnDefinitions(meta, variableMetas);
+
+		List<String> assignments = new ArrayList<String>();
+		for (String column : columnNames(pms)) {
+			assignments.add(column + "=?");
+		}
+		String query = "UPDATE " + meta.getTableName() + " SET " + StringUtils.join(assignments, ",") + " WHERE "
+				+ meta.getIdMeta().getPropertyName().toLowerCase() + "=?;";
+		return DriverStubs.preparedStatement(variables, query);
+	}
+
+	public static DataType dataType(PropertyMeta pm) {
+		switch (pm.type()) {
+		case LIST:
+		case LAZY_LIST:
+			return DataType.list(primitive(pm.getValueClassForTableCreation()));
+		case SET:
+		case LAZY_SET:
+			return DataType.set(primitive(pm.getValueClassForTableCreation()));
+		case MAP:
+		case LAZY_MAP:
+			return DataType.map(primitive(pm.getKeyClass()), primitive(pm.getValueClassForTableCreation()));
+		default:
+			return primitive(pm.getValueClassForTableCreation());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ByteBuffer serialize(PropertyMeta pm, Object value) {
+		if (value == null) {
+			return null;
+		}
+		Object encoded;
+		switch (pm.type()) {
+		case LIST:
+		case LAZY_LIST:
+			encoded = pm.encode((List<Object>) value);
+			break;
+		case SET:
+		case LAZY_SET:
+			encoded = pm.encode((Set<?>) value);
+			break;
+		case MAP:
+		case LAZY_MAP:
+			encoded = pm.encode((Map<?, ?>) value);
+			break;
+		default:
+			encoded = pm.encode(value);
+			break;
+		}
+		return dataType(pm).serialize(encoded);
+	}
+
+	private static ColumnDefinitions columnDefinitions(EntityMeta meta, List<PropertyMeta> pms) {
+		List<DataType> types = new ArrayList<DataType>();
+		for (PropertyMeta pm : pms) {
+			types.add(dataType(pm));
+		}
+		return DriverStubs.columnDefinitions(meta.getTableName(), columnNames(pms), types);
+	}
+
+	private static List<String> columnNames(List<PropertyMeta> pms) {
+		List<String> names = new ArrayList<String>();
+		for (PropertyMeta pm : pms) {
+			names.add(pm.getPropertyName().toLowerCase());
+		}
+		return names;
+	}
+
+	private static DataType primitive(Class<?> javaType) {
+		return primitiveTypes.get(toCQLType(javaType));
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.consistency.CQLConsistencyLevelPolicy;
+import info.archinnov.achilles.consistency.ThriftConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.parsing.EntityParser;
+import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.HashMap;
+
+/**
+ * Entity metadata and sample entities shared by the benchmarks. Metadata are
+ * built by the real EntityParser so the benchmarks exercise the same
+ * invokers and transcoders as a running PersistenceManager
+ */
+public class EntityMetaFixtures {
+
+	public static ConfigurationContext configContext(Impl impl) {
+		AchillesConsistencyLevelPolicy policy;
+		if (impl == Impl.CQL) {
+			policy = new CQLConsistencyLevelPolicy(ConsistencyLevel.ONE, ConsistencyLevel.ONE,
+					new HashMap<String, ConsistencyLevel>(), new HashMap<String, ConsistencyLevel>());
+		} else {
+			policy = new ThriftConsistencyLevelPolicy(ConsistencyLevel.ONE, ConsistencyLevel.ONE,
+					new HashMap<String, ConsistencyLevel>(), new HashMap<String, ConsistencyLevel>());
+		}
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setImpl(impl);
+		configContext.setConsistencyPolicy(policy);
+		configContext.setObjectMapperFactory(new DefaultObjectMapperFactory());
+		return configContext;
+	}
+
+	public static EntityMeta parse(ConfigurationContext configContext, Class<?> entityClass) {
+		return new EntityParser().parseEntity(new EntityParsingContext(configContext, entityClass));
+	}
+
+	public static CompleteBean completeBean() {
+		UserBean user = new UserBean();
+		user.setUserId(10L);
+		user.setName("user");
+
+		CompleteBean bean = CompleteBeanTestBuilder.builder().id(1234567L).name("DuyHai").age(35L)
+				.addFriends("foo", "bar", "qux").addFollowers("George", "Paul", "Ringo")
+				.addPreference(1, "FR").addPreference(2, "Paris").addPreference(3, "75014").buid();
+		bean.setUser(user);
+		return bean;
+	}
+}
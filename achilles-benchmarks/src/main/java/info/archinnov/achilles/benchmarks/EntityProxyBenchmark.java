@@ -0,0 +1,96 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.context.CQLImmediateFlushContext;
+import info.archinnov.achilles.context.CQLPersistenceContext;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Proxy creation and EntityInterceptor getter/setter dispatch. Intercepted
+ * accessors are compared to the plain entity accessors. Only eager properties
+ * are accessed so no statement is ever executed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityProxyBenchmark {
+
+	private CQLEntityProxifier proxifier = new CQLEntityProxifier();
+
+	private CompleteBean entity;
+	private CompleteBean proxy;
+	private CQLPersistenceContext context;
+
+	@Setup
+	public void setUp() {
+		ConfigurationContext configContext = EntityMetaFixtures.configContext(Impl.CQL);
+		EntityMeta meta = EntityMetaFixtures.parse(configContext, CompleteBean.class);
+		entity = EntityMetaFixtures.completeBean();
+		context = new CQLPersistenceContext(meta, configContext, null, new CQLImmediateFlushContext(null, null),
+				entity, OptionsBuilder.noOptions());
+		proxy = proxifier.buildProxy(entity, context);
+	}
+
+	@Benchmark
+	public CompleteBean buildProxy() {
+		return proxifier.buildProxy(entity, context);
+	}
+
+	@Benchmark
+	public String plainGetter() {
+		return entity.getName();
+	}
+
+	@Benchmark
+	public String interceptedGetter() {
+		return proxy.getName();
+	}
+
+	@Benchmark
+	public CompleteBean plainSetter() {
+		entity.setName("DuyHai");
+		return entity;
+	}
+
+	@Benchmark
+	public CompleteBean interceptedSetter() {
+		proxy.setName("DuyHai");
+		return proxy;
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.composite.ThriftCompositeFactory;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import me.prettyprint.hector.api.beans.Composite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Thrift column name composites built for each property write, read and
+ * clustered slice query
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ThriftCompositeBenchmark {
+
+	private ThriftCompositeFactory factory = new ThriftCompositeFactory();
+
+	private PropertyMeta namePm;
+	private PropertyMeta friendsPm;
+	private PropertyMeta preferencesPm;
+	private PropertyMeta embeddedIdPm;
+	private List<Object> clusteringFrom;
+	private List<Object> clusteringTo;
+
+	@Setup
+	public void setUp() {
+		ConfigurationContext configContext = EntityMetaFixtures.configContext(Impl.THRIFT);
+		EntityMeta meta = EntityMetaFixtures.parse(configContext, CompleteBean.class);
+		EntityMeta clusteredMeta = EntityMetaFixtures.parse(configContext, ClusteredEntity.class);
+
+		namePm = meta.getPropertyMetas().get("name");
+		friendsPm = meta.getPropertyMetas().get("friends");
+		preferencesPm = meta.getPropertyMetas().get("preferences");
+		embeddedIdPm = clusteredMeta.getIdMeta();
+		clusteringFrom = Arrays.<Object> asList(10L, "a");
+		clusteringTo = Arrays.<Object> asList(10L, "z");
+	}
+
+	@Benchmark
+	public Composite createForBatchInsertSingleValue() {
+		return factory.createForBatchInsertSingleValue(namePm);
+	}
+
+	@Benchmark
+	public Composite createForBatchInsertList() {
+		return factory.createForBatchInsertList(friendsPm, 12);
+	}
+
+	@Benchmark
+	public Composite createForBatchInsertSetOrMap() {
+		return factory.createForBatchInsertSetOrMap(preferencesPm, "1");
+	}
+
+	@Benchmark
+	public Composite createBaseForGet() {
+		return factory.createBaseForGet(namePm);
+	}
+
+	@Benchmark
+	public Composite[] createForClusteredQuery() {
+		return factory.createForClusteredQuery(embeddedIdPm, clusteringFrom, clusteringTo,
+				BoundingMode.INCLUSIVE_BOUNDS, OrderingMode.ASCENDING);
+	}
+}
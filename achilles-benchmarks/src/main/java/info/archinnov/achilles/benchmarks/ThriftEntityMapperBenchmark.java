@@ -0,0 +1,116 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.serializer.ThriftSerializerUtils.COMPOSITE_SRZ;
+import info.archinnov.achilles.composite.ThriftCompositeFactory;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.ThriftEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import me.prettyprint.hector.api.beans.Composite;
+
+import org.apache.cassandra.utils.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of Thrift columns to an entity, as done by ThriftEntityLoader for
+ * each loaded entity. Column names go through a serialization round trip so
+ * they are decoded lazily like the ones returned by Hector
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ThriftEntityMapperBenchmark {
+
+	private ThriftEntityMapper mapper = new ThriftEntityMapper();
+	private ThriftCompositeFactory factory = new ThriftCompositeFactory();
+
+	private EntityMeta meta;
+	private Object primaryKey;
+	private List<Pair<Composite, String>> columns = new ArrayList<Pair<Composite, String>>();
+
+	@Setup
+	public void setUp() {
+		meta = EntityMetaFixtures.parse(EntityMetaFixtures.configContext(Impl.THRIFT), CompleteBean.class);
+		CompleteBean entity = EntityMetaFixtures.completeBean();
+		primaryKey = entity.getId();
+
+		for (PropertyMeta pm : meta.getAllMetasExceptIdMeta()) {
+			Object value = pm.getValueFromField(entity);
+			if (value == null) {
+				continue;
+			}
+			switch (pm.type()) {
+			case SIMPLE:
+				addColumn(factory.createForBatchInsertSingleValue(pm), pm.forceEncodeToJSON(value));
+				break;
+			case LIST:
+				int position = 0;
+				for (Object element : (List<?>) value) {
+					addColumn(factory.createForBatchInsertList(pm, position++), pm.forceEncodeToJSON(element));
+				}
+				break;
+			case SET:
+				for (Object element : (Iterable<?>) value) {
+					addColumn(factory.createForBatchInsertSetOrMap(pm, pm.forceEncodeToJSON(element)), "");
+				}
+				break;
+			case MAP:
+				for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+					addColumn(factory.createForBatchInsertSetOrMap(pm, pm.forceEncodeToJSON(entry.getKey())),
+							pm.forceEncodeToJSON(entry.getValue()));
+				}
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	@Benchmark
+	public CompleteBean mapEagerProperties() {
+		CompleteBean entity = new CompleteBean();
+		mapper.setEagerPropertiesToEntity(primaryKey, columns, meta, entity);
+		return entity;
+	}
+
+	private void addColumn(Composite name, String value) {
+		Composite serialized = COMPOSITE_SRZ.fromByteBuffer(COMPOSITE_SRZ.toByteBuffer(name));
+		columns.add(Pair.create(serialized, value));
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.benchmarks;
+
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of property values by the transcoders of
+ * entity.metadata.transcoding: simple, JSON serialized, map and compound
+ * primary key values
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TranscoderBenchmark {
+
+	private PropertyMeta agePm;
+	private PropertyMeta userPm;
+	private PropertyMeta preferencesPm;
+	private PropertyMeta embeddedIdPm;
+
+	private CompleteBean entity;
+	private Object encodedUser;
+	private Map<Object, Object> encodedPreferences;
+	private EmbeddedKey embeddedKey;
+	private List<Object> components;
+
+	@Setup
+	public void setUp() {
+		ConfigurationContext configContext = EntityMetaFixtures.configContext(Impl.CQL);
+		EntityMeta meta = EntityMetaFixtures.parse(configContext, CompleteBean.class);
+		EntityMeta clusteredMeta = EntityMetaFixtures.parse(configContext, ClusteredEntity.class);
+
+		agePm = meta.getPropertyMetas().get("age_in_years");
+		userPm = meta.getPropertyMetas().get("user");
+		preferencesPm = meta.getPropertyMetas().get("preferences");
+		embeddedIdPm = clusteredMeta.getIdMeta();
+
+		entity = EntityMetaFixtures.completeBean();
+		encodedUser = userPm.encode(entity.getUser());
+		encodedPreferences = preferencesPm.encode(entity.getPreferences());
+		embeddedKey = new EmbeddedKey(10L, "name");
+		components = embeddedIdPm.encodeToComponents(embeddedKey);
+	}
+
+	@Benchmark
+	public Object encodeSimple() {
+		return agePm.encode(entity.getAge());
+	}
+
+	@Benchmark
+	public Object encodeJSON() {
+		return userPm.encode(entity.getUser());
+	}
+
+	@Benchmark
+	public Object decodeJSON() {
+		return userPm.decode(encodedUser);
+	}
+
+	@Benchmark
+	public Object encodeMap() {
+		return preferencesPm.encode(entity.getPreferences());
+	}
+
+	@Benchmark
+	public Object decodeMap() {
+		return preferencesPm.decode(encodedPreferences);
+	}
+
+	@Benchmark
+	public Object encodeCompoundKey() {
+		return embeddedIdPm.encodeToComponents(embeddedKey);
+	}
+
+	@Benchmark
+	public Object decodeCompoundKey() {
+		return embeddedIdPm.decodeFromComponents(components);
+	}
+}
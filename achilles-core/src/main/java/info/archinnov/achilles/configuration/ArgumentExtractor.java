@@ -18,10 +18,18 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import info.archinnov.achilles.context.ReadCoalescer;
+import info.archinnov.achilles.context.ReadHedger;
 import info.archinnov.achilles.json.DefaultObjectMapperFactory;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.MetricsListener;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
+import info.archinnov.achilles.writebehind.WriteBehindSettings;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -53,6 +61,85 @@ public abstract class ArgumentExtractor {
 		}
 	}
 
+	public boolean initProxyLessReads(Map<String, Object> configurationMap) {
+		Boolean proxyLessReads = (Boolean) configurationMap.get(PROXY_LESS_READS_PARAM);
+		return proxyLessReads != null && proxyLessReads;
+	}
+
+	public ReadCoalescer initReadCoalescer(Map<String, Object> configurationMap) {
+		Boolean coalescing = (Boolean) configurationMap.get(READ_COALESCING_ENABLE_PARAM);
+		return new ReadCoalescer(coalescing != null && coalescing);
+	}
+
+	public ReadHedger initReadHedger(Map<String, Object> configurationMap) {
+		Boolean hedging = (Boolean) configurationMap.get(READ_HEDGING_ENABLE_PARAM);
+		if (hedging == null || !hedging) {
+			return ReadHedger.disabled();
+		}
+
+		long delayMillis = ReadHedger.DEFAULT_DELAY_MILLIS;
+		if (configurationMap.containsKey(READ_HEDGING_DELAY_MILLIS_PARAM)) {
+			delayMillis = ((Number) configurationMap.get(READ_HEDGING_DELAY_MILLIS_PARAM)).longValue();
+			Validator.validateTrue(delayMillis > 0, "The '%s' parameter should be strictly positive",
+					READ_HEDGING_DELAY_MILLIS_PARAM);
+		}
+
+		Double percentile = (Double) configurationMap.get(READ_HEDGING_PERCENTILE_PARAM);
+		if (percentile != null) {
+			Validator.validateTrue(percentile > 0 && percentile < 1, "The '%s' parameter should be between 0 and 1",
+					READ_HEDGING_PERCENTILE_PARAM);
+		}
+
+		double maxRatio = ReadHedger.DEFAULT_MAX_RATIO;
+		if (configurationMap.containsKey(READ_HEDGING_MAX_RATIO_PARAM)) {
+			maxRatio = (Double) configurationMap.get(READ_HEDGING_MAX_RATIO_PARAM);
+			Validator.validateTrue(maxRatio > 0 && maxRatio <= 1, "The '%s' parameter should be between 0 and 1",
+					READ_HEDGING_MAX_RATIO_PARAM);
+		}
+		return new ReadHedger(delayMillis, percentile, maxRatio);
+	}
+
+	public WriteBehindSettings initWriteBehindSettings(Map<String, Object> configurationMap) {
+		Object journalDir = configurationMap.get(WRITE_BEHIND_JOURNAL_DIR_PARAM);
+		if (journalDir == null) {
+			return null;
+		}
+		File journalDirectory = journalDir instanceof File ? (File) journalDir : new File(journalDir.toString());
+
+		int segmentSize = initStrictlyPositive(configurationMap, WRITE_BEHIND_SEGMENT_SIZE_PARAM,
+				WriteBehindSettings.DEFAULT_SEGMENT_SIZE);
+		int maxSegments = initStrictlyPositive(configurationMap, WRITE_BEHIND_MAX_SEGMENTS_PARAM,
+				WriteBehindSettings.DEFAULT_MAX_SEGMENTS);
+		int batchSize = initStrictlyPositive(configurationMap, WRITE_BEHIND_BATCH_SIZE_PARAM,
+				WriteBehindSettings.DEFAULT_BATCH_SIZE);
+		int maxAttempts = initStrictlyPositive(configurationMap, WRITE_BEHIND_MAX_ATTEMPTS_PARAM,
+				WriteBehindSettings.DEFAULT_MAX_ATTEMPTS);
+		Boolean sync = (Boolean) configurationMap.get(WRITE_BEHIND_SYNC_PARAM);
+
+		return new WriteBehindSettings(journalDirectory, segmentSize, maxSegments, batchSize, maxAttempts,
+				sync != null && sync);
+	}
+
+	private int initStrictlyPositive(Map<String, Object> configurationMap, String param, int defaultValue) {
+		Integer value = (Integer) configurationMap.get(param);
+		if (value == null) {
+			return defaultValue;
+		}
+		Validator.validateTrue(value > 0, "The '%s' parameter should be strictly positive", param);
+		return value;
+	}
+
+	public int initBulkMaxInFlight(Map<String, Object> configurationMap) {
+		Integer maxInFlight = (Integer) configurationMap.get(BULK_MAX_IN_FLIGHT_PARAM);
+		if (maxInFlight != null) {
+			Validator.validateTrue(maxInFlight > 0, "The '%s' parameter should be strictly positive",
+					BULK_MAX_IN_FLIGHT_PARAM);
+			return maxInFlight;
+		} else {
+			return DEFAULT_BULK_MAX_IN_FLIGHT;
+		}
+	}
+
 	public ObjectMapperFactory initObjectMapperFactory(Map<String, Object> configurationMap) {
 		ObjectMapperFactory objectMapperFactory = (ObjectMapperFactory) configurationMap
 				.get(OBJECT_MAPPER_FACTORY_PARAM);
@@ -68,6 +155,42 @@ public abstract class ArgumentExtractor {
 		return objectMapperFactory;
 	}
 
+	public AchillesMetrics initMetrics(Map<String, Object> configurationMap) {
+		Boolean enabled = (Boolean) configurationMap.get(METRICS_ENABLE_PARAM);
+		if (enabled == null || !enabled) {
+			return AchillesMetrics.disabled();
+		}
+		Boolean jmxEnabled = (Boolean) configurationMap.get(METRICS_JMX_ENABLE_PARAM);
+
+		@SuppressWarnings("unchecked")
+		List<MetricsListener> listeners = (List<MetricsListener>) configurationMap.get(METRICS_LISTENERS_PARAM);
+
+		return new AchillesMetrics(true, jmxEnabled == null || jmxEnabled, listeners);
+	}
+
+	public SlowStatementLogger initSlowStatementLogger(Map<String, Object> configurationMap) {
+		Number thresholdValue = (Number) configurationMap.get(SLOW_STATEMENT_THRESHOLD_PARAM);
+		Long threshold = thresholdValue == null ? null : thresholdValue.longValue();
+
+		@SuppressWarnings("unchecked")
+		Map<String, ? extends Number> thresholdValues = (Map<String, ? extends Number>) configurationMap
+				.get(SLOW_STATEMENT_THRESHOLD_MAP_PARAM);
+		Map<String, Long> thresholdMap = null;
+		if (thresholdValues != null) {
+			thresholdMap = new HashMap<String, Long>();
+			for (Entry<String, ? extends Number> entry : thresholdValues.entrySet()) {
+				thresholdMap.put(entry.getKey(), entry.getValue().longValue());
+			}
+		}
+
+		Integer maxBoundValues = (Integer) configurationMap.get(SLOW_STATEMENT_MAX_BOUND_VALUES_PARAM);
+		if (maxBoundValues == null) {
+			maxBoundValues = SlowStatementLogger.DEFAULT_MAX_BOUND_VALUES;
+		}
+
+		return new SlowStatementLogger(threshold, thresholdMap, maxBoundValues);
+	}
+
 	protected static ObjectMapperFactory factoryFromMapper(final ObjectMapper mapper) {
 		return new ObjectMapperFactory() {
 			@Override
@@ -32,5 +32,33 @@ public interface ConfigurationParameters {
 
 	String FORCE_CF_CREATION_PARAM = "achilles.ddl.force.column.family.creation";
 
+	String METRICS_ENABLE_PARAM = "achilles.metrics.enable";
+	String METRICS_JMX_ENABLE_PARAM = "achilles.metrics.jmx.enable";
+	String METRICS_LISTENERS_PARAM = "achilles.metrics.listeners";
+
+	String SLOW_STATEMENT_THRESHOLD_PARAM = "achilles.slow.statement.threshold.ms";
+	String SLOW_STATEMENT_THRESHOLD_MAP_PARAM = "achilles.slow.statement.threshold.map";
+	String SLOW_STATEMENT_MAX_BOUND_VALUES_PARAM = "achilles.slow.statement.max.bound.values";
+
+	String PROXY_LESS_READS_PARAM = "achilles.proxy.less.reads";
+
+	String BULK_MAX_IN_FLIGHT_PARAM = "achilles.bulk.max.in.flight";
+
+	String READ_COALESCING_ENABLE_PARAM = "achilles.read.coalescing.enable";
+
+	String READ_HEDGING_ENABLE_PARAM = "achilles.read.hedging.enable";
+	String READ_HEDGING_DELAY_MILLIS_PARAM = "achilles.read.hedging.delay.millis";
+	String READ_HEDGING_PERCENTILE_PARAM = "achilles.read.hedging.percentile";
+	String READ_HEDGING_MAX_RATIO_PARAM = "achilles.read.hedging.max.ratio";
+
+	String WRITE_BEHIND_JOURNAL_DIR_PARAM = "achilles.write.behind.journal.dir";
+	String WRITE_BEHIND_SEGMENT_SIZE_PARAM = "achilles.write.behind.segment.size";
+	String WRITE_BEHIND_MAX_SEGMENTS_PARAM = "achilles.write.behind.max.segments";
+	String WRITE_BEHIND_BATCH_SIZE_PARAM = "achilles.write.behind.batch.size";
+	String WRITE_BEHIND_MAX_ATTEMPTS_PARAM = "achilles.write.behind.max.attempts";
+	String WRITE_BEHIND_SYNC_PARAM = "achilles.write.behind.sync";
+
 	ConsistencyLevel DEFAULT_LEVEL = ConsistencyLevel.ONE;
+
+	int DEFAULT_BULK_MAX_IN_FLIGHT = 32;
 }
@@ -16,8 +16,12 @@
  */
 package info.archinnov.achilles.context;
 
+import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
+import info.archinnov.achilles.writebehind.WriteBehindSettings;
 
 public class ConfigurationContext {
 	private boolean forceColumnFamilyCreation;
@@ -28,6 +32,24 @@ public class ConfigurationContext {
 
 	private Impl impl;
 
+	private AchillesMetrics metrics = AchillesMetrics.disabled();
+
+	private SlowStatementLogger slowStatementLogger = SlowStatementLogger.disabled();
+
+	private EntitySnapshotRegistry snapshotRegistry;
+
+	private int bulkMaxInFlight = ConfigurationParameters.DEFAULT_BULK_MAX_IN_FLIGHT;
+
+	private WrittenKeysRecorder writtenKeysRecorder = new WrittenKeysRecorder();
+
+	private NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+
+	private ReadCoalescer readCoalescer = ReadCoalescer.disabled();
+
+	private ReadHedger readHedger = ReadHedger.disabled();
+
+	private WriteBehindSettings writeBehindSettings;
+
 	public boolean isForceColumnFamilyCreation() {
 		return forceColumnFamilyCreation;
 	}
@@ -52,6 +74,82 @@ public class ConfigurationContext {
 		this.objectMapperFactory = objectMapperFactory;
 	}
 
+	public AchillesMetrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(AchillesMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public SlowStatementLogger getSlowStatementLogger() {
+		return slowStatementLogger;
+	}
+
+	public void setSlowStatementLogger(SlowStatementLogger slowStatementLogger) {
+		this.slowStatementLogger = slowStatementLogger;
+	}
+
+	public boolean isProxyLessReads() {
+		return snapshotRegistry != null;
+	}
+
+	public EntitySnapshotRegistry getSnapshotRegistry() {
+		return snapshotRegistry;
+	}
+
+	public void setSnapshotRegistry(EntitySnapshotRegistry snapshotRegistry) {
+		this.snapshotRegistry = snapshotRegistry;
+	}
+
+	public int getBulkMaxInFlight() {
+		return bulkMaxInFlight;
+	}
+
+	public void setBulkMaxInFlight(int bulkMaxInFlight) {
+		this.bulkMaxInFlight = bulkMaxInFlight;
+	}
+
+	public WrittenKeysRecorder getWrittenKeysRecorder() {
+		return writtenKeysRecorder;
+	}
+
+	public void setWrittenKeysRecorder(WrittenKeysRecorder writtenKeysRecorder) {
+		this.writtenKeysRecorder = writtenKeysRecorder;
+	}
+
+	public NegativeLookupCache getNegativeLookupCache() {
+		return negativeLookupCache;
+	}
+
+	public void setNegativeLookupCache(NegativeLookupCache negativeLookupCache) {
+		this.negativeLookupCache = negativeLookupCache;
+	}
+
+	public ReadCoalescer getReadCoalescer() {
+		return readCoalescer;
+	}
+
+	public void setReadCoalescer(ReadCoalescer readCoalescer) {
+		this.readCoalescer = readCoalescer;
+	}
+
+	public ReadHedger getReadHedger() {
+		return readHedger;
+	}
+
+	public void setReadHedger(ReadHedger readHedger) {
+		this.readHedger = readHedger;
+	}
+
+	public WriteBehindSettings getWriteBehindSettings() {
+		return writeBehindSettings;
+	}
+
+	public void setWriteBehindSettings(WriteBehindSettings writeBehindSettings) {
+		this.writeBehindSettings = writeBehindSettings;
+	}
+
 	public Impl getImpl() {
 		return impl;
 	}
@@ -61,6 +159,6 @@ public class ConfigurationContext {
 	}
 
 	public static enum Impl {
-		THRIFT, CQL;
+		THRIFT, CQL, MEMORY;
 	}
 }
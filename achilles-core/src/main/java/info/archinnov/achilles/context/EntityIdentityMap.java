@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit of work scoped cache of 'managed' entities, keyed by entity class and
+ * primary key.
+ *
+ * <strong>This class is not thread-safe. It should be bound to a single
+ * state-full PersistenceManager</strong>
+ */
+public class EntityIdentityMap {
+	private static final Logger log = LoggerFactory.getLogger(EntityIdentityMap.class);
+
+	private Map<Class<?>, Map<Object, Object>> entities = new HashMap<Class<?>, Map<Object, Object>>();
+
+	public <T> T get(Class<T> entityClass, Object primaryKey) {
+		Map<Object, Object> entitiesByKey = entities.get(entityClass);
+		if (entitiesByKey == null) {
+			return null;
+		}
+		return entityClass.cast(entitiesByKey.get(primaryKey));
+	}
+
+	public void put(Class<?> entityClass, Object primaryKey, Object proxy) {
+		log.trace("Registering entity of class {} and primary key {} in identity map", entityClass, primaryKey);
+
+		Map<Object, Object> entitiesByKey = entities.get(entityClass);
+		if (entitiesByKey == null) {
+			entitiesByKey = new HashMap<Object, Object>();
+			entities.put(entityClass, entitiesByKey);
+		}
+		entitiesByKey.put(primaryKey, proxy);
+	}
+
+	public void evict(Class<?> entityClass, Object primaryKey) {
+		log.trace("Evicting entity of class {} and primary key {} from identity map", entityClass, primaryKey);
+
+		Map<Object, Object> entitiesByKey = entities.get(entityClass);
+		if (entitiesByKey != null) {
+			entitiesByKey.remove(primaryKey);
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Map<Object, Object> entitiesByKey : entities.values()) {
+			size += entitiesByKey.size();
+		}
+		return size;
+	}
+
+	public void clear() {
+		log.trace("Clearing identity map");
+		entities.clear();
+	}
+}
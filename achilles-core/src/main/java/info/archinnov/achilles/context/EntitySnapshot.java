@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * State of a plain entity returned by a proxy-less read: a copy of the
+ * encoded value of each mapped column, counters excepted.
+ * 
+ * Used by merge() to find the dirty properties without interception
+ */
+public class EntitySnapshot {
+
+	private final List<PropertyMeta> metas;
+	private final Object[] encodedValues;
+
+	public EntitySnapshot(EntityMeta entityMeta, Object entity) {
+		this.metas = entityMeta.getAllMetasExceptIdMeta();
+		this.encodedValues = new Object[metas.size()];
+		for (int i = 0; i < metas.size(); i++) {
+			encodedValues[i] = copy(encode(metas.get(i), entity));
+		}
+	}
+
+	public Map<Method, PropertyMeta> dirtyMap(Object entity) {
+		Map<Method, PropertyMeta> dirtyMap = new HashMap<Method, PropertyMeta>();
+		for (int i = 0; i < metas.size(); i++) {
+			PropertyMeta pm = metas.get(i);
+			if (!Arrays.deepEquals(new Object[] { encode(pm, entity) }, new Object[] { encodedValues[i] })) {
+				dirtyMap.put(pm.getSetter(), pm);
+			}
+		}
+		return dirtyMap;
+	}
+
+	private Object encode(PropertyMeta pm, Object entity) {
+		if (pm.isCounter()) {
+			return null;
+		}
+		Object value = pm.getValueFromField(entity);
+		if (value == null) {
+			return null;
+		}
+
+		switch (pm.type()) {
+		case LIST:
+		case LAZY_LIST:
+			return pm.encode((List<?>) value);
+		case SET:
+		case LAZY_SET:
+			return pm.encode((Set<?>) value);
+		case MAP:
+		case LAZY_MAP:
+			return pm.encode((Map<?, ?>) value);
+		default:
+			return pm.encode(value);
+		}
+	}
+
+	/**
+	 * Encoded values may share mutable instances with the entity (dates,
+	 * buffers, collections), keep a private copy of them
+	 */
+	private Object copy(Object encoded) {
+		if (encoded instanceof Date) {
+			return new Date(((Date) encoded).getTime());
+		} else if (encoded instanceof ByteBuffer) {
+			ByteBuffer source = ((ByteBuffer) encoded).duplicate();
+			ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+			copy.put(source).flip();
+			return copy;
+		} else if (encoded instanceof byte[]) {
+			return ((byte[]) encoded).clone();
+		} else if (encoded instanceof List) {
+			List<Object> copy = new ArrayList<Object>();
+			for (Object element : (List<?>) encoded) {
+				copy.add(copy(element));
+			}
+			return copy;
+		} else if (encoded instanceof Set) {
+			Set<Object> copy = new LinkedHashSet<Object>();
+			for (Object element : (Set<?>) encoded) {
+				copy.add(copy(element));
+			}
+			return copy;
+		} else if (encoded instanceof Map) {
+			Map<Object, Object> copy = new HashMap<Object, Object>();
+			for (Entry<?, ?> entry : ((Map<?, ?>) encoded).entrySet()) {
+				copy.put(copy(entry.getKey()), copy(entry.getValue()));
+			}
+			return copy;
+		}
+		return encoded;
+	}
+}
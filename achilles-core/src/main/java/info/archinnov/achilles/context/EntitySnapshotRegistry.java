@@ -0,0 +1,57 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Snapshots of the plain entities returned by proxy-less reads.
+ * 
+ * Entities are compared by identity and weakly referenced, so an entity no
+ * longer used by the application does not leak its snapshot. This class is
+ * thread-safe
+ */
+public class EntitySnapshotRegistry {
+	private static final Logger log = LoggerFactory.getLogger(EntitySnapshotRegistry.class);
+
+	private ConcurrentMap<Object, EntitySnapshot> snapshots = new MapMaker().weakKeys().makeMap();
+
+	public void register(EntityMeta entityMeta, Object entity) {
+		log.trace("Taking snapshot of entity {}", entity);
+		snapshots.put(entity, new EntitySnapshot(entityMeta, entity));
+	}
+
+	public EntitySnapshot get(Object entity) {
+		return snapshots.get(entity);
+	}
+
+	public void evict(Object entity) {
+		log.trace("Evicting snapshot of entity {}", entity);
+		snapshots.remove(entity);
+	}
+
+	public int size() {
+		return snapshots.size();
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Recent find() misses of the entities annotated with @NegativeCache, keyed by
+ * the JSON encoded primary key so that compound keys without equals() are
+ * matched too. Entity classes which are not registered are never cached.
+ * 
+ * Each invalidation bumps a generation counter of the key. A lookup reads the
+ * generation before hitting Cassandra and its miss is only recorded if no
+ * write invalidated the key in between. Generations are kept per stripe of
+ * keys to bound memory, so a write to another key of the same stripe only
+ * prevents caching the miss.
+ * 
+ * This class is thread-safe
+ */
+public class NegativeLookupCache {
+	private static final Logger log = LoggerFactory.getLogger(NegativeLookupCache.class);
+
+	private static final Boolean MISS = Boolean.TRUE;
+	private static final int GENERATION_STRIPES = 1024;
+
+	private Map<Class<?>, Cache<String, Boolean>> misses = new ConcurrentHashMap<Class<?>, Cache<String, Boolean>>();
+	private Map<Class<?>, AtomicLongArray> generations = new ConcurrentHashMap<Class<?>, AtomicLongArray>();
+
+	public void register(Class<?> entityClass, int maxSize, int expireAfterSeconds) {
+		log.debug("Caching up to {} missing primary keys for {} seconds for entity class {}", maxSize,
+				expireAfterSeconds, entityClass.getCanonicalName());
+
+		Cache<String, Boolean> cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+				.expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS).build();
+		generations.put(entityClass, new AtomicLongArray(GENERATION_STRIPES));
+		misses.put(entityClass, cache);
+	}
+
+	public boolean isEnabled(Class<?> entityClass) {
+		return misses.containsKey(entityClass);
+	}
+
+	public boolean isKnownMiss(Class<?> entityClass, String encodedPrimaryKey) {
+		Cache<String, Boolean> cache = misses.get(entityClass);
+		return cache != null && cache.getIfPresent(encodedPrimaryKey) != null;
+	}
+
+	/**
+	 * Generation of the key, to be read before looking the entity up and
+	 * passed back to recordMiss()
+	 */
+	public long generation(Class<?> entityClass, String encodedPrimaryKey) {
+		AtomicLongArray stripes = generations.get(entityClass);
+		return stripes == null ? 0 : stripes.get(stripe(encodedPrimaryKey));
+	}
+
+	public void recordMiss(Class<?> entityClass, String encodedPrimaryKey) {
+		recordMiss(entityClass, encodedPrimaryKey, generation(entityClass, encodedPrimaryKey));
+	}
+
+	/**
+	 * Record a miss unless the key was invalidated since the given generation
+	 * was read. The generation is checked again after the miss is stored so
+	 * that an invalidation racing with this call always wins
+	 */
+	public void recordMiss(Class<?> entityClass, String encodedPrimaryKey, long lookupGeneration) {
+		Cache<String, Boolean> cache = misses.get(entityClass);
+		if (cache == null || generation(entityClass, encodedPrimaryKey) != lookupGeneration) {
+			return;
+		}
+		log.trace("Recording missing entity of class {} and primary key {}", entityClass, encodedPrimaryKey);
+		cache.put(encodedPrimaryKey, MISS);
+		if (generation(entityClass, encodedPrimaryKey) != lookupGeneration) {
+			cache.invalidate(encodedPrimaryKey);
+		}
+	}
+
+	public void invalidate(Class<?> entityClass, String encodedPrimaryKey) {
+		Cache<String, Boolean> cache = misses.get(entityClass);
+		if (cache != null) {
+			generations.get(entityClass).incrementAndGet(stripe(encodedPrimaryKey));
+			cache.invalidate(encodedPrimaryKey);
+		}
+	}
+
+	public void invalidateAll() {
+		for (Map.Entry<Class<?>, Cache<String, Boolean>> entry : misses.entrySet()) {
+			AtomicLongArray stripes = generations.get(entry.getKey());
+			for (int i = 0; i < GENERATION_STRIPES; i++) {
+				stripes.incrementAndGet(i);
+			}
+			entry.getValue().invalidateAll();
+		}
+	}
+
+	private int stripe(String encodedPrimaryKey) {
+		int hash = encodedPrimaryKey.hashCode();
+		return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+	}
+}
@@ -205,6 +205,28 @@ public abstract class PersistenceContext {
 		return options.getTimestamp();
 	}
 
+	public Optional<String> getFetchGroup() {
+		return options.getFetchGroup();
+	}
+
+	public boolean isProxyLess() {
+		return loadEagerFields && configContext.isProxyLessReads();
+	}
+
+	public void registerSnapshot(Object entity) {
+		configContext.getSnapshotRegistry().register(entityMeta, entity);
+	}
+
+	public EntitySnapshot getSnapshot(Object entity) {
+		return configContext.isProxyLessReads() ? configContext.getSnapshotRegistry().get(entity) : null;
+	}
+
+	public void evictSnapshot(Object entity) {
+		if (configContext.isProxyLessReads()) {
+			configContext.getSnapshotRegistry().evict(entity);
+		}
+	}
+
 	public Optional<ConsistencyLevel> getConsistencyLevel() {
 		return Optional.fromNullable(flushContext.getConsistencyLevel());
 	}
@@ -0,0 +1,144 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Coalesces concurrent identical reads. The first thread reading a given key
+ * executes the read, the threads asking for the same key while it is in
+ * flight wait for it and share its raw result. Nothing is kept once the read
+ * completes, so a read starting after the previous one returned always goes
+ * to Cassandra.
+ * 
+ * The DAOs call recordWrite() for each write they execute. A read never joins
+ * an in-flight read which started before the last recorded write, otherwise
+ * a thread reading its own write could get the result of a read issued
+ * before it. Such a read goes to Cassandra and the later identical reads
+ * join it instead. Coalescing is disabled by default.
+ * 
+ * Keys must identify the statement, its bound values and the consistency
+ * level. Shared results must not be mutated by the callers, each of them maps
+ * its own entity or proxy.
+ * 
+ * This class is thread-safe
+ */
+public class ReadCoalescer {
+	private static final Logger log = LoggerFactory.getLogger(ReadCoalescer.class);
+
+	private final boolean enabled;
+	private final ConcurrentMap<Object, InFlightRead<?>> inFlight = new ConcurrentHashMap<Object, InFlightRead<?>>();
+	private final AtomicLong writes = new AtomicLong();
+
+	public static ReadCoalescer disabled() {
+		return new ReadCoalescer(false);
+	}
+
+	public ReadCoalescer(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T read(Object key, Callable<T> read) {
+		if (!enabled) {
+			return call(read);
+		}
+
+		InFlightRead<T> task = new InFlightRead<T>(read, writes.get());
+		InFlightRead<T> pending = (InFlightRead<T>) inFlight.putIfAbsent(key, task);
+		if (pending != null) {
+			if (pending.writesAtStart == task.writesAtStart) {
+				log.trace("Joining in-flight read for key {}", key);
+				return await(pending);
+			}
+			log.trace("In-flight read for key {} started before the last write, reading again", key);
+			if (!inFlight.replace(key, pending, task)) {
+				return call(read);
+			}
+		}
+
+		try {
+			task.run();
+		} finally {
+			inFlight.remove(key, task);
+		}
+		return await(task);
+	}
+
+	/**
+	 * Record a write, once it is acknowledged. Reads in flight at that time
+	 * are no longer joined
+	 */
+	public void recordWrite() {
+		if (enabled) {
+			writes.incrementAndGet();
+		}
+	}
+
+	int inFlightCount() {
+		return inFlight.size();
+	}
+
+	private <T> T call(Callable<T> read) {
+		try {
+			return read.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new AchillesException(e);
+		}
+	}
+
+	private <T> T await(FutureTask<T> task) {
+		try {
+			return Uninterruptibles.getUninterruptibly(task);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new AchillesException(cause);
+		}
+	}
+
+	private static class InFlightRead<T> extends FutureTask<T> {
+		private final long writesAtStart;
+
+		private InFlightRead(Callable<T> read, long writesAtStart) {
+			super(read);
+			this.writesAtStart = writesAtStart;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.metrics.LatencyHistogram;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Hedges idempotent reads. When the first request has not completed after
+ * the hedge delay, a duplicate request is sent and the first successful
+ * result wins. The read fails only if both requests fail.
+ * 
+ * The delay is either fixed or, once enough reads were observed, the given
+ * percentile of the latencies of the first requests. Hedges are capped to a
+ * ratio of the reads with a token bucket: each read earns maxRatio token,
+ * each hedge costs one and at most MAX_BURST tokens are kept.
+ * 
+ * This class is thread-safe
+ */
+public class ReadHedger {
+	private static final Logger log = LoggerFactory.getLogger(ReadHedger.class);
+
+	public static final long DEFAULT_DELAY_MILLIS = 10;
+	public static final double DEFAULT_MAX_RATIO = 0.1;
+
+	static final int WARMUP_READS = 100;
+	static final long MAX_BURST = 10;
+	private static final long TOKEN = 1000;
+
+	private final boolean enabled;
+	private final long delayNanos;
+	private final Double percentile;
+	private final long tokensPerRead;
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final AtomicLong tokens = new AtomicLong(MAX_BURST * TOKEN);
+	private final AtomicLong hedgeCount = new AtomicLong();
+
+	public static ReadHedger disabled() {
+		return new ReadHedger(false, DEFAULT_DELAY_MILLIS, null, DEFAULT_MAX_RATIO);
+	}
+
+	/**
+	 * @param delayMillis
+	 *            hedge delay, used until WARMUP_READS reads were observed
+	 *            when a percentile is given
+	 * @param percentile
+	 *            between 0 and 1, e.g. 0.95, or null for a fixed delay
+	 * @param maxRatio
+	 *            maximum ratio of hedged reads, between 0 and 1
+	 */
+	public ReadHedger(long delayMillis, Double percentile, double maxRatio) {
+		this(true, delayMillis, percentile, maxRatio);
+	}
+
+	private ReadHedger(boolean enabled, long delayMillis, Double percentile, double maxRatio) {
+		this.enabled = enabled;
+		this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+		this.percentile = percentile;
+		this.tokensPerRead = Math.round(maxRatio * TOKEN);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public long getHedgeDelayNanos() {
+		if (percentile == null || latencies.getCount() < WARMUP_READS) {
+			return delayNanos;
+		}
+		return Math.max(1L, latencies.getPercentileMicros(percentile)) * 1000L;
+	}
+
+	public long getHedgeCount() {
+		return hedgeCount.get();
+	}
+
+	/**
+	 * Execute a read, sending hedgeRequest if request has not completed
+	 * within the hedge delay and the hedge budget allows it
+	 */
+	public <T> T read(Callable<ListenableFuture<T>> request, Callable<ListenableFuture<T>> hedgeRequest) {
+		if (!enabled) {
+			return await(call(request));
+		}
+
+		earnToken();
+		final long start = System.nanoTime();
+		ListenableFuture<T> first = call(request);
+		first.addListener(new Runnable() {
+			@Override
+			public void run() {
+				latencies.record(System.nanoTime() - start);
+			}
+		}, MoreExecutors.sameThreadExecutor());
+
+		try {
+			return Uninterruptibles.getUninterruptibly(first, getHedgeDelayNanos(), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		} catch (TimeoutException e) {
+			if (!spendToken()) {
+				log.trace("Hedge budget exhausted, waiting for the first read");
+				return await(first);
+			}
+		}
+
+		log.trace("Read not completed after {} ns, sending hedged read", System.nanoTime() - start);
+		hedgeCount.incrementAndGet();
+		return await(firstSuccessful(first, call(hedgeRequest)));
+	}
+
+	private void earnToken() {
+		long current = tokens.get();
+		while (current < MAX_BURST * TOKEN
+				&& !tokens.compareAndSet(current, Math.min(MAX_BURST * TOKEN, current + tokensPerRead))) {
+			current = tokens.get();
+		}
+	}
+
+	private boolean spendToken() {
+		long current = tokens.get();
+		while (current >= TOKEN) {
+			if (tokens.compareAndSet(current, current - TOKEN)) {
+				return true;
+			}
+			current = tokens.get();
+		}
+		return false;
+	}
+
+	private <T> ListenableFuture<T> firstSuccessful(ListenableFuture<T> first, ListenableFuture<T> second) {
+		final SettableFuture<T> result = SettableFuture.create();
+		final AtomicInteger failures = new AtomicInteger();
+		FutureCallback<T> callback = new FutureCallback<T>() {
+			@Override
+			public void onSuccess(T value) {
+				result.set(value);
+			}
+
+			@Override
+			public void onFailure(Throwable error) {
+				if (failures.incrementAndGet() == 2) {
+					result.setException(error);
+				}
+			}
+		};
+		Futures.addCallback(first, callback);
+		Futures.addCallback(second, callback);
+		return result;
+	}
+
+	private <T> ListenableFuture<T> call(Callable<ListenableFuture<T>> request) {
+		try {
+			return request.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new AchillesException(e);
+		}
+	}
+
+	private <T> T await(ListenableFuture<T> future) {
+		try {
+			return Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+
+	private RuntimeException unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		return new AchillesException(cause);
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cassandra.utils.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Primary keys of the entities written through the PersistenceManagers of a
+ * factory, so that JUnit resources can delete them instead of truncating the
+ * tables.
+ * 
+ * Recording is disabled by default and enabled by the resources for the
+ * duration of a test only. This class is thread-safe
+ */
+public class WrittenKeysRecorder {
+	private static final Logger log = LoggerFactory.getLogger(WrittenKeysRecorder.class);
+
+	private AtomicInteger enabledCount = new AtomicInteger(0);
+
+	private Queue<Pair<Class<?>, Object>> writtenKeys = new ConcurrentLinkedQueue<Pair<Class<?>, Object>>();
+
+	/**
+	 * Start recording. Calls are counted so that recording stays enabled
+	 * until each caller has called disable()
+	 */
+	public void enable() {
+		enabledCount.incrementAndGet();
+	}
+
+	public void disable() {
+		int count;
+		do {
+			count = enabledCount.get();
+		} while (count > 0 && !enabledCount.compareAndSet(count, count - 1));
+	}
+
+	public boolean isEnabled() {
+		return enabledCount.get() > 0;
+	}
+
+	public void record(Class<?> entityClass, Object primaryKey) {
+		if (isEnabled()) {
+			log.trace("Recording written entity of class {} and primary key {}", entityClass, primaryKey);
+			writtenKeys.add(Pair.<Class<?>, Object> create(entityClass, primaryKey));
+		}
+	}
+
+	/**
+	 * Remove all the recorded keys, grouped by entity class in write order
+	 */
+	public Map<Class<?>, Set<Object>> drain() {
+		Map<Class<?>, Set<Object>> keysByClass = new LinkedHashMap<Class<?>, Set<Object>>();
+		Pair<Class<?>, Object> writtenKey;
+		while ((writtenKey = writtenKeys.poll()) != null) {
+			Set<Object> keys = keysByClass.get(writtenKey.left);
+			if (keys == null) {
+				keys = new LinkedHashSet<Object>();
+				keysByClass.put(writtenKey.left, keys);
+			}
+			keys.add(writtenKey.right);
+		}
+		return keysByClass;
+	}
+
+	public int size() {
+		return writtenKeys.size();
+	}
+}
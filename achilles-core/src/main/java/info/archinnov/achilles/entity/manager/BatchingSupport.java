@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batch session of a batching persistence manager, common to all the
+ * implementations.
+ * 
+ * Statements are queued in the batch flush context and only sent at
+ * endBatch(). Consistency levels can only be set at batch start
+ */
+public class BatchingSupport<FLUSH_CONTEXT extends FlushContext<?>> {
+	private static final Logger log = LoggerFactory.getLogger(BatchingSupport.class);
+
+	static final String RUNTIME_CONSISTENCY_LEVEL_MESSAGE = "Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'";
+
+	private PersistenceManager<?> manager;
+	private FLUSH_CONTEXT flushContext;
+
+	public BatchingSupport(PersistenceManager<?> manager, FLUSH_CONTEXT flushContext) {
+		this.manager = manager;
+		this.flushContext = flushContext;
+	}
+
+	public FLUSH_CONTEXT getFlushContext() {
+		return flushContext;
+	}
+
+	public void startBatch() {
+		log.debug("Starting batch mode");
+		flushContext.startBatch();
+	}
+
+	public void startBatch(ConsistencyLevel consistencyLevel) {
+		log.debug("Starting batch mode with consistency level {}", consistencyLevel);
+		startBatch();
+		flushContext.setConsistencyLevel(consistencyLevel);
+	}
+
+	/**
+	 * Flush the pending statements then reset the batch, evict the written
+	 * keys from the negative cache and clear the identity map, even if the
+	 * flush failed
+	 */
+	public void endBatch() {
+		log.debug("Ending batch mode");
+		try {
+			flushContext.endBatch();
+		} finally {
+			flushContext.cleanUp();
+			manager.evictBatchWritesFromNegativeCache();
+			manager.closeSession();
+		}
+	}
+
+	public void cleanBatch() {
+		log.debug("Cleaning all pending statements");
+		flushContext.cleanUp();
+		manager.evictBatchWritesFromNegativeCache();
+		manager.closeSession();
+	}
+
+	public void validateNoConsistencyLevel(Options options) {
+		validateNoConsistencyLevel(options.getConsistencyLevel().orNull());
+	}
+
+	/**
+	 * Reject a runtime consistency level. The current batch is cleaned
+	 * before raising the exception
+	 */
+	public void validateNoConsistencyLevel(ConsistencyLevel consistencyLevel) {
+		if (consistencyLevel != null) {
+			flushContext.cleanUp();
+			throw new AchillesException(RUNTIME_CONSISTENCY_LEVEL_MESSAGE);
+		}
+	}
+
+	public void persist(Collection<?> entities) {
+		Validator.validateNotNull(entities, "The entities to be persisted should not be null");
+		for (Object entity : entities) {
+			manager.persist(entity);
+		}
+	}
+
+	public void remove(Collection<?> entities) {
+		Validator.validateNotNull(entities, "The entities to be removed should not be null");
+		for (Object entity : entities) {
+			manager.remove(entity);
+		}
+	}
+
+	public void removeById(Class<?> entityClass, Collection<?> primaryKeys) {
+		Validator.validateNotNull(primaryKeys, "The primary keys should not be null for removal by id");
+		for (Object primaryKey : primaryKeys) {
+			manager.removeById(entityClass, primaryKey);
+		}
+	}
+}
@@ -18,22 +18,32 @@ package info.archinnov.achilles.entity.manager;
 
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.EntityIdentityMap;
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.context.NegativeLookupCache;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.context.WrittenKeysRecorder;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.operations.EntityInitializer;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
 import info.archinnov.achilles.entity.operations.EntityValidator;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
+import org.apache.cassandra.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,12 +62,18 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	protected EntityProxifier<CONTEXT> proxifier;
 	protected EntityValidator<CONTEXT> entityValidator;
 	protected EntityInitializer initializer = new EntityInitializer();
+	protected EntityIdentityMap identityMap;
+	protected WrittenKeysRecorder writtenKeysRecorder;
+	protected NegativeLookupCache negativeLookupCache;
+	private List<Pair<Class<?>, String>> batchEvictions;
 
 	PersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, //
 			ConfigurationContext configContext) {
 		this.entityMetaMap = entityMetaMap;
 		this.configContext = configContext;
 		this.consistencyPolicy = configContext.getConsistencyPolicy();
+		this.writtenKeysRecorder = configContext.getWrittenKeysRecorder();
+		this.negativeLookupCache = configContext.getNegativeLookupCache();
 	}
 
 	/**
@@ -96,6 +112,11 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 
 		CONTEXT context = initPersistenceContext(entity, options);
 		context.persist();
+		recordWrittenKey(context);
+		evictFromNegativeCache(context);
+		if (context.isProxyLess()) {
+			context.registerSnapshot(entity);
+		}
 	}
 
 	/**
@@ -116,6 +137,10 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	 * 
 	 * </strong>
 	 * 
+	 * With proxy-less reads enabled, a plain entity previously returned by a
+	 * read is compared to its snapshot and only the modified properties are
+	 * updated. The same plain entity is returned
+	 * 
 	 * @param entity
 	 *            Entity to be merged
 	 * @return Merged entity or a new proxified entity
@@ -144,6 +169,10 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	 * 
 	 * </strong>
 	 * 
+	 * With proxy-less reads enabled, a plain entity previously returned by a
+	 * read is compared to its snapshot and only the modified properties are
+	 * updated. The same plain entity is returned
+	 * 
 	 * @param entity
 	 *            Entity to be merged
 	 * @param Options
@@ -159,8 +188,13 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
 		}
 		CONTEXT context = initPersistenceContext(entity, options);
-		return context.<T> merge(entity);
-
+		T merged = context.<T> merge(entity);
+		recordWrittenKey(context);
+		evictFromNegativeCache(context);
+		if (identityMap != null) {
+			identityMap.put(context.getEntityClass(), context.getPrimaryKey(), merged);
+		}
+		return merged;
 	}
 
 	/**
@@ -195,6 +229,7 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 		CONTEXT context = initPersistenceContext(entityClass, primaryKey, OptionsBuilder.noOptions());
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
 		context.remove();
+		evictFromIdentityMap(context);
 	}
 
 	/**
@@ -210,9 +245,13 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 			log.debug("Removing entity '{}' with write consistency level {}", proxifier.unwrap(entity), writeLevel);
 
 		entityValidator.validateEntity(entity, entityMetaMap);
-		proxifier.ensureProxy(entity);
 		CONTEXT context = initPersistenceContext(entity, OptionsBuilder.withConsistency(writeLevel));
+		if (context.getSnapshot(entity) == null) {
+			proxifier.ensureProxy(entity);
+		}
 		context.remove();
+		evictFromIdentityMap(context);
+		context.evictSnapshot(entity);
 	}
 
 	/**
@@ -233,6 +272,123 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 		CONTEXT context = initPersistenceContext(entityClass, primaryKey, OptionsBuilder.withConsistency(writeLevel));
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
 		context.remove();
+		evictFromIdentityMap(context);
+	}
+
+	/**
+	 * Persist a collection of entities.
+	 * 
+	 * All the mutations are collected first then sent in a single flush. The
+	 * CQL implementation groups them by partition and sends independent
+	 * partitions concurrently, see 'achilles.bulk.max.in.flight'
+	 * 
+	 * @param entities
+	 *            Entities to be persisted
+	 */
+	public void persist(Collection<?> entities) {
+		Validator.validateNotNull(entities, "The entities to be persisted should not be null");
+		log.debug("Persisting {} entities", entities.size());
+
+		for (Object entity : entities) {
+			entityValidator.validateEntity(entity, entityMetaMap);
+			if (proxifier.isProxy(entity)) {
+				throw new IllegalStateException(
+						"Then entity is already in 'managed' state. Please use the merge() method instead of persist()");
+			}
+		}
+
+		FlushContext<?> flushContext = initBulkFlushContext();
+		Map<Object, CONTEXT> proxyLessContexts = new IdentityHashMap<Object, CONTEXT>();
+		for (Object entity : entities) {
+			CONTEXT context = initBulkPersistenceContext(flushContext, entity);
+			context.persist();
+			recordWrittenKey(context);
+			evictFromNegativeCache(context);
+			if (context.isProxyLess()) {
+				proxyLessContexts.put(entity, context);
+			}
+		}
+		try {
+			flushContext.endBatch();
+		} finally {
+			evictBatchWritesFromNegativeCache();
+		}
+
+		// Snapshots only once written, a merge() would otherwise see no change
+		for (Entry<Object, CONTEXT> entry : proxyLessContexts.entrySet()) {
+			entry.getValue().registerSnapshot(entry.getKey());
+		}
+	}
+
+	/**
+	 * Remove a collection of entities.
+	 * 
+	 * All the mutations are collected first then sent in a single flush
+	 * 
+	 * @param entities
+	 *            Entities to be removed
+	 */
+	public void remove(Collection<?> entities) {
+		Validator.validateNotNull(entities, "The entities to be removed should not be null");
+		log.debug("Removing {} entities", entities.size());
+
+		FlushContext<?> flushContext = initBulkFlushContext();
+		Map<Object, CONTEXT> contexts = new IdentityHashMap<Object, CONTEXT>(entities.size());
+		for (Object entity : entities) {
+			entityValidator.validateEntity(entity, entityMetaMap);
+			CONTEXT context = initBulkPersistenceContext(flushContext, entity);
+			if (context.getSnapshot(entity) == null) {
+				proxifier.ensureProxy(entity);
+			}
+			contexts.put(entity, context);
+		}
+
+		for (CONTEXT context : contexts.values()) {
+			context.remove();
+		}
+		flushContext.endBatch();
+
+		for (Entry<Object, CONTEXT> entry : contexts.entrySet()) {
+			evictFromIdentityMap(entry.getValue());
+			entry.getValue().evictSnapshot(entry.getKey());
+		}
+	}
+
+	/**
+	 * Remove a collection of entities by their id.
+	 * 
+	 * All the mutations are collected first then sent in a single flush
+	 * 
+	 * @param entityClass
+	 *            Entity class
+	 * 
+	 * @param primaryKeys
+	 *            Primary keys
+	 */
+	public void removeById(Class<?> entityClass, Collection<?> primaryKeys) {
+		Validator.validateNotNull(entityClass, "The entity class should not be null for removal by id");
+		Validator.validateNotNull(primaryKeys, "The primary keys should not be null for removal by id");
+		if (log.isDebugEnabled()) {
+			log.debug("Removing {} entities of type '{}' by their id", primaryKeys.size(), entityClass);
+		}
+
+		FlushContext<?> flushContext = initBulkFlushContext();
+		List<CONTEXT> contexts = new ArrayList<CONTEXT>(primaryKeys.size());
+		for (Object primaryKey : primaryKeys) {
+			Validator.validateNotNull(primaryKey, "The primary key should not be null for removal by id");
+			CONTEXT context = initBulkPersistenceContext(flushContext, entityClass, primaryKey);
+			entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+			contexts.add(context);
+		}
+
+		for (CONTEXT context : contexts) {
+			context.remove();
+		}
+		flushContext.endBatch();
+
+		for (CONTEXT context : contexts) {
+			evictFromIdentityMap(context);
+		}
 	}
 
 	/**
@@ -247,7 +403,7 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	 */
 	public <T> T find(Class<T> entityClass, Object primaryKey) {
 		log.debug("Find entity class '{}' with primary key {}", entityClass, primaryKey);
-		return find(entityClass, primaryKey, null);
+		return find(entityClass, primaryKey, (ConsistencyLevel) null);
 	}
 
 	/**
@@ -265,11 +421,60 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	public <T> T find(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
 		log.debug("Find entity class '{}' with primary key {} and read consistency level {}", entityClass, primaryKey,
 				readLevel);
+		return findWithOptions(entityClass, primaryKey, OptionsBuilder.withConsistency(readLevel));
+	}
+
+	/**
+	 * Find an entity with the given options. Only the read consistency level
+	 * and the fetch group are taken into account.
+	 * 
+	 * When a fetch group is provided, only the properties of this group are
+	 * loaded. Other properties are lazy loaded on first access
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key (Cassandra row key) of the entity to load
+	 * @param options
+	 *            options for consistency level and fetch group
+	 * @param entity
+	 *            Found entity or null if no entity is found
+	 */
+	public <T> T find(final Class<T> entityClass, final Object primaryKey, Options options) {
+		log.debug("Find entity class '{}' with primary key {} and options {}", entityClass, primaryKey, options);
+		return findWithOptions(entityClass, primaryKey, options);
+	}
+
+	private <T> T findWithOptions(Class<T> entityClass, Object primaryKey, Options options) {
 		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
 		Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
-		CONTEXT context = initPersistenceContext(entityClass, primaryKey, OptionsBuilder.withConsistency(readLevel));
+		if (identityMap != null) {
+			T managed = identityMap.get(entityClass, primaryKey);
+			if (managed != null) {
+				log.trace("Entity class '{}' with primary key {} found in identity map", entityClass, primaryKey);
+				return managed;
+			}
+		}
+		String missKey = null;
+		long missGeneration = 0;
+		if (negativeLookupCache != null && negativeLookupCache.isEnabled(entityClass)) {
+			missKey = encodePrimaryKey(entityClass, primaryKey);
+			if (negativeLookupCache.isKnownMiss(entityClass, missKey)) {
+				log.trace("Entity class '{}' with primary key {} found in negative cache", entityClass, primaryKey);
+				return null;
+			}
+			missGeneration = negativeLookupCache.generation(entityClass, missKey);
+		}
+		CONTEXT context = initPersistenceContext(entityClass, primaryKey, options);
 		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
-		return context.<T> find(entityClass);
+		T entity = context.<T> find(entityClass);
+		if (identityMap != null && entity != null) {
+			identityMap.put(entityClass, primaryKey, entity);
+		}
+		if (entity == null && missKey != null) {
+			negativeLookupCache.recordMiss(entityClass, missKey, missGeneration);
+		}
+		return entity;
 	}
 
 	/**
@@ -466,6 +671,19 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 		return proxifier.unwrap(proxies);
 	}
 
+	/**
+	 * Close the current unit of work by clearing the identity map, if any.
+	 * 
+	 * Entities previously returned remain 'managed' but subsequent calls to
+	 * find() will hit Cassandra again
+	 */
+	public void closeSession() {
+		log.debug("Closing session");
+		if (identityMap != null) {
+			identityMap.clear();
+		}
+	}
+
 	/**
 	 * Create a new slice query builder for entity of type T<br/>
 	 * <br/>
@@ -476,10 +694,76 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 	 */
 	public abstract <T> SliceQueryBuilder<CONTEXT, T> sliceQuery(Class<T> entityClass);
 
+	/**
+	 * Create a new scan query builder reading the whole table of entity type
+	 * T by parallel token ranges<br/>
+	 * <br/>
+	 * 
+	 * @param entityClass
+	 *            Entity class
+	 * @return ScanQueryBuilder<T>
+	 */
+	public abstract <T> ScanQueryBuilder<T> scan(Class<T> entityClass);
+
 	protected abstract CONTEXT initPersistenceContext(Object entity, Options options);
 
 	protected abstract CONTEXT initPersistenceContext(Class<?> entityClass, Object primaryKey, Options options);
 
+	/**
+	 * Flush context collecting the mutations of a bulk operation until
+	 * endBatch() is called
+	 */
+	protected abstract FlushContext<?> initBulkFlushContext();
+
+	protected abstract CONTEXT initBulkPersistenceContext(FlushContext<?> bulkFlushContext, Object entity);
+
+	protected abstract CONTEXT initBulkPersistenceContext(FlushContext<?> bulkFlushContext, Class<?> entityClass,
+			Object primaryKey);
+
+	private void recordWrittenKey(CONTEXT context) {
+		if (writtenKeysRecorder != null) {
+			writtenKeysRecorder.record(context.getEntityClass(), context.getPrimaryKey());
+		}
+	}
+
+	/**
+	 * In batch mode the entity only reaches Cassandra at endBatch(), so a
+	 * lookup in between could record the key as missing again. The key is
+	 * then invalidated a second time once the batch is flushed
+	 */
+	private void evictFromNegativeCache(CONTEXT context) {
+		Class<?> entityClass = context.getEntityClass();
+		if (negativeLookupCache != null && negativeLookupCache.isEnabled(entityClass)) {
+			String encodedPrimaryKey = encodePrimaryKey(entityClass, context.getPrimaryKey());
+			negativeLookupCache.invalidate(entityClass, encodedPrimaryKey);
+			if (context.isBatchMode()) {
+				if (batchEvictions == null) {
+					batchEvictions = new ArrayList<Pair<Class<?>, String>>();
+				}
+				batchEvictions.add(Pair.<Class<?>, String> create(entityClass, encodedPrimaryKey));
+			}
+		}
+	}
+
+	void evictBatchWritesFromNegativeCache() {
+		if (batchEvictions != null) {
+			for (Pair<Class<?>, String> eviction : batchEvictions) {
+				negativeLookupCache.invalidate(eviction.left, eviction.right);
+			}
+			batchEvictions = null;
+		}
+	}
+
+	private String encodePrimaryKey(Class<?> entityClass, Object primaryKey) {
+		return entityMetaMap.get(entityClass).getIdMeta().forceEncodeToJSON(primaryKey);
+	}
+
+	private void evictFromIdentityMap(CONTEXT context) {
+		if (identityMap != null) {
+			identityMap.evict(context.getEntityClass(), context.getPrimaryKey());
+		}
+	}
+
 	protected Map<Class<?>, EntityMeta> getEntityMetaMap() {
 		return entityMetaMap;
 	}
@@ -516,4 +800,12 @@ public abstract class PersistenceManager<CONTEXT extends PersistenceContext> {
 		this.configContext = configContext;
 	}
 
+	protected EntityIdentityMap getIdentityMap() {
+		return identityMap;
+	}
+
+	protected void setIdentityMap(EntityIdentityMap identityMap) {
+		this.identityMap = identityMap;
+	}
+
 }
@@ -17,14 +17,18 @@
 package info.archinnov.achilles.entity.manager;
 
 import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.EntitySnapshotRegistry;
+import info.archinnov.achilles.context.WrittenKeysRecorder;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.parsing.EntityExplorer;
 import info.archinnov.achilles.entity.parsing.EntityParser;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.validation.Validator;
+import info.archinnov.achilles.writebehind.WriteBehindSettings;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -35,6 +39,9 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
 public abstract class PersistenceManagerFactory {
 	private static final Logger log = LoggerFactory.getLogger(PersistenceManagerFactory.class);
 
@@ -44,6 +51,7 @@ public abstract class PersistenceManagerFactory {
 
 	private EntityParser entityParser = new EntityParser();
 	private EntityExplorer entityExplorer = new EntityExplorer();
+	private WriteBehindPersistenceManager writeBehindManager;
 
 	protected PersistenceManagerFactory(Map<String, Object> configurationMap, ArgumentExtractor argumentExtractor) {
 		Validator.validateNotNull(configurationMap,
@@ -93,10 +101,85 @@ public abstract class PersistenceManagerFactory {
 		configContext.setForceColumnFamilyCreation(argumentExtractor.initForceCFCreation(configurationMap));
 		configContext.setConsistencyPolicy(initConsistencyLevelPolicy(configurationMap, argumentExtractor));
 		configContext.setObjectMapperFactory(argumentExtractor.initObjectMapperFactory(configurationMap));
+		configContext.setMetrics(argumentExtractor.initMetrics(configurationMap));
+		configContext.setSlowStatementLogger(argumentExtractor.initSlowStatementLogger(configurationMap));
+		if (argumentExtractor.initProxyLessReads(configurationMap)) {
+			configContext.setSnapshotRegistry(new EntitySnapshotRegistry());
+		}
+		configContext.setBulkMaxInFlight(argumentExtractor.initBulkMaxInFlight(configurationMap));
+		configContext.setReadCoalescer(argumentExtractor.initReadCoalescer(configurationMap));
+		configContext.setReadHedger(argumentExtractor.initReadHedger(configurationMap));
+		configContext.setWriteBehindSettings(argumentExtractor.initWriteBehindSettings(configurationMap));
 
 		return configContext;
 	}
 
+	/**
+	 * Create a new PersistenceManager. This instance is
+	 * <strong>thread-safe</strong>
+	 * 
+	 * @return PersistenceManager
+	 */
+	public abstract PersistenceManager<?> createPersistenceManager();
+
+	/**
+	 * Return the write-behind PersistenceManager of this factory, creating it
+	 * on first call. Entries left in the journal by a previous run are
+	 * replayed first. Requires the 'achilles.write.behind.journal.dir'
+	 * parameter
+	 * 
+	 * @return WriteBehindPersistenceManager shared by all callers
+	 */
+	public synchronized WriteBehindPersistenceManager getWriteBehindPersistenceManager() {
+		if (writeBehindManager == null) {
+			WriteBehindSettings settings = configContext.getWriteBehindSettings();
+			Validator.validateNotNull(settings, "The '%s' parameter is required for write-behind persistence",
+					ConfigurationParameters.WRITE_BEHIND_JOURNAL_DIR_PARAM);
+			writeBehindManager = new WriteBehindPersistenceManager(createPersistenceManager(), entityMetaMap,
+					configContext.getObjectMapperFactory(), settings, transientWriteFailure());
+		}
+		return writeBehindManager;
+	}
+
+	/**
+	 * Failures after which the write-behind replay waits for Cassandra to be
+	 * back, such as timeouts or unavailable replicas. Other failures are only
+	 * retried a few times. None by default
+	 */
+	protected Predicate<Throwable> transientWriteFailure() {
+		return Predicates.alwaysFalse();
+	}
+
+	/**
+	 * Return the recorder of the primary keys written through the
+	 * PersistenceManagers of this factory. Recording is disabled until
+	 * WrittenKeysRecorder.enable() is called, which the JUnit resources do
+	 * when only written keys should be cleaned up
+	 * 
+	 * @return WrittenKeysRecorder shared by all PersistenceManagers
+	 */
+	public WrittenKeysRecorder getWrittenKeysRecorder() {
+		return configContext.getWrittenKeysRecorder();
+	}
+
+	/**
+	 * Release the resources held by this factory, such as the metrics MBeans
+	 * and the write-behind journal. PersistenceManagers created by this
+	 * factory should not be used afterwards
+	 */
+	public void close() {
+		log.info("Closing Achilles PersistenceManagerFactory");
+		closeWriteBehindManager();
+		configContext.getMetrics().unregisterMBeans();
+	}
+
+	private synchronized void closeWriteBehindManager() {
+		if (writeBehindManager != null) {
+			writeBehindManager.close();
+			writeBehindManager = null;
+		}
+	}
+
 	protected void setEntityPackages(List<String> entityPackages) {
 		this.entityPackages = entityPackages;
 	}
@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.validation.Validator;
+import info.archinnov.achilles.writebehind.JournalEntryCodec;
+import info.archinnov.achilles.writebehind.JournalEntryType;
+import info.archinnov.achilles.writebehind.WriteBehindDeadLetters;
+import info.archinnov.achilles.writebehind.WriteBehindJournal;
+import info.archinnov.achilles.writebehind.WriteBehindReplayer;
+import info.archinnov.achilles.writebehind.WriteBehindSettings;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Predicate;
+
+/**
+ * Write-behind PersistenceManager.
+ * 
+ * persist(), merge() and counter increments are appended to a local
+ * memory-mapped journal and return immediately. A background thread replays
+ * the journal in order to Cassandra through a regular PersistenceManager,
+ * retrying while Cassandra is unavailable. Entries failing with another error
+ * 'achilles.write.behind.max.attempts' times are moved to the dead-letters.log
+ * file of the journal directory. Entries not replayed when the JVM stops are
+ * replayed when the factory creates the write-behind manager again on the
+ * same journal directory.
+ * 
+ * merge() writes the non-null properties loaded in the entity, properties set
+ * to null are not removed. Replay is at-least-once, a counter increment can be
+ * applied twice if the JVM crashes while replaying it.
+ * 
+ * This instance is <strong>thread-safe</strong>
+ */
+public class WriteBehindPersistenceManager {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindPersistenceManager.class);
+
+	private final PersistenceManager<?> manager;
+	private final WriteBehindJournal journal;
+	private final JournalEntryCodec codec;
+	private final WriteBehindReplayer replayer;
+	private final Thread replayerThread;
+
+	WriteBehindPersistenceManager(PersistenceManager<?> manager, Map<Class<?>, EntityMeta> entityMetaMap,
+			ObjectMapperFactory objectMapperFactory, WriteBehindSettings settings,
+			Predicate<Throwable> transientFailure) {
+		this(manager, new WriteBehindJournal(settings.getJournalDirectory(), settings.getSegmentSize(),
+				settings.getMaxSegments(), settings.isSync()), new JournalEntryCodec(entityMetaMap,
+				objectMapperFactory), settings, transientFailure);
+	}
+
+	WriteBehindPersistenceManager(PersistenceManager<?> manager, WriteBehindJournal journal, JournalEntryCodec codec,
+			WriteBehindSettings settings, Predicate<Throwable> transientFailure) {
+		this.manager = manager;
+		this.journal = journal;
+		this.codec = codec;
+		this.replayer = new WriteBehindReplayer(journal, codec, manager, settings.getBatchSize(),
+				settings.getMaxAttempts(), transientFailure, new WriteBehindDeadLetters(settings.getJournalDirectory()));
+		this.replayerThread = new Thread(replayer, "achilles-write-behind");
+		this.replayerThread.setDaemon(true);
+		this.replayerThread.start();
+	}
+
+	/**
+	 * Journal an entity to be persisted
+	 * 
+	 * @param entity
+	 *            Entity to be persisted
+	 */
+	public void persist(Object entity) {
+		log.debug("Writing behind persist of entity '{}'", entity);
+		Validator.validateNotNull(entity, "Cannot write behind persist of null entity");
+
+		if (manager.unwrap(entity) != entity) {
+			throw new IllegalStateException(
+					"Then entity is already in 'managed' state. Please use the merge() method instead of persist()");
+		}
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, entity));
+	}
+
+	/**
+	 * Journal the non-null properties of an entity to be merged
+	 * 
+	 * @param entity
+	 *            Entity or proxy to be merged
+	 */
+	public void merge(Object entity) {
+		log.debug("Writing behind merge of entity '{}'", entity);
+		Validator.validateNotNull(entity, "Cannot write behind merge of null entity");
+
+		journal.append(codec.encodeEntity(JournalEntryType.MERGE, manager.unwrap(entity)));
+	}
+
+	/**
+	 * Journal the increment of a counter property
+	 * 
+	 * @param entityClass
+	 *            Entity type
+	 * @param primaryKey
+	 *            Primary key of the entity
+	 * @param propertyName
+	 *            Name of the counter property
+	 * @param delta
+	 *            Increment, negative to decrement
+	 */
+	public void incrementCounter(Class<?> entityClass, Object primaryKey, String propertyName, long delta) {
+		log.debug("Writing behind increment by {} of counter '{}' of entity class '{}' with primary key {}", delta,
+				propertyName, entityClass, primaryKey);
+
+		journal.append(codec.encodeCounterIncrement(entityClass, primaryKey, propertyName, delta));
+	}
+
+	/**
+	 * @return number of journaled entries not replayed yet
+	 */
+	public int pendingCount() {
+		return journal.pendingCount();
+	}
+
+	/**
+	 * Wait until all the journaled entries are replayed
+	 * 
+	 * @return false if the timeout elapsed before
+	 */
+	public boolean flush(long timeout, TimeUnit unit) {
+		try {
+			return journal.awaitDrained(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException("Interrupted while flushing write-behind journal", e);
+		}
+	}
+
+	/**
+	 * Stop the replay and close the journal. Entries not replayed yet stay in
+	 * the journal
+	 */
+	public void close() {
+		log.debug("Closing write-behind PersistenceManager, {} entries pending", journal.pendingCount());
+		replayer.stop();
+		try {
+			replayerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		journal.close();
+	}
+}
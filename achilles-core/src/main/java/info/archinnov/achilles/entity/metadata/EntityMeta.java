@@ -18,9 +18,11 @@ package info.archinnov.achilles.entity.metadata;
 
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -62,7 +64,9 @@ public class EntityMeta {
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private PropertyMeta firstMeta;
 	private List<PropertyMeta> allMetasExceptIdMeta;
+	private List<PropertyMeta> metasByOrdinal = new ArrayList<PropertyMeta>();
 	private boolean clusteredCounter = false;
+	private Map<String, List<PropertyMeta>> fetchGroups = new HashMap<String, List<PropertyMeta>>();
 
 	public Object getPrimaryKey(Object entity) {
 		return idMeta.getPrimaryKey(entity);
@@ -85,6 +89,21 @@ public class EntityMeta {
 		return (T) invoker.instanciate(entityClass);
 	}
 
+	public List<PropertyMeta> getFetchGroupMetas(String groupName) {
+		List<PropertyMeta> groupMetas = fetchGroups.get(groupName);
+		Validator.validateNotNull(groupMetas, "The fetch group '%s' is not declared on entity '%s'", groupName,
+				className);
+		return groupMetas;
+	}
+
+	public List<Method> getFetchGroupGetters(String groupName) {
+		List<Method> getters = new ArrayList<Method>();
+		for (PropertyMeta pm : getFetchGroupMetas(groupName)) {
+			getters.add(pm.getGetter());
+		}
+		return getters;
+	}
+
 	public boolean hasEmbeddedId() {
 		return idMeta.isEmbeddedId();
 	}
@@ -219,6 +238,36 @@ public class EntityMeta {
 		this.allMetasExceptIdMeta = allMetasExceptIdMeta;
 	}
 
+	public PropertyMeta getMetaByOrdinal(int ordinal) {
+		return metasByOrdinal.get(ordinal);
+	}
+
+	/**
+	 * Whether the property meta carries an ordinal registered for this entity.
+	 * Metas built outside of the entity parsing (ordinal -1) do not
+	 */
+	public boolean hasOrdinal(PropertyMeta propertyMeta) {
+		int ordinal = propertyMeta.getOrdinal();
+		return metasByOrdinal != null && ordinal >= 0 && ordinal < metasByOrdinal.size()
+				&& metasByOrdinal.get(ordinal) == propertyMeta;
+	}
+
+	public List<PropertyMeta> getMetasByOrdinal() {
+		return metasByOrdinal;
+	}
+
+	public void setMetasByOrdinal(List<PropertyMeta> metasByOrdinal) {
+		this.metasByOrdinal = metasByOrdinal;
+	}
+
+	public Map<String, List<PropertyMeta>> getFetchGroups() {
+		return fetchGroups;
+	}
+
+	public void setFetchGroups(Map<String, List<PropertyMeta>> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+	}
+
 	public boolean isClusteredCounter() {
 		return this.clusteredCounter;
 	}
@@ -51,6 +51,7 @@ public class EntityMetaBuilder {
 	private String columnFamilyName;
 	private Map<String, PropertyMeta> propertyMetas;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
+	private Map<String, List<PropertyMeta>> fetchGroups = new HashMap<String, List<PropertyMeta>>();
 
 	public static EntityMetaBuilder entityMetaBuilder(PropertyMeta idMeta) {
 		return new EntityMetaBuilder(idMeta);
@@ -69,6 +70,8 @@ public class EntityMetaBuilder {
 
 		EntityMeta meta = new EntityMeta();
 
+		meta.setMetasByOrdinal(Collections.unmodifiableList(assignOrdinals(propertyMetas)));
+
 		meta.setIdMeta(idMeta);
 		meta.setIdClass(idMeta.getValueClass());
 		meta.setEntityClass(entityClass);
@@ -78,6 +81,7 @@ public class EntityMetaBuilder {
 		meta.setGetterMetas(Collections.unmodifiableMap(extractGetterMetas(propertyMetas)));
 		meta.setSetterMetas(Collections.unmodifiableMap(extractSetterMetas(propertyMetas)));
 		meta.setConsistencyLevels(consistencyLevels);
+		meta.setFetchGroups(Collections.unmodifiableMap(fetchGroups));
 
 		List<PropertyMeta> eagerMetas = FluentIterable.from(propertyMetas.values()).filter(eagerType).toImmutableList();
 
@@ -99,6 +103,19 @@ public class EntityMetaBuilder {
 		return meta;
 	}
 
+	private List<PropertyMeta> assignOrdinals(Map<String, PropertyMeta> propertyMetas) {
+		List<String> propertyNames = new ArrayList<String>(propertyMetas.keySet());
+		Collections.sort(propertyNames);
+
+		List<PropertyMeta> metasByOrdinal = new ArrayList<PropertyMeta>(propertyNames.size());
+		for (String propertyName : propertyNames) {
+			PropertyMeta propertyMeta = propertyMetas.get(propertyName);
+			propertyMeta.setOrdinal(metasByOrdinal.size());
+			metasByOrdinal.add(propertyMeta);
+		}
+		return metasByOrdinal;
+	}
+
 	private Map<Method, PropertyMeta> extractGetterMetas(Map<String, PropertyMeta> propertyMetas) {
 		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
 		for (PropertyMeta propertyMeta : propertyMetas.values()) {
@@ -144,6 +161,11 @@ public class EntityMetaBuilder {
 		return this;
 	}
 
+	public EntityMetaBuilder fetchGroups(Map<String, List<PropertyMeta>> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+		return this;
+	}
+
 	public EntityMetaBuilder consistencyLevels(Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels) {
 		this.consistencyLevels = consistencyLevels;
 		return this;
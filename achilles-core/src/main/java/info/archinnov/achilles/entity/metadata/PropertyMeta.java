@@ -21,6 +21,7 @@ import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -61,8 +62,11 @@ public class PropertyMeta {
 	private Class<?> idClass;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
+	private boolean compressed = false;
+	private int pageSize = 0;
 	private DataTranscoder transcoder;
 	private ReflectionInvoker invoker = new ReflectionInvoker();
+	private int ordinal = -1;
 
 	public List<Method> getComponentGetters() {
 		List<Method> compGetters = new ArrayList<Method>();
@@ -318,7 +322,9 @@ public class PropertyMeta {
 	}
 
 	public Class<?> getValueClassForTableCreation() {
-		if (timeUUID) {
+		if (compressed) {
+			return ByteBuffer.class;
+		} else if (timeUUID) {
 			return InternalTimeUUID.class;
 		} else {
 			return valueClass;
@@ -446,6 +452,42 @@ public class PropertyMeta {
 		this.timeUUID = timeUUID;
 	}
 
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	public boolean isPaged() {
+		return pageSize > 0;
+	}
+
+	/**
+	 * Number of elements fetched per page by the paged view of a collection
+	 * property. 0 if the property is not paged
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Position of this property within its entity, assigned by
+	 * EntityMetaBuilder in property name order. -1 if not assigned
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
+	public void setOrdinal(int ordinal) {
+		this.ordinal = ordinal;
+	}
+
 	@Override
 	public String toString() {
 		return Objects.toStringHelper(this.getClass()).add("type", type).add("entityClassName", entityClassName)
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.entity.metadata;
 
 import info.archinnov.achilles.entity.metadata.transcoding.CompoundTranscoder;
+import info.archinnov.achilles.entity.metadata.transcoding.CompressedTranscoder;
 import info.archinnov.achilles.entity.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.entity.metadata.transcoding.ListTranscoder;
 import info.archinnov.achilles.entity.metadata.transcoding.MapTranscoder;
@@ -44,6 +45,8 @@ public class PropertyMetaBuilder {
 	private EmbeddedIdProperties embeddedIdProperties;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
+	private Integer compressionThreshold;
+	private Integer pageSize;
 
 	public static PropertyMetaBuilder factory() {
 		return new PropertyMetaBuilder();
@@ -83,6 +86,10 @@ public class PropertyMetaBuilder {
 		meta.setConsistencyLevels(consistencyLevels);
 		meta.setTranscoder(determineTranscoder(isCompound));
 		meta.setTimeUUID(timeUUID);
+		meta.setCompressed(compressionThreshold != null);
+		if (pageSize != null) {
+			meta.setPageSize(pageSize);
+		}
 
 		return meta;
 	}
@@ -117,7 +124,20 @@ public class PropertyMetaBuilder {
 		return this;
 	}
 
+	public PropertyMetaBuilder compressionThreshold(Integer compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+		return this;
+	}
+
+	public PropertyMetaBuilder pageSize(Integer pageSize) {
+		this.pageSize = pageSize;
+		return this;
+	}
+
 	private DataTranscoder determineTranscoder(boolean isCompound) {
+		if (compressionThreshold != null) {
+			return new CompressedTranscoder(objectMapper, compressionThreshold);
+		}
 		switch (type) {
 		case EMBEDDED_ID:
 			return new CompoundTranscoder(objectMapper);
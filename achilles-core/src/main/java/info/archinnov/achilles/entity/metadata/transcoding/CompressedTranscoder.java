@@ -0,0 +1,174 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.metadata.transcoding;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Transcoder for simple properties annotated with &#064;Compressed. The text
+ * or JSON value is stored in a blob whose first byte marks the codec, and is
+ * deflated when it is larger than the threshold.<br/>
+ * <br/>
+ * Thrift stores entity values as text: a deflated value is then Base64
+ * encoded behind a header character. Smaller values are kept as plain text so
+ * that existing values remain readable
+ */
+public class CompressedTranscoder extends SimpleTranscoder {
+
+	static final byte UNCOMPRESSED = 0;
+	static final byte DEFLATE = 1;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final int BUFFER_SIZE = 4096;
+
+	private int threshold;
+
+	public CompressedTranscoder(ObjectMapper objectMapper, int threshold) {
+		super(objectMapper);
+		this.threshold = threshold;
+	}
+
+	@Override
+	public Object encode(PropertyMeta pm, Object entityValue) {
+		String text = super.forceEncodeToJSON(entityValue);
+		if (text == null) {
+			return null;
+		}
+		byte[] raw = text.getBytes(UTF8);
+		byte[] deflated = raw.length >= threshold ? deflate(raw) : null;
+		if (deflated != null && deflated.length < raw.length) {
+			return withHeader(DEFLATE, deflated);
+		}
+		return withHeader(UNCOMPRESSED, raw);
+	}
+
+	@Override
+	public Object decode(PropertyMeta pm, Object cassandraValue) {
+		if (cassandraValue == null) {
+			return null;
+		}
+		ByteBuffer buffer = ((ByteBuffer) cassandraValue).duplicate();
+		byte codec = buffer.get();
+		byte[] payload = new byte[buffer.remaining()];
+		buffer.get(payload);
+
+		String text;
+		if (codec == DEFLATE) {
+			text = new String(inflate(payload), UTF8);
+		} else if (codec == UNCOMPRESSED) {
+			text = new String(payload, UTF8);
+		} else {
+			throw new AchillesException("Unknown compression codec '" + codec + "' for property '"
+					+ pm.getPropertyName() + "' of entity '" + pm.getEntityClassName() + "'");
+		}
+		return super.forceDecodeFromJSON(text, pm.getValueClass());
+	}
+
+	@Override
+	public String forceEncodeToJSON(Object object) {
+		String text = super.forceEncodeToJSON(object);
+		if (text == null) {
+			return null;
+		}
+		byte[] raw = text.getBytes(UTF8);
+		if (raw.length >= threshold) {
+			String deflated = (char) DEFLATE + DatatypeConverter.printBase64Binary(deflate(raw));
+			if (deflated.length() < raw.length) {
+				return deflated;
+			}
+		}
+		if (startsWithHeader(text)) {
+			return (char) UNCOMPRESSED + text;
+		}
+		return text;
+	}
+
+	@Override
+	public <T> T forceDecodeFromJSON(String cassandraValue, Class<T> targetType) {
+		String text = cassandraValue;
+		if (startsWithHeader(cassandraValue)) {
+			String payload = cassandraValue.substring(1);
+			if (cassandraValue.charAt(0) == DEFLATE) {
+				text = new String(inflate(DatatypeConverter.parseBase64Binary(payload)), UTF8);
+			} else {
+				text = payload;
+			}
+		}
+		return super.forceDecodeFromJSON(text, targetType);
+	}
+
+	private boolean startsWithHeader(String text) {
+		return text != null && text.length() > 0
+				&& (text.charAt(0) == UNCOMPRESSED || text.charAt(0) == DEFLATE);
+	}
+
+	private ByteBuffer withHeader(byte codec, byte[] payload) {
+		ByteBuffer buffer = ByteBuffer.allocate(payload.length + 1);
+		buffer.put(codec).put(payload);
+		buffer.flip();
+		return buffer;
+	}
+
+	private byte[] deflate(byte[] raw) {
+		Deflater deflater = new Deflater();
+		try {
+			deflater.setInput(raw);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private byte[] inflate(byte[] deflated) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(deflated);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 4);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			while (!inflater.finished()) {
+				int count = inflater.inflate(buffer);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new AchillesException("Compressed value is truncated");
+				}
+				out.write(buffer, 0, count);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new AchillesException("Error while decompressing value", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.entity.operations;
 
+import info.archinnov.achilles.context.EntitySnapshot;
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
@@ -47,6 +48,7 @@ public abstract class EntityMerger<CONTEXT extends PersistenceContext> {
 		Validator.validateNotNull(entityMeta, "entityMeta should not be null for merge");
 
 		T proxy;
+		EntitySnapshot snapshot = context.getSnapshot(entity);
 		if (proxifier.isProxy(entity)) {
 			log.debug("Checking for dirty fields before merging");
 
@@ -59,6 +61,12 @@ public abstract class EntityMerger<CONTEXT extends PersistenceContext> {
 			interceptor.setContext(context);
 			interceptor.setTarget(realObject);
 			proxy = entity;
+		} else if (snapshot != null) {
+			log.debug("Checking snapshot for dirty fields before merging");
+
+			merger.merge(context, snapshot.dirtyMap(entity));
+			context.registerSnapshot(entity);
+			proxy = entity;
 		} else {
 			log.debug("Persisting transient entity");
 
@@ -17,7 +17,9 @@
 package info.archinnov.achilles.entity.operations;
 
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.proxy.EntityCallbackFilter;
 import info.archinnov.achilles.proxy.EntityInterceptor;
+import info.archinnov.achilles.proxy.EntityTargetDispatcher;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -27,8 +29,11 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +41,8 @@ import org.slf4j.LoggerFactory;
 public abstract class EntityProxifier<CONTEXT extends PersistenceContext> {
 	private static final Logger log = LoggerFactory.getLogger(EntityProxifier.class);
 
+	private static final Class<?>[] CALLBACK_TYPES = new Class<?>[] { MethodInterceptor.class, Dispatcher.class };
+
 	public Class<?> deriveBaseClass(Object entity) {
 		log.debug("Deriving base class for entity {} ", entity);
 
@@ -59,11 +66,21 @@ public abstract class EntityProxifier<CONTEXT extends PersistenceContext> {
 			return null;
 		}
 
+		if (context.isProxyLess()) {
+			log.debug("Proxy-less read, returning plain entity {} ", entity);
+			context.registerSnapshot(entity);
+			return entity;
+		}
+
 		log.debug("Build Cglib proxy for entity {} ", entity);
 
+		EntityInterceptor<CONTEXT, T> interceptor = buildInterceptor(context, entity, alreadyLoaded);
+
 		Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(entity.getClass());
-		enhancer.setCallback(buildInterceptor(context, entity, alreadyLoaded));
+		enhancer.setCallbackFilter(new EntityCallbackFilter(context.getEntityMeta()));
+		enhancer.setCallbackTypes(CALLBACK_TYPES);
+		enhancer.setCallbacks(new Callback[] { interceptor, new EntityTargetDispatcher(interceptor) });
 
 		return (T) enhancer.create();
 	}
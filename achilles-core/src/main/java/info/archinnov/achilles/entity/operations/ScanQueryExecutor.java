@@ -0,0 +1,117 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.query.scan.RingPartitioner;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Full table scan by token ranges. Each range is read page by page by one of
+ * 'parallelism' threads, a range failure stops the whole scan. State shared
+ * by the ranges of a scan, of type S, is built once by prepareScan()
+ */
+public abstract class ScanQueryExecutor<S> {
+	private static final Logger log = LoggerFactory.getLogger(ScanQueryExecutor.class);
+
+	/**
+	 * More ranges than threads to balance uneven ranges
+	 */
+	static final int RANGES_PER_THREAD = 4;
+
+	private static final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+			.setNameFormat("achilles-scan-%d").setDaemon(true).build();
+
+	public <T> void scan(final ScanQuery<T> query, final ScanConsumer<? super T> consumer) {
+		final RingPartitioner partitioner = RingPartitioner.fromClassName(describePartitioner(query.getMeta()));
+		final S scanState = prepareScan(query);
+		List<TokenRange> ranges = partitioner.ranges(describeRing(query.getMeta()), query.getParallelism() * RANGES_PER_THREAD);
+		log.debug("Scanning entity class {} with {} token ranges", query.getEntityClass().getCanonicalName(),
+				ranges.size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(query.getParallelism(), ranges.size()),
+				threadFactory);
+		CompletionService<Void> completionService = new ExecutorCompletionService<Void>(executor);
+		try {
+			for (final TokenRange range : ranges) {
+				completionService.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						log.trace("Scanning token range {}", range);
+						scanRange(partitioner, query, scanState, range, consumer);
+						return null;
+					}
+				});
+			}
+			for (int i = 0; i < ranges.size(); i++) {
+				completionService.take().get();
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException("Error when scanning entity class '"
+					+ query.getEntityClass().getCanonicalName() + "'. Cause : " + cause.getMessage(), cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException("Scan of entity class '" + query.getEntityClass().getCanonicalName()
+					+ "' has been interrupted", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	protected abstract String describePartitioner(EntityMeta meta);
+
+	/**
+	 * All the tokens owned by the nodes of the cluster
+	 */
+	protected abstract Collection<String> describeRing(EntityMeta meta);
+
+	/**
+	 * Build the state shared by all the ranges of the scan. None by default
+	 */
+	protected <T> S prepareScan(ScanQuery<T> query) {
+		return null;
+	}
+
+	/**
+	 * Read all the entities of the range. Implementations should stop when
+	 * the current thread is interrupted
+	 */
+	protected abstract <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, S scanState,
+			TokenRange range, ScanConsumer<? super T> consumer);
+}
@@ -17,22 +17,50 @@
 package info.archinnov.achilles.entity.operations;
 
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.query.SliceQuery;
+import info.archinnov.achilles.query.slice.ClusteringOrderComparator;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.OrderingMode;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public abstract class SliceQueryExecutor<CONTEXT extends PersistenceContext> {
 
 	public static final Optional<ConsistencyLevel> NO_CONSISTENCY_LEVEL = Optional.<ConsistencyLevel> absent();
 	public static final Optional<Integer> NO_TTL = Optional.<Integer> absent();
 
+	/**
+	 * Maximum number of partitions fetched at the same time by multi-partition
+	 * slice queries, shared by all the executors
+	 */
+	static final int PARTITION_FETCH_THREADS = 16;
+
+	private static final ThreadPoolExecutor partitionFetchExecutor = new ThreadPoolExecutor(PARTITION_FETCH_THREADS,
+			PARTITION_FETCH_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactoryBuilder().setNameFormat("achilles-slice-%d").setDaemon(true).build());
+
+	static {
+		partitionFetchExecutor.allowCoreThreadTimeOut(true);
+	}
+
 	protected EntityProxifier<CONTEXT> proxifier;
 	protected ConsistencyLevel defaultReadLevel;
 
@@ -46,6 +74,104 @@ public abstract class SliceQueryExecutor<CONTEXT extends PersistenceContext> {
 
 	public abstract <T> void remove(SliceQuery<T> sliceQuery);
 
+	/**
+	 * Count the clustered entities of the slice, up to the limit if it has
+	 * been set. No entity is built
+	 */
+	public abstract <T> long count(SliceQuery<T> sliceQuery);
+
+	/**
+	 * Iterate over the embedded ids of the slice only, by batch of
+	 * 'batchSize'. Neither the values nor the entities are built
+	 */
+	public abstract <T> Iterator<Object> iteratorOfIds(SliceQuery<T> sliceQuery);
+
+	/**
+	 * Clustering components to resume a slice from. When all the components
+	 * of the last entity are returned the start bound is exclusive, which is
+	 * the default. When only a prefix of them is returned the start bound is
+	 * inclusive and the entities up to and including the last one are dropped
+	 * client side
+	 */
+	public List<Object> resumeClusterings(List<Object> lastClusterings, List<Object> fromClusterings,
+			List<Object> toClusterings) {
+		return lastClusterings;
+	}
+
+	/**
+	 * Get the slices of several partitions merged in clustering order. Each
+	 * partition is fetched concurrently and holds at most 'limit' entities
+	 */
+	public <T> List<T> get(List<SliceQuery<T>> sliceQueries, int limit) {
+		List<Iterator<T>> slices = fetchConcurrently(sliceQueries, new Function<SliceQuery<T>, Iterator<T>>() {
+			@Override
+			public Iterator<T> apply(SliceQuery<T> sliceQuery) {
+				return get(sliceQuery).iterator();
+			}
+		});
+		return Lists.newArrayList(Iterators.limit(Iterators.mergeSorted(slices, clusteringOrder(sliceQueries)), limit));
+	}
+
+	/**
+	 * Iterate over the slices of several partitions merged in clustering
+	 * order. The first page of each partition is fetched concurrently, next
+	 * pages are fetched lazily as the merge consumes them
+	 */
+	public <T> Iterator<T> iterator(List<SliceQuery<T>> sliceQueries, int limit) {
+		List<Iterator<T>> slices = fetchConcurrently(sliceQueries, new Function<SliceQuery<T>, Iterator<T>>() {
+			@Override
+			public Iterator<T> apply(SliceQuery<T> sliceQuery) {
+				Iterator<T> iterator = iterator(sliceQuery);
+				iterator.hasNext();
+				return iterator;
+			}
+		});
+		return Iterators.limit(Iterators.mergeSorted(slices, clusteringOrder(sliceQueries)), limit);
+	}
+
+	private <T> List<Iterator<T>> fetchConcurrently(List<SliceQuery<T>> sliceQueries,
+			final Function<SliceQuery<T>, Iterator<T>> fetcher) {
+		List<Future<Iterator<T>>> futures = new ArrayList<Future<Iterator<T>>>();
+		for (final SliceQuery<T> sliceQuery : sliceQueries) {
+			futures.add(partitionFetchExecutor.submit(new Callable<Iterator<T>>() {
+				@Override
+				public Iterator<T> call() throws Exception {
+					return fetcher.apply(sliceQuery);
+				}
+			}));
+		}
+
+		List<Iterator<T>> slices = new ArrayList<Iterator<T>>();
+		try {
+			for (Future<Iterator<T>> future : futures) {
+				slices.add(future.get());
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException("Error when fetching partitions of entity class '"
+					+ sliceQueries.get(0).getEntityClass().getCanonicalName() + "'. Cause : " + cause.getMessage(),
+					cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException("Fetching partitions of entity class '"
+					+ sliceQueries.get(0).getEntityClass().getCanonicalName() + "' has been interrupted", e);
+		} finally {
+			for (Future<Iterator<T>> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return slices;
+	}
+
+	private <T> Ordering<T> clusteringOrder(List<SliceQuery<T>> sliceQueries) {
+		SliceQuery<T> sliceQuery = sliceQueries.get(0);
+		Ordering<T> ordering = Ordering.from(new ClusteringOrderComparator<T>(sliceQuery.getMeta().getIdMeta()));
+		return sliceQuery.getOrdering() == OrderingMode.DESCENDING ? ordering.reverse() : ordering;
+	}
+
 	protected abstract <T> CONTEXT buildContextForQuery(SliceQuery<T> sliceQuery);
 
 	protected abstract <T> CONTEXT buildNewContext(SliceQuery<T> sliceQuery, T clusteredEntity);
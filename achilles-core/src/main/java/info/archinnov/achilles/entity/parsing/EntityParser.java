@@ -20,6 +20,7 @@ import static info.archinnov.achilles.entity.metadata.EntityMetaBuilder.entityMe
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.NegativeCache;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
@@ -30,7 +31,12 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.cassandra.utils.Pair;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -88,12 +94,15 @@ public class EntityParser {
 		// validator.validatePropertyMetas(context, idMeta);
 		validator.validateClusteredEntities(context);
 
+		Map<String, List<PropertyMeta>> fetchGroups = parseFetchGroups(context, idMeta);
+
 		EntityMeta entityMeta = entityMetaBuilder(idMeta).entityClass(entityClass)
 				.className(entityClass.getCanonicalName()).columnFamilyName(columnFamilyName)
 				.propertyMetas(context.getPropertyMetas()).consistencyLevels(context.getCurrentConsistencyLevels())
-				.build();
+				.fetchGroups(fetchGroups).build();
 
 		saveConsistencyLevel(context, columnFamilyName, consistencyLevels);
+		registerNegativeCache(context);
 
 		log.trace("Entity meta built for entity class {} : {}", context.getCurrentEntityClass().getCanonicalName(),
 				entityMeta);
@@ -126,6 +135,39 @@ public class EntityParser {
 		}
 	}
 
+	private Map<String, List<PropertyMeta>> parseFetchGroups(EntityParsingContext context, PropertyMeta idMeta) {
+		Class<?> entityClass = context.getCurrentEntityClass();
+		Map<String, PropertyMeta> propertyMetas = context.getPropertyMetas();
+		Map<String, List<PropertyMeta>> fetchGroups = new HashMap<String, List<PropertyMeta>>();
+
+		for (Entry<String, List<String>> entry : introspector.findFetchGroups(entityClass).entrySet()) {
+			String groupName = entry.getKey();
+			List<PropertyMeta> groupMetas = new ArrayList<PropertyMeta>();
+			groupMetas.add(idMeta);
+			for (String propertyName : entry.getValue()) {
+				PropertyMeta pm = propertyMetas.get(propertyName);
+				validator.validateFetchGroupProperty(entityClass, groupName, propertyName, pm);
+				if (!groupMetas.contains(pm)) {
+					groupMetas.add(pm);
+				}
+			}
+			log.debug("Fetch group {} for entity class {} : {}", groupName, entityClass.getCanonicalName(),
+					entry.getValue());
+			fetchGroups.put(groupName, Collections.unmodifiableList(groupMetas));
+		}
+		return fetchGroups;
+	}
+
+	private void registerNegativeCache(EntityParsingContext context) {
+		Class<?> entityClass = context.getCurrentEntityClass();
+		NegativeCache negativeCache = entityClass.getAnnotation(NegativeCache.class);
+		if (negativeCache != null) {
+			validator.validateNegativeCache(entityClass, negativeCache);
+			context.getNegativeLookupCache().register(entityClass, negativeCache.maxSize(),
+					negativeCache.expireAfterSeconds());
+		}
+	}
+
 	private void saveConsistencyLevel(EntityParsingContext context, String columnFamilyName,
 			Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels) {
 		log.debug("Set default read/write consistency levels {} / {} for column family {}",
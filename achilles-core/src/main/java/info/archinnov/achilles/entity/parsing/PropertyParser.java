@@ -68,6 +68,8 @@ public class PropertyParser {
 
 		validator.validateNoDuplicate(context);
 		validator.validateIndexIfSet(context);
+		validator.validateCompressionIfSet(context);
+		validator.validatePagingIfSet(context);
 
 		Class<?> fieldType = field.getType();
 		PropertyMeta propertyMeta;
@@ -147,7 +149,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName()).accessors(accessors)
 				.consistencyLevels(context.getCurrentConsistencyLevels()).timeuuid(timeUUID)
-				.build(Void.class, field.getType());
+				.compressionThreshold(propertyHelper.getCompressionThreshold(field)).build(Void.class, field.getType());
 
 		log.trace("Built simple property meta for property {} of entity class {} : {}", propertyMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), propertyMeta);
@@ -203,7 +205,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).timeuuid(timeUUID)
-				.build(Void.class, valueClass);
+				.pageSize(propertyHelper.getPageSize(field)).build(Void.class, valueClass);
 
 		log.trace("Built list property meta for property {} of entity class {} : {}", listMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), listMeta);
@@ -231,7 +233,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).timeuuid(timeUUID)
-				.build(Void.class, valueClass);
+				.pageSize(propertyHelper.getPageSize(field)).build(Void.class, valueClass);
 
 		log.trace("Built set property meta for property {} of  entity class {} : {}", setMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), setMeta);
@@ -260,7 +262,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).timeuuid(timeUUID)
-				.build(keyClass, valueClass);
+				.pageSize(propertyHelper.getPageSize(field)).build(keyClass, valueClass);
 
 		log.trace("Built map property meta for property {} of entity class {} : {}", mapMeta.getPropertyName(), context
 				.getCurrentEntityClass().getCanonicalName(), mapMeta);
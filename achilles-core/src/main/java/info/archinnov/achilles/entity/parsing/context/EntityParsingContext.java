@@ -19,6 +19,7 @@ package info.archinnov.achilles.entity.parsing.context;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.context.NegativeLookupCache;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.json.ObjectMapperFactory;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -64,6 +65,10 @@ public class EntityParsingContext {
 		return configContext.getImpl() == Impl.THRIFT;
 	}
 
+	public NegativeLookupCache getNegativeLookupCache() {
+		return configContext.getNegativeLookupCache();
+	}
+
 	public Class<?> getCurrentEntityClass() {
 		return currentEntityClass;
 	}
@@ -115,4 +115,8 @@ public class PropertyParsingContext {
 	public boolean isClusteredEntity() {
 		return context.isClusteredEntity();
 	}
+
+	public boolean isThriftImpl() {
+		return context.isThriftImpl();
+	}
 }
@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.entity.parsing.validator;
 
+import info.archinnov.achilles.annotations.NegativeCache;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
@@ -82,14 +83,39 @@ public class EntityParsingValidator {
 					.getCurrentEntityClass().getCanonicalName());
 
 			if (metaIter.hasNext()) {
-				PropertyType type2 = metaIter.next().getValue().type();
-				Validator.validateBeanMappingTrue(type2.isValidClusteredValueType(),
+				PropertyMeta valueMeta = metaIter.next().getValue();
+				Validator.validateBeanMappingTrue(valueMeta.type().isValidClusteredValueType(),
 						"The clustered entity '%s' should have a single @Column property of type simple/counter",
 						context.getCurrentEntityClass().getCanonicalName());
+				Validator.validateBeanMappingFalse(valueMeta.isCompressed(),
+						"The value property of the clustered entity '%s' cannot be compressed", context
+								.getCurrentEntityClass().getCanonicalName());
 			}
 		}
 	}
 
+	public void validateFetchGroupProperty(Class<?> entityClass, String groupName, String propertyName,
+			PropertyMeta pm) {
+		log.debug("Validate property {} of fetch group {} for entity class {}", propertyName, groupName,
+				entityClass.getCanonicalName());
+
+		Validator.validateBeanMappingTrue(pm != null,
+				"The property '%s' of fetch group '%s' is not a mapped property of entity '%s'", propertyName,
+				groupName, entityClass.getCanonicalName());
+		Validator.validateBeanMappingFalse(pm.isCounter(),
+				"The property '%s' of fetch group '%s' of entity '%s' should not be a counter", propertyName,
+				groupName, entityClass.getCanonicalName());
+	}
+
+	public void validateNegativeCache(Class<?> entityClass, NegativeCache negativeCache) {
+		log.debug("Validate negative cache settings of entity class {}", entityClass.getCanonicalName());
+
+		Validator.validateBeanMappingTrue(negativeCache.maxSize() > 0,
+				"The negative cache max size of entity '%s' should be strictly positive", entityClass.getCanonicalName());
+		Validator.validateBeanMappingTrue(negativeCache.expireAfterSeconds() > 0,
+				"The negative cache expiry of entity '%s' should be strictly positive", entityClass.getCanonicalName());
+	}
+
 	public void validateAtLeastOneEntity(List<Class<?>> entities, List<String> entityPackages) {
 		log.debug("Validate that at least one entity is found in the packages {}",
 				StringUtils.join(entityPackages, ","));
@@ -21,11 +21,14 @@ import info.archinnov.achilles.entity.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.helper.PropertyHelper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Counter;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.cassandra.utils.Pair;
@@ -101,6 +104,55 @@ public class PropertyParsingValidator {
 		}
 	}
 
+	public void validateCompressionIfSet(PropertyParsingContext context) {
+		String fieldName = context.getCurrentPropertyName();
+		String className = context.getCurrentEntityClass().getCanonicalName();
+		log.debug("Validate that this property {} of entity class {} has a properly set compression, if set",
+				fieldName, className);
+		PropertyHelper propertyHelper = new PropertyHelper();
+		Field field = context.getCurrentField();
+		Integer threshold = propertyHelper.getCompressionThreshold(field);
+		if (threshold != null) {
+			Class<?> type = field.getType();
+			Validator.validateBeanMappingFalse(context.isEmbeddedId() || context.isPrimaryKey(),
+					"Property '%s' of entity '%s' is a primary key and therefore cannot be compressed", fieldName,
+					className);
+			Validator.validateBeanMappingFalse(Collection.class.isAssignableFrom(type)
+					|| Map.class.isAssignableFrom(type) || Counter.class.isAssignableFrom(type),
+					"Property '%s' of entity '%s' cannot be compressed because only simple properties can be compressed",
+					fieldName, className);
+			Validator.validateBeanMappingTrue(type == String.class || !PropertyHelper.isSupportedType(type),
+					"Property '%s' of entity '%s' cannot be compressed because the type '%s' is neither String nor serialized as JSON",
+					fieldName, className, type.getCanonicalName());
+			Validator.validateBeanMappingTrue(propertyHelper.getIndexName(field) == null,
+					"Property '%s' of entity '%s' is indexed and therefore cannot be compressed", fieldName, className);
+			Validator.validateBeanMappingTrue(threshold >= 0,
+					"Compression threshold of property '%s' of entity '%s' should be positive", fieldName, className);
+		}
+	}
+
+	public void validatePagingIfSet(PropertyParsingContext context) {
+		String fieldName = context.getCurrentPropertyName();
+		String className = context.getCurrentEntityClass().getCanonicalName();
+		log.debug("Validate that this property {} of entity class {} has a properly set paging, if set", fieldName,
+				className);
+		PropertyHelper propertyHelper = new PropertyHelper();
+		Field field = context.getCurrentField();
+		Integer pageSize = propertyHelper.getPageSize(field);
+		if (pageSize != null) {
+			Class<?> type = field.getType();
+			Validator.validateBeanMappingTrue(context.isThriftImpl(),
+					"Property '%s' of entity '%s' cannot be paged because paged collections are only supported by the Thrift implementation",
+					fieldName, className);
+			Validator.validateBeanMappingTrue(Collection.class.isAssignableFrom(type)
+					|| Map.class.isAssignableFrom(type),
+					"Property '%s' of entity '%s' cannot be paged because only List, Set or Map properties can be paged",
+					fieldName, className);
+			Validator.validateBeanMappingTrue(pageSize > 0,
+					"Page size of property '%s' of entity '%s' should be strictly positive", fieldName, className);
+		}
+	}
+
 	public static void validateAllowedTypes(Class<?> type, Set<Class<?>> allowedTypes, String message) {
 		if (!allowedTypes.contains(type) && !type.isEnum()) {
 			throw new AchillesBeanMappingException(message);
@@ -19,17 +19,23 @@ package info.archinnov.achilles.helper;
 import static info.archinnov.achilles.helper.LoggerHelper.fieldToStringFn;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.FetchGroup;
+import info.archinnov.achilles.annotations.FetchGroups;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.entity.parsing.PropertyFilter;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.table.TableNameNormalizer;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.cassandra.utils.Pair;
 import org.apache.commons.lang.StringUtils;
@@ -174,6 +180,31 @@ public class EntityIntrospector {
 		return Pair.create(defaultGlobalRead, defaultGlobalWrite);
 	}
 
+	public Map<String, List<String>> findFetchGroups(Class<?> entity) {
+		log.debug("Find fetch groups for entity class {}", entity.getCanonicalName());
+
+		List<FetchGroup> annotations = new ArrayList<FetchGroup>();
+		FetchGroup fetchGroup = entity.getAnnotation(FetchGroup.class);
+		if (fetchGroup != null) {
+			annotations.add(fetchGroup);
+		}
+		FetchGroups fetchGroups = entity.getAnnotation(FetchGroups.class);
+		if (fetchGroups != null) {
+			annotations.addAll(Arrays.asList(fetchGroups.value()));
+		}
+
+		Map<String, List<String>> groups = new HashMap<String, List<String>>();
+		for (FetchGroup group : annotations) {
+			Validator.validateBeanMappingFalse(groups.containsKey(group.name()),
+					"The fetch group '%s' is declared more than once on entity '%s'", group.name(),
+					entity.getCanonicalName());
+			groups.put(group.name(), Arrays.asList(group.properties()));
+		}
+
+		log.trace("Found fetch groups : {}", groups);
+		return groups;
+	}
+
 	public List<Field> getInheritedPrivateFields(Class<?> type) {
 		log.debug("Find inherited private fields from hierarchy for entity class {}", type.getCanonicalName());
 
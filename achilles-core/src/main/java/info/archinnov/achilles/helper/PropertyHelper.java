@@ -16,9 +16,11 @@
  */
 package info.archinnov.achilles.helper;
 
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.Index;
 import info.archinnov.achilles.annotations.Lazy;
+import info.archinnov.achilles.annotations.Paged;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -120,7 +122,7 @@ public class PropertyHelper {
 				.getCanonicalName());
 
 		boolean lazy = false;
-		if (field.getAnnotation(Lazy.class) != null) {
+		if (field.getAnnotation(Lazy.class) != null || field.getAnnotation(Paged.class) != null) {
 			lazy = true;
 		}
 		return lazy;
@@ -137,6 +139,28 @@ public class PropertyHelper {
 		return indexName;
 	}
 
+	public Integer getCompressionThreshold(Field field) {
+		log.debug("Check @Compressed annotation on field {} of class {}", field.getName(), field.getDeclaringClass()
+				.getCanonicalName());
+		Integer threshold = null;
+		Compressed compressed = field.getAnnotation(Compressed.class);
+		if (compressed != null) {
+			threshold = compressed.threshold();
+		}
+		return threshold;
+	}
+
+	public Integer getPageSize(Field field) {
+		log.debug("Check @Paged annotation on field {} of class {}", field.getName(), field.getDeclaringClass()
+				.getCanonicalName());
+		Integer pageSize = null;
+		Paged paged = field.getAnnotation(Paged.class);
+		if (paged != null) {
+			pageSize = paged.pageSize();
+		}
+		return pageSize;
+	}
+
 	public boolean hasConsistencyAnnotation(Field field) {
 		log.debug("Check @Consistency annotation on field {} of class {}", field.getName(), field.getDeclaringClass()
 				.getCanonicalName());
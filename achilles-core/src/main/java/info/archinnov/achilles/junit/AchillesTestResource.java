@@ -17,13 +17,27 @@
 package info.archinnov.achilles.junit;
 
 import static info.archinnov.achilles.junit.AchillesTestResource.Steps.BOTH;
+import info.archinnov.achilles.context.WrittenKeysRecorder;
+import info.archinnov.achilles.entity.manager.PersistenceManager;
+import info.archinnov.achilles.entity.manager.PersistenceManagerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.junit.rules.ExternalResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AchillesTestResource extends ExternalResource {
+	private static final Logger log = LoggerFactory.getLogger(AchillesTestResource.class);
 
 	protected final String[] tables;
 	private Steps steps = BOTH;
+	private WrittenKeysRecorder writtenKeysRecorder;
+	private PersistenceManager<?> cleanUpManager;
+	private Map<Class<?>, Set<Object>> pendingKeys = new LinkedHashMap<Class<?>, Set<Object>>();
 
 	public AchillesTestResource(String... tables) {
 		this.tables = tables;
@@ -36,16 +50,97 @@ public abstract class AchillesTestResource extends ExternalResource {
 
 	protected void before() throws Throwable {
 		if (steps.isBefore())
-			truncateTables();
+			cleanUp();
+		if (writtenKeysRecorder != null)
+			writtenKeysRecorder.enable();
 	}
 
 	protected void after() {
+		if (writtenKeysRecorder != null) {
+			collectWrittenKeys();
+			writtenKeysRecorder.disable();
+		}
 		if (steps.isAfter())
+			cleanUp();
+	}
+
+	/**
+	 * Delete only the entities written through the PersistenceManagers of the
+	 * factory instead of truncating the tables. A table is still truncated
+	 * when it holds data after the deletion, for example rows inserted with
+	 * the native session.
+	 * 
+	 * Keys are recorded from before() to after() only. Those not deleted by
+	 * after() are kept by the resource until the next clean-up
+	 * 
+	 * @param pmf
+	 *            factory whose written keys are recorded
+	 * @param manager
+	 *            PersistenceManager used to delete the written entities
+	 */
+	protected void deleteWrittenKeysOnly(PersistenceManagerFactory pmf, PersistenceManager<?> manager) {
+		writtenKeysRecorder = pmf.getWrittenKeysRecorder();
+		cleanUpManager = manager;
+	}
+
+	private void cleanUp() {
+		if (writtenKeysRecorder == null) {
+			truncateTables();
+			return;
+		}
+		Map<Class<?>, Set<Object>> writtenKeys = pendingKeys;
+		pendingKeys = new LinkedHashMap<Class<?>, Set<Object>>();
+		if (!deleteWrittenKeys(writtenKeys) || tablesHaveData()) {
+			log.debug("Falling back to truncation of tables after deletion of written keys");
 			truncateTables();
+		}
+	}
+
+	private void collectWrittenKeys() {
+		for (Entry<Class<?>, Set<Object>> entry : writtenKeysRecorder.drain().entrySet()) {
+			Set<Object> keys = pendingKeys.get(entry.getKey());
+			if (keys == null) {
+				pendingKeys.put(entry.getKey(), entry.getValue());
+			} else {
+				keys.addAll(entry.getValue());
+			}
+		}
+	}
+
+	private boolean deleteWrittenKeys(Map<Class<?>, Set<Object>> writtenKeys) {
+		try {
+			for (Entry<Class<?>, Set<Object>> entry : writtenKeys.entrySet()) {
+				cleanUpManager.removeById(entry.getKey(), entry.getValue());
+			}
+			return true;
+		} catch (RuntimeException e) {
+			log.warn("Cannot delete written keys, tables will be truncated : {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private boolean tablesHaveData() {
+		if (tables != null) {
+			for (String table : tables) {
+				if (hasData(table)) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
 	protected abstract void truncateTables();
 
+	/**
+	 * Whether the table still holds rows once the written keys are deleted.
+	 * When in doubt, implementations should return true so that the table is
+	 * truncated
+	 */
+	protected boolean hasData(String table) {
+		return true;
+	}
+
 	public static enum Steps {
 		BEFORE_TEST, AFTER_TEST, BOTH;
 
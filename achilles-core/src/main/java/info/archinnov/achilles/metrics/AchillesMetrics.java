@@ -0,0 +1,193 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Objects;
+
+/**
+ * Registry of per entity/operation/statement type metrics.
+ * 
+ * Metrics are recorded at the statement execution choke points
+ * (CQLDaoContext for CQL, ThriftAbstractDao for Thrift). Each new
+ * entity/operation/statement type combination is published as an
+ * OperationMetricsMBean when JMX is enabled, under a 'factory' key unique to
+ * this registry so that several factories in the same JVM do not clash.
+ * Registered MetricsListeners are notified of every execution
+ */
+public class AchillesMetrics {
+	private static final Logger log = LoggerFactory.getLogger(AchillesMetrics.class);
+
+	public static final String JMX_DOMAIN = "info.archinnov.achilles";
+	public static final String UNKNOWN_ENTITY = "unknown";
+
+	private static final AtomicInteger FACTORY_SEQUENCE = new AtomicInteger();
+
+	private final boolean enabled;
+	private final boolean jmxEnabled;
+	private final int factoryId = FACTORY_SEQUENCE.incrementAndGet();
+	private final List<MetricsListener> listeners = new CopyOnWriteArrayList<MetricsListener>();
+	private final ConcurrentMap<MetricKey, OperationMetrics> metrics = new ConcurrentHashMap<MetricKey, OperationMetrics>();
+	private final List<ObjectName> registeredNames = new CopyOnWriteArrayList<ObjectName>();
+
+	public static AchillesMetrics disabled() {
+		return new AchillesMetrics(false, false, new ArrayList<MetricsListener>());
+	}
+
+	public AchillesMetrics(boolean enabled, boolean jmxEnabled, List<MetricsListener> listeners) {
+		this.enabled = enabled;
+		this.jmxEnabled = jmxEnabled;
+		if (listeners != null) {
+			this.listeners.addAll(listeners);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void record(Class<?> entityClass, OperationType operation, StatementType statementType,
+			long latencyNanos, Throwable error) {
+		String entityName = entityClass == null ? UNKNOWN_ENTITY : entityClass.getCanonicalName();
+		record(entityName, operation, statementType, latencyNanos, error);
+	}
+
+	public void record(String entityName, OperationType operation, StatementType statementType, long latencyNanos,
+			Throwable error) {
+		if (!enabled) {
+			return;
+		}
+		String name = entityName == null ? UNKNOWN_ENTITY : entityName;
+		getOrCreate(name, operation, statementType).record(latencyNanos, error != null);
+
+		for (MetricsListener listener : listeners) {
+			try {
+				listener.onExecution(name, operation, statementType, latencyNanos, error);
+			} catch (RuntimeException e) {
+				log.warn("Metrics listener {} failed : {}", listener, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Count a hedged read, the latency of the read itself is recorded as usual
+	 */
+	public void recordHedge(Class<?> entityClass, OperationType operation, StatementType statementType) {
+		if (!enabled) {
+			return;
+		}
+		String entityName = entityClass == null ? UNKNOWN_ENTITY : entityClass.getCanonicalName();
+		getOrCreate(entityName, operation, statementType).recordHedge();
+	}
+
+	public OperationMetrics getMetrics(String entityName, OperationType operation, StatementType statementType) {
+		return metrics.get(new MetricKey(entityName, operation, statementType));
+	}
+
+	public Collection<OperationMetrics> getAllMetrics() {
+		return new ArrayList<OperationMetrics>(metrics.values());
+	}
+
+	public int getFactoryId() {
+		return factoryId;
+	}
+
+	public void addListener(MetricsListener listener) {
+		listeners.add(listener);
+	}
+
+	public void unregisterMBeans() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (ObjectName objectName : registeredNames) {
+			try {
+				server.unregisterMBean(objectName);
+			} catch (Exception e) {
+				log.warn("Cannot unregister metrics MBean {} : {}", objectName, e.getMessage());
+			}
+		}
+		registeredNames.clear();
+	}
+
+	private OperationMetrics getOrCreate(String entityName, OperationType operation, StatementType statementType) {
+		MetricKey key = new MetricKey(entityName, operation, statementType);
+		OperationMetrics operationMetrics = metrics.get(key);
+		if (operationMetrics == null) {
+			OperationMetrics newMetrics = new OperationMetrics(entityName, operation, statementType);
+			operationMetrics = metrics.putIfAbsent(key, newMetrics);
+			if (operationMetrics == null) {
+				operationMetrics = newMetrics;
+				registerMBean(newMetrics);
+			}
+		}
+		return operationMetrics;
+	}
+
+	private void registerMBean(OperationMetrics operationMetrics) {
+		if (jmxEnabled) {
+			try {
+				ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=OperationMetrics,factory=" + factoryId
+						+ ",entity=" + ObjectName.quote(operationMetrics.getEntityName()) + ",operation="
+						+ operationMetrics.getOperation() + ",statement=" + operationMetrics.getStatementType());
+				ManagementFactory.getPlatformMBeanServer().registerMBean(operationMetrics, objectName);
+				registeredNames.add(objectName);
+			} catch (Exception e) {
+				log.warn("Cannot register metrics MBean for {} : {}", operationMetrics, e.getMessage());
+			}
+		}
+	}
+
+	private static class MetricKey {
+		private final String entityName;
+		private final OperationType operation;
+		private final StatementType statementType;
+
+		MetricKey(String entityName, OperationType operation, StatementType statementType) {
+			this.entityName = entityName;
+			this.operation = operation;
+			this.statementType = statementType;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(entityName, operation, statementType);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			MetricKey other = (MetricKey) obj;
+			return Objects.equal(entityName, other.entityName) && operation == other.operation
+					&& statementType == other.statementType;
+		}
+	}
+}
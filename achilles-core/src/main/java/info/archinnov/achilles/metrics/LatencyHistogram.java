@@ -0,0 +1,100 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power of 2 buckets, in microseconds.
+ * 
+ * Bucket i holds latencies in [2^(i-1), 2^i[ micros so percentiles are
+ * accurate within a factor of 2, which is enough to spot the operations
+ * driving the tail latency
+ */
+public class LatencyHistogram {
+	static final int BUCKET_COUNT = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalMicros = new AtomicLong();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	public void record(long latencyNanos) {
+		long micros = Math.max(0L, latencyNanos / 1000L);
+		buckets.incrementAndGet(bucketIndex(micros));
+		count.incrementAndGet();
+		totalMicros.addAndGet(micros);
+
+		long currentMax = maxMicros.get();
+		while (micros > currentMax && !maxMicros.compareAndSet(currentMax, micros)) {
+			currentMax = maxMicros.get();
+		}
+	}
+
+	/**
+	 * @param percentile
+	 *            between 0 and 1, e.g. 0.99
+	 * @return upper bound in micros of the bucket containing the percentile
+	 */
+	public long getPercentileMicros(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0L;
+		}
+		long threshold = (long) Math.ceil(total * percentile);
+		long cumulated = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulated += buckets.get(i);
+			if (cumulated >= threshold) {
+				return Math.min(bucketUpperBound(i), maxMicros.get());
+			}
+		}
+		return maxMicros.get();
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	public double getMeanMicros() {
+		long total = count.get();
+		return total == 0 ? 0d : (double) totalMicros.get() / total;
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0L);
+		}
+		count.set(0L);
+		totalMicros.set(0L);
+		maxMicros.set(0L);
+	}
+
+	static int bucketIndex(long micros) {
+		int index = 64 - Long.numberOfLeadingZeros(micros);
+		return Math.min(index, BUCKET_COUNT - 1);
+	}
+
+	private static long bucketUpperBound(int index) {
+		return 1L << index;
+	}
+}
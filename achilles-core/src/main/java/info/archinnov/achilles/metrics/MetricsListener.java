@@ -0,0 +1,45 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+/**
+ * SPI notified of every statement executed by Achilles when metrics are
+ * enabled.
+ * 
+ * Listeners are called synchronously on the executing thread, right after
+ * the statement completes. Implementations should return quickly and must not
+ * throw.
+ */
+public interface MetricsListener {
+
+	/**
+	 * @param entityName
+	 *            canonical class name of the entity, or the column family name
+	 *            for Thrift. "unknown" if the statement is not bound to an
+	 *            entity
+	 * @param operation
+	 *            Achilles operation which issued the statement
+	 * @param statementType
+	 *            type of the executed statement
+	 * @param latencyNanos
+	 *            execution time in nanoseconds
+	 * @param error
+	 *            exception raised by the execution, null on success
+	 */
+	void onExecution(String entityName, OperationType operation, StatementType statementType, long latencyNanos,
+			Throwable error);
+}
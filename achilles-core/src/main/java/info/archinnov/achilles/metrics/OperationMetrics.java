@@ -0,0 +1,114 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OperationMetrics implements OperationMetricsMBean {
+	private final String entityName;
+	private final OperationType operation;
+	private final StatementType statementType;
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	private final AtomicLong errorCount = new AtomicLong();
+	private final AtomicLong hedgeCount = new AtomicLong();
+
+	public OperationMetrics(String entityName, OperationType operation, StatementType statementType) {
+		this.entityName = entityName;
+		this.operation = operation;
+		this.statementType = statementType;
+	}
+
+	public void record(long latencyNanos, boolean error) {
+		histogram.record(latencyNanos);
+		if (error) {
+			errorCount.incrementAndGet();
+		}
+	}
+
+	public void recordHedge() {
+		hedgeCount.incrementAndGet();
+	}
+
+	@Override
+	public String getEntityName() {
+		return entityName;
+	}
+
+	@Override
+	public String getOperation() {
+		return operation.name();
+	}
+
+	@Override
+	public String getStatementType() {
+		return statementType.name();
+	}
+
+	@Override
+	public long getCount() {
+		return histogram.getCount();
+	}
+
+	@Override
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	@Override
+	public long getHedgeCount() {
+		return hedgeCount.get();
+	}
+
+	@Override
+	public double getMeanLatencyMicros() {
+		return histogram.getMeanMicros();
+	}
+
+	@Override
+	public long getMaxLatencyMicros() {
+		return histogram.getMaxMicros();
+	}
+
+	@Override
+	public long get50thPercentileMicros() {
+		return histogram.getPercentileMicros(0.50);
+	}
+
+	@Override
+	public long get95thPercentileMicros() {
+		return histogram.getPercentileMicros(0.95);
+	}
+
+	@Override
+	public long get99thPercentileMicros() {
+		return histogram.getPercentileMicros(0.99);
+	}
+
+	@Override
+	public void reset() {
+		histogram.reset();
+		errorCount.set(0L);
+		hedgeCount.set(0L);
+	}
+
+	@Override
+	public String toString() {
+		return entityName + "/" + operation + "/" + statementType + " count=" + getCount() + " errors="
+				+ getErrorCount() + " p99=" + get99thPercentileMicros() + "us";
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs statements whose execution time exceeds a global or per entity
+ * threshold.
+ * 
+ * Entries are written at WARN level to the ACHILLES_SLOW_STATEMENT logger.
+ * Entity names are the same as for AchillesMetrics: entity canonical class
+ * name for CQL, column family name for Thrift.
+ * 
+ * Checking a statement against the thresholds costs a single comparison as
+ * long as it is faster than the smallest threshold. Only slow statements pay
+ * for the formatting of the log entry
+ */
+public class SlowStatementLogger {
+	public static final String ACHILLES_SLOW_STATEMENT = "ACHILLES_SLOW_STATEMENT";
+	public static final int DEFAULT_MAX_BOUND_VALUES = 10;
+	public static final int MAX_BOUND_VALUE_LENGTH = 100;
+	public static final int UNKNOWN_ROW_COUNT = -1;
+
+	private static final Logger slowLogger = LoggerFactory.getLogger(ACHILLES_SLOW_STATEMENT);
+
+	private final boolean enabled;
+	private final long defaultThresholdNanos;
+	private final long minThresholdNanos;
+	private final Map<String, Long> thresholdNanosByEntity = new HashMap<String, Long>();
+	private final int maxBoundValues;
+
+	public static SlowStatementLogger disabled() {
+		return new SlowStatementLogger(null, new HashMap<String, Long>(), DEFAULT_MAX_BOUND_VALUES);
+	}
+
+	/**
+	 * @param defaultThresholdMillis
+	 *            threshold for entities not in the threshold map. Null to
+	 *            only log entities of the threshold map
+	 * @param thresholdMillisByEntity
+	 *            per entity thresholds, in millis
+	 * @param maxBoundValues
+	 *            maximum number of bound values to log for each entry
+	 */
+	public SlowStatementLogger(Long defaultThresholdMillis, Map<String, Long> thresholdMillisByEntity,
+			int maxBoundValues) {
+		this.defaultThresholdNanos = defaultThresholdMillis == null ? Long.MAX_VALUE : TimeUnit.MILLISECONDS
+				.toNanos(defaultThresholdMillis);
+		long min = defaultThresholdNanos;
+		if (thresholdMillisByEntity != null) {
+			for (Entry<String, Long> entry : thresholdMillisByEntity.entrySet()) {
+				long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(entry.getValue());
+				thresholdNanosByEntity.put(entry.getKey(), thresholdNanos);
+				min = Math.min(min, thresholdNanos);
+			}
+		}
+		this.minThresholdNanos = min;
+		this.enabled = min != Long.MAX_VALUE;
+		this.maxBoundValues = maxBoundValues;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isSlow(Class<?> entityClass, long elapsedNanos) {
+		if (elapsedNanos < minThresholdNanos) {
+			return false;
+		}
+		return isSlow(entityName(entityClass), elapsedNanos);
+	}
+
+	public boolean isSlow(String entityName, long elapsedNanos) {
+		if (elapsedNanos < minThresholdNanos) {
+			return false;
+		}
+		return elapsedNanos >= getThresholdNanos(entityName);
+	}
+
+	public void log(Class<?> entityClass, String queryString, String consistencyLevel, Object[] boundValues,
+			int rowCount, long elapsedNanos) {
+		log(entityName(entityClass), queryString, consistencyLevel, boundValues, rowCount, elapsedNanos);
+	}
+
+	public void log(String entityName, String queryString, String consistencyLevel, Object[] boundValues,
+			int rowCount, long elapsedNanos) {
+		if (slowLogger.isWarnEnabled()) {
+			slowLogger.warn(
+					"Slow statement on [{}] took {} ms (threshold {} ms) : [{}] with CONSISTENCY LEVEL [{}], rows [{}], bound values {}",
+					new Object[] { entityName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+							TimeUnit.NANOSECONDS.toMillis(getThresholdNanos(entityName)), queryString,
+							consistencyLevel, rowCount == UNKNOWN_ROW_COUNT ? "?" : rowCount,
+							sampleBoundValues(boundValues) });
+		}
+	}
+
+	List<String> sampleBoundValues(Object[] boundValues) {
+		List<String> sample = new ArrayList<String>();
+		if (boundValues == null) {
+			return sample;
+		}
+		int sampleSize = Math.min(boundValues.length, maxBoundValues);
+		for (int i = 0; i < sampleSize; i++) {
+			String value = String.valueOf(boundValues[i]);
+			if (value.length() > MAX_BOUND_VALUE_LENGTH) {
+				value = value.substring(0, MAX_BOUND_VALUE_LENGTH) + "...";
+			}
+			sample.add(value);
+		}
+		if (boundValues.length > sampleSize) {
+			sample.add("... " + (boundValues.length - sampleSize) + " more");
+		}
+		return sample;
+	}
+
+	private long getThresholdNanos(String entityName) {
+		Long thresholdNanos = thresholdNanosByEntity.get(entityName);
+		return thresholdNanos == null ? defaultThresholdNanos : thresholdNanos;
+	}
+
+	private String entityName(Class<?> entityClass) {
+		return entityClass == null ? AchillesMetrics.UNKNOWN_ENTITY : entityClass.getCanonicalName();
+	}
+}
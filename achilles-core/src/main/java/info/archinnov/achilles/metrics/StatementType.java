@@ -0,0 +1,54 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+public enum StatementType {
+	SELECT, INSERT, UPDATE, DELETE, BATCH, OTHER;
+
+	/**
+	 * Infer the statement type from the first keyword of a CQL query string
+	 * 
+	 * @param queryString
+	 *            CQL query string
+	 * @return StatementType, OTHER if the keyword is not recognized
+	 */
+	public static StatementType fromQueryString(String queryString) {
+		if (queryString == null) {
+			return OTHER;
+		}
+		int start = 0;
+		while (start < queryString.length() && Character.isWhitespace(queryString.charAt(start))) {
+			start++;
+		}
+		if (startsWithKeyword(queryString, start, "SELECT")) {
+			return SELECT;
+		} else if (startsWithKeyword(queryString, start, "INSERT")) {
+			return INSERT;
+		} else if (startsWithKeyword(queryString, start, "UPDATE")) {
+			return UPDATE;
+		} else if (startsWithKeyword(queryString, start, "DELETE")) {
+			return DELETE;
+		} else if (startsWithKeyword(queryString, start, "BEGIN")) {
+			return BATCH;
+		}
+		return OTHER;
+	}
+
+	private static boolean startsWithKeyword(String queryString, int start, String keyword) {
+		return queryString.regionMatches(true, start, keyword, 0, keyword.length());
+	}
+}
@@ -0,0 +1,189 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dirty state of a proxy, kept as a bitset of property ordinals.
+ *
+ * Keys are the setters of the dirty properties and values their property
+ * meta. Iteration follows ordinal order, i.e. property name order. Property
+ * metas without a registered ordinal are kept by setter in a plain map,
+ * allocated on first use, and iterated last, in insertion order
+ */
+public class DirtyMap extends AbstractMap<Method, PropertyMeta> {
+	private final EntityMeta entityMeta;
+	private final BitSet dirty = new BitSet();
+	private Map<Method, PropertyMeta> unordered;
+
+	public DirtyMap(EntityMeta entityMeta) {
+		this.entityMeta = entityMeta;
+	}
+
+	/**
+	 * Whether the property is dirty, looked up by ordinal when it has one
+	 */
+	public boolean isDirty(PropertyMeta propertyMeta) {
+		if (entityMeta.hasOrdinal(propertyMeta)) {
+			return dirty.get(propertyMeta.getOrdinal());
+		}
+		return unordered != null && unordered.containsKey(propertyMeta.getSetter());
+	}
+
+	@Override
+	public PropertyMeta put(Method setter, PropertyMeta propertyMeta) {
+		if (!entityMeta.hasOrdinal(propertyMeta)) {
+			if (unordered == null) {
+				unordered = new LinkedHashMap<Method, PropertyMeta>();
+			}
+			return unordered.put(setter, propertyMeta);
+		}
+		int ordinal = propertyMeta.getOrdinal();
+		boolean alreadyDirty = dirty.get(ordinal);
+		dirty.set(ordinal);
+		return alreadyDirty ? propertyMeta : null;
+	}
+
+	@Override
+	public PropertyMeta get(Object setter) {
+		PropertyMeta propertyMeta = unordered != null ? unordered.get(setter) : null;
+		if (propertyMeta != null) {
+			return propertyMeta;
+		}
+		propertyMeta = indexedMeta(setter);
+		return propertyMeta != null && dirty.get(propertyMeta.getOrdinal()) ? propertyMeta : null;
+	}
+
+	@Override
+	public boolean containsKey(Object setter) {
+		return get(setter) != null;
+	}
+
+	@Override
+	public PropertyMeta remove(Object setter) {
+		PropertyMeta propertyMeta = unordered != null ? unordered.remove(setter) : null;
+		if (propertyMeta != null) {
+			return propertyMeta;
+		}
+		propertyMeta = get(setter);
+		if (propertyMeta != null) {
+			dirty.clear(propertyMeta.getOrdinal());
+		}
+		return propertyMeta;
+	}
+
+	@Override
+	public int size() {
+		return dirty.cardinality() + (unordered != null ? unordered.size() : 0);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return dirty.isEmpty() && (unordered == null || unordered.isEmpty());
+	}
+
+	@Override
+	public void clear() {
+		dirty.clear();
+		unordered = null;
+	}
+
+	/**
+	 * Ordinals of the dirty properties. Properties without a registered
+	 * ordinal are not part of it
+	 */
+	public BitSet getDirtyOrdinals() {
+		return dirty;
+	}
+
+	@Override
+	public Set<Entry<Method, PropertyMeta>> entrySet() {
+		return new AbstractSet<Entry<Method, PropertyMeta>>() {
+			@Override
+			public Iterator<Entry<Method, PropertyMeta>> iterator() {
+				return new DirtyIterator();
+			}
+
+			@Override
+			public int size() {
+				return DirtyMap.this.size();
+			}
+		};
+	}
+
+	private PropertyMeta indexedMeta(Object setter) {
+		Map<Method, PropertyMeta> setterMetas = entityMeta.getSetterMetas();
+		PropertyMeta propertyMeta = setterMetas != null ? setterMetas.get(setter) : null;
+		return propertyMeta != null && entityMeta.hasOrdinal(propertyMeta) ? propertyMeta : null;
+	}
+
+	private class DirtyIterator implements Iterator<Entry<Method, PropertyMeta>> {
+		private int next = dirty.nextSetBit(0);
+		private int current = -1;
+		private Iterator<Entry<Method, PropertyMeta>> unorderedIterator;
+
+		@Override
+		public boolean hasNext() {
+			return next >= 0 || unorderedIterator().hasNext();
+		}
+
+		@Override
+		public Entry<Method, PropertyMeta> next() {
+			if (next < 0) {
+				current = -1;
+				return unorderedIterator().next();
+			}
+			current = next;
+			next = dirty.nextSetBit(current + 1);
+			PropertyMeta propertyMeta = entityMeta.getMetaByOrdinal(current);
+			return new SimpleImmutableEntry<Method, PropertyMeta>(propertyMeta.getSetter(), propertyMeta);
+		}
+
+		@Override
+		public void remove() {
+			if (current >= 0) {
+				dirty.clear(current);
+				current = -1;
+			} else if (unorderedIterator != null) {
+				unorderedIterator.remove();
+			} else {
+				throw new IllegalStateException();
+			}
+		}
+
+		private Iterator<Entry<Method, PropertyMeta>> unorderedIterator() {
+			if (unorderedIterator == null) {
+				Map<Method, PropertyMeta> entries = unordered != null ? unordered : Collections
+						.<Method, PropertyMeta> emptyMap();
+				unorderedIterator = entries.entrySet().iterator();
+			}
+			return unorderedIterator;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.lang.reflect.Method;
+
+import net.sf.cglib.proxy.CallbackFilter;
+
+/**
+ * Routes each method of an entity proxy once, when Cglib generates the proxy
+ * class.
+ * 
+ * Mapped getters and setters, including the primary key accessors, go to the
+ * EntityInterceptor. All other methods are dispatched straight to the target
+ * entity.
+ * 
+ * Two filters are equal when they are built for the same entity class, so
+ * Cglib generates only one proxy class per entity class
+ */
+public class EntityCallbackFilter implements CallbackFilter {
+
+	public static final int INTERCEPTOR_INDEX = 0;
+	public static final int DISPATCHER_INDEX = 1;
+
+	private final EntityMeta entityMeta;
+
+	public EntityCallbackFilter(EntityMeta entityMeta) {
+		this.entityMeta = entityMeta;
+	}
+
+	@Override
+	public int accept(Method method) {
+		return isMapped(method) ? INTERCEPTOR_INDEX : DISPATCHER_INDEX;
+	}
+
+	private boolean isMapped(Method method) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		if (method.equals(idMeta.getGetter()) || method.equals(idMeta.getSetter())) {
+			return true;
+		}
+		return entityMeta.getGetterMetas().containsKey(method) || entityMeta.getSetterMetas().containsKey(method);
+	}
+
+	@Override
+	public int hashCode() {
+		return entityMeta.getEntityClass().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		EntityCallbackFilter other = (EntityCallbackFilter) obj;
+		return entityMeta.getEntityClass() == other.entityMeta.getEntityClass();
+	}
+}
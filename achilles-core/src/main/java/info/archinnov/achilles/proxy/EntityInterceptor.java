@@ -21,12 +21,16 @@ import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.EntityLoader;
 import info.archinnov.achilles.entity.operations.EntityPersister;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
+import info.archinnov.achilles.proxy.wrapper.AbstractWrapper;
+import info.archinnov.achilles.proxy.wrapper.CollectionWrapper;
+import info.archinnov.achilles.proxy.wrapper.MapWrapper;
 import info.archinnov.achilles.proxy.wrapper.builder.ListWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.MapWrapperBuilder;
 import info.archinnov.achilles.proxy.wrapper.builder.SetWrapperBuilder;
 import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,6 +41,10 @@ import net.sf.cglib.proxy.MethodProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Handles the mapped getters and setters of an entity proxy. Other methods
+ * never reach this interceptor, see {@link EntityCallbackFilter}
+ */
 public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> implements MethodInterceptor {
 	private static final Logger log = LoggerFactory.getLogger(EntityInterceptor.class);
 
@@ -53,6 +61,8 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 	protected Map<Method, PropertyMeta> dirtyMap;
 	protected Set<Method> alreadyLoaded;
 	protected CONTEXT context;
+	private Map<Method, AbstractWrapper> wrappers;
+	private Map<Method, Object> pagedWrappers;
 
 	public Object getTarget() {
 		return this.target;
@@ -60,7 +70,10 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 
 	@Override
 	public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-		log.trace("Method {} called for entity of class {}", method.getName(), target.getClass().getCanonicalName());
+		if (log.isTraceEnabled()) {
+			log.trace("Method {} called for entity of class {}", method.getName(), target.getClass()
+					.getCanonicalName());
+		}
 
 		if (idGetter.equals(method)) {
 			return primaryKey;
@@ -83,12 +96,17 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		Object result = null;
 		PropertyMeta propertyMeta = this.getterMetas.get(method);
 
+		// Paged collections are read from Cassandra on demand, unless replaced
+		if (propertyMeta.isPaged() && !isDirty(propertyMeta)) {
+			return getPagedWrapper(method, propertyMeta);
+		}
+
 		// Load fields into target object
-		if (!propertyMeta.isCounter() && !this.alreadyLoaded.contains(method)) {
+		if (!propertyMeta.isCounter() && !isLoaded(method, propertyMeta)) {
 			log.trace("Loading property {}", propertyMeta.getPropertyName());
 
 			loader.loadPropertyIntoObject(context, target, propertyMeta);
-			alreadyLoaded.add(method);
+			markLoaded(method, propertyMeta);
 		}
 
 		log.trace("Invoking getter {} on real object", method.getName());
@@ -104,39 +122,47 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		case LIST:
 		case LAZY_LIST:
 			if (rawValue != null) {
-				log.trace("Build list wrapper for property {} of entity of class {} ", propertyMeta.getPropertyName(),
-						propertyMeta.getEntityClassName());
-
-				@SuppressWarnings("unchecked")
-				List<Object> list = (List<Object>) rawValue;
-				result = ListWrapperBuilder.builder(context, list).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+				result = getCachedWrapper(method, rawValue);
+				if (result == null) {
+					log.trace("Build list wrapper for property {} of entity of class {} ",
+							propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
+					@SuppressWarnings("unchecked")
+					List<Object> list = (List<Object>) rawValue;
+					result = cacheWrapper(method, ListWrapperBuilder.builder(context, list).dirtyMap(dirtyMap)
+							.setter(propertyMeta.getSetter()).propertyMeta(this.getPropertyMetaByProperty(method))
+							.proxifier(proxifier).build());
+				}
 			}
 			break;
 		case SET:
 		case LAZY_SET:
 			if (rawValue != null) {
-				log.trace("Build set wrapper for property {} of entity of class {} ", propertyMeta.getPropertyName(),
-						propertyMeta.getEntityClassName());
-
-				@SuppressWarnings("unchecked")
-				Set<Object> set = (Set<Object>) rawValue;
-				result = SetWrapperBuilder.builder(context, set).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+				result = getCachedWrapper(method, rawValue);
+				if (result == null) {
+					log.trace("Build set wrapper for property {} of entity of class {} ",
+							propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
+					@SuppressWarnings("unchecked")
+					Set<Object> set = (Set<Object>) rawValue;
+					result = cacheWrapper(method, SetWrapperBuilder.builder(context, set).dirtyMap(dirtyMap)
+							.setter(propertyMeta.getSetter()).propertyMeta(this.getPropertyMetaByProperty(method))
+							.proxifier(proxifier).build());
+				}
 			}
 			break;
 		case MAP:
 		case LAZY_MAP:
 			if (rawValue != null) {
-				log.trace("Build map wrapper for property {} of entity of class {} ", propertyMeta.getPropertyName(),
-						propertyMeta.getEntityClassName());
-
-				@SuppressWarnings("unchecked")
-				Map<Object, Object> map = (Map<Object, Object>) rawValue;
-				result = MapWrapperBuilder
-						//
-						.builder(context, map).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build();
+				result = getCachedWrapper(method, rawValue);
+				if (result == null) {
+					log.trace("Build map wrapper for property {} of entity of class {} ",
+							propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
+					@SuppressWarnings("unchecked")
+					Map<Object, Object> map = (Map<Object, Object>) rawValue;
+					result = cacheWrapper(method, MapWrapperBuilder
+							//
+							.builder(context, map).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
+							.propertyMeta(this.getPropertyMetaByProperty(method)).proxifier(proxifier).build());
+				}
 			}
 			break;
 		default:
@@ -149,8 +175,80 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		return result;
 	}
 
+	private boolean isDirty(PropertyMeta propertyMeta) {
+		if (dirtyMap instanceof DirtyMap) {
+			return ((DirtyMap) dirtyMap).isDirty(propertyMeta);
+		}
+		return dirtyMap.containsKey(propertyMeta.getSetter());
+	}
+
+	private boolean isLoaded(Method getter, PropertyMeta propertyMeta) {
+		if (alreadyLoaded instanceof LoadedGetters) {
+			return ((LoadedGetters) alreadyLoaded).isLoaded(propertyMeta);
+		}
+		return alreadyLoaded.contains(getter);
+	}
+
+	private void markLoaded(Method getter, PropertyMeta propertyMeta) {
+		if (alreadyLoaded instanceof LoadedGetters) {
+			((LoadedGetters) alreadyLoaded).markLoaded(propertyMeta);
+		} else {
+			alreadyLoaded.add(getter);
+		}
+	}
+
+	/**
+	 * Returns the wrapper built by a previous call to the getter, provided it
+	 * still wraps the current value of the property
+	 */
+	private Object getCachedWrapper(Method getter, Object rawValue) {
+		AbstractWrapper wrapper = wrappers == null ? null : wrappers.get(getter);
+		if (wrapper != null) {
+			Object wrapped = wrapper instanceof MapWrapper ? ((MapWrapper) wrapper).getTarget()
+					: ((CollectionWrapper) wrapper).getTarget();
+			if (wrapped == rawValue) {
+				return wrapper;
+			}
+		}
+		return null;
+	}
+
+	private Object cacheWrapper(Method getter, AbstractWrapper wrapper) {
+		if (wrappers == null) {
+			wrappers = new HashMap<Method, AbstractWrapper>();
+		}
+		wrappers.put(getter, wrapper);
+		return wrapper;
+	}
+
+	/**
+	 * Paged views are built once per proxy, like the other collection
+	 * wrappers, and dropped when the property is replaced through its setter
+	 */
+	private Object getPagedWrapper(Method getter, PropertyMeta propertyMeta) {
+		if (pagedWrappers == null) {
+			pagedWrappers = new HashMap<Method, Object>();
+		}
+		Object wrapper = pagedWrappers.get(getter);
+		if (wrapper == null) {
+			log.trace("Build paged wrapper for property {} of entity of class {} ", propertyMeta.getPropertyName(),
+					propertyMeta.getEntityClassName());
+			wrapper = buildPagedWrapper(propertyMeta);
+			pagedWrappers.put(getter, wrapper);
+		}
+		return wrapper;
+	}
+
 	protected abstract Counter buildCounterWrapper(PropertyMeta propertyMeta);
 
+	/**
+	 * Builds the view of a collection property annotated with @Paged. Only
+	 * implementations supporting paged collections override it
+	 */
+	protected Object buildPagedWrapper(PropertyMeta propertyMeta) {
+		throw new UnsupportedOperationException("Paged collections are not supported by this implementation");
+	}
+
 	private Object interceptSetter(Method method, Object[] args, MethodProxy proxy) throws Throwable {
 		PropertyMeta propertyMeta = this.setterMetas.get(method);
 		Object result = null;
@@ -166,6 +264,9 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 		if (propertyMeta.type().isLazy()) {
 			this.alreadyLoaded.add(propertyMeta.getGetter());
 		}
+		if (propertyMeta.isPaged() && pagedWrappers != null) {
+			pagedWrappers.remove(propertyMeta.getGetter());
+		}
 		log.trace("Flaging property {}", propertyMeta.getPropertyName());
 
 		dirtyMap.put(method, propertyMeta);
@@ -187,6 +288,8 @@ public abstract class EntityInterceptor<CONTEXT extends PersistenceContext, T> i
 
 	public void setTarget(T target) {
 		this.target = target;
+		this.wrappers = null;
+		this.pagedWrappers = null;
 	}
 
 	void setPrimaryKey(Object key) {
@@ -0,0 +1,177 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.validation.Validator;
+
+import java.lang.reflect.Method;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Getters of the properties already loaded by a proxy, kept as a bitset of
+ * property ordinals. Getters of property metas without a registered ordinal
+ * are kept in a plain set, allocated on first use, and iterated last
+ */
+public class LoadedGetters extends AbstractSet<Method> {
+	private final EntityMeta entityMeta;
+	private final BitSet loaded = new BitSet();
+	private Set<Method> unordered;
+
+	public LoadedGetters(EntityMeta entityMeta) {
+		this.entityMeta = entityMeta;
+	}
+
+	/**
+	 * Whether the property is loaded, looked up by ordinal when it has one
+	 */
+	public boolean isLoaded(PropertyMeta propertyMeta) {
+		if (entityMeta.hasOrdinal(propertyMeta)) {
+			return loaded.get(propertyMeta.getOrdinal());
+		}
+		return unordered != null && unordered.contains(propertyMeta.getGetter());
+	}
+
+	/**
+	 * Mark the property as loaded, by ordinal when it has one
+	 */
+	public void markLoaded(PropertyMeta propertyMeta) {
+		if (entityMeta.hasOrdinal(propertyMeta)) {
+			loaded.set(propertyMeta.getOrdinal());
+		} else {
+			unorderedGetters().add(propertyMeta.getGetter());
+		}
+	}
+
+	@Override
+	public boolean add(Method getter) {
+		Map<Method, PropertyMeta> getterMetas = entityMeta.getGetterMetas();
+		PropertyMeta propertyMeta = getterMetas != null ? getterMetas.get(getter) : null;
+		Validator.validateNotNull(propertyMeta, "The method '%s' is not a mapped getter of entity '%s'", getter,
+				entityMeta.getClassName());
+		if (!entityMeta.hasOrdinal(propertyMeta)) {
+			return unorderedGetters().add(getter);
+		}
+		int ordinal = propertyMeta.getOrdinal();
+		boolean alreadyLoaded = loaded.get(ordinal);
+		loaded.set(ordinal);
+		return !alreadyLoaded;
+	}
+
+	@Override
+	public boolean contains(Object getter) {
+		if (unordered != null && unordered.contains(getter)) {
+			return true;
+		}
+		PropertyMeta propertyMeta = indexedMeta(getter);
+		return propertyMeta != null && loaded.get(propertyMeta.getOrdinal());
+	}
+
+	@Override
+	public boolean remove(Object getter) {
+		if (unordered != null && unordered.remove(getter)) {
+			return true;
+		}
+		PropertyMeta propertyMeta = indexedMeta(getter);
+		boolean contained = propertyMeta != null && loaded.get(propertyMeta.getOrdinal());
+		if (contained) {
+			loaded.clear(propertyMeta.getOrdinal());
+		}
+		return contained;
+	}
+
+	@Override
+	public int size() {
+		return loaded.cardinality() + (unordered != null ? unordered.size() : 0);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return loaded.isEmpty() && (unordered == null || unordered.isEmpty());
+	}
+
+	@Override
+	public void clear() {
+		loaded.clear();
+		unordered = null;
+	}
+
+	@Override
+	public Iterator<Method> iterator() {
+		return new Iterator<Method>() {
+			private int next = loaded.nextSetBit(0);
+			private int current = -1;
+			private Iterator<Method> unorderedIterator;
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0 || unorderedIterator().hasNext();
+			}
+
+			@Override
+			public Method next() {
+				if (next < 0) {
+					current = -1;
+					return unorderedIterator().next();
+				}
+				current = next;
+				next = loaded.nextSetBit(current + 1);
+				return entityMeta.getMetaByOrdinal(current).getGetter();
+			}
+
+			@Override
+			public void remove() {
+				if (current >= 0) {
+					loaded.clear(current);
+					current = -1;
+				} else if (unorderedIterator != null) {
+					unorderedIterator.remove();
+				} else {
+					throw new IllegalStateException();
+				}
+			}
+
+			private Iterator<Method> unorderedIterator() {
+				if (unorderedIterator == null) {
+					unorderedIterator = unordered != null ? unordered.iterator() : Collections
+							.<Method> emptySet().iterator();
+				}
+				return unorderedIterator;
+			}
+		};
+	}
+
+	private Set<Method> unorderedGetters() {
+		if (unordered == null) {
+			unordered = new LinkedHashSet<Method>();
+		}
+		return unordered;
+	}
+
+	private PropertyMeta indexedMeta(Object getter) {
+		Map<Method, PropertyMeta> getterMetas = entityMeta.getGetterMetas();
+		PropertyMeta propertyMeta = getterMetas != null ? getterMetas.get(getter) : null;
+		return propertyMeta != null && entityMeta.hasOrdinal(propertyMeta) ? propertyMeta : null;
+	}
+}
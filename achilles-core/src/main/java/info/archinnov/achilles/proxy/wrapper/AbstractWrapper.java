@@ -19,6 +19,7 @@ package info.archinnov.achilles.proxy.wrapper;
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
+import info.archinnov.achilles.proxy.DirtyMap;
 
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -47,11 +48,18 @@ public abstract class AbstractWrapper {
 	}
 
 	protected void markDirty() {
-		if (!dirtyMap.containsKey(setter)) {
+		if (!isDirty()) {
 			dirtyMap.put(setter, propertyMeta);
 		}
 	}
 
+	private boolean isDirty() {
+		if (dirtyMap instanceof DirtyMap && propertyMeta != null) {
+			return ((DirtyMap) dirtyMap).isDirty(propertyMeta);
+		}
+		return dirtyMap.containsKey(setter);
+	}
+
 	public void setProxifier(EntityProxifier<PersistenceContext> proxifier) {
 		this.proxifier = proxifier;
 	}
@@ -59,4 +67,17 @@ public abstract class AbstractWrapper {
 	public void setContext(PersistenceContext context) {
 		this.context = context;
 	}
+
+	/**
+	 * Hands the dirty tracking state of this wrapper over to a view or an
+	 * iterator built on the same property
+	 */
+	protected <W extends AbstractWrapper> W shareState(W wrapper) {
+		wrapper.dirtyMap = dirtyMap;
+		wrapper.setter = setter;
+		wrapper.propertyMeta = propertyMeta;
+		wrapper.proxifier = proxifier;
+		wrapper.context = context;
+		return wrapper;
+	}
 }
@@ -16,8 +16,6 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
-import info.archinnov.achilles.proxy.wrapper.builder.IteratorWrapperBuilder;
-
 import java.util.Collection;
 import java.util.Iterator;
 
@@ -85,9 +83,7 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 		log.trace("Build iterator wrapper for collection property {} of entity class {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
-		return IteratorWrapperBuilder.builder(context, this.target.iterator())
-		//
-				.dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
+		return shareState(new IteratorWrapper(this.target.iterator()));
 	}
 
 	@Override
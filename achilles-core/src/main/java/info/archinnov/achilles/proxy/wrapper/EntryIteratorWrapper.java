@@ -16,8 +16,6 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
-import info.archinnov.achilles.proxy.wrapper.builder.MapEntryWrapperBuilder;
-
 import java.util.Iterator;
 import java.util.Map.Entry;
 
@@ -45,8 +43,7 @@ public class EntryIteratorWrapper extends AbstractWrapper implements Iterator<En
 		if (entry != null) {
 			log.trace("Build wrapper for next entry of property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
-			result = MapEntryWrapperBuilder.builder(context, entry).dirtyMap(dirtyMap).setter(setter)
-					.propertyMeta(propertyMeta).proxifier(proxifier).build();
+			result = shareState(new MapEntryWrapper(entry));
 		}
 		return result;
 	}
@@ -16,8 +16,6 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
-import info.archinnov.achilles.proxy.wrapper.builder.EntryIteratorWrapperBuilder;
-
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -72,10 +70,7 @@ public class EntrySetWrapper extends AbstractWrapper implements Set<Entry<Object
 	public Iterator<Entry<Object, Object>> iterator() {
 		log.trace("Build iterator wrapper for entry set of property {} of entity class {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-		return EntryIteratorWrapperBuilder
-				//
-				.builder(context, this.target.iterator()).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+		return shareState(new EntryIteratorWrapper(this.target.iterator()));
 	}
 
 	@Override
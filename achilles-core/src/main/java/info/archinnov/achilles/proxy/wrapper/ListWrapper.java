@@ -16,9 +16,6 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
-import info.archinnov.achilles.proxy.wrapper.builder.ListIteratorWrapperBuilder;
-import info.archinnov.achilles.proxy.wrapper.builder.ListWrapperBuilder;
-
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
@@ -76,10 +73,7 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Build iterator wrapper for list property {} of entity class {}", propertyMeta.getPropertyName(),
 				propertyMeta.getEntityClassName());
 
-		return ListIteratorWrapperBuilder
-				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+		return shareState(new ListIteratorWrapper(target));
 	}
 
 	@Override
@@ -89,10 +83,7 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Build iterator wrapper for list property {} of entity class {} at index {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), index);
 
-		return ListIteratorWrapperBuilder
-				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+		return shareState(new ListIteratorWrapper(target));
 	}
 
 	@Override
@@ -122,10 +113,7 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Build sublist wrapper for list property {} of entity class {} between index {} and {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), from, to);
 
-		return ListWrapperBuilder
-				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.proxifier(proxifier).build();
+		return shareState(new ListWrapper(target));
 	}
 
 	@Override
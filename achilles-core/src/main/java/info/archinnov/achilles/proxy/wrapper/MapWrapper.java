@@ -16,10 +16,6 @@
  */
 package info.archinnov.achilles.proxy.wrapper;
 
-import info.archinnov.achilles.proxy.wrapper.builder.EntrySetWrapperBuilder;
-import info.archinnov.achilles.proxy.wrapper.builder.KeySetWrapperBuilder;
-import info.archinnov.achilles.proxy.wrapper.builder.ValueCollectionWrapperBuilder;
-
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +28,9 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 	private static final Logger log = LoggerFactory.getLogger(MapWrapper.class);
 
 	private final Map<Object, Object> target;
+	private EntrySetWrapper entrySet;
+	private KeySetWrapper keySet;
+	private ValueCollectionWrapper values;
 
 	public MapWrapper(Map<Object, Object> target) {
 		this.target = target;
@@ -60,16 +59,13 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 
 	@Override
 	public Set<java.util.Map.Entry<Object, Object>> entrySet() {
-		Set<Entry<Object, Object>> targetEntrySet = this.target.entrySet();
-		if (targetEntrySet.size() > 0) {
+		if (entrySet == null) {
 			log.trace("Build map entry wrapper for map property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
 
-			EntrySetWrapper wrapperSet = EntrySetWrapperBuilder.builder(context, targetEntrySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
-			targetEntrySet = wrapperSet;
+			entrySet = shareState(new EntrySetWrapper(this.target.entrySet()));
 		}
-		return targetEntrySet;
+		return entrySet;
 	}
 
 	@Override
@@ -86,14 +82,11 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 
 	@Override
 	public Set<Object> keySet() {
-		Set<Object> keySet = this.target.keySet();
-		if (keySet.size() > 0) {
+		if (keySet == null) {
 			log.trace("Build key set wrapper for map property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
 
-			KeySetWrapper keySetWrapper = KeySetWrapperBuilder.builder(context, keySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).proxifier(proxifier).build();
-			keySet = keySetWrapper;
+			keySet = shareState(new KeySetWrapper(this.target.keySet()));
 		}
 		return keySet;
 	}
@@ -140,17 +133,11 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 
 	@Override
 	public Collection<Object> values() {
-		Collection<Object> values = this.target.values();
-
-		if (values.size() > 0) {
+		if (values == null) {
 			log.trace("Build values collection wrapper for map property {} of entity class {}",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
-			ValueCollectionWrapper collectionWrapper = ValueCollectionWrapperBuilder
-					//
-					.builder(context, values).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-					.proxifier(proxifier).build();
-			values = collectionWrapper;
+			values = shareState(new ValueCollectionWrapper(this.target.values()));
 		}
 		return values;
 	}
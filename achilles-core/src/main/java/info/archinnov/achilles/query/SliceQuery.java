@@ -26,6 +26,7 @@ import info.archinnov.achilles.validation.Validator;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
 public class SliceQuery<T> {
@@ -44,6 +45,7 @@ public class SliceQuery<T> {
 	private int limit;
 	private boolean limitSet;
 	private boolean noComponent;
+	private String fetchGroup;
 
 	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
 			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
@@ -75,6 +77,14 @@ public class SliceQuery<T> {
 		this.batchSize = batchSize;
 	}
 
+	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
+			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
+			ConsistencyLevel consistencyLevel, int limit, int batchSize, boolean limitSet, String fetchGroup) {
+		this(entityClass, meta, partitionComponents, clusteringsFrom, clusteringsTo, ordering, bounding,
+				consistencyLevel, limit, batchSize, limitSet);
+		this.fetchGroup = fetchGroup;
+	}
+
 	public Class<T> getEntityClass() {
 		return entityClass;
 	}
@@ -124,4 +134,8 @@ public class SliceQuery<T> {
 		return noComponent;
 	}
 
+	public Optional<String> getFetchGroup() {
+		return Optional.fromNullable(fetchGroup);
+	}
+
 }
@@ -0,0 +1,110 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Token space of the partitioners supported by scan queries
+ */
+public enum RingPartitioner {
+	MURMUR3("org.apache.cassandra.dht.Murmur3Partitioner", BigInteger.valueOf(Long.MIN_VALUE), BigInteger
+			.valueOf(Long.MAX_VALUE)) {
+		@Override
+		public Object toBindValue(BigInteger token) {
+			return token.longValue();
+		}
+	},
+	RANDOM("org.apache.cassandra.dht.RandomPartitioner", BigInteger.valueOf(-1), BigInteger.valueOf(2).pow(127)) {
+		@Override
+		public Object toBindValue(BigInteger token) {
+			return token;
+		}
+	};
+
+	private final String className;
+	private final BigInteger minToken;
+	private final BigInteger maxToken;
+
+	private RingPartitioner(String className, BigInteger minToken, BigInteger maxToken) {
+		this.className = className;
+		this.minToken = minToken;
+		this.maxToken = maxToken;
+	}
+
+	/**
+	 * Value to bind for a token(...) restriction in a CQL query
+	 */
+	public abstract Object toBindValue(BigInteger token);
+
+	/**
+	 * Split the ring into at least 'minRangeCount' non wrapping ranges,
+	 * bounded by the tokens of the nodes
+	 */
+	public List<TokenRange> ranges(Collection<String> ringTokens, int minRangeCount) {
+		TreeSet<BigInteger> tokens = new TreeSet<BigInteger>();
+		for (String ringToken : ringTokens) {
+			tokens.add(new BigInteger(ringToken));
+		}
+
+		List<TokenRange> ranges = new ArrayList<TokenRange>();
+		if (tokens.isEmpty()) {
+			ranges.add(new TokenRange(minToken, maxToken));
+		} else {
+			BigInteger previous = null;
+			for (BigInteger token : tokens) {
+				if (previous != null) {
+					ranges.add(new TokenRange(previous, token));
+				}
+				previous = token;
+			}
+			if (tokens.last().compareTo(maxToken) < 0) {
+				ranges.add(new TokenRange(tokens.last(), maxToken));
+			}
+			if (tokens.first().compareTo(minToken) > 0) {
+				ranges.add(new TokenRange(minToken, tokens.first()));
+			}
+		}
+
+		int splitsPerRange = (minRangeCount + ranges.size() - 1) / ranges.size();
+		if (splitsPerRange <= 1) {
+			return ranges;
+		}
+
+		List<TokenRange> splitRanges = new ArrayList<TokenRange>();
+		for (TokenRange range : ranges) {
+			splitRanges.addAll(range.split(splitsPerRange));
+		}
+		return splitRanges;
+	}
+
+	public static RingPartitioner fromClassName(String className) {
+		for (RingPartitioner partitioner : values()) {
+			if (partitioner.className.equals(className)) {
+				return partitioner;
+			}
+		}
+		throw new AchillesException("Scan queries are not supported with partitioner '" + className
+				+ "'. Only Murmur3Partitioner and RandomPartitioner are supported");
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.operations.ScanQueryExecutor;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
+
+public class ScanQueryBuilder<T> {
+
+	private ScanQueryExecutor<?> scanQueryExecutor;
+	private Class<T> entityClass;
+	private EntityMeta meta;
+	private int parallelism = ScanQuery.DEFAULT_PARALLELISM;
+	private int pageSize = ScanQuery.DEFAULT_PAGE_SIZE;
+	private ConsistencyLevel consistencyLevel;
+
+	public ScanQueryBuilder(ScanQueryExecutor<?> scanQueryExecutor, Class<T> entityClass, EntityMeta meta) {
+		this.scanQueryExecutor = scanQueryExecutor;
+		this.entityClass = entityClass;
+		this.meta = meta;
+	}
+
+	/**
+	 * Number of token ranges read at the same time<br/>
+	 * <br/>
+	 * 
+	 * @param parallelism
+	 *            number of scanning threads, default 4
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> parallelism(int parallelism) {
+		Validator.validateTrue(parallelism > 0, "The scan parallelism should be strictly positive");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Number of rows fetched per request<br/>
+	 * <br/>
+	 * 
+	 * @param pageSize
+	 *            page size, default 1000
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> pageSize(int pageSize) {
+		Validator.validateTrue(pageSize > 0, "The scan page size should be strictly positive");
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * Read consistency level<br/>
+	 * <br/>
+	 * 
+	 * @param consistencyLevel
+	 *            consistency level for all pages
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> consistencyLevel(ConsistencyLevel consistencyLevel) {
+		Validator.validateNotNull(consistencyLevel, "The scan consistency level should not be null");
+		this.consistencyLevel = consistencyLevel;
+		return this;
+	}
+
+	/**
+	 * Read the whole table and pass each entity to the consumer. Entities are
+	 * not in 'managed' state<br/>
+	 * <br/>
+	 * 
+	 * The ring is split into token ranges read by 'parallelism' threads, the
+	 * consumer is therefore called concurrently. This method returns when all
+	 * ranges are read and throws the first error raised by a range
+	 * 
+	 * @param consumer
+	 *            entity consumer
+	 */
+	public void forEach(ScanConsumer<? super T> consumer) {
+		Validator.validateNotNull(consumer, "The scan consumer should not be null");
+		scanQueryExecutor.scan(new ScanQuery<T>(entityClass, meta, parallelism, pageSize, consistencyLevel), consumer);
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import info.archinnov.achilles.validation.Validator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Objects;
+
+/**
+ * Range of tokens, start token exclusive and end token inclusive
+ */
+public class TokenRange {
+	private final BigInteger start;
+	private final BigInteger end;
+
+	public TokenRange(BigInteger start, BigInteger end) {
+		Validator.validateTrue(start.compareTo(end) < 0, "The token range start '%s' should be lower than its end '%s'",
+				start, end);
+		this.start = start;
+		this.end = end;
+	}
+
+	public List<TokenRange> split(int count) {
+		BigInteger width = end.subtract(start);
+		BigInteger parts = BigInteger.valueOf(count).min(width);
+		BigInteger step = width.divide(parts);
+
+		List<TokenRange> ranges = new ArrayList<TokenRange>(parts.intValue());
+		BigInteger current = start;
+		for (int i = 1; i < parts.intValue(); i++) {
+			BigInteger next = current.add(step);
+			ranges.add(new TokenRange(current, next));
+			current = next;
+		}
+		ranges.add(new TokenRange(current, end));
+		return ranges;
+	}
+
+	public BigInteger getStart() {
+		return start;
+	}
+
+	public BigInteger getEnd() {
+		return end;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TokenRange other = (TokenRange) obj;
+		return start.equals(other.start) && end.equals(other.end);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return "(" + start + "," + end + "]";
+	}
+}
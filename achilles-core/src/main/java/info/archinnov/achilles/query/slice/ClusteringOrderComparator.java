@@ -0,0 +1,120 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.BytesType;
+import org.apache.cassandra.db.marshal.DateType;
+import org.apache.cassandra.db.marshal.TimeUUIDType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UUIDType;
+
+/**
+ * Compare clustered entities by their clustering components, the way
+ * Cassandra sorts them within a partition.
+ * 
+ * Components whose Java ordering differs from Cassandra's are compared with
+ * the Cassandra type over their serialized value: UUIDType or TimeUUIDType
+ * for uuids, BytesType for byte[] and ByteBuffer, UTF8Type for strings and
+ * DateType for dates. Numbers and booleans sort the same in both
+ */
+public class ClusteringOrderComparator<T> implements Comparator<T> {
+
+	private PropertyMeta idMeta;
+	private List<Boolean> timeUUIDClusterings = new ArrayList<Boolean>();
+
+	public ClusteringOrderComparator(PropertyMeta idMeta) {
+		this.idMeta = idMeta;
+		List<String> clusteringNames = idMeta.getClusteringComponentNames();
+		if (clusteringNames != null) {
+			for (String clusteringName : clusteringNames) {
+				timeUUIDClusterings.add(idMeta.isComponentTimeUUID(clusteringName));
+			}
+		}
+	}
+
+	@Override
+	public int compare(T entity1, T entity2) {
+		return compareClusterings(clusteringComponents(entity1), clusteringComponents(entity2));
+	}
+
+	/**
+	 * Compare encoded clustering components, a prefix coming first
+	 */
+	public int compareClusterings(List<Object> clusterings1, List<Object> clusterings2) {
+		int size = Math.min(clusterings1.size(), clusterings2.size());
+		for (int i = 0; i < size; i++) {
+			boolean timeUUID = i < timeUUIDClusterings.size() && timeUUIDClusterings.get(i);
+			int result = compareComponents(clusterings1.get(i), clusterings2.get(i), timeUUID);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return clusterings1.size() - clusterings2.size();
+	}
+
+	private List<Object> clusteringComponents(T entity) {
+		List<Object> components = idMeta.encodeToComponents(idMeta.getPrimaryKey(entity));
+		return idMeta.extractClusteringComponents(components);
+	}
+
+	/**
+	 * Compare two encoded components, uuids as Cassandra's uuid type
+	 */
+	public static int compareComponents(Object component1, Object component2) {
+		return compareComponents(component1, component2, false);
+	}
+
+	/**
+	 * Compare two encoded components, uuids as Cassandra's timeuuid type when
+	 * timeUUID is set
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static int compareComponents(Object component1, Object component2, boolean timeUUID) {
+		if (component1 instanceof UUID && component2 instanceof UUID) {
+			AbstractType<UUID> type = timeUUID ? TimeUUIDType.instance : UUIDType.instance;
+			return type.compare(type.decompose((UUID) component1), type.decompose((UUID) component2));
+		} else if (isBytes(component1) && isBytes(component2)) {
+			return BytesType.instance.compare(toByteBuffer(component1), toByteBuffer(component2));
+		} else if (component1 instanceof String && component2 instanceof String) {
+			return UTF8Type.instance.compare(UTF8Type.instance.decompose((String) component1),
+					UTF8Type.instance.decompose((String) component2));
+		} else if (component1 instanceof Date && component2 instanceof Date) {
+			return DateType.instance.compare(DateType.instance.decompose((Date) component1),
+					DateType.instance.decompose((Date) component2));
+		}
+		return ((Comparable) component1).compareTo(component2);
+	}
+
+	private static boolean isBytes(Object component) {
+		return component instanceof byte[] || component instanceof ByteBuffer;
+	}
+
+	private static ByteBuffer toByteBuffer(Object component) {
+		return component instanceof byte[] ? ByteBuffer.wrap((byte[]) component) : ((ByteBuffer) component)
+				.duplicate();
+	}
+}
@@ -33,6 +33,10 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
 public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext, T> {
 
 	protected SliceQueryExecutor<CONTEXT> sliceQueryExecutor;
@@ -41,16 +45,20 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 	protected EntityMeta meta;
 
 	protected List<Object> partitionComponents = new ArrayList<Object>();
+	protected List<List<Object>> partitionKeys = new ArrayList<List<Object>>();
 	private PropertyMeta idMeta;
 	private List<Object> fromClusterings = new ArrayList<Object>();
 	private List<Object> toClusterings = new ArrayList<Object>();
 	private OrderingMode ordering = OrderingMode.ASCENDING;
 	private BoundingMode bounding = BoundingMode.INCLUSIVE_BOUNDS;
 	private ConsistencyLevel consistencyLevel;
+	private String fetchGroup;
 	private int limit = DEFAULT_LIMIT;
 	private int batchSize = DEFAULT_BATCH_SIZE;
 	private boolean limitHasBeenSet = false;
 	private boolean orderingHasBeenSet = false;
+	private String cursor;
+	private SliceCursorCodec cursorCodec = new SliceCursorCodec();
 
 	RootSliceQueryBuilder(SliceQueryExecutor<CONTEXT> sliceQueryExecutor, CompoundKeyValidator compoundKeyValidator,
 			Class<T> entityClass, EntityMeta meta) {
@@ -72,6 +80,19 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<CONTEXT, T> partitionKeysInternal(List<?> partitionKeys) {
+		Validator.validateNotEmpty(partitionKeys,
+				"Partition keys for multi-partition slice query for entity '%s' should not be empty",
+				meta.getClassName());
+		for (Object partitionKey : partitionKeys) {
+			List<Object> components = partitionKey instanceof List ? new ArrayList<Object>((List<?>) partitionKey)
+					: Arrays.<Object> asList(partitionKey);
+			compoundKeyValidator.validatePartitionKey(idMeta, components);
+			this.partitionKeys.add(components);
+		}
+		return this;
+	}
+
 	protected RootSliceQueryBuilder<CONTEXT, T> fromClusteringsInternal(List<Object> clusteringComponents) {
 		compoundKeyValidator.validateClusteringKeys(idMeta, clusteringComponents);
 		fromClusterings = clusteringComponents;
@@ -118,22 +139,37 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<CONTEXT, T> fetchGroupInternal(String fetchGroup) {
+		Validator.validateTrue(meta.getFetchGroups().containsKey(fetchGroup),
+				"The fetch group '%s' is not declared on entity '%s'", fetchGroup, meta.getClassName());
+		this.fetchGroup = fetchGroup;
+
+		return this;
+	}
+
 	protected RootSliceQueryBuilder<CONTEXT, T> limit(int limit) {
 		this.limit = limit;
 		limitHasBeenSet = true;
 		return this;
 	}
 
+	protected RootSliceQueryBuilder<CONTEXT, T> afterCursorInternal(String cursor) {
+		Validator.validateNotBlank(cursor, "Cursor for slice query for entity '%s' should not be blank",
+				meta.getClassName());
+		this.cursor = cursor;
+		return this;
+	}
+
 	protected List<T> get() {
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.get(clusteredQuery);
+		return fetch(clusteredQuery);
 	}
 
 	protected List<T> get(int n) {
 		limit = n;
 		limitHasBeenSet = true;
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.get(clusteredQuery);
+		return fetch(clusteredQuery);
 	}
 
 	protected T getFirstOccurence(Object... clusteringComponents) {
@@ -195,7 +231,7 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 
 	protected Iterator<T> iterator() {
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.iterator(clusteredQuery);
+		return iterate(clusteredQuery);
 	}
 
 	protected Iterator<T> iteratorWithComponents(Object... clusteringComponents) {
@@ -203,13 +239,13 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		toClusteringsInternal(clusteringComponents);
 
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.iterator(clusteredQuery);
+		return iterate(clusteredQuery);
 	}
 
 	protected Iterator<T> iterator(int batchSize) {
 		this.batchSize = batchSize;
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.iterator(clusteredQuery);
+		return iterate(clusteredQuery);
 	}
 
 	protected Iterator<T> iteratorWithComponents(int batchSize, Object... clusteringComponents) {
@@ -217,16 +253,80 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 		toClusteringsInternal(clusteringComponents);
 		this.batchSize = batchSize;
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
-		return sliceQueryExecutor.iterator(clusteredQuery);
+		return iterate(clusteredQuery);
+	}
+
+	protected long count() {
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		if (clusteringsToSkipUntil() == null) {
+			return sliceQueryExecutor.count(clusteredQuery);
+		}
+		return Iterators.size(Iterators.limit(iterateIds(clusteredQuery), limitHasBeenSet ? limit
+				: Integer.MAX_VALUE));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <ID> List<ID> keysOnly() {
+		batchSize = limit;
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		return (List<ID>) Lists.newArrayList(Iterators.limit(iterateIds(clusteredQuery), limit));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <ID> Iterator<ID> iteratorOfIds() {
+		SliceQuery<T> clusteredQuery = buildClusterQuery();
+		return (Iterator<ID>) iterateIds(clusteredQuery);
+	}
+
+	protected <ID> Iterator<ID> iteratorOfIds(int batchSize) {
+		this.batchSize = batchSize;
+		return iteratorOfIds();
+	}
+
+	protected SlicePage<T> getPage() {
+		return getPage(limit);
+	}
+
+	/**
+	 * Fetch one more entity than the page size to know whether there is a
+	 * next page
+	 */
+	protected SlicePage<T> getPage(int pageSize) {
+		Validator.validateTrue(pageSize > 0, "Page size for slice query for entity '%s' should be strictly positive",
+				meta.getClassName());
+		SliceQuery<T> clusteredQuery = buildClusterQuery(pageSize + 1, true);
+		List<T> entities = fetch(clusteredQuery);
+
+		String nextCursor = null;
+		if (entities.size() > pageSize) {
+			entities = new ArrayList<T>(entities.subList(0, pageSize));
+			nextCursor = cursorCodec.encode(idMeta, ordering, entities.get(pageSize - 1));
+		}
+		return new SlicePage<T>(entities, nextCursor);
+	}
+
+	protected List<T> getFromPartitions() {
+		return sliceQueryExecutor.get(buildPartitionQueries(), limit);
+	}
+
+	protected Iterator<T> iteratorFromPartitions() {
+		return sliceQueryExecutor.iterator(buildPartitionQueries(), limitHasBeenSet ? limit : Integer.MAX_VALUE);
+	}
+
+	protected Iterator<T> iteratorFromPartitions(int batchSize) {
+		this.batchSize = batchSize;
+		return iteratorFromPartitions();
 	}
 
 	protected void remove() {
+		validateNotResumedOnPrefix();
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
 		sliceQueryExecutor.remove(clusteredQuery);
 	}
 
 	protected void remove(int n) {
 		Validator.validateFalse(limitHasBeenSet, "You should not set 'limit' parameter when calling remove(int n)");
+		validateNotResumedOnPrefix();
 		limit = n;
 		limitHasBeenSet = true;
 		SliceQuery<T> clusteredQuery = buildClusterQuery();
@@ -285,7 +385,119 @@ public abstract class RootSliceQueryBuilder<CONTEXT extends PersistenceContext,
 	}
 
 	protected SliceQuery<T> buildClusterQuery() {
+		return buildClusterQuery(limit, limitHasBeenSet);
+	}
+
+	private SliceQuery<T> buildClusterQuery(int limit, boolean limitHasBeenSet) {
+		if (cursor != null) {
+			return buildResumedClusterQuery(limit, limitHasBeenSet);
+		}
 		return new SliceQuery<T>(entityClass, meta, partitionComponents, fromClusterings, toClusterings, ordering,
-				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet);
+				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet, fetchGroup);
+	}
+
+	/**
+	 * Restart the slice after the position of the cursor, keeping the end
+	 * bound as it was. When the executor can only resume on a prefix of the
+	 * cursor clusterings, the start bound is inclusive and the entities up to
+	 * and including the cursor position are dropped by fetch() and iterate()
+	 */
+	private SliceQuery<T> buildResumedClusterQuery(int limit, boolean limitHasBeenSet) {
+		List<Object> lastClusterings = cursorCodec.decode(idMeta, ordering, cursor);
+		compoundKeyValidator.validateClusteringKeys(idMeta, lastClusterings);
+		List<Object> resumeFrom = sliceQueryExecutor.resumeClusterings(lastClusterings, fromClusterings,
+				toClusterings);
+		BoundingMode resumeBounding;
+		if (resumeFrom.size() < lastClusterings.size()) {
+			resumeBounding = bounding.isInclusiveEnd() ? BoundingMode.INCLUSIVE_BOUNDS
+					: BoundingMode.INCLUSIVE_START_BOUND_ONLY;
+		} else {
+			resumeBounding = bounding.isInclusiveEnd() ? BoundingMode.INCLUSIVE_END_BOUND_ONLY
+					: BoundingMode.EXCLUSIVE_BOUNDS;
+		}
+		return new SliceQuery<T>(entityClass, meta, partitionComponents, resumeFrom, toClusterings, ordering,
+				resumeBounding, consistencyLevel, limit, batchSize, limitHasBeenSet, fetchGroup);
+	}
+
+	/**
+	 * Clustering components of the cursor when the executor resumes on a
+	 * prefix of them only, null otherwise
+	 */
+	private List<Object> clusteringsToSkipUntil() {
+		if (cursor == null) {
+			return null;
+		}
+		List<Object> lastClusterings = cursorCodec.decode(idMeta, ordering, cursor);
+		List<Object> resumeFrom = sliceQueryExecutor.resumeClusterings(lastClusterings, fromClusterings,
+				toClusterings);
+		return resumeFrom.size() < lastClusterings.size() ? lastClusterings : null;
+	}
+
+	private void validateNotResumedOnPrefix() {
+		Validator.validateTrue(clusteringsToSkipUntil() == null,
+				"A slice of entity '%s' resumed after a cursor on a clustering prefix cannot be removed",
+				meta.getClassName());
+	}
+
+	private List<T> fetch(SliceQuery<T> clusteredQuery) {
+		if (clusteringsToSkipUntil() == null) {
+			return sliceQueryExecutor.get(clusteredQuery);
+		}
+		return Lists.newArrayList(Iterators.limit(iterate(clusteredQuery), clusteredQuery.getLimit()));
+	}
+
+	private Iterator<T> iterate(SliceQuery<T> clusteredQuery) {
+		Iterator<T> entities = sliceQueryExecutor.iterator(clusteredQuery);
+		List<Object> lastClusterings = clusteringsToSkipUntil();
+		if (lastClusterings == null) {
+			return entities;
+		}
+		final Predicate<Object> afterCursor = afterCursor(lastClusterings);
+		return Iterators.filter(entities, new Predicate<T>() {
+			@Override
+			public boolean apply(T entity) {
+				return afterCursor.apply(idMeta.getPrimaryKey(entity));
+			}
+		});
+	}
+
+	private Iterator<Object> iterateIds(SliceQuery<T> clusteredQuery) {
+		Iterator<Object> embeddedIds = sliceQueryExecutor.iteratorOfIds(clusteredQuery);
+		List<Object> lastClusterings = clusteringsToSkipUntil();
+		return lastClusterings == null ? embeddedIds : Iterators.filter(embeddedIds, afterCursor(lastClusterings));
+	}
+
+	/**
+	 * Whether an embedded id comes after the cursor position in the slice
+	 * ordering
+	 */
+	private Predicate<Object> afterCursor(List<Object> lastClusterings) {
+		List<Object> components = new ArrayList<Object>(partitionComponents);
+		components.addAll(lastClusterings);
+		final List<Object> cursorClusterings = idMeta.extractClusteringComponents(idMeta
+				.encodeToComponents(components));
+		final int direction = ordering == OrderingMode.DESCENDING ? -1 : 1;
+		final ClusteringOrderComparator<T> comparator = new ClusteringOrderComparator<T>(idMeta);
+		return new Predicate<Object>() {
+			@Override
+			public boolean apply(Object embeddedId) {
+				List<Object> clusterings = idMeta.extractClusteringComponents(idMeta.encodeToComponents(embeddedId));
+				return direction * comparator.compareClusterings(clusterings, cursorClusterings) > 0;
+			}
+		};
+	}
+
+	/**
+	 * One query per partition. No partition needs more than 'limit' entities
+	 * so the page size is capped by the limit
+	 */
+	protected List<SliceQuery<T>> buildPartitionQueries() {
+		int partitionBatchSize = limitHasBeenSet ? Math.min(batchSize, limit) : batchSize;
+		List<SliceQuery<T>> sliceQueries = new ArrayList<SliceQuery<T>>();
+		for (List<Object> partitionKey : partitionKeys) {
+			sliceQueries.add(new SliceQuery<T>(entityClass, meta, partitionKey, fromClusterings, toClusterings,
+					ordering, bounding, consistencyLevel, limit, partitionBatchSize, limitHasBeenSet, fetchGroup));
+		}
+		return sliceQueries;
 	}
 }
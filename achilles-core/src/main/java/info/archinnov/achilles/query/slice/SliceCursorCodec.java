@@ -0,0 +1,81 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.type.OrderingMode;
+import info.archinnov.achilles.validation.Validator;
+
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cassandra.utils.Hex;
+
+/**
+ * Encode the position of a slice query as an opaque cursor: the clustering
+ * components of the last entity returned, each one as JSON, prefixed by the
+ * ordering of the slice
+ */
+public class SliceCursorCodec {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private ReflectionInvoker invoker = new ReflectionInvoker();
+
+	public String encode(PropertyMeta idMeta, OrderingMode ordering, Object entity) {
+		Object embeddedId = idMeta.getPrimaryKey(entity);
+		List<Method> componentGetters = idMeta.getComponentGetters();
+		int partitionComponentsCount = idMeta.getPartitionComponentClasses().size();
+
+		List<String> encoded = new ArrayList<String>();
+		encoded.add(ordering.name());
+		for (Method getter : componentGetters.subList(partitionComponentsCount, componentGetters.size())) {
+			encoded.add(idMeta.forceEncodeToJSON(invoker.getValueFromField(embeddedId, getter)));
+		}
+		return Hex.bytesToHex(idMeta.forceEncodeToJSON(encoded).getBytes(UTF8));
+	}
+
+	public List<Object> decode(PropertyMeta idMeta, OrderingMode ordering, String cursor) {
+		List<?> encoded;
+		try {
+			String json = new String(Hex.hexToBytes(cursor), UTF8);
+			encoded = (List<?>) idMeta.forceDecodeFromJSON(json, List.class);
+		} catch (RuntimeException e) {
+			throw new AchillesException("The slice cursor '" + cursor + "' is not valid", e);
+		}
+
+		List<Class<?>> clusteringClasses = idMeta.getClusteringComponentClasses();
+		Validator.validateTrue(encoded.size() == clusteringClasses.size() + 1,
+				"The slice cursor '%s' does not match the clustering components of entity '%s'", cursor,
+				idMeta.getEntityClassName());
+		Validator.validateTrue(ordering.name().equals(encoded.get(0)),
+				"The slice cursor '%s' has been issued for a %s slice and cannot resume a %s slice", cursor,
+				encoded.get(0), ordering.name());
+
+		List<Object> clusterings = new ArrayList<Object>();
+		for (int i = 0; i < clusteringClasses.size(); i++) {
+			Object component = encoded.get(i + 1);
+			Validator.validateTrue(component instanceof String, "The slice cursor '%s' is not valid", cursor);
+			clusterings.add(idMeta.forceDecodeFromJSON((String) component, clusteringClasses.get(i)));
+		}
+		return clusterings;
+	}
+}
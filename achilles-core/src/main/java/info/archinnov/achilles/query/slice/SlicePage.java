@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import java.util.List;
+
+/**
+ * A page of clustered entities along with the cursor to fetch the next page.
+ * The cursor is an opaque string which can be kept by clients across requests
+ */
+public class SlicePage<T> {
+
+	private List<T> entities;
+	private String nextCursor;
+
+	public SlicePage(List<T> entities, String nextCursor) {
+		this.entities = entities;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getEntities() {
+		return entities;
+	}
+
+	/**
+	 * Cursor to resume the slice after the last entity of this page, null if
+	 * there is no more entity
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean hasNextPage() {
+		return nextCursor != null;
+	}
+}
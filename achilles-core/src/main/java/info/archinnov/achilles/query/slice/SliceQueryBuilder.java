@@ -49,6 +49,21 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 		return new SliceShortcutQueryBuilder();
 	}
 
+	/**
+	 * Query several partitions at once. Each partition is fetched concurrently
+	 * and the results are merged in clustering order<br/>
+	 * <br/>
+	 * 
+	 * @param partitionKeys
+	 *            Partition keys. For a composite partition key, each element
+	 *            is the list of its partition components
+	 * @return MultiPartitionQueryBuilder
+	 */
+	public MultiPartitionQueryBuilder partitionKeys(List<?> partitionKeys) {
+		super.partitionKeysInternal(partitionKeys);
+		return new MultiPartitionQueryBuilder();
+	}
+
 	/**
 	 * Query by from & to embeddedIds<br/>
 	 * <br/>
@@ -117,6 +132,20 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return this;
 		}
 
+		/**
+		 * Load only the properties of the provided fetch group<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of a fetch group declared on the entity
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
 		/**
 		 * Set from clustering components<br/>
 		 * <br/>
@@ -454,6 +483,21 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return this;
 		}
 
+		/**
+		 * Load only the properties of the provided fetch group<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of a fetch group declared on the entity with
+		 *            &#064;FetchGroup
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
 		/**
 		 * Set limit<br/>
 		 * <br/>
@@ -468,6 +512,20 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return this;
 		}
 
+		/**
+		 * Resume the slice right after the last entity of a previous page<br/>
+		 * <br/>
+		 * 
+		 * @param cursor
+		 *            opaque cursor returned by SlicePage.getNextCursor()
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder afterCursor(String cursor) {
+			SliceQueryBuilder.super.afterCursorInternal(cursor);
+			return this;
+		}
+
 		/**
 		 * Get entities<br/>
 		 * <br/>
@@ -490,6 +548,31 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return SliceQueryBuilder.super.get(n);
 		}
 
+		/**
+		 * Get a page of 'limit' entities along with the cursor of the next
+		 * page<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return SlicePage<T>
+		 */
+		public SlicePage<T> getPage() {
+			return SliceQueryBuilder.super.getPage();
+		}
+
+		/**
+		 * Get a page of entities along with the cursor of the next page<br/>
+		 * <br/>
+		 * 
+		 * @param pageSize
+		 *            maximum number of entities in the page
+		 * 
+		 * @return SlicePage<T>
+		 */
+		public SlicePage<T> getPage(int pageSize) {
+			return SliceQueryBuilder.super.getPage(pageSize);
+		}
+
 		/**
 		 * Iterator on entities<br/>
 		 * <br/>
@@ -514,6 +597,53 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			return SliceQueryBuilder.super.iterator(batchSize);
 		}
 
+		/**
+		 * Count matched entities, up to the limit if it has been set. No
+		 * entity is built<br/>
+		 * <br/>
+		 * 
+		 * @return number of matched entities
+		 */
+		public long count() {
+			return SliceQueryBuilder.super.count();
+		}
+
+		/**
+		 * Get the embedded ids of matched entities only, up to the limit<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return List<ID>
+		 */
+		public <ID> List<ID> keysOnly() {
+			return SliceQueryBuilder.super.keysOnly();
+		}
+
+		/**
+		 * Iterator on the embedded ids of matched entities only<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return Iterator<ID>
+		 */
+		public <ID> Iterator<ID> iteratorOfIds() {
+			return SliceQueryBuilder.super.iteratorOfIds();
+		}
+
+		/**
+		 * Iterator on the embedded ids of matched entities only, with
+		 * batchSize<br/>
+		 * <br/>
+		 * 
+		 * @param batchSize
+		 *            maximum number of rows to fetch on each batch
+		 * 
+		 * @return Iterator<ID>
+		 */
+		public <ID> Iterator<ID> iteratorOfIds(int batchSize) {
+			return SliceQueryBuilder.super.iteratorOfIds(batchSize);
+		}
+
 		/**
 		 * Remove matched entities<br/>
 		 * <br/>
@@ -537,4 +667,147 @@ public class SliceQueryBuilder<CONTEXT extends PersistenceContext, T> extends Ro
 			SliceQueryBuilder.super.remove(n);
 		}
 	}
+
+	public class MultiPartitionQueryBuilder {
+
+		protected MultiPartitionQueryBuilder() {
+		}
+
+		/**
+		 * Set from clustering components, applied to every partition<br/>
+		 * <br/>
+		 * 
+		 * @param clusteringComponents
+		 *            From clustering components
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder fromClusterings(Object... clusteringComponents) {
+			SliceQueryBuilder.super.fromClusteringsInternal(clusteringComponents);
+			return this;
+		}
+
+		/**
+		 * Set to clustering components, applied to every partition<br/>
+		 * <br/>
+		 * 
+		 * @param clusteringComponents
+		 *            To clustering components
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder toClusterings(Object... clusteringComponents) {
+			SliceQueryBuilder.super.toClusteringsInternal(clusteringComponents);
+			return this;
+		}
+
+		/**
+		 * Set ordering<br/>
+		 * <br/>
+		 * 
+		 * @param ordering
+		 *            ordering mode: ASCENDING or DESCENDING
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder ordering(OrderingMode ordering) {
+			SliceQueryBuilder.super.ordering(ordering);
+			return this;
+		}
+
+		/**
+		 * Set bounding mode<br/>
+		 * <br/>
+		 * 
+		 * @param boundingMode
+		 *            bounding mode: ASCENDING or DESCENDING
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder bounding(BoundingMode boundingMode) {
+			SliceQueryBuilder.super.bounding(boundingMode);
+			return this;
+		}
+
+		/**
+		 * Set consistency level<br/>
+		 * <br/>
+		 * 
+		 * @param consistencyLevel
+		 *            consistency level:
+		 *            ONE,TWO,THREE,QUORUM,LOCAL_QUORUM,EACH_QUORUM or ALL
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder consistencyLevel(ConsistencyLevel consistencyLevel) {
+			SliceQueryBuilder.super.consistencyLevelInternal(consistencyLevel);
+			return this;
+		}
+
+		/**
+		 * Load only the properties of the provided fetch group<br/>
+		 * <br/>
+		 * 
+		 * @param fetchGroup
+		 *            name of a fetch group declared on the entity with
+		 *            &#064;FetchGroup
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder fetchGroup(String fetchGroup) {
+			SliceQueryBuilder.super.fetchGroupInternal(fetchGroup);
+			return this;
+		}
+
+		/**
+		 * Set limit, global to all the partitions<br/>
+		 * <br/>
+		 * 
+		 * @param limit
+		 *            limit to the number of returned rows
+		 * 
+		 * @return MultiPartitionQueryBuilder
+		 */
+		public MultiPartitionQueryBuilder limit(int limit) {
+			SliceQueryBuilder.super.limit(limit);
+			return this;
+		}
+
+		/**
+		 * Get entities of all the partitions, merged in clustering order<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return List<T>
+		 */
+		public List<T> get() {
+			return SliceQueryBuilder.super.getFromPartitions();
+		}
+
+		/**
+		 * Iterator on entities of all the partitions, merged in clustering
+		 * order<br/>
+		 * <br/>
+		 * 
+		 * 
+		 * @return Iterator<T>
+		 */
+		public Iterator<T> iterator() {
+			return SliceQueryBuilder.super.iteratorFromPartitions();
+		}
+
+		/**
+		 * Iterator on entities of all the partitions with batchSize<br/>
+		 * <br/>
+		 * 
+		 * @param batchSize
+		 *            maximum number of rows to fetch on each batch, per
+		 *            partition
+		 * 
+		 * @return Iterator<T>
+		 */
+		public Iterator<T> iterator(int batchSize) {
+			return SliceQueryBuilder.super.iteratorFromPartitions(batchSize);
+		}
+	}
 }
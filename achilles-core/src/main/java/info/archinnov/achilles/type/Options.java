@@ -26,6 +26,8 @@ public class Options {
 
 	Long timestamp;
 
+	String fetchGroup;
+
 	Options() {
 	}
 
@@ -41,9 +43,14 @@ public class Options {
 		return Optional.fromNullable(timestamp);
 	}
 
+	public Optional<String> getFetchGroup() {
+		return Optional.fromNullable(fetchGroup);
+	}
+
 	@Override
 	public String toString() {
-		return "Options [consistency=" + consistency + ", ttl=" + ttl + ", timestamp=" + timestamp + "]";
+		return "Options [consistency=" + consistency + ", ttl=" + ttl + ", timestamp=" + timestamp + ", fetchGroup="
+				+ fetchGroup + "]";
 	}
 
 	public Options duplicateWithoutTtlAndTimestamp() {
@@ -51,6 +58,7 @@ public class Options {
 	}
 
 	public Options duplicateWithNewConsistencyLevel(ConsistencyLevel consistencyLevel) {
-		return OptionsBuilder.withConsistency(consistencyLevel).withTtl(ttl).withTimestamp(timestamp);
+		return OptionsBuilder.withConsistency(consistencyLevel).withTtl(ttl).withTimestamp(timestamp)
+				.withFetchGroup(fetchGroup);
 	}
 }
@@ -36,6 +36,10 @@ public class OptionsBuilder {
 		return new InternalOptionsBuilder(timestamp);
 	}
 
+	public static InternalOptionsBuilder withFetchGroup(String fetchGroup) {
+		return new InternalOptionsBuilder(fetchGroup);
+	}
+
 	public static class NoOptions extends Options {
 		protected NoOptions() {
 		}
@@ -59,6 +63,10 @@ public class OptionsBuilder {
 			super.timestamp = timestamp;
 		}
 
+		protected InternalOptionsBuilder(String fetchGroup) {
+			super.fetchGroup = fetchGroup;
+		}
+
 		public InternalOptionsBuilder withConsistency(ConsistencyLevel consistencyLevel) {
 			super.consistency = consistencyLevel;
 			return this;
@@ -73,6 +81,11 @@ public class OptionsBuilder {
 			super.timestamp = timestamp;
 			return this;
 		}
+
+		public InternalOptionsBuilder withFetchGroup(String fetchGroup) {
+			super.fetchGroup = fetchGroup;
+			return this;
+		}
 	}
 
 }
@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Write-behind journal record. Property values are JSON encoded with the
+ * object mapper of their entity
+ */
+public class JournalEntry {
+	private JournalEntryType type;
+	private String entityClass;
+	private Map<String, String> properties = new LinkedHashMap<String, String>();
+	private String counterProperty;
+	private Long delta;
+
+	public JournalEntryType getType() {
+		return type;
+	}
+
+	public void setType(JournalEntryType type) {
+		this.type = type;
+	}
+
+	public String getEntityClass() {
+		return entityClass;
+	}
+
+	public void setEntityClass(String entityClass) {
+		this.entityClass = entityClass;
+	}
+
+	public Map<String, String> getProperties() {
+		return properties;
+	}
+
+	public void setProperties(Map<String, String> properties) {
+		this.properties = properties;
+	}
+
+	public String getCounterProperty() {
+		return counterProperty;
+	}
+
+	public void setCounterProperty(String counterProperty) {
+		this.counterProperty = counterProperty;
+	}
+
+	public Long getDelta() {
+		return delta;
+	}
+
+	public void setDelta(Long delta) {
+		this.delta = delta;
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.type.Counter;
+import info.archinnov.achilles.type.CounterBuilder;
+import info.archinnov.achilles.validation.Validator;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+
+/**
+ * Encode the entities and counter increments to write behind into journal
+ * records, and decode them back for replay. Each mapped property is encoded
+ * with the object mapper of its entity, null properties are left out
+ */
+public class JournalEntryCodec {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final ObjectMapper entryMapper = new ObjectMapper();
+	private final Map<Class<?>, EntityMeta> entityMetaMap;
+	private final Map<String, Class<?>> entityClassesByName = new HashMap<String, Class<?>>();
+	private final ObjectMapperFactory objectMapperFactory;
+
+	public JournalEntryCodec(Map<Class<?>, EntityMeta> entityMetaMap, ObjectMapperFactory objectMapperFactory) {
+		this.entityMetaMap = entityMetaMap;
+		this.objectMapperFactory = objectMapperFactory;
+		for (Class<?> entityClass : entityMetaMap.keySet()) {
+			entityClassesByName.put(entityClass.getName(), entityClass);
+		}
+	}
+
+	public byte[] encodeEntity(JournalEntryType type, Object entity) {
+		Class<?> entityClass = entity.getClass();
+		EntityMeta meta = getEntityMeta(entityClass);
+		Validator.validateNotNull(meta.getPrimaryKey(entity), "Cannot write behind entity '%s' without primary key",
+				entity);
+
+		ObjectMapper mapper = objectMapperFactory.getMapper(entityClass);
+		JournalEntry entry = newEntry(type, entityClass);
+		for (PropertyMeta pm : meta.getPropertyMetas().values()) {
+			Object value = pm.getValueFromField(entity);
+			if (value instanceof Counter) {
+				value = ((Counter) value).get();
+			}
+			if (value != null) {
+				entry.getProperties().put(pm.getPropertyName(), write(mapper, value));
+			}
+		}
+		return write(entryMapper, entry).getBytes(UTF8);
+	}
+
+	public byte[] encodeCounterIncrement(Class<?> entityClass, Object primaryKey, String propertyName, long delta) {
+		EntityMeta meta = getEntityMeta(entityClass);
+		PropertyMeta counterMeta = meta.getPropertyMetas().get(propertyName);
+		Validator.validateTrue(counterMeta != null && counterMeta.isCounter(),
+				"The property '%s' of entity '%s' is not a counter", propertyName, entityClass.getCanonicalName());
+		Validator.validateNotNull(primaryKey, "Cannot write behind counter increment without primary key");
+
+		JournalEntry entry = newEntry(JournalEntryType.COUNTER_INCREMENT, entityClass);
+		entry.getProperties().put(meta.getIdMeta().getPropertyName(),
+				write(objectMapperFactory.getMapper(entityClass), primaryKey));
+		entry.setCounterProperty(propertyName);
+		entry.setDelta(delta);
+		return write(entryMapper, entry).getBytes(UTF8);
+	}
+
+	public JournalEntry decode(byte[] payload) {
+		try {
+			return entryMapper.readValue(new String(payload, UTF8), JournalEntry.class);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot decode write-behind entry", e);
+		}
+	}
+
+	public EntityMeta getEntityMeta(JournalEntry entry) {
+		Class<?> entityClass = entityClassesByName.get(entry.getEntityClass());
+		Validator.validateNotNull(entityClass, "The write-behind entity class '%s' is not managed",
+				entry.getEntityClass());
+		return entityMetaMap.get(entityClass);
+	}
+
+	/**
+	 * Build a transient entity holding the properties of the entry
+	 */
+	public Object decodeEntity(JournalEntry entry) {
+		EntityMeta meta = getEntityMeta(entry);
+		ObjectMapper mapper = objectMapperFactory.getMapper(meta.getEntityClass());
+		Object entity = meta.instanciate();
+		for (Entry<String, String> property : entry.getProperties().entrySet()) {
+			PropertyMeta pm = meta.getPropertyMetas().get(property.getKey());
+			Validator.validateNotNull(pm, "The property '%s' of write-behind entity '%s' is not mapped",
+					property.getKey(), entry.getEntityClass());
+
+			Object value = read(mapper, property.getValue(), javaType(mapper, pm));
+			if (pm.isCounter()) {
+				value = CounterBuilder.incr((Long) value);
+			}
+			pm.setValueToField(entity, value);
+		}
+		return entity;
+	}
+
+	private EntityMeta getEntityMeta(Class<?> entityClass) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateNotNull(meta, "The entity class '%s' is not managed", entityClass.getCanonicalName());
+		return meta;
+	}
+
+	private JournalEntry newEntry(JournalEntryType type, Class<?> entityClass) {
+		JournalEntry entry = new JournalEntry();
+		entry.setType(type);
+		entry.setEntityClass(entityClass.getName());
+		return entry;
+	}
+
+	private JavaType javaType(ObjectMapper mapper, PropertyMeta pm) {
+		switch (pm.type()) {
+		case LIST:
+		case LAZY_LIST:
+			return mapper.getTypeFactory().constructCollectionType(List.class, pm.getValueClass());
+		case SET:
+		case LAZY_SET:
+			return mapper.getTypeFactory().constructCollectionType(Set.class, pm.getValueClass());
+		case MAP:
+		case LAZY_MAP:
+			return mapper.getTypeFactory().constructMapType(Map.class, pm.getKeyClass(), pm.getValueClass());
+		case COUNTER:
+			return mapper.getTypeFactory().constructType(Long.class);
+		default:
+			return mapper.getTypeFactory().constructType(pm.getValueClass());
+		}
+	}
+
+	private String write(ObjectMapper mapper, Object value) {
+		try {
+			return mapper.writeValueAsString(value);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot encode write-behind value '" + value + "'", e);
+		}
+	}
+
+	private Object read(ObjectMapper mapper, String json, JavaType type) {
+		try {
+			return mapper.readValue(json, type);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot decode write-behind value '" + json + "'", e);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of the write-behind entries which could not be replayed,
+ * kept for manual recovery. Each record is the payload length followed by the
+ * journaled payload, as encoded by JournalEntryCodec
+ */
+public class WriteBehindDeadLetters {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindDeadLetters.class);
+
+	static final String DEAD_LETTERS_FILE = "dead-letters.log";
+
+	private final File file;
+
+	public WriteBehindDeadLetters(File journalDirectory) {
+		this.file = new File(journalDirectory, DEAD_LETTERS_FILE);
+	}
+
+	public synchronized void append(byte[] payload) {
+		FileOutputStream output = null;
+		try {
+			output = new FileOutputStream(file, true);
+			DataOutputStream data = new DataOutputStream(output);
+			data.writeInt(payload.length);
+			data.write(payload);
+			data.flush();
+			output.getFD().sync();
+		} catch (IOException e) {
+			throw new AchillesException("Cannot write dead letter to '" + file + "'", e);
+		} finally {
+			closeQuietly(output);
+		}
+	}
+
+	public synchronized List<byte[]> readAll() {
+		List<byte[]> payloads = new ArrayList<byte[]>();
+		if (!file.exists()) {
+			return payloads;
+		}
+		DataInputStream data = null;
+		try {
+			data = new DataInputStream(new FileInputStream(file));
+			while (true) {
+				int length;
+				try {
+					length = data.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				byte[] payload = new byte[length];
+				data.readFully(payload);
+				payloads.add(payload);
+			}
+		} catch (IOException e) {
+			throw new AchillesException("Cannot read dead letters from '" + file + "'", e);
+		} finally {
+			closeQuietly(data);
+		}
+		return payloads;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	private void closeQuietly(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				log.warn("Cannot close write-behind dead letters file", e);
+			}
+		}
+	}
+}
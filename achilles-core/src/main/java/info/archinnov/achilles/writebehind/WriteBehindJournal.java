@@ -0,0 +1,437 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.validation.Validator;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal stored in memory-mapped segment files.
+ * 
+ * Each segment starts with a header holding a magic number and the offset of
+ * the first record not replayed yet. Records are made of the payload length,
+ * the CRC32 of the payload and the payload itself. The length is written last
+ * so that a record torn by a crash reads as the end of the segment.
+ * 
+ * Records written to the mapping survive a crash of the JVM. They survive a
+ * crash of the host only when the journal is opened with sync, which forces
+ * the segment to disk after each append.
+ * 
+ * Any thread may append. A single replayer peeks at the oldest records and
+ * acknowledges them once applied. Appends block while the journal holds
+ * maxSegments segments, until fully replayed segments are deleted
+ */
+public class WriteBehindJournal {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+	static final int MAGIC = 0xAC4111E5;
+	static final int HEADER_SIZE = 8;
+	static final int RECORD_HEADER_SIZE = 8;
+
+	private static final String SEGMENT_PREFIX = "journal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String LOCK_FILE = "journal.lock";
+
+	private final File directory;
+	private final int segmentSize;
+	private final int maxSegments;
+	private final boolean sync;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition drained = lock.newCondition();
+
+	private final LinkedList<Segment> segments = new LinkedList<Segment>();
+	private long nextSegmentId = 0;
+	private int pending = 0;
+
+	private RandomAccessFile lockFile;
+	private FileLock fileLock;
+
+	public WriteBehindJournal(File directory, int segmentSize, int maxSegments, boolean sync) {
+		Validator.validateTrue(segmentSize > HEADER_SIZE + RECORD_HEADER_SIZE,
+				"The write-behind segment size should be greater than %s bytes", HEADER_SIZE + RECORD_HEADER_SIZE);
+		Validator.validateTrue(maxSegments > 1, "The write-behind journal should allow at least 2 segments");
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+		this.sync = sync;
+		open();
+	}
+
+	/**
+	 * Append a record, blocking while the journal is full
+	 */
+	public void append(byte[] payload) {
+		Validator.validateTrue(payload.length > 0, "Cannot append an empty write-behind entry");
+		int recordSize = RECORD_HEADER_SIZE + payload.length;
+		Validator.validateTrue(recordSize <= segmentSize - HEADER_SIZE,
+				"The write-behind entry of %s bytes does not fit in a journal segment of %s bytes", payload.length,
+				segmentSize);
+
+		lock.lock();
+		try {
+			Segment segment = writableSegment(recordSize);
+			segment.write(payload);
+			if (sync) {
+				segment.buffer.force();
+			}
+			pending++;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Return up to maxRecords of the oldest records not acknowledged yet,
+	 * waiting up to timeout for one to be appended. Peeking again before
+	 * acknowledging returns the same records
+	 */
+	public List<byte[]> peek(int maxRecords, long timeout, TimeUnit unit) throws InterruptedException {
+		lock.lock();
+		try {
+			long nanos = unit.toNanos(timeout);
+			while (pending == 0 && nanos > 0) {
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+
+			List<byte[]> records = new ArrayList<byte[]>(Math.min(pending, maxRecords));
+			for (Segment segment : segments) {
+				int offset = segment.replayedOffset;
+				while (offset < segment.writeOffset && records.size() < maxRecords) {
+					byte[] payload = segment.read(offset);
+					records.add(payload);
+					offset += RECORD_HEADER_SIZE + payload.length;
+				}
+				if (records.size() == maxRecords) {
+					break;
+				}
+			}
+			return records;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Mark the count oldest records as replayed, deleting the segments which
+	 * are not written anymore and fully replayed
+	 */
+	public void acknowledge(int count) {
+		lock.lock();
+		try {
+			Validator.validateTrue(count <= pending, "Cannot acknowledge %s write-behind entries, only %s are pending",
+					count, pending);
+			int remaining = count;
+			while (remaining > 0) {
+				Segment head = segments.getFirst();
+				if (head.isFullyReplayed()) {
+					deleteSegment(segments.removeFirst());
+				} else {
+					head.skip();
+					remaining--;
+					pending--;
+				}
+			}
+			while (!segments.isEmpty() && segments.getFirst().sealed && segments.getFirst().isFullyReplayed()) {
+				deleteSegment(segments.removeFirst());
+			}
+			if (sync && !segments.isEmpty()) {
+				segments.getFirst().buffer.force();
+			}
+
+			notFull.signalAll();
+			if (pending == 0) {
+				drained.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int pendingCount() {
+		lock.lock();
+		try {
+			return pending;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Wait until all the records are acknowledged
+	 * 
+	 * @return false if the timeout elapsed before
+	 */
+	public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+		lock.lock();
+		try {
+			long nanos = unit.toNanos(timeout);
+			while (pending > 0) {
+				if (nanos <= 0) {
+					return false;
+				}
+				nanos = drained.awaitNanos(nanos);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Force the segments to disk and release the journal directory. Records
+	 * not acknowledged are replayed when the journal is opened again
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			for (Segment segment : segments) {
+				segment.buffer.force();
+			}
+			segments.clear();
+			if (fileLock != null) {
+				fileLock.release();
+				lockFile.close();
+			}
+		} catch (IOException e) {
+			log.warn("Cannot release write-behind journal lock in {}", directory, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void open() {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new AchillesException("Cannot create write-behind journal directory '" + directory + "'");
+		}
+
+		try {
+			lockFile = new RandomAccessFile(new File(directory, LOCK_FILE), "rw");
+			fileLock = lockFile.getChannel().tryLock();
+		} catch (OverlappingFileLockException e) {
+			fileLock = null;
+		} catch (IOException e) {
+			throw new AchillesException("Cannot lock write-behind journal directory '" + directory + "'", e);
+		}
+		if (fileLock == null) {
+			closeQuietly(lockFile);
+			throw new AchillesException("The write-behind journal directory '" + directory + "' is already in use");
+		}
+
+		String[] names = directory.list(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+			}
+		});
+		Arrays.sort(names);
+
+		for (int i = 0; i < names.length; i++) {
+			Segment segment = recoverSegment(new File(directory, names[i]), i < names.length - 1);
+			nextSegmentId = segment.id + 1;
+			if (segment.sealed && segment.isFullyReplayed()) {
+				deleteSegment(segment);
+			} else {
+				segments.add(segment);
+			}
+		}
+		if (pending > 0) {
+			log.info("Recovered {} write-behind entries to replay from {}", pending, directory);
+		}
+	}
+
+	private Segment recoverSegment(File file, boolean sealed) {
+		String name = file.getName();
+		long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+		MappedByteBuffer buffer = map(file, (int) file.length());
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new AchillesException("The write-behind journal segment '" + file + "' is corrupted");
+		}
+
+		Segment segment = new Segment(id, file, buffer);
+		segment.replayedOffset = buffer.getInt(4);
+		segment.writeOffset = segment.replayedOffset;
+		while (segment.hasValidRecordAt(segment.writeOffset)) {
+			segment.writeOffset += RECORD_HEADER_SIZE + buffer.getInt(segment.writeOffset);
+			pending++;
+		}
+
+		// Never append after a torn record, its remains could be read back
+		segment.sealed = sealed || segment.hasRecordAt(segment.writeOffset);
+		return segment;
+	}
+
+	private Segment writableSegment(int recordSize) {
+		while (true) {
+			Segment tail = segments.peekLast();
+			if (tail != null && !tail.sealed && tail.remaining() >= recordSize) {
+				return tail;
+			}
+			if (tail != null) {
+				tail.sealed = true;
+			}
+			if (segments.size() < maxSegments) {
+				Segment segment = createSegment();
+				segments.add(segment);
+				return segment;
+			}
+
+			log.debug("Write-behind journal is full, waiting for replay");
+			try {
+				notFull.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AchillesException("Interrupted while waiting for write-behind journal space", e);
+			}
+		}
+	}
+
+	private Segment createSegment() {
+		long id = nextSegmentId++;
+		File file = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+		log.debug("Creating write-behind journal segment {}", file);
+
+		MappedByteBuffer buffer = map(file, segmentSize);
+		buffer.putInt(4, HEADER_SIZE);
+		buffer.putInt(0, MAGIC);
+
+		Segment segment = new Segment(id, file, buffer);
+		segment.replayedOffset = HEADER_SIZE;
+		segment.writeOffset = HEADER_SIZE;
+		return segment;
+	}
+
+	private MappedByteBuffer map(File file, int size) {
+		RandomAccessFile raf = null;
+		try {
+			raf = new RandomAccessFile(file, "rw");
+			raf.setLength(size);
+			return raf.getChannel().map(MapMode.READ_WRITE, 0, size);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot map write-behind journal segment '" + file + "'", e);
+		} finally {
+			closeQuietly(raf);
+		}
+	}
+
+	private void deleteSegment(Segment segment) {
+		log.debug("Deleting replayed write-behind journal segment {}", segment.file);
+		if (!segment.file.delete()) {
+			log.warn("Cannot delete replayed write-behind journal segment {}", segment.file);
+		}
+	}
+
+	private void closeQuietly(RandomAccessFile raf) {
+		if (raf != null) {
+			try {
+				raf.close();
+			} catch (IOException e) {
+				log.warn("Cannot close write-behind journal file", e);
+			}
+		}
+	}
+
+	private static class Segment {
+		private final long id;
+		private final File file;
+		private final MappedByteBuffer buffer;
+		private int replayedOffset;
+		private int writeOffset;
+		private boolean sealed;
+
+		private Segment(long id, File file, MappedByteBuffer buffer) {
+			this.id = id;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		private int remaining() {
+			return buffer.capacity() - writeOffset;
+		}
+
+		private boolean isFullyReplayed() {
+			return replayedOffset >= writeOffset;
+		}
+
+		private boolean hasRecordAt(int offset) {
+			return offset + RECORD_HEADER_SIZE <= buffer.capacity() && buffer.getInt(offset) != 0;
+		}
+
+		private boolean hasValidRecordAt(int offset) {
+			if (!hasRecordAt(offset)) {
+				return false;
+			}
+			int length = buffer.getInt(offset);
+			if (length < 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+				return false;
+			}
+			return buffer.getInt(offset + 4) == checksum(read(offset));
+		}
+
+		private void write(byte[] payload) {
+			ByteBuffer target = buffer.duplicate();
+			target.position(writeOffset + RECORD_HEADER_SIZE);
+			target.put(payload);
+			buffer.putInt(writeOffset + 4, checksum(payload));
+			buffer.putInt(writeOffset, payload.length);
+			writeOffset += RECORD_HEADER_SIZE + payload.length;
+		}
+
+		private byte[] read(int offset) {
+			byte[] payload = new byte[buffer.getInt(offset)];
+			ByteBuffer source = buffer.duplicate();
+			source.position(offset + RECORD_HEADER_SIZE);
+			source.get(payload);
+			return payload;
+		}
+
+		private void skip() {
+			replayedOffset += RECORD_HEADER_SIZE + buffer.getInt(replayedOffset);
+			buffer.putInt(4, replayedOffset);
+		}
+
+		private static int checksum(byte[] payload) {
+			CRC32 crc = new CRC32();
+			crc.update(payload, 0, payload.length);
+			return (int) crc.getValue();
+		}
+	}
+}
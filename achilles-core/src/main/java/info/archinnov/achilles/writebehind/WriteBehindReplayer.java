@@ -0,0 +1,263 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import info.archinnov.achilles.entity.manager.PersistenceManager;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.type.Counter;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Predicate;
+
+/**
+ * Replay the write-behind journal in order through a regular
+ * PersistenceManager.
+ * 
+ * Consecutive persists are sent with persist(Collection), so that they are
+ * flushed together and grouped by partition. Merges are applied on a
+ * reference proxy, only the journaled properties are updated. Each group is
+ * acknowledged once applied.
+ * 
+ * Transient failures, such as timeouts or unavailable replicas, are retried
+ * with an exponential backoff until Cassandra is back. On any other failure
+ * the entries of a persist group are replayed one by one, then an entry
+ * failing maxAttempts times is moved to the dead letters, like entries which
+ * cannot be decoded.
+ * 
+ * Replay is at-least-once: a crash between applying and acknowledging an
+ * entry applies it again on restart, counter increments included
+ */
+public class WriteBehindReplayer implements Runnable {
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindReplayer.class);
+
+	static final long POLL_MILLIS = 100;
+	static final long MAX_BACKOFF_MILLIS = 10000;
+
+	private final WriteBehindJournal journal;
+	private final JournalEntryCodec codec;
+	private final PersistenceManager<?> manager;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Predicate<Throwable> transientFailure;
+	private final WriteBehindDeadLetters deadLetters;
+
+	private volatile boolean running = true;
+	private long backoffMillis = 0;
+	private int failedAttempts = 0;
+	private int entriesToIsolate = 0;
+
+	public WriteBehindReplayer(WriteBehindJournal journal, JournalEntryCodec codec, PersistenceManager<?> manager,
+			int batchSize, int maxAttempts, Predicate<Throwable> transientFailure, WriteBehindDeadLetters deadLetters) {
+		this.journal = journal;
+		this.codec = codec;
+		this.manager = manager;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.transientFailure = transientFailure;
+		this.deadLetters = deadLetters;
+	}
+
+	@Override
+	public void run() {
+		log.debug("Starting write-behind replay");
+		while (running) {
+			try {
+				replayBatch();
+				backoffMillis = 0;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (RuntimeException e) {
+				backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(POLL_MILLIS, backoffMillis * 2));
+				log.warn("Cannot replay write-behind entries, retrying in {} ms", backoffMillis, e);
+				pause(backoffMillis);
+			}
+		}
+		log.debug("Stopped write-behind replay, {} entries left in the journal", journal.pendingCount());
+	}
+
+	public void stop() {
+		running = false;
+	}
+
+	/**
+	 * Replay up to batchSize entries
+	 * 
+	 * @return number of entries acknowledged
+	 */
+	int replayBatch() throws InterruptedException {
+		List<byte[]> records = journal.peek(batchSize, POLL_MILLIS, TimeUnit.MILLISECONDS);
+		List<DecodedEntry> entries = new ArrayList<DecodedEntry>(records.size());
+		for (byte[] record : records) {
+			entries.add(decode(record));
+		}
+
+		int index = 0;
+		while (index < entries.size()) {
+			int count;
+			try {
+				count = replay(records, entries, index);
+			} catch (RuntimeException e) {
+				if (isTransient(e)) {
+					throw e;
+				}
+				if (entriesToIsolate == 0 && isPersist(entries.get(index))) {
+					entriesToIsolate = countConsecutivePersists(entries, index);
+					if (entriesToIsolate > 1) {
+						log.warn("Cannot replay {} write-behind persists together, replaying them one by one",
+								entriesToIsolate, e);
+						continue;
+					}
+				}
+				if (++failedAttempts < maxAttempts) {
+					throw e;
+				}
+				log.error("Cannot replay write-behind entry after {} attempts, moving it to the dead letters",
+						failedAttempts, e);
+				deadLetters.append(records.get(index));
+				count = 1;
+			}
+			failedAttempts = 0;
+			entriesToIsolate = Math.max(0, entriesToIsolate - count);
+			journal.acknowledge(count);
+			index += count;
+		}
+		return entries.size();
+	}
+
+	private int replay(List<byte[]> records, List<DecodedEntry> entries, int index) {
+		DecodedEntry decoded = entries.get(index);
+		if (decoded == null) {
+			log.error("Moving unreadable write-behind entry to the dead letters");
+			deadLetters.append(records.get(index));
+			return 1;
+		} else if (decoded.entry.getType() == JournalEntryType.PERSIST) {
+			return persistConsecutive(entries, index, entriesToIsolate > 0 ? 1 : Integer.MAX_VALUE);
+		} else if (decoded.entry.getType() == JournalEntryType.MERGE) {
+			merge(decoded);
+		} else {
+			incrementCounter(decoded);
+		}
+		return 1;
+	}
+
+	private boolean isTransient(RuntimeException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (transientFailure.apply(cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decode a journal record, null if unreadable. The record is moved to the
+	 * dead letters only when acknowledged, since a failing batch is peeked and
+	 * decoded again
+	 */
+	private DecodedEntry decode(byte[] record) {
+		try {
+			JournalEntry entry = codec.decode(record);
+			EntityMeta meta = codec.getEntityMeta(entry);
+			if (entry.getType() == JournalEntryType.COUNTER_INCREMENT) {
+				PropertyMeta counterMeta = meta.getPropertyMetas().get(entry.getCounterProperty());
+				Validator.validateTrue(counterMeta != null && counterMeta.isCounter(),
+						"The property '%s' of entity '%s' is not a counter", entry.getCounterProperty(),
+						entry.getEntityClass());
+			}
+			return new DecodedEntry(entry, meta, codec.decodeEntity(entry));
+		} catch (RuntimeException e) {
+			log.error("Cannot decode write-behind entry", e);
+			return null;
+		}
+	}
+
+	private int persistConsecutive(List<DecodedEntry> entries, int from, int maxCount) {
+		int count = Math.min(maxCount, countConsecutivePersists(entries, from));
+		List<Object> entities = new ArrayList<Object>(count);
+		for (int index = from; index < from + count; index++) {
+			entities.add(entries.get(index).entity);
+		}
+		log.trace("Replaying {} write-behind persists", entities.size());
+		manager.persist(entities);
+		return count;
+	}
+
+	private int countConsecutivePersists(List<DecodedEntry> entries, int from) {
+		int index = from;
+		while (index < entries.size() && isPersist(entries.get(index))) {
+			index++;
+		}
+		return index - from;
+	}
+
+	private boolean isPersist(DecodedEntry decoded) {
+		return decoded != null && decoded.entry.getType() == JournalEntryType.PERSIST;
+	}
+
+	private void merge(DecodedEntry decoded) {
+		EntityMeta meta = decoded.meta;
+		Object proxy = manager.getReference(meta.getEntityClass(), meta.getPrimaryKey(decoded.entity));
+		for (String propertyName : decoded.entry.getProperties().keySet()) {
+			PropertyMeta pm = meta.getPropertyMetas().get(propertyName);
+			if (!pm.type().isId() && !pm.isCounter()) {
+				pm.setValueToField(proxy, pm.getValueFromField(decoded.entity));
+			}
+		}
+		manager.merge(proxy);
+	}
+
+	private void incrementCounter(DecodedEntry decoded) {
+		EntityMeta meta = decoded.meta;
+		Object proxy = manager.getReference(meta.getEntityClass(), meta.getPrimaryKey(decoded.entity));
+		PropertyMeta counterMeta = meta.getPropertyMetas().get(decoded.entry.getCounterProperty());
+		Counter counter = (Counter) counterMeta.getValueFromField(proxy);
+		counter.incr(decoded.entry.getDelta());
+	}
+
+	private void pause(long millis) {
+		long deadline = System.currentTimeMillis() + millis;
+		while (running && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(Math.min(POLL_MILLIS, millis));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+		}
+	}
+
+	private static class DecodedEntry {
+		private final JournalEntry entry;
+		private final EntityMeta meta;
+		private final Object entity;
+
+		private DecodedEntry(JournalEntry entry, EntityMeta meta, Object entity) {
+			this.entry = entry;
+			this.meta = meta;
+			this.entity = entity;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import java.io.File;
+
+/**
+ * Write-behind journal settings, see the 'achilles.write.behind.*'
+ * configuration parameters
+ */
+public class WriteBehindSettings {
+	public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_MAX_SEGMENTS = 64;
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+	private final File journalDirectory;
+	private final int segmentSize;
+	private final int maxSegments;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final boolean sync;
+
+	public WriteBehindSettings(File journalDirectory, int segmentSize, int maxSegments, int batchSize,
+			int maxAttempts, boolean sync) {
+		this.journalDirectory = journalDirectory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.sync = sync;
+	}
+
+	public File getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Attempts to replay an entry failing with a non transient error before
+	 * moving it to the dead letters
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public boolean isSync() {
+		return sync;
+	}
+}
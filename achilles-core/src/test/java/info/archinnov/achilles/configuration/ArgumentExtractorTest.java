@@ -20,9 +20,19 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.ReadHedger;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.MetricsListener;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
+import info.archinnov.achilles.metrics.StatementType;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.writebehind.WriteBehindSettings;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -103,6 +113,137 @@ public class ArgumentExtractorTest {
 		assertThat(actual).isTrue();
 	}
 
+	@Test
+	public void should_init_proxy_less_reads() throws Exception {
+		configMap.put(PROXY_LESS_READS_PARAM, true);
+
+		doCallRealMethod().when(extractor).initProxyLessReads(configMap);
+
+		assertThat(extractor.initProxyLessReads(configMap)).isTrue();
+	}
+
+	@Test
+	public void should_disable_proxy_less_reads_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initProxyLessReads(configMap);
+
+		assertThat(extractor.initProxyLessReads(configMap)).isFalse();
+	}
+
+	@Test
+	public void should_init_read_coalescer() throws Exception {
+		configMap.put(READ_COALESCING_ENABLE_PARAM, true);
+
+		doCallRealMethod().when(extractor).initReadCoalescer(configMap);
+
+		assertThat(extractor.initReadCoalescer(configMap).isEnabled()).isTrue();
+	}
+
+	@Test
+	public void should_init_disabled_read_coalescer_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initReadCoalescer(configMap);
+
+		assertThat(extractor.initReadCoalescer(configMap).isEnabled()).isFalse();
+	}
+
+	@Test
+	public void should_init_disabled_read_hedger_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initReadHedger(configMap);
+
+		assertThat(extractor.initReadHedger(configMap).isEnabled()).isFalse();
+	}
+
+	@Test
+	public void should_init_read_hedger() throws Exception {
+		configMap.put(READ_HEDGING_ENABLE_PARAM, true);
+		configMap.put(READ_HEDGING_DELAY_MILLIS_PARAM, 25);
+
+		doCallRealMethod().when(extractor).initReadHedger(configMap);
+
+		ReadHedger hedger = extractor.initReadHedger(configMap);
+		assertThat(hedger.isEnabled()).isTrue();
+		assertThat(hedger.getHedgeDelayNanos()).isEqualTo(25000000L);
+	}
+
+	@Test
+	public void should_exception_when_read_hedging_percentile_out_of_range() throws Exception {
+		configMap.put(READ_HEDGING_ENABLE_PARAM, true);
+		configMap.put(READ_HEDGING_PERCENTILE_PARAM, 99.0);
+
+		doCallRealMethod().when(extractor).initReadHedger(configMap);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The '" + READ_HEDGING_PERCENTILE_PARAM + "' parameter should be between 0 and 1");
+
+		extractor.initReadHedger(configMap);
+	}
+
+	@Test
+	public void should_init_write_behind_settings() throws Exception {
+		configMap.put(WRITE_BEHIND_JOURNAL_DIR_PARAM, "/tmp/journal");
+		configMap.put(WRITE_BEHIND_SEGMENT_SIZE_PARAM, 1024);
+		configMap.put(WRITE_BEHIND_MAX_SEGMENTS_PARAM, 8);
+		configMap.put(WRITE_BEHIND_MAX_ATTEMPTS_PARAM, 3);
+		configMap.put(WRITE_BEHIND_SYNC_PARAM, true);
+
+		doCallRealMethod().when(extractor).initWriteBehindSettings(configMap);
+
+		WriteBehindSettings settings = extractor.initWriteBehindSettings(configMap);
+		assertThat(settings.getJournalDirectory()).isEqualTo(new File("/tmp/journal"));
+		assertThat(settings.getSegmentSize()).isEqualTo(1024);
+		assertThat(settings.getMaxSegments()).isEqualTo(8);
+		assertThat(settings.getBatchSize()).isEqualTo(WriteBehindSettings.DEFAULT_BATCH_SIZE);
+		assertThat(settings.getMaxAttempts()).isEqualTo(3);
+		assertThat(settings.isSync()).isTrue();
+	}
+
+	@Test
+	public void should_not_init_write_behind_settings_without_journal_dir() throws Exception {
+		doCallRealMethod().when(extractor).initWriteBehindSettings(configMap);
+
+		assertThat(extractor.initWriteBehindSettings(configMap)).isNull();
+	}
+
+	@Test
+	public void should_exception_when_write_behind_batch_size_not_positive() throws Exception {
+		configMap.put(WRITE_BEHIND_JOURNAL_DIR_PARAM, "/tmp/journal");
+		configMap.put(WRITE_BEHIND_BATCH_SIZE_PARAM, 0);
+
+		doCallRealMethod().when(extractor).initWriteBehindSettings(configMap);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The '" + WRITE_BEHIND_BATCH_SIZE_PARAM + "' parameter should be strictly positive");
+
+		extractor.initWriteBehindSettings(configMap);
+	}
+
+	@Test
+	public void should_init_bulk_max_in_flight() throws Exception {
+		configMap.put(BULK_MAX_IN_FLIGHT_PARAM, 8);
+
+		doCallRealMethod().when(extractor).initBulkMaxInFlight(configMap);
+
+		assertThat(extractor.initBulkMaxInFlight(configMap)).isEqualTo(8);
+	}
+
+	@Test
+	public void should_init_default_bulk_max_in_flight() throws Exception {
+		doCallRealMethod().when(extractor).initBulkMaxInFlight(configMap);
+
+		assertThat(extractor.initBulkMaxInFlight(configMap)).isEqualTo(DEFAULT_BULK_MAX_IN_FLIGHT);
+	}
+
+	@Test
+	public void should_exception_when_bulk_max_in_flight_not_positive() throws Exception {
+		configMap.put(BULK_MAX_IN_FLIGHT_PARAM, 0);
+
+		doCallRealMethod().when(extractor).initBulkMaxInFlight(configMap);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The 'achilles.bulk.max.in.flight' parameter should be strictly positive");
+
+		extractor.initBulkMaxInFlight(configMap);
+	}
+
 	@Test
 	public void should_init_default_object_factory_mapper() throws Exception {
 		doCallRealMethod().when(extractor).initObjectMapperFactory(configMap);
@@ -224,4 +365,66 @@ public class ArgumentExtractorTest {
 
 		assertThat(consistencyMap).isEmpty();
 	}
+
+	@Test
+	public void should_init_disabled_metrics_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initMetrics(configMap);
+
+		AchillesMetrics metrics = extractor.initMetrics(configMap);
+
+		assertThat(metrics.isEnabled()).isFalse();
+	}
+
+	@Test
+	public void should_init_metrics_with_listeners() throws Exception {
+		MetricsListener listener = mock(MetricsListener.class);
+		configMap.put(METRICS_ENABLE_PARAM, true);
+		configMap.put(METRICS_JMX_ENABLE_PARAM, false);
+		configMap.put(METRICS_LISTENERS_PARAM, Arrays.asList(listener));
+
+		doCallRealMethod().when(extractor).initMetrics(configMap);
+
+		AchillesMetrics metrics = extractor.initMetrics(configMap);
+		metrics.record("entity", OperationType.FIND, StatementType.SELECT, 10L, null);
+
+		assertThat(metrics.isEnabled()).isTrue();
+		verify(listener).onExecution("entity", OperationType.FIND, StatementType.SELECT, 10L, null);
+	}
+
+	@Test
+	public void should_init_disabled_slow_statement_logger_by_default() throws Exception {
+		doCallRealMethod().when(extractor).initSlowStatementLogger(configMap);
+
+		assertThat(extractor.initSlowStatementLogger(configMap).isEnabled()).isFalse();
+	}
+
+	@Test
+	public void should_init_slow_statement_logger() throws Exception {
+		configMap.put(SLOW_STATEMENT_THRESHOLD_PARAM, 100L);
+		configMap.put(SLOW_STATEMENT_THRESHOLD_MAP_PARAM, ImmutableMap.of("entity", 10L));
+		configMap.put(SLOW_STATEMENT_MAX_BOUND_VALUES_PARAM, 5);
+
+		doCallRealMethod().when(extractor).initSlowStatementLogger(configMap);
+
+		SlowStatementLogger logger = extractor.initSlowStatementLogger(configMap);
+
+		assertThat(logger.isEnabled()).isTrue();
+		assertThat(logger.isSlow("entity", 10000000L)).isTrue();
+		assertThat(logger.isSlow("other", 10000000L)).isFalse();
+	}
+
+	@Test
+	public void should_init_slow_statement_logger_from_integer_thresholds() throws Exception {
+		configMap.put(SLOW_STATEMENT_THRESHOLD_PARAM, 100);
+		configMap.put(SLOW_STATEMENT_THRESHOLD_MAP_PARAM, ImmutableMap.of("entity", 10));
+
+		doCallRealMethod().when(extractor).initSlowStatementLogger(configMap);
+
+		SlowStatementLogger logger = extractor.initSlowStatementLogger(configMap);
+
+		assertThat(logger.isEnabled()).isTrue();
+		assertThat(logger.isSlow("entity", 10000000L)).isTrue();
+		assertThat(logger.isSlow("other", 10000000L)).isFalse();
+		assertThat(logger.isSlow("other", 100000000L)).isTrue();
+	}
 }
@@ -0,0 +1,58 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+import org.junit.Test;
+
+public class EntityIdentityMapTest {
+
+	private EntityIdentityMap identityMap = new EntityIdentityMap();
+
+	@Test
+	public void should_put_and_get_entity() throws Exception {
+		CompleteBean entity = new CompleteBean();
+		identityMap.put(CompleteBean.class, 10L, entity);
+
+		assertThat(identityMap.get(CompleteBean.class, 10L)).isSameAs(entity);
+		assertThat(identityMap.get(CompleteBean.class, 11L)).isNull();
+		assertThat(identityMap.get(UserBean.class, 10L)).isNull();
+		assertThat(identityMap.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_evict_entity() throws Exception {
+		identityMap.put(CompleteBean.class, 10L, new CompleteBean());
+		identityMap.evict(CompleteBean.class, 10L);
+		identityMap.evict(UserBean.class, 10L);
+
+		assertThat(identityMap.get(CompleteBean.class, 10L)).isNull();
+	}
+
+	@Test
+	public void should_clear() throws Exception {
+		identityMap.put(CompleteBean.class, 10L, new CompleteBean());
+		identityMap.put(UserBean.class, 10L, new UserBean());
+
+		identityMap.clear();
+
+		assertThat(identityMap.size()).isEqualTo(0);
+	}
+}
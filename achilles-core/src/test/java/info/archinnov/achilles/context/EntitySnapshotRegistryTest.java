@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntitySnapshotRegistryTest {
+
+	private EntitySnapshotRegistry registry = new EntitySnapshotRegistry();
+
+	private EntityMeta meta = new EntityMeta();
+
+	@Before
+	public void setUp() {
+		meta.setAllMetasExceptIdMeta(Arrays.<PropertyMeta> asList());
+	}
+
+	@Test
+	public void should_register_and_get_snapshot_by_identity() throws Exception {
+		CompleteBean entity = new CompleteBean();
+		entity.setId(10L);
+		CompleteBean otherEntity = new CompleteBean();
+		otherEntity.setId(10L);
+
+		registry.register(meta, entity);
+
+		assertThat(registry.get(entity)).isNotNull();
+		assertThat(registry.get(otherEntity)).isNull();
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_replace_snapshot_on_register() throws Exception {
+		CompleteBean entity = new CompleteBean();
+		registry.register(meta, entity);
+		EntitySnapshot first = registry.get(entity);
+
+		registry.register(meta, entity);
+
+		assertThat(registry.get(entity)).isNotSameAs(first);
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_evict_snapshot() throws Exception {
+		CompleteBean entity = new CompleteBean();
+		registry.register(meta, entity);
+
+		registry.evict(entity);
+
+		assertThat(registry.get(entity)).isNull();
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.metadata.transcoding.ListTranscoder;
+import info.archinnov.achilles.entity.metadata.transcoding.SimpleTranscoder;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+import info.archinnov.achilles.type.Counter;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntitySnapshotTest {
+
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	private ReflectionInvoker invoker = new ReflectionInvoker();
+
+	private EntityMeta meta = new EntityMeta();
+
+	private PropertyMeta nameMeta;
+
+	private PropertyMeta friendsMeta;
+
+	private PropertyMeta userMeta;
+
+	private CompleteBean entity;
+
+	@Before
+	public void setUp() throws Exception {
+		nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE)
+				.accessors().invoker(invoker).transcoder(new SimpleTranscoder(objectMapper)).build();
+		friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends").type(LAZY_LIST)
+				.accessors().invoker(invoker).transcoder(new ListTranscoder(objectMapper)).build();
+		userMeta = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user").type(SIMPLE)
+				.accessors().invoker(invoker).transcoder(new SimpleTranscoder(objectMapper)).build();
+		PropertyMeta countMeta = PropertyMetaTestBuilder.completeBean(Void.class, Counter.class).field("count")
+				.type(COUNTER).accessors().invoker(invoker).build();
+
+		meta.setAllMetasExceptIdMeta(Arrays.asList(nameMeta, friendsMeta, userMeta, countMeta));
+
+		UserBean user = new UserBean();
+		user.setName("user");
+		entity = CompleteBeanTestBuilder.builder().randomId().name("name").addFriends("foo", "bar").buid();
+		entity.setUser(user);
+	}
+
+	@Test
+	public void should_have_no_dirty_property_when_unchanged() throws Exception {
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		assertThat(snapshot.dirtyMap(entity)).isEmpty();
+	}
+
+	@Test
+	public void should_detect_modified_properties() throws Exception {
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		entity.setName("new_name");
+		entity.getFriends().add("qux");
+
+		Map<Method, PropertyMeta> dirtyMap = snapshot.dirtyMap(entity);
+
+		assertThat(dirtyMap).hasSize(2);
+		assertThat(dirtyMap.get(nameMeta.getSetter())).isSameAs(nameMeta);
+		assertThat(dirtyMap.get(friendsMeta.getSetter())).isSameAs(friendsMeta);
+	}
+
+	@Test
+	public void should_detect_in_place_modification_of_json_value() throws Exception {
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		entity.getUser().setName("new_user");
+
+		assertThat(snapshot.dirtyMap(entity).keySet()).containsOnly(userMeta.getSetter());
+	}
+
+	@Test
+	public void should_detect_property_set_to_null() throws Exception {
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		entity.setName(null);
+
+		assertThat(snapshot.dirtyMap(entity).keySet()).containsOnly(nameMeta.getSetter());
+	}
+
+	@Test
+	public void should_detect_modification_to_value_with_same_hash_code() throws Exception {
+		entity.setName("Aa");
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		entity.setName("BB");
+
+		assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+		assertThat(snapshot.dirtyMap(entity).keySet()).containsOnly(nameMeta.getSetter());
+	}
+
+	@Test
+	public void should_detect_null_property_set_to_value_with_zero_hash_code() throws Exception {
+		entity.setName(null);
+		EntitySnapshot snapshot = new EntitySnapshot(meta, entity);
+
+		entity.setName("");
+
+		assertThat(snapshot.dirtyMap(entity).keySet()).containsOnly(nameMeta.getSetter());
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class NegativeLookupCacheTest {
+
+	private NegativeLookupCache cache = new NegativeLookupCache();
+
+	@Test
+	public void should_ignore_entities_not_registered() throws Exception {
+		cache.recordMiss(CompleteBean.class, "10");
+
+		assertThat(cache.isEnabled(CompleteBean.class)).isFalse();
+		assertThat(cache.isKnownMiss(CompleteBean.class, "10")).isFalse();
+	}
+
+	@Test
+	public void should_record_and_invalidate_miss() throws Exception {
+		cache.register(CompleteBean.class, 10, 60);
+
+		cache.recordMiss(CompleteBean.class, "10");
+		assertThat(cache.isKnownMiss(CompleteBean.class, "10")).isTrue();
+		assertThat(cache.isKnownMiss(CompleteBean.class, "11")).isFalse();
+
+		cache.invalidate(CompleteBean.class, "10");
+		assertThat(cache.isKnownMiss(CompleteBean.class, "10")).isFalse();
+	}
+
+	@Test
+	public void should_keep_misses_per_entity_class() throws Exception {
+		cache.register(CompleteBean.class, 10, 60);
+		cache.register(UserBean.class, 10, 60);
+
+		cache.recordMiss(CompleteBean.class, "10");
+
+		assertThat(cache.isKnownMiss(UserBean.class, "10")).isFalse();
+	}
+
+	@Test
+	public void should_bound_number_of_misses() throws Exception {
+		cache.register(CompleteBean.class, 2, 60);
+
+		for (int i = 0; i < 100; i++) {
+			cache.recordMiss(CompleteBean.class, Integer.toString(i));
+		}
+
+		int remembered = 0;
+		for (int i = 0; i < 100; i++) {
+			if (cache.isKnownMiss(CompleteBean.class, Integer.toString(i))) {
+				remembered++;
+			}
+		}
+		assertThat(remembered).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void should_invalidate_all() throws Exception {
+		cache.register(CompleteBean.class, 10, 60);
+		cache.recordMiss(CompleteBean.class, "10");
+
+		cache.invalidateAll();
+
+		assertThat(cache.isKnownMiss(CompleteBean.class, "10")).isFalse();
+	}
+
+	@Test
+	public void should_not_record_miss_invalidated_during_lookup() throws Exception {
+		cache.register(CompleteBean.class, 10, 60);
+
+		long generation = cache.generation(CompleteBean.class, "10");
+		cache.invalidate(CompleteBean.class, "10");
+		cache.recordMiss(CompleteBean.class, "10", generation);
+
+		assertThat(cache.isKnownMiss(CompleteBean.class, "10")).isFalse();
+	}
+
+	@Test
+	public void should_not_keep_stale_miss_under_concurrent_writes() throws Exception {
+		cache.register(CompleteBean.class, 1000, 60);
+
+		for (int i = 0; i < 200; i++) {
+			final String key = Integer.toString(i);
+			final AtomicBoolean written = new AtomicBoolean(false);
+			final AtomicBoolean stopped = new AtomicBoolean(false);
+			final CountDownLatch started = new CountDownLatch(4);
+			List<Thread> readers = new ArrayList<Thread>();
+			for (int j = 0; j < 4; j++) {
+				Thread reader = new Thread() {
+					@Override
+					public void run() {
+						started.countDown();
+						while (!stopped.get()) {
+							long generation = cache.generation(CompleteBean.class, key);
+							if (!written.get()) {
+								cache.recordMiss(CompleteBean.class, key, generation);
+							}
+						}
+					}
+				};
+				reader.start();
+				readers.add(reader);
+			}
+			started.await();
+
+			written.set(true);
+			cache.invalidate(CompleteBean.class, key);
+			stopped.set(true);
+			for (Thread reader : readers) {
+				reader.join();
+			}
+
+			assertThat(cache.isKnownMiss(CompleteBean.class, key)).isFalse();
+		}
+	}
+}
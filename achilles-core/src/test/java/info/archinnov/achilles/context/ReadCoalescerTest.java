@@ -0,0 +1,174 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ReadCoalescerTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private AtomicInteger executions = new AtomicInteger();
+
+	@Test
+	public void should_execute_every_read_when_disabled() throws Exception {
+		ReadCoalescer coalescer = ReadCoalescer.disabled();
+
+		assertThat(coalescer.read("key", countingRead("result"))).isEqualTo("result");
+		assertThat(coalescer.read("key", countingRead("result"))).isEqualTo("result");
+
+		assertThat(coalescer.isEnabled()).isFalse();
+		assertThat(executions.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_share_in_flight_read() throws Exception {
+		final ReadCoalescer coalescer = new ReadCoalescer(true);
+		final AtomicReference<String> followerResult = new AtomicReference<String>();
+		final Thread follower = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				followerResult.set(coalescer.read("key", countingRead("follower")));
+			}
+		});
+
+		String leaderResult = coalescer.read("key", new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				executions.incrementAndGet();
+				follower.start();
+				waitUntilBlocked(follower);
+				return "leader";
+			}
+		});
+		follower.join();
+
+		assertThat(leaderResult).isEqualTo("leader");
+		assertThat(followerResult.get()).isEqualTo("leader");
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(coalescer.inFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_not_join_read_started_before_last_write() throws Exception {
+		final ReadCoalescer coalescer = new ReadCoalescer(true);
+		final AtomicReference<String> afterWriteResult = new AtomicReference<String>();
+
+		String beforeWriteResult = coalescer.read("key", new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				executions.incrementAndGet();
+				coalescer.recordWrite();
+				afterWriteResult.set(coalescer.read("key", countingRead("after_write")));
+				return "before_write";
+			}
+		});
+
+		assertThat(beforeWriteResult).isEqualTo("before_write");
+		assertThat(afterWriteResult.get()).isEqualTo("after_write");
+		assertThat(executions.get()).isEqualTo(2);
+		assertThat(coalescer.inFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_not_share_reads_of_different_keys() throws Exception {
+		final ReadCoalescer coalescer = new ReadCoalescer(true);
+		final AtomicReference<String> otherResult = new AtomicReference<String>();
+
+		coalescer.read("key", new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				otherResult.set(coalescer.read("other_key", countingRead("other")));
+				return "result";
+			}
+		});
+
+		assertThat(otherResult.get()).isEqualTo("other");
+		assertThat(executions.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_execute_again_once_read_completed() throws Exception {
+		ReadCoalescer coalescer = new ReadCoalescer(true);
+
+		coalescer.read("key", countingRead("result"));
+		coalescer.read("key", countingRead("result"));
+
+		assertThat(executions.get()).isEqualTo(2);
+		assertThat(coalescer.inFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_propagate_runtime_exception_and_release_key() throws Exception {
+		ReadCoalescer coalescer = new ReadCoalescer(true);
+
+		try {
+			coalescer.read("key", new Callable<String>() {
+				@Override
+				public String call() throws Exception {
+					throw new IllegalStateException("timeout");
+				}
+			});
+		} catch (IllegalStateException e) {
+			assertThat(e).hasMessage("timeout");
+		}
+
+		assertThat(coalescer.inFlightCount()).isEqualTo(0);
+		assertThat(coalescer.read("key", countingRead("result"))).isEqualTo("result");
+	}
+
+	@Test
+	public void should_wrap_checked_exception() throws Exception {
+		ReadCoalescer coalescer = new ReadCoalescer(true);
+
+		exception.expect(AchillesException.class);
+
+		coalescer.read("key", new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				throw new IOException("io");
+			}
+		});
+	}
+
+	private Callable<String> countingRead(final String result) {
+		return new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				executions.incrementAndGet();
+				return result;
+			}
+		};
+	}
+
+	private void waitUntilBlocked(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TERMINATED) {
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+public class ReadHedgerTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private AtomicInteger hedges = new AtomicInteger();
+
+	@Test
+	public void should_not_hedge_when_disabled() throws Exception {
+		ReadHedger hedger = ReadHedger.disabled();
+
+		assertThat(hedger.read(immediate("first"), countingHedge(immediate("hedge")))).isEqualTo("first");
+
+		assertThat(hedger.isEnabled()).isFalse();
+		assertThat(hedges.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_not_hedge_fast_read() throws Exception {
+		ReadHedger hedger = new ReadHedger(1000, null, 1.0);
+
+		assertThat(hedger.read(immediate("first"), countingHedge(immediate("hedge")))).isEqualTo("first");
+
+		assertThat(hedges.get()).isEqualTo(0);
+		assertThat(hedger.getHedgeCount()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_return_hedge_result_when_first_read_is_slow() throws Exception {
+		ReadHedger hedger = new ReadHedger(1, null, 1.0);
+
+		assertThat(hedger.read(never(), countingHedge(immediate("hedge")))).isEqualTo("hedge");
+
+		assertThat(hedges.get()).isEqualTo(1);
+		assertThat(hedger.getHedgeCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_return_first_result_when_hedge_fails() throws Exception {
+		ReadHedger hedger = new ReadHedger(1, null, 1.0);
+		final SettableFuture<String> first = SettableFuture.create();
+
+		String result = hedger.read(future(first), new Callable<ListenableFuture<String>>() {
+			@Override
+			public ListenableFuture<String> call() throws Exception {
+				first.set("first");
+				return Futures.immediateFailedFuture(new AchillesException("hedge failed"));
+			}
+		});
+
+		assertThat(result).isEqualTo("first");
+	}
+
+	@Test
+	public void should_fail_when_both_reads_fail() throws Exception {
+		ReadHedger hedger = new ReadHedger(1, null, 1.0);
+		final SettableFuture<String> first = SettableFuture.create();
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("hedge failed");
+
+		hedger.read(future(first), new Callable<ListenableFuture<String>>() {
+			@Override
+			public ListenableFuture<String> call() throws Exception {
+				first.setException(new AchillesException("first failed"));
+				return Futures.immediateFailedFuture(new AchillesException("hedge failed"));
+			}
+		});
+	}
+
+	@Test
+	public void should_not_hedge_failed_read() throws Exception {
+		ReadHedger hedger = new ReadHedger(1000, null, 1.0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("first failed");
+
+		hedger.read(future(Futures.<String> immediateFailedFuture(new AchillesException("first failed"))),
+				countingHedge(immediate("hedge")));
+	}
+
+	@Test
+	public void should_cap_hedges_to_budget() throws Exception {
+		ReadHedger hedger = new ReadHedger(1, null, 0.001);
+
+		for (int i = 0; i < ReadHedger.MAX_BURST; i++) {
+			assertThat(hedger.read(never(), countingHedge(immediate("hedge")))).isEqualTo("hedge");
+		}
+
+		SettableFuture<String> first = delayed("first");
+		assertThat(hedger.read(future(first), countingHedge(immediate("hedge")))).isEqualTo("first");
+		assertThat(hedges.get()).isEqualTo((int) ReadHedger.MAX_BURST);
+	}
+
+	@Test
+	public void should_use_percentile_delay_after_warmup() throws Exception {
+		ReadHedger hedger = new ReadHedger(1000, 0.5, 1.0);
+		assertThat(hedger.getHedgeDelayNanos()).isEqualTo(1000000000L);
+
+		for (int i = 0; i < ReadHedger.WARMUP_READS; i++) {
+			hedger.read(immediate("first"), countingHedge(immediate("hedge")));
+		}
+
+		assertThat(hedger.getHedgeDelayNanos()).isLessThan(1000000000L);
+		assertThat(hedges.get()).isEqualTo(0);
+	}
+
+	private Callable<ListenableFuture<String>> immediate(String value) {
+		return future(Futures.immediateFuture(value));
+	}
+
+	private Callable<ListenableFuture<String>> never() {
+		return future(SettableFuture.<String> create());
+	}
+
+	private Callable<ListenableFuture<String>> future(final ListenableFuture<String> future) {
+		return new Callable<ListenableFuture<String>>() {
+			@Override
+			public ListenableFuture<String> call() throws Exception {
+				return future;
+			}
+		};
+	}
+
+	private Callable<ListenableFuture<String>> countingHedge(final Callable<ListenableFuture<String>> hedge) {
+		return new Callable<ListenableFuture<String>>() {
+			@Override
+			public ListenableFuture<String> call() throws Exception {
+				hedges.incrementAndGet();
+				return hedge.call();
+			}
+		};
+	}
+
+	private SettableFuture<String> delayed(final String value) {
+		final SettableFuture<String> future = SettableFuture.create();
+		new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				future.set(value);
+			}
+		}).start();
+		return future;
+	}
+}
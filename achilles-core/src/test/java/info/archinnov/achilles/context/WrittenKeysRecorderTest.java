@@ -0,0 +1,72 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class WrittenKeysRecorderTest {
+
+	private WrittenKeysRecorder recorder = new WrittenKeysRecorder();
+
+	@Test
+	public void should_not_record_when_disabled() throws Exception {
+		recorder.record(CompleteBean.class, 10L);
+
+		assertThat(recorder.isEnabled()).isFalse();
+		assertThat(recorder.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_drain_keys_grouped_by_entity_class() throws Exception {
+		recorder.enable();
+		recorder.record(CompleteBean.class, 10L);
+		recorder.record(UserBean.class, 11L);
+		recorder.record(CompleteBean.class, 12L);
+		recorder.record(CompleteBean.class, 10L);
+
+		Map<Class<?>, Set<Object>> writtenKeys = recorder.drain();
+
+		assertThat(writtenKeys.keySet()).containsExactly(CompleteBean.class, UserBean.class);
+		assertThat(writtenKeys.get(CompleteBean.class)).containsExactly(10L, 12L);
+		assertThat(writtenKeys.get(UserBean.class)).containsExactly(11L);
+		assertThat(recorder.size()).isEqualTo(0);
+		assertThat(recorder.drain()).isEmpty();
+	}
+
+	@Test
+	public void should_stay_enabled_until_each_caller_disabled() throws Exception {
+		recorder.enable();
+		recorder.enable();
+
+		recorder.disable();
+		assertThat(recorder.isEnabled()).isTrue();
+
+		recorder.disable();
+		recorder.disable();
+		assertThat(recorder.isEnabled()).isFalse();
+
+		recorder.enable();
+		assertThat(recorder.isEnabled()).isTrue();
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingSupportTest {
+
+	private BatchingSupport<FlushContext<?>> batching;
+
+	@Mock
+	private PersistenceManager<?> manager;
+
+	@Mock
+	private FlushContext<?> flushContext;
+
+	@Before
+	public void setUp() {
+		batching = new BatchingSupport<FlushContext<?>>(manager, flushContext);
+	}
+
+	@Test
+	public void should_start_batch_with_consistency_level() throws Exception {
+		batching.startBatch(EACH_QUORUM);
+
+		verify(flushContext).startBatch();
+		verify(flushContext).setConsistencyLevel(EACH_QUORUM);
+	}
+
+	@Test
+	public void should_clean_up_and_close_session_even_when_end_batch_fails() throws Exception {
+		doThrow(new RuntimeException()).when(flushContext).endBatch();
+
+		try {
+			batching.endBatch();
+		} catch (RuntimeException e) {
+			verify(flushContext).cleanUp();
+			verify(manager).closeSession();
+		}
+	}
+
+	@Test
+	public void should_evict_batch_writes_from_negative_cache_after_flush() throws Exception {
+		batching.endBatch();
+
+		InOrder inOrder = inOrder(flushContext, manager);
+		inOrder.verify(flushContext).endBatch();
+		inOrder.verify(manager).evictBatchWritesFromNegativeCache();
+		inOrder.verify(manager).closeSession();
+	}
+
+	@Test
+	public void should_clean_batch_and_close_session() throws Exception {
+		batching.cleanBatch();
+
+		verify(flushContext).cleanUp();
+		verify(manager).closeSession();
+	}
+
+	@Test
+	public void should_clean_up_batch_when_rejecting_runtime_consistency_level() throws Exception {
+		try {
+			batching.validateNoConsistencyLevel(OptionsBuilder.withConsistency(ONE));
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo(BatchingSupport.RUNTIME_CONSISTENCY_LEVEL_MESSAGE);
+		}
+		verify(flushContext).cleanUp();
+	}
+
+	@Test
+	public void should_accept_missing_consistency_level() throws Exception {
+		batching.validateNoConsistencyLevel(OptionsBuilder.noOptions());
+		batching.validateNoConsistencyLevel((ConsistencyLevel) null);
+
+		verifyZeroInteractions(flushContext);
+	}
+
+	@Test
+	public void should_persist_each_entity() throws Exception {
+		CompleteBean entity1 = new CompleteBean();
+		CompleteBean entity2 = new CompleteBean();
+
+		batching.persist(Arrays.asList(entity1, entity2));
+
+		verify(manager).persist(entity1);
+		verify(manager).persist(entity2);
+	}
+
+	@Test
+	public void should_remove_each_primary_key() throws Exception {
+		batching.removeById(CompleteBean.class, Arrays.asList(10L, 11L));
+
+		verify(manager).removeById(CompleteBean.class, 10L);
+		verify(manager).removeById(CompleteBean.class, 11L);
+	}
+}
@@ -28,6 +28,7 @@ import info.archinnov.achilles.entity.parsing.EntityParser;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.table.TableCreator;
 
 import java.util.ArrayList;
@@ -43,6 +44,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PersistenceManagerFactoryTest {
@@ -157,4 +159,33 @@ public class PersistenceManagerFactoryTest {
 		assertThat(builtContext.getObjectMapperFactory()).isSameAs(mapperFactory);
 	}
 
+	@Test
+	public void should_unregister_metrics_mbeans_on_close() throws Exception {
+		AchillesMetrics metrics = mock(AchillesMetrics.class);
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setMetrics(metrics);
+		doCallRealMethod().when(pmf).setConfigContext(configContext);
+		doCallRealMethod().when(pmf).close();
+		pmf.setConfigContext(configContext);
+
+		pmf.close();
+
+		verify(metrics).unregisterMBeans();
+	}
+
+	@Test
+	public void should_close_write_behind_manager_on_close() throws Exception {
+		WriteBehindPersistenceManager writeBehindManager = mock(WriteBehindPersistenceManager.class);
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setMetrics(mock(AchillesMetrics.class));
+		doCallRealMethod().when(pmf).setConfigContext(configContext);
+		doCallRealMethod().when(pmf).close();
+		pmf.setConfigContext(configContext);
+		Whitebox.setInternalState(pmf, "writeBehindManager", writeBehindManager);
+
+		pmf.close();
+		pmf.close();
+
+		verify(writeBehindManager, times(1)).close();
+	}
 }
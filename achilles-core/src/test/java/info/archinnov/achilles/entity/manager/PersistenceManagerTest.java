@@ -18,9 +18,14 @@ package info.archinnov.achilles.entity.manager;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.EntityIdentityMap;
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.context.NegativeLookupCache;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.context.WrittenKeysRecorder;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.EntityInitializer;
@@ -30,6 +35,7 @@ import info.archinnov.achilles.entity.operations.EntityPersister;
 import info.archinnov.achilles.entity.operations.EntityProxifier;
 import info.archinnov.achilles.entity.operations.EntityRefresher;
 import info.archinnov.achilles.entity.operations.EntityValidator;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -50,8 +56,11 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import com.google.common.collect.Sets;
 
@@ -87,6 +96,9 @@ public class PersistenceManagerTest {
 	@Mock
 	private PersistenceContext context;
 
+	@Mock
+	private FlushContext<?> bulkFlushContext;
+
 	@Mock
 	private Map<Class<?>, EntityMeta> entityMetaMap;
 
@@ -141,6 +153,22 @@ public class PersistenceManagerTest {
 		assertThat(value.getTimestamp().get()).isEqualTo(100L);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_record_written_key_on_persist() throws Exception {
+		WrittenKeysRecorder recorder = new WrittenKeysRecorder();
+		recorder.enable();
+		manager.writtenKeysRecorder = recorder;
+		when(proxifier.isProxy(entity)).thenReturn(false);
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getPrimaryKey()).thenReturn(primaryKey);
+		doCallRealMethod().when(manager).persist(eq(entity), any(Options.class));
+
+		manager.persist(entity, OptionsBuilder.noOptions());
+
+		assertThat(recorder.drain().get(CompleteBean.class)).containsExactly(primaryKey);
+	}
+
 	@Test
 	public void should_exception_trying_to_persist_a_managed_entity() throws Exception {
 		when(proxifier.isProxy(entity)).thenReturn(true);
@@ -237,6 +265,114 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_persist_collection_with_single_flush() throws Exception {
+		CompleteBean other = CompleteBeanTestBuilder.builder().randomId().buid();
+		PersistenceContext otherContext = mock(PersistenceContext.class);
+		List<CompleteBean> entities = Arrays.asList(entity, other);
+
+		doReturn(bulkFlushContext).when(manager).initBulkFlushContext();
+		when(manager.initBulkPersistenceContext(bulkFlushContext, entity)).thenReturn(context);
+		when(manager.initBulkPersistenceContext(bulkFlushContext, other)).thenReturn(otherContext);
+		doCallRealMethod().when(manager).persist(entities);
+
+		manager.persist(entities);
+
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+		verify(entityValidator).validateEntity(other, entityMetaMap);
+		verify(context).persist();
+		verify(otherContext).persist();
+		verify(bulkFlushContext).endBatch();
+	}
+
+	@Test
+	public void should_register_snapshots_of_collection_once_flushed() throws Exception {
+		List<CompleteBean> entities = Arrays.asList(entity);
+		when(context.isProxyLess()).thenReturn(true);
+
+		doReturn(bulkFlushContext).when(manager).initBulkFlushContext();
+		when(manager.initBulkPersistenceContext(bulkFlushContext, entity)).thenReturn(context);
+		doCallRealMethod().when(manager).persist(entities);
+
+		manager.persist(entities);
+
+		InOrder inOrder = inOrder(bulkFlushContext, context);
+		inOrder.verify(bulkFlushContext).endBatch();
+		inOrder.verify(context).registerSnapshot(entity);
+	}
+
+	@Test
+	public void should_not_register_snapshots_of_collection_when_flush_fails() throws Exception {
+		List<CompleteBean> entities = Arrays.asList(entity);
+		when(context.isProxyLess()).thenReturn(true);
+
+		doReturn(bulkFlushContext).when(manager).initBulkFlushContext();
+		when(manager.initBulkPersistenceContext(bulkFlushContext, entity)).thenReturn(context);
+		doThrow(new AchillesException("flush failed")).when(bulkFlushContext).endBatch();
+		doCallRealMethod().when(manager).persist(entities);
+
+		try {
+			manager.persist(entities);
+			fail("Bulk persist should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("flush failed");
+		}
+
+		verify(context).persist();
+		verify(context, never()).registerSnapshot(entity);
+	}
+
+	@Test
+	public void should_not_persist_collection_containing_managed_entity() throws Exception {
+		CompleteBean other = CompleteBeanTestBuilder.builder().randomId().buid();
+		when(proxifier.isProxy(other)).thenReturn(true);
+		List<CompleteBean> entities = Arrays.asList(entity, other);
+		doCallRealMethod().when(manager).persist(entities);
+
+		exception.expect(IllegalStateException.class);
+		exception.expectMessage("Then entity is already in 'managed' state");
+
+		try {
+			manager.persist(entities);
+		} finally {
+			verify(manager, never()).initBulkFlushContext();
+		}
+	}
+
+	@Test
+	public void should_remove_collection_with_single_flush() throws Exception {
+		List<CompleteBean> entities = Arrays.asList(entity);
+
+		doReturn(bulkFlushContext).when(manager).initBulkFlushContext();
+		when(manager.initBulkPersistenceContext(bulkFlushContext, entity)).thenReturn(context);
+		doCallRealMethod().when(manager).remove(entities);
+
+		manager.remove(entities);
+
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+		verify(proxifier).ensureProxy(entity);
+		verify(context).remove();
+		verify(bulkFlushContext).endBatch();
+		verify(context).evictSnapshot(entity);
+	}
+
+	@Test
+	public void should_remove_collection_by_id_with_single_flush() throws Exception {
+		List<Long> primaryKeys = Arrays.asList(primaryKey);
+		PropertyMeta idMeta = new PropertyMeta();
+		when(context.getIdMeta()).thenReturn(idMeta);
+
+		doReturn(bulkFlushContext).when(manager).initBulkFlushContext();
+		when(manager.initBulkPersistenceContext(bulkFlushContext, CompleteBean.class, primaryKey)).thenReturn(context);
+		doCallRealMethod().when(manager).removeById(CompleteBean.class, primaryKeys);
+
+		manager.removeById(CompleteBean.class, primaryKeys);
+
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		verify(context).remove();
+		verify(bulkFlushContext).endBatch();
+	}
+
 	@Test
 	public void should_remove_by_id_with_consistency() throws Exception {
 		doCallRealMethod().when(manager).removeById(CompleteBean.class, primaryKey, LOCAL_QUORUM);
@@ -272,6 +408,153 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_not_hit_cassandra_for_known_miss() throws Exception {
+		NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+		negativeLookupCache.register(CompleteBean.class, 10, 60);
+		manager.negativeLookupCache = negativeLookupCache;
+		doCallRealMethod().when(manager).find(CompleteBean.class, primaryKey);
+		doCallRealMethod().when(manager).find(eq(CompleteBean.class), eq(primaryKey), any(ConsistencyLevel.class));
+
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(entityMeta);
+		when(entityMeta.getIdMeta()).thenReturn(idMeta);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.find(CompleteBean.class)).thenReturn(null);
+
+		assertThat(manager.find(CompleteBean.class, primaryKey)).isNull();
+		assertThat(manager.find(CompleteBean.class, primaryKey)).isNull();
+
+		verify(context, times(1)).find(CompleteBean.class);
+		assertThat(negativeLookupCache.isKnownMiss(CompleteBean.class, primaryKey.toString())).isTrue();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_evict_from_negative_cache_on_persist() throws Exception {
+		NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+		negativeLookupCache.register(CompleteBean.class, 10, 60);
+		negativeLookupCache.recordMiss(CompleteBean.class, primaryKey.toString());
+		manager.negativeLookupCache = negativeLookupCache;
+		when(proxifier.isProxy(entity)).thenReturn(false);
+		doCallRealMethod().when(manager).persist(eq(entity), any(Options.class));
+
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(entityMeta);
+		when(entityMeta.getIdMeta()).thenReturn(idMeta);
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getPrimaryKey()).thenReturn(primaryKey);
+
+		manager.persist(entity, OptionsBuilder.noOptions());
+
+		assertThat(negativeLookupCache.isKnownMiss(CompleteBean.class, primaryKey.toString())).isFalse();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_evict_batch_writes_from_negative_cache_again_after_flush() throws Exception {
+		NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+		negativeLookupCache.register(CompleteBean.class, 10, 60);
+		manager.negativeLookupCache = negativeLookupCache;
+		when(proxifier.isProxy(entity)).thenReturn(false);
+		doCallRealMethod().when(manager).persist(eq(entity), any(Options.class));
+		doCallRealMethod().when(manager).evictBatchWritesFromNegativeCache();
+
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(entityMeta);
+		when(entityMeta.getIdMeta()).thenReturn(idMeta);
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getPrimaryKey()).thenReturn(primaryKey);
+		when(context.isBatchMode()).thenReturn(true);
+
+		manager.persist(entity, OptionsBuilder.noOptions());
+		// lookup between persist() and endBatch(), the entity is not flushed yet
+		negativeLookupCache.recordMiss(CompleteBean.class, primaryKey.toString());
+		manager.evictBatchWritesFromNegativeCache();
+
+		assertThat(negativeLookupCache.isKnownMiss(CompleteBean.class, primaryKey.toString())).isFalse();
+	}
+
+	@Test
+	public void should_not_record_miss_when_key_written_during_lookup() throws Exception {
+		final NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+		negativeLookupCache.register(CompleteBean.class, 10, 60);
+		manager.negativeLookupCache = negativeLookupCache;
+		doCallRealMethod().when(manager).find(CompleteBean.class, primaryKey);
+		doCallRealMethod().when(manager).find(eq(CompleteBean.class), eq(primaryKey), any(ConsistencyLevel.class));
+
+		PropertyMeta idMeta = mock(PropertyMeta.class);
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(entityMeta);
+		when(entityMeta.getIdMeta()).thenReturn(idMeta);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.find(CompleteBean.class)).thenAnswer(new Answer<CompleteBean>() {
+			@Override
+			public CompleteBean answer(InvocationOnMock invocation) throws Throwable {
+				negativeLookupCache.invalidate(CompleteBean.class, primaryKey.toString());
+				return null;
+			}
+		});
+
+		assertThat(manager.find(CompleteBean.class, primaryKey)).isNull();
+
+		assertThat(negativeLookupCache.isKnownMiss(CompleteBean.class, primaryKey.toString())).isFalse();
+	}
+
+	@Test
+	public void should_find_from_identity_map() throws Exception {
+		EntityIdentityMap identityMap = new EntityIdentityMap();
+		doCallRealMethod().when(manager).setIdentityMap(identityMap);
+		manager.setIdentityMap(identityMap);
+		doCallRealMethod().when(manager).find(CompleteBean.class, primaryKey);
+		doCallRealMethod().when(manager).find(eq(CompleteBean.class), eq(primaryKey), any(ConsistencyLevel.class));
+
+		when(context.find(CompleteBean.class)).thenReturn(entity);
+		when(context.getIdMeta()).thenReturn(new PropertyMeta());
+
+		CompleteBean first = manager.find(CompleteBean.class, primaryKey);
+		CompleteBean second = manager.find(CompleteBean.class, primaryKey);
+
+		assertThat(first).isSameAs(entity);
+		assertThat(second).isSameAs(entity);
+		verify(context, times(1)).find(CompleteBean.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_evict_from_identity_map_on_remove_by_id() throws Exception {
+		EntityIdentityMap identityMap = new EntityIdentityMap();
+		identityMap.put(CompleteBean.class, primaryKey, entity);
+		doCallRealMethod().when(manager).setIdentityMap(identityMap);
+		manager.setIdentityMap(identityMap);
+		doCallRealMethod().when(manager).removeById(CompleteBean.class, primaryKey);
+
+		when(context.getIdMeta()).thenReturn(new PropertyMeta());
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getPrimaryKey()).thenReturn(primaryKey);
+
+		manager.removeById(CompleteBean.class, primaryKey);
+
+		verify(context).remove();
+		assertThat(identityMap.get(CompleteBean.class, primaryKey)).isNull();
+	}
+
+	@Test
+	public void should_clear_identity_map_on_close_session() throws Exception {
+		EntityIdentityMap identityMap = new EntityIdentityMap();
+		identityMap.put(CompleteBean.class, primaryKey, entity);
+		doCallRealMethod().when(manager).setIdentityMap(identityMap);
+		manager.setIdentityMap(identityMap);
+		doCallRealMethod().when(manager).closeSession();
+
+		manager.closeSession();
+
+		assertThat(identityMap.size()).isEqualTo(0);
+	}
+
 	@Test
 	public void should_find_with_consistency() throws Exception {
 		doCallRealMethod().when(manager).find(CompleteBean.class, primaryKey, EACH_QUORUM);
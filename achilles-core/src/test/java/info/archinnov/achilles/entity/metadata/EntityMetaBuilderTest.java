@@ -151,4 +151,24 @@ public class EntityMetaBuilderTest {
 		assertThat(meta.isClusteredCounter()).isTrue();
 	}
 
+	@Test
+	public void should_assign_ordinals_in_property_name_order() throws Exception {
+		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.accessors().build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age")
+				.accessors().build();
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("age", ageMeta);
+
+		when((Class) idMeta.getValueClass()).thenReturn(Long.class);
+
+		EntityMeta meta = entityMetaBuilder(idMeta).className("Bean").propertyMetas(propertyMetas)
+				.columnFamilyName("toto").build();
+
+		assertThat(ageMeta.getOrdinal()).isEqualTo(0);
+		assertThat(nameMeta.getOrdinal()).isEqualTo(1);
+		assertThat(meta.getMetasByOrdinal()).containsExactly(ageMeta, nameMeta);
+		assertThat(meta.getMetaByOrdinal(1)).isSameAs(nameMeta);
+	}
 }
@@ -0,0 +1,103 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.metadata.transcoding;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang.StringUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CompressedTranscoderTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private CompressedTranscoder transcoder = new CompressedTranscoder(mock(ObjectMapper.class), 10);
+
+	private PropertyMeta pm;
+
+	private String largeValue = StringUtils.repeat("achilles", 100);
+
+	@Before
+	public void setUp() throws Exception {
+		pm = PropertyMetaTestBuilder.valueClass(String.class).field("content").type(SIMPLE).build();
+	}
+
+	@Test
+	public void should_encode_and_decode_compressed_value() throws Exception {
+		ByteBuffer encoded = (ByteBuffer) transcoder.encode(pm, largeValue);
+
+		assertThat(encoded.get(0)).isEqualTo(CompressedTranscoder.DEFLATE);
+		assertThat(encoded.remaining()).isLessThan(largeValue.length());
+		assertThat(transcoder.decode(pm, encoded)).isEqualTo(largeValue);
+	}
+
+	@Test
+	public void should_not_compress_value_below_threshold() throws Exception {
+		ByteBuffer encoded = (ByteBuffer) transcoder.encode(pm, "short");
+
+		assertThat(encoded.get(0)).isEqualTo(CompressedTranscoder.UNCOMPRESSED);
+		assertThat(encoded.remaining()).isEqualTo(6);
+		assertThat(transcoder.decode(pm, encoded)).isEqualTo("short");
+	}
+
+	@Test
+	public void should_exception_when_unknown_codec() throws Exception {
+		ByteBuffer encoded = ByteBuffer.wrap(new byte[] { 9, 'a' });
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Unknown compression codec '9' for property 'content'");
+
+		transcoder.decode(pm, encoded);
+	}
+
+	@Test
+	public void should_encode_and_decode_compressed_text() throws Exception {
+		String encoded = transcoder.forceEncodeToJSON(largeValue);
+
+		assertThat(encoded.charAt(0)).isEqualTo((char) CompressedTranscoder.DEFLATE);
+		assertThat(encoded.length()).isLessThan(largeValue.length());
+		assertThat(transcoder.forceDecodeFromJSON(encoded, String.class)).isEqualTo(largeValue);
+	}
+
+	@Test
+	public void should_decode_plain_text() throws Exception {
+		assertThat(transcoder.forceEncodeToJSON("short")).isEqualTo("short");
+		assertThat(transcoder.forceDecodeFromJSON("legacy value", String.class)).isEqualTo("legacy value");
+	}
+
+	@Test
+	public void should_escape_plain_text_starting_with_header() throws Exception {
+		String value = "\u0001abc";
+
+		String encoded = transcoder.forceEncodeToJSON(value);
+
+		assertThat(encoded).isEqualTo("\u0000\u0001abc");
+		assertThat(transcoder.forceDecodeFromJSON(encoded, String.class)).isEqualTo(value);
+	}
+}
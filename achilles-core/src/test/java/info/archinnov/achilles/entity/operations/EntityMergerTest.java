@@ -19,6 +19,7 @@ package info.archinnov.achilles.entity.operations;
 import static info.archinnov.achilles.entity.metadata.PropertyType.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.EntitySnapshot;
 import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
@@ -63,6 +64,9 @@ public class EntityMergerTest {
 	@Mock
 	private PersistenceContext context;
 
+	@Mock
+	private EntitySnapshot snapshot;
+
 	@Mock
 	private EntityInterceptor<PersistenceContext, CompleteBean> interceptor;
 
@@ -114,6 +118,21 @@ public class EntityMergerTest {
 
 	}
 
+	@Test
+	public void should_merge_plain_entity_with_snapshot() throws Exception {
+		Map<Method, PropertyMeta> snapshotDirtyMap = new HashMap<Method, PropertyMeta>();
+		when(proxifier.isProxy(entity)).thenReturn(false);
+		when(context.getSnapshot(entity)).thenReturn(snapshot);
+		when(snapshot.dirtyMap(entity)).thenReturn(snapshotDirtyMap);
+
+		CompleteBean actual = entityMerger.merge(context, entity);
+
+		assertThat(actual).isSameAs(entity);
+		verify(merger).merge(context, snapshotDirtyMap);
+		verify(context).registerSnapshot(entity);
+		verifyZeroInteractions(persister);
+	}
+
 	@Test
 	public void should_persist_transient_entity() throws Exception {
 		when(proxifier.isProxy(entity)).thenReturn(false);
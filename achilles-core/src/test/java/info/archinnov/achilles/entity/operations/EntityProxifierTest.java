@@ -23,6 +23,7 @@ import info.archinnov.achilles.context.PersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.proxy.EntityInterceptor;
+import info.archinnov.achilles.proxy.EntityTargetDispatcher;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
@@ -89,6 +90,7 @@ public class EntityProxifierTest {
 		assertThat((Class<CompleteBean>) proxifier.deriveBaseClass(proxy)).isEqualTo(CompleteBean.class);
 	}
 
+	@SuppressWarnings("unchecked")
 	@Test
 	public void should_build_proxy() throws Exception {
 
@@ -96,6 +98,8 @@ public class EntityProxifierTest {
 
 		CompleteBean entity = CompleteBeanTestBuilder.builder().id(primaryKey).name("name").buid();
 
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		when((Class<CompleteBean>) entityMeta.getEntityClass()).thenReturn(CompleteBean.class);
 		when((PropertyMeta) entityMeta.getIdMeta()).thenReturn(idMeta);
 
 		when(proxifier.buildInterceptor(eq(context), eq(entity), any(HashSet.class))).thenReturn(interceptor);
@@ -109,8 +113,24 @@ public class EntityProxifierTest {
 		assertThat(proxy).isInstanceOf(Factory.class);
 		Factory factory = (Factory) proxy;
 
-		assertThat(factory.getCallbacks()).hasSize(1);
-		assertThat(factory.getCallback(0)).isInstanceOf(EntityInterceptor.class);
+		assertThat(factory.getCallbacks()).hasSize(2);
+		assertThat(factory.getCallback(0)).isSameAs(interceptor);
+		assertThat(factory.getCallback(1)).isInstanceOf(EntityTargetDispatcher.class);
+	}
+
+	@Test
+	public void should_return_plain_entity_for_proxy_less_read() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		when(context.isProxyLess()).thenReturn(true);
+
+		doCallRealMethod().when(proxifier).buildProxy(entity, context);
+		doCallRealMethod().when(proxifier).buildProxy(eq(entity), eq(context), any(HashSet.class));
+
+		CompleteBean actual = proxifier.buildProxy(entity, context);
+
+		assertThat(actual).isSameAs(entity);
+		verify(context).registerSnapshot(entity);
+		verify(proxifier, never()).buildInterceptor(eq(context), eq(entity), any(HashSet.class));
 	}
 
 	@Test
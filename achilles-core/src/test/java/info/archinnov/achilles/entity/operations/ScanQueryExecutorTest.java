@@ -0,0 +1,98 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.query.scan.RingPartitioner;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.query.scan.TokenRange;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ScanQueryExecutorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private EntityMeta meta = new EntityMeta();
+
+	private ScanQuery<CompleteBean> query = new ScanQuery<CompleteBean>(CompleteBean.class, meta, 2, 10, null);
+
+	@Test
+	public void should_scan_all_ranges_in_worker_threads() throws Exception {
+		final Set<TokenRange> scannedRanges = Collections.synchronizedSet(new HashSet<TokenRange>());
+		final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+
+		ScanQueryExecutor<Void> executor = new TestScanQueryExecutor() {
+			@Override
+			protected <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, Void scanState,
+					TokenRange range, ScanConsumer<? super T> consumer) {
+				scannedRanges.add(range);
+				threadNames.add(Thread.currentThread().getName());
+			}
+		};
+
+		executor.scan(query, null);
+
+		assertThat(scannedRanges).hasSize(2 * ScanQueryExecutor.RANGES_PER_THREAD);
+		assertThat(scannedRanges).contains(
+				new TokenRange(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(-6917529027641081856L)));
+		for (String threadName : threadNames) {
+			assertThat(threadName).startsWith("achilles-scan-");
+		}
+	}
+
+	@Test
+	public void should_rethrow_range_error() throws Exception {
+		ScanQueryExecutor<Void> executor = new TestScanQueryExecutor() {
+			@Override
+			protected <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, Void scanState,
+					TokenRange range, ScanConsumer<? super T> consumer) {
+				throw new IllegalStateException("range failure");
+			}
+		};
+
+		exception.expect(IllegalStateException.class);
+		exception.expectMessage("range failure");
+
+		executor.scan(query, null);
+	}
+
+	private abstract static class TestScanQueryExecutor extends ScanQueryExecutor<Void> {
+		@Override
+		protected String describePartitioner(EntityMeta meta) {
+			return "org.apache.cassandra.dht.Murmur3Partitioner";
+		}
+
+		@Override
+		protected Collection<String> describeRing(EntityMeta meta) {
+			return Arrays.asList("0");
+		}
+	}
+}
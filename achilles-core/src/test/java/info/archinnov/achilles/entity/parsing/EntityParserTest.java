@@ -34,8 +34,10 @@ import info.archinnov.achilles.test.parser.entity.Bean;
 import info.archinnov.achilles.test.parser.entity.BeanWithClusteredId;
 import info.archinnov.achilles.test.parser.entity.BeanWithColumnFamilyName;
 import info.archinnov.achilles.test.parser.entity.BeanWithDuplicatedColumnName;
+import info.archinnov.achilles.test.parser.entity.BeanWithFetchGroups;
 import info.archinnov.achilles.test.parser.entity.BeanWithNoId;
 import info.archinnov.achilles.test.parser.entity.BeanWithSimpleCounter;
+import info.archinnov.achilles.test.parser.entity.BeanWithUnknownFetchGroupProperty;
 import info.archinnov.achilles.test.parser.entity.ChildBean;
 import info.archinnov.achilles.test.parser.entity.ClusteredEntity;
 import info.archinnov.achilles.test.parser.entity.ClusteredEntityWithNotSupportedPropertyType;
@@ -44,6 +46,7 @@ import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 import info.archinnov.achilles.test.parser.entity.UserBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.List;
 import java.util.Map;
 
 import org.codehaus.jackson.map.ObjectMapper;
@@ -195,6 +198,38 @@ public class EntityParserTest {
 
 	}
 
+	@Test
+	public void should_parse_entity_with_fetch_groups() throws Exception {
+		initEntityParsingContext(BeanWithFetchGroups.class);
+
+		EntityMeta meta = parser.parseEntity(entityContext);
+
+		assertThat(meta.getFetchGroups()).hasSize(2);
+
+		List<PropertyMeta> summaryMetas = meta.getFetchGroupMetas("summary");
+		assertThat(summaryMetas).hasSize(2);
+		assertThat(summaryMetas.get(0)).isSameAs(meta.getIdMeta());
+		assertThat(summaryMetas.get(1).getPropertyName()).isEqualTo("name");
+
+		List<PropertyMeta> fullMetas = meta.getFetchGroupMetas("full");
+		assertThat(fullMetas).hasSize(3);
+		assertThat(fullMetas.get(2).getPropertyName()).isEqualTo("age");
+
+		assertThat(meta.getFetchGroupGetters("summary")).containsExactly(
+				BeanWithFetchGroups.class.getMethod("getId"), BeanWithFetchGroups.class.getMethod("getName"));
+	}
+
+	@Test
+	public void should_exception_when_fetch_group_property_is_not_mapped() throws Exception {
+		initEntityParsingContext(BeanWithUnknownFetchGroupProperty.class);
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("The property 'unknown' of fetch group 'summary' is not a mapped property of entity '"
+				+ BeanWithUnknownFetchGroupProperty.class.getCanonicalName() + "'");
+
+		parser.parseEntity(entityContext);
+	}
+
 	@Test
 	public void should_parse_entity_with_table_name() throws Exception {
 
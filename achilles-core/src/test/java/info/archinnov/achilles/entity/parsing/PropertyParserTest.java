@@ -20,17 +20,21 @@ import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
 import info.archinnov.achilles.annotations.Lazy;
+import info.archinnov.achilles.annotations.Paged;
 import info.archinnov.achilles.annotations.TimeUUID;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
 import info.archinnov.achilles.entity.metadata.EmbeddedIdProperties;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
+import info.archinnov.achilles.entity.metadata.transcoding.CompressedTranscoder;
 import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.entity.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
@@ -431,6 +435,54 @@ public class PropertyParserTest {
 		assertThat(meta.isIndexed()).isTrue();
 	}
 
+	@Test
+	public void should_parse_compressed_property() throws Exception {
+		@SuppressWarnings("unused")
+		class Test {
+			@Column
+			@Compressed(threshold = 10)
+			private String content;
+
+			public String getContent() {
+				return content;
+			}
+
+			public void setContent(String content) {
+				this.content = content;
+			}
+
+		}
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("content"));
+		PropertyMeta meta = parser.parse(context);
+		assertThat(meta.isCompressed()).isTrue();
+		assertThat(meta.getTranscoder()).isInstanceOf(CompressedTranscoder.class);
+	}
+
+	@Test
+	public void should_parse_paged_map_as_lazy() throws Exception {
+		@SuppressWarnings("unused")
+		class Test {
+			@Column
+			@Paged(pageSize = 50)
+			private Map<Integer, String> preferences;
+
+			public Map<Integer, String> getPreferences() {
+				return preferences;
+			}
+
+			public void setPreferences(Map<Integer, String> preferences) {
+				this.preferences = preferences;
+			}
+
+		}
+		configContext.setImpl(Impl.THRIFT);
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("preferences"));
+		PropertyMeta meta = parser.parse(context);
+		assertThat(meta.type()).isEqualTo(PropertyType.LAZY_MAP);
+		assertThat(meta.isPaged()).isTrue();
+		assertThat(meta.getPageSize()).isEqualTo(50);
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Test
 	public void should_parse_list() throws Exception {
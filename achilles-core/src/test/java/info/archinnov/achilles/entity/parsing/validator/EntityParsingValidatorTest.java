@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.entity.parsing.validator;
 
+import info.archinnov.achilles.annotations.NegativeCache;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.context.ConfigurationContext.Impl;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
@@ -178,4 +179,34 @@ public class EntityParsingValidatorTest {
 		validator.validateAtLeastOneEntity(entities, entityPackages);
 
 	}
+
+	@Test
+	public void should_exception_when_negative_cache_max_size_not_positive() throws Exception {
+		NegativeCache negativeCache = NoSizeNegativeCache.class.getAnnotation(NegativeCache.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("The negative cache max size of entity '"
+				+ NoSizeNegativeCache.class.getCanonicalName() + "' should be strictly positive");
+
+		validator.validateNegativeCache(NoSizeNegativeCache.class, negativeCache);
+	}
+
+	@Test
+	public void should_exception_when_negative_cache_expiry_not_positive() throws Exception {
+		NegativeCache negativeCache = NoExpiryNegativeCache.class.getAnnotation(NegativeCache.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("The negative cache expiry of entity '"
+				+ NoExpiryNegativeCache.class.getCanonicalName() + "' should be strictly positive");
+
+		validator.validateNegativeCache(NoExpiryNegativeCache.class, negativeCache);
+	}
+
+	@NegativeCache(maxSize = 0)
+	private static class NoSizeNegativeCache {
+	}
+
+	@NegativeCache(expireAfterSeconds = 0)
+	private static class NoExpiryNegativeCache {
+	}
 }
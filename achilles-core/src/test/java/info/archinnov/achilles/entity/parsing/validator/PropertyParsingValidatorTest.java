@@ -18,9 +18,11 @@ package info.archinnov.achilles.entity.parsing.validator;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
+import info.archinnov.achilles.annotations.Paged;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
@@ -180,6 +182,129 @@ public class PropertyParsingValidatorTest {
 		validator.validateIndexIfSet(context);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_validate_compression() throws Exception {
+		class Test {
+			@Compressed
+			public String content;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("content"));
+		when(context.getCurrentPropertyName()).thenReturn("content");
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		validator.validateCompressionIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_exception_when_compression_on_collection() throws Exception {
+		class Test {
+			@Compressed
+			public List<String> contents;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("contents"));
+		when(context.getCurrentPropertyName()).thenReturn("contents");
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception
+				.expectMessage("Property 'contents' of entity 'null' cannot be compressed because only simple properties can be compressed");
+
+		validator.validateCompressionIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_exception_when_compression_on_primary_key() throws Exception {
+		class Test {
+			@Id
+			@Compressed
+			public String content;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("content"));
+		when(context.getCurrentPropertyName()).thenReturn("content");
+		when(context.isPrimaryKey()).thenReturn(true);
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception
+				.expectMessage("Property 'content' of entity 'null' is a primary key and therefore cannot be compressed");
+
+		validator.validateCompressionIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_validate_paging() throws Exception {
+		class Test {
+			@Paged(pageSize = 10)
+			public Map<Integer, String> contents;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("contents"));
+		when(context.getCurrentPropertyName()).thenReturn("contents");
+		when(context.isThriftImpl()).thenReturn(true);
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		validator.validatePagingIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_exception_when_paging_on_simple_property() throws Exception {
+		class Test {
+			@Paged
+			public String content;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("content"));
+		when(context.getCurrentPropertyName()).thenReturn("content");
+		when(context.isThriftImpl()).thenReturn(true);
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception
+				.expectMessage("Property 'content' of entity 'null' cannot be paged because only List, Set or Map properties can be paged");
+
+		validator.validatePagingIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_exception_when_paging_not_on_thrift() throws Exception {
+		class Test {
+			@Paged
+			public Set<String> contents;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("contents"));
+		when(context.getCurrentPropertyName()).thenReturn("contents");
+		when(context.isThriftImpl()).thenReturn(false);
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception
+				.expectMessage("Property 'contents' of entity 'null' cannot be paged because paged collections are only supported by the Thrift implementation");
+
+		validator.validatePagingIfSet(context);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_exception_when_page_size_not_positive() throws Exception {
+		class Test {
+			@Paged(pageSize = 0)
+			public List<String> contents;
+		}
+		when(context.getCurrentField()).thenReturn(Test.class.getField("contents"));
+		when(context.getCurrentPropertyName()).thenReturn("contents");
+		when(context.isThriftImpl()).thenReturn(true);
+		when((Class<Test>) context.getCurrentEntityClass()).thenReturn(Test.class);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("Page size of property 'contents' of entity 'null' should be strictly positive");
+
+		validator.validatePagingIfSet(context);
+	}
+
 	@Test
 	public void should_exception_when_index_not_allowed_on_primary_key() throws Exception {
 		class Test {
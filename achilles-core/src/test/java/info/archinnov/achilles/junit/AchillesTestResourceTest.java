@@ -17,17 +17,46 @@
 package info.archinnov.achilles.junit;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.context.WrittenKeysRecorder;
+import info.archinnov.achilles.entity.manager.PersistenceManager;
+import info.archinnov.achilles.entity.manager.PersistenceManagerFactory;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
+import java.util.Collection;
+
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.collect.Sets;
+
 @RunWith(MockitoJUnitRunner.class)
 public class AchillesTestResourceTest {
 
 	private AchillesTestResource resource;
 
+	@Mock
+	private PersistenceManagerFactory pmf;
+
+	@Mock
+	private PersistenceManager<?> manager;
+
+	private WrittenKeysRecorder recorder = new WrittenKeysRecorder();
+
+	@Before
+	public void setUp() {
+		when(pmf.getWrittenKeysRecorder()).thenReturn(recorder);
+	}
+
 	@Test
 	public void should_trigger_before_and_after_when_steps_is_both() throws Throwable {
 		final StringBuilder witness = new StringBuilder();
@@ -88,4 +117,107 @@ public class AchillesTestResourceTest {
 		assertThat(witness.toString()).isEmpty();
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_delete_written_keys_without_truncating() throws Throwable {
+		final StringBuilder witness = new StringBuilder();
+		resource = new AchillesTestResource(Steps.AFTER_TEST, "table") {
+
+			@Override
+			protected void truncateTables() {
+				witness.append("called");
+			}
+
+			@Override
+			protected boolean hasData(String table) {
+				return false;
+			}
+		};
+		resource.deleteWrittenKeysOnly(pmf, manager);
+		assertThat(recorder.isEnabled()).isFalse();
+
+		resource.before();
+		assertThat(recorder.isEnabled()).isTrue();
+		recorder.record(CompleteBean.class, 10L);
+
+		resource.after();
+
+		verify(manager).removeById(eq(CompleteBean.class), (Collection) eq(Sets.newHashSet(10L)));
+		assertThat(witness.toString()).isEmpty();
+		assertThat(recorder.isEnabled()).isFalse();
+		assertThat(recorder.size()).isEqualTo(0);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_delete_keys_written_during_test_at_next_before() throws Throwable {
+		resource = new AchillesTestResource(Steps.BEFORE_TEST, "table") {
+
+			@Override
+			protected void truncateTables() {
+			}
+
+			@Override
+			protected boolean hasData(String table) {
+				return false;
+			}
+		};
+		resource.deleteWrittenKeysOnly(pmf, manager);
+
+		resource.before();
+		recorder.record(CompleteBean.class, 10L);
+		resource.after();
+
+		assertThat(recorder.isEnabled()).isFalse();
+		recorder.record(CompleteBean.class, 11L);
+		verify(manager, never()).removeById(eq(CompleteBean.class), (Collection) any(Collection.class));
+
+		resource.before();
+
+		verify(manager).removeById(eq(CompleteBean.class), (Collection) eq(Sets.newHashSet(10L)));
+	}
+
+	@Test
+	public void should_truncate_when_tables_still_have_data() throws Throwable {
+		final StringBuilder witness = new StringBuilder();
+		resource = new AchillesTestResource(Steps.AFTER_TEST, "table") {
+
+			@Override
+			protected void truncateTables() {
+				witness.append("called");
+			}
+		};
+		resource.deleteWrittenKeysOnly(pmf, manager);
+
+		resource.after();
+
+		assertThat(witness.toString()).isEqualTo("called");
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_truncate_when_written_keys_cannot_be_deleted() throws Throwable {
+		final StringBuilder witness = new StringBuilder();
+		resource = new AchillesTestResource(Steps.AFTER_TEST, "table") {
+
+			@Override
+			protected void truncateTables() {
+				witness.append("called");
+			}
+
+			@Override
+			protected boolean hasData(String table) {
+				return false;
+			}
+		};
+		resource.deleteWrittenKeysOnly(pmf, manager);
+		resource.before();
+		recorder.record(CompleteBean.class, 10L);
+		doThrow(new IllegalArgumentException()).when(manager).removeById(eq(CompleteBean.class),
+				(Collection) any(Collection.class));
+
+		resource.after();
+
+		assertThat(witness.toString()).isEqualTo("called");
+	}
 }
@@ -0,0 +1,142 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AchillesMetricsTest {
+
+	@Mock
+	private MetricsListener listener;
+
+	@Test
+	public void should_record_latency_and_errors() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, false, null);
+
+		metrics.record(String.class, OperationType.FIND, StatementType.SELECT, 2000000L, null);
+		metrics.record(String.class, OperationType.FIND, StatementType.SELECT, 4000000L, new RuntimeException());
+
+		OperationMetrics operationMetrics = metrics.getMetrics("java.lang.String", OperationType.FIND,
+				StatementType.SELECT);
+		assertThat(operationMetrics.getCount()).isEqualTo(2L);
+		assertThat(operationMetrics.getErrorCount()).isEqualTo(1L);
+		assertThat(operationMetrics.getMaxLatencyMicros()).isEqualTo(4000L);
+		assertThat(metrics.getAllMetrics()).hasSize(1);
+	}
+
+	@Test
+	public void should_count_hedged_reads() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, false, null);
+
+		metrics.recordHedge(String.class, OperationType.FIND, StatementType.SELECT);
+		metrics.record(String.class, OperationType.FIND, StatementType.SELECT, 2000000L, null);
+
+		OperationMetrics operationMetrics = metrics.getMetrics("java.lang.String", OperationType.FIND,
+				StatementType.SELECT);
+		assertThat(operationMetrics.getHedgeCount()).isEqualTo(1L);
+		assertThat(operationMetrics.getCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_record_unknown_entity() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, false, null);
+
+		metrics.record((Class<?>) null, OperationType.NATIVE_QUERY, StatementType.SELECT, 1000L, null);
+
+		assertThat(metrics.getMetrics(AchillesMetrics.UNKNOWN_ENTITY, OperationType.NATIVE_QUERY,
+				StatementType.SELECT).getCount()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_notify_listeners_even_when_one_fails() throws Exception {
+		MetricsListener failing = mock(MetricsListener.class);
+		doThrow(new RuntimeException()).when(failing).onExecution("entity", OperationType.PERSIST,
+				StatementType.INSERT, 10L, null);
+		AchillesMetrics metrics = new AchillesMetrics(true, false, Arrays.asList(failing, listener));
+
+		metrics.record("entity", OperationType.PERSIST, StatementType.INSERT, 10L, null);
+
+		verify(listener).onExecution("entity", OperationType.PERSIST, StatementType.INSERT, 10L, null);
+	}
+
+	@Test
+	public void should_not_record_when_disabled() throws Exception {
+		AchillesMetrics metrics = AchillesMetrics.disabled();
+		metrics.addListener(listener);
+
+		metrics.record("entity", OperationType.PERSIST, StatementType.INSERT, 10L, null);
+
+		assertThat(metrics.isEnabled()).isFalse();
+		assertThat(metrics.getAllMetrics()).isEmpty();
+		verifyZeroInteractions(listener);
+	}
+
+	@Test
+	public void should_register_mbean_when_jmx_enabled() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, true, null);
+
+		metrics.record("entity", OperationType.REMOVE, StatementType.DELETE, 10L, null);
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName("info.archinnov.achilles:type=OperationMetrics,factory="
+				+ metrics.getFactoryId() + ",entity=\"entity\",operation=REMOVE,statement=DELETE");
+		assertThat(server.isRegistered(objectName)).isTrue();
+
+		metrics.unregisterMBeans();
+		assertThat(server.isRegistered(objectName)).isFalse();
+	}
+
+	@Test
+	public void should_register_mbeans_of_each_factory() throws Exception {
+		AchillesMetrics metrics1 = new AchillesMetrics(true, true, null);
+		AchillesMetrics metrics2 = new AchillesMetrics(true, true, null);
+
+		metrics1.record("shared", OperationType.FIND, StatementType.SELECT, 10L, null);
+		metrics2.record("shared", OperationType.FIND, StatementType.SELECT, 10L, null);
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName query = new ObjectName("info.archinnov.achilles:type=OperationMetrics,entity=\"shared\",*");
+		assertThat(server.queryNames(query, null)).hasSize(2);
+
+		metrics1.unregisterMBeans();
+		assertThat(server.queryNames(query, null)).hasSize(1);
+
+		metrics2.unregisterMBeans();
+		assertThat(server.queryNames(query, null)).isEmpty();
+	}
+
+	@Test
+	public void should_infer_statement_type_from_query_string() throws Exception {
+		assertThat(StatementType.fromQueryString("  select * from table")).isEqualTo(StatementType.SELECT);
+		assertThat(StatementType.fromQueryString("INSERT INTO table")).isEqualTo(StatementType.INSERT);
+		assertThat(StatementType.fromQueryString("BEGIN BATCH ...")).isEqualTo(StatementType.BATCH);
+		assertThat(StatementType.fromQueryString(null)).isEqualTo(StatementType.OTHER);
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import static org.fest.assertions.api.Assertions.*;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	private LatencyHistogram histogram = new LatencyHistogram();
+
+	@Test
+	public void should_compute_bucket_index() throws Exception {
+		assertThat(LatencyHistogram.bucketIndex(0L)).isEqualTo(0);
+		assertThat(LatencyHistogram.bucketIndex(1L)).isEqualTo(1);
+		assertThat(LatencyHistogram.bucketIndex(1000L)).isEqualTo(10);
+		assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+	}
+
+	@Test
+	public void should_compute_percentiles() throws Exception {
+		for (int i = 0; i < 99; i++) {
+			histogram.record(100000L);
+		}
+		histogram.record(50000000L);
+
+		assertThat(histogram.getCount()).isEqualTo(100L);
+		assertThat(histogram.getPercentileMicros(0.5)).isEqualTo(128L);
+		assertThat(histogram.getPercentileMicros(0.99)).isEqualTo(128L);
+		assertThat(histogram.getPercentileMicros(1.0)).isEqualTo(50000L);
+		assertThat(histogram.getMaxMicros()).isEqualTo(50000L);
+	}
+
+	@Test
+	public void should_reset() throws Exception {
+		histogram.record(100000L);
+		histogram.reset();
+
+		assertThat(histogram.getCount()).isEqualTo(0L);
+		assertThat(histogram.getPercentileMicros(0.99)).isEqualTo(0L);
+		assertThat(histogram.getMeanMicros()).isEqualTo(0d);
+	}
+}
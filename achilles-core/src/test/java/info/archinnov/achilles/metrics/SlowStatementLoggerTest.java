@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.metrics;
+
+import static org.fest.assertions.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+public class SlowStatementLoggerTest {
+
+	private static final long ONE_MS = 1000000L;
+
+	@Test
+	public void should_be_disabled_without_threshold() throws Exception {
+		SlowStatementLogger logger = SlowStatementLogger.disabled();
+
+		assertThat(logger.isEnabled()).isFalse();
+		assertThat(logger.isSlow("entity", Long.MAX_VALUE - 1)).isFalse();
+	}
+
+	@Test
+	public void should_use_global_threshold() throws Exception {
+		SlowStatementLogger logger = new SlowStatementLogger(10L, new HashMap<String, Long>(), 10);
+
+		assertThat(logger.isEnabled()).isTrue();
+		assertThat(logger.isSlow("entity", 9 * ONE_MS)).isFalse();
+		assertThat(logger.isSlow("entity", 10 * ONE_MS)).isTrue();
+		assertThat(logger.isSlow(String.class, 10 * ONE_MS)).isTrue();
+	}
+
+	@Test
+	public void should_use_entity_threshold_over_global_threshold() throws Exception {
+		Map<String, Long> thresholds = ImmutableMap.of("fast_entity", 2L, "slow_entity", 100L);
+		SlowStatementLogger logger = new SlowStatementLogger(10L, thresholds, 10);
+
+		assertThat(logger.isSlow("fast_entity", 3 * ONE_MS)).isTrue();
+		assertThat(logger.isSlow("slow_entity", 50 * ONE_MS)).isFalse();
+		assertThat(logger.isSlow("other_entity", 3 * ONE_MS)).isFalse();
+	}
+
+	@Test
+	public void should_only_log_entities_with_threshold_when_no_global_threshold() throws Exception {
+		Map<String, Long> thresholds = ImmutableMap.of("java.lang.String", 5L);
+		SlowStatementLogger logger = new SlowStatementLogger(null, thresholds, 10);
+
+		assertThat(logger.isEnabled()).isTrue();
+		assertThat(logger.isSlow(String.class, 6 * ONE_MS)).isTrue();
+		assertThat(logger.isSlow(Long.class, 1000 * ONE_MS)).isFalse();
+		assertThat(logger.isSlow((Class<?>) null, 1000 * ONE_MS)).isFalse();
+	}
+
+	@Test
+	public void should_sample_bound_values() throws Exception {
+		SlowStatementLogger logger = new SlowStatementLogger(10L, null, 2);
+		StringBuilder longValue = new StringBuilder();
+		for (int i = 0; i < 150; i++) {
+			longValue.append("a");
+		}
+
+		List<String> sample = logger.sampleBoundValues(new Object[] { 10L, longValue.toString(), "c", null });
+
+		assertThat(sample).hasSize(3);
+		assertThat(sample.get(0)).isEqualTo("10");
+		assertThat(sample.get(1)).hasSize(SlowStatementLogger.MAX_BOUND_VALUE_LENGTH + 3).endsWith("...");
+		assertThat(sample.get(2)).isEqualTo("... 2 more");
+		assertThat(logger.sampleBoundValues(null)).isEmpty();
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class DirtyMapTest {
+
+	private EntityMeta meta = new EntityMeta();
+
+	private PropertyMeta ageMeta;
+
+	private PropertyMeta nameMeta;
+
+	private DirtyMap dirtyMap;
+
+	@Before
+	public void setUp() throws Exception {
+		ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age").type(SIMPLE).accessors()
+				.build();
+		ageMeta.setOrdinal(0);
+		nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE)
+				.accessors().build();
+		nameMeta.setOrdinal(1);
+
+		Map<Method, PropertyMeta> setterMetas = new HashMap<Method, PropertyMeta>();
+		setterMetas.put(ageMeta.getSetter(), ageMeta);
+		setterMetas.put(nameMeta.getSetter(), nameMeta);
+
+		meta.setSetterMetas(setterMetas);
+		meta.setMetasByOrdinal(Arrays.asList(ageMeta, nameMeta));
+
+		dirtyMap = new DirtyMap(meta);
+	}
+
+	@Test
+	public void should_put_and_get_dirty_property() throws Exception {
+		assertThat(dirtyMap.put(nameMeta.getSetter(), nameMeta)).isNull();
+		assertThat(dirtyMap.put(nameMeta.getSetter(), nameMeta)).isSameAs(nameMeta);
+
+		assertThat(dirtyMap.size()).isEqualTo(1);
+		assertThat(dirtyMap.get(nameMeta.getSetter())).isSameAs(nameMeta);
+		assertThat(dirtyMap.containsKey(ageMeta.getSetter())).isFalse();
+		assertThat(dirtyMap.getDirtyOrdinals().get(1)).isTrue();
+	}
+
+	@Test
+	public void should_iterate_in_ordinal_order() throws Exception {
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+		dirtyMap.put(ageMeta.getSetter(), ageMeta);
+
+		assertThat(dirtyMap.keySet()).containsExactly(ageMeta.getSetter(), nameMeta.getSetter());
+		assertThat(dirtyMap.values()).containsExactly(ageMeta, nameMeta);
+	}
+
+	@Test
+	public void should_remove_and_clear() throws Exception {
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+		dirtyMap.put(ageMeta.getSetter(), ageMeta);
+
+		assertThat(dirtyMap.remove(ageMeta.getSetter())).isSameAs(ageMeta);
+		assertThat(dirtyMap.keySet()).containsExactly(nameMeta.getSetter());
+
+		Iterator<Entry<Method, PropertyMeta>> iterator = dirtyMap.entrySet().iterator();
+		iterator.next();
+		iterator.remove();
+		assertThat(dirtyMap.isEmpty()).isTrue();
+
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+		dirtyMap.clear();
+		assertThat(dirtyMap).isEmpty();
+	}
+
+	@Test
+	public void should_fall_back_to_setter_for_property_without_ordinal() throws Exception {
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().build();
+
+		assertThat(dirtyMap.put(friendsMeta.getSetter(), friendsMeta)).isNull();
+		assertThat(dirtyMap.put(friendsMeta.getSetter(), friendsMeta)).isSameAs(friendsMeta);
+		dirtyMap.put(ageMeta.getSetter(), ageMeta);
+
+		assertThat(dirtyMap.size()).isEqualTo(2);
+		assertThat(dirtyMap.get(friendsMeta.getSetter())).isSameAs(friendsMeta);
+		assertThat(dirtyMap.keySet()).containsExactly(ageMeta.getSetter(), friendsMeta.getSetter());
+
+		Iterator<Entry<Method, PropertyMeta>> iterator = dirtyMap.entrySet().iterator();
+		iterator.next();
+		iterator.next();
+		iterator.remove();
+		assertThat(dirtyMap.containsKey(friendsMeta.getSetter())).isFalse();
+		assertThat(dirtyMap.keySet()).containsExactly(ageMeta.getSetter());
+	}
+
+	@Test
+	public void should_fall_back_to_setter_when_ordinal_not_registered() throws Exception {
+		PropertyMeta otherNameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().build();
+		otherNameMeta.setOrdinal(7);
+
+		dirtyMap.put(otherNameMeta.getSetter(), otherNameMeta);
+
+		assertThat(dirtyMap.getDirtyOrdinals().isEmpty()).isTrue();
+		assertThat(dirtyMap.remove(otherNameMeta.getSetter())).isSameAs(otherNameMeta);
+		assertThat(dirtyMap.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void should_check_dirty_by_ordinal() throws Exception {
+		dirtyMap.put(nameMeta.getSetter(), nameMeta);
+
+		assertThat(dirtyMap.isDirty(nameMeta)).isTrue();
+		assertThat(dirtyMap.isDirty(ageMeta)).isFalse();
+		assertThat(Whitebox.getInternalState(dirtyMap, "unordered")).isNull();
+	}
+
+	@Test
+	public void should_check_dirty_property_without_ordinal() throws Exception {
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().build();
+
+		assertThat(dirtyMap.isDirty(friendsMeta)).isFalse();
+
+		dirtyMap.put(friendsMeta.getSetter(), friendsMeta);
+
+		assertThat(dirtyMap.isDirty(friendsMeta)).isTrue();
+		dirtyMap.clear();
+		assertThat(dirtyMap.isDirty(friendsMeta)).isFalse();
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static info.archinnov.achilles.proxy.EntityCallbackFilter.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntityCallbackFilterTest {
+
+	private EntityMeta meta = new EntityMeta();
+
+	private EntityCallbackFilter filter;
+
+	@Before
+	public void setUp() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().build();
+
+		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
+		getterMetas.put(nameMeta.getGetter(), nameMeta);
+		Map<Method, PropertyMeta> setterMetas = new HashMap<Method, PropertyMeta>();
+		setterMetas.put(nameMeta.getSetter(), nameMeta);
+
+		meta.setEntityClass(CompleteBean.class);
+		meta.setIdMeta(idMeta);
+		meta.setGetterMetas(getterMetas);
+		meta.setSetterMetas(setterMetas);
+
+		filter = new EntityCallbackFilter(meta);
+	}
+
+	@Test
+	public void should_route_mapped_accessors_to_interceptor() throws Exception {
+		assertThat(filter.accept(CompleteBean.class.getMethod("getId"))).isEqualTo(INTERCEPTOR_INDEX);
+		assertThat(filter.accept(CompleteBean.class.getMethod("setId", Long.class))).isEqualTo(INTERCEPTOR_INDEX);
+		assertThat(filter.accept(CompleteBean.class.getMethod("getName"))).isEqualTo(INTERCEPTOR_INDEX);
+		assertThat(filter.accept(CompleteBean.class.getMethod("setName", String.class))).isEqualTo(
+				INTERCEPTOR_INDEX);
+	}
+
+	@Test
+	public void should_dispatch_unmapped_methods_to_target() throws Exception {
+		assertThat(filter.accept(CompleteBean.class.getMethod("getLabel"))).isEqualTo(DISPATCHER_INDEX);
+		assertThat(filter.accept(Object.class.getMethod("toString"))).isEqualTo(DISPATCHER_INDEX);
+		assertThat(filter.accept(Object.class.getMethod("hashCode"))).isEqualTo(DISPATCHER_INDEX);
+	}
+
+	@Test
+	public void should_be_equal_for_same_entity_class() throws Exception {
+		EntityMeta otherMeta = new EntityMeta();
+		otherMeta.setEntityClass(CompleteBean.class);
+		EntityMeta userMeta = new EntityMeta();
+		userMeta.setEntityClass(UserBean.class);
+
+		assertThat(filter).isEqualTo(new EntityCallbackFilter(otherMeta));
+		assertThat(filter.hashCode()).isEqualTo(new EntityCallbackFilter(otherMeta).hashCode());
+		assertThat(filter).isNotEqualTo(new EntityCallbackFilter(userMeta));
+	}
+}
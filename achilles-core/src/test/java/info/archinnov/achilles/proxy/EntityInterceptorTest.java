@@ -20,6 +20,7 @@ import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.PersistenceContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.EntityLoader;
@@ -35,6 +36,7 @@ import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -183,6 +185,26 @@ public class EntityInterceptorTest {
 		verifyZeroInteractions(loader);
 	}
 
+	@Test
+	public void should_load_property_once_by_ordinal() throws Throwable {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.accessors().type(PropertyType.LAZY_SIMPLE).build();
+		propertyMeta.setOrdinal(0);
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setMetasByOrdinal(Arrays.asList(propertyMeta));
+		LoadedGetters loadedGetters = new LoadedGetters(entityMeta);
+		doCallRealMethod().when(interceptor).setAlreadyLoaded(loadedGetters);
+		interceptor.setAlreadyLoaded(loadedGetters);
+
+		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		when(proxy.invoke(bean, args)).thenReturn(rawValue);
+		interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+
+		verify(loader, times(1)).loadPropertyIntoObject(context, bean, propertyMeta);
+		assertThat(loadedGetters.isLoaded(propertyMeta)).isTrue();
+	}
+
 	@Test
 	public void should_return_simple_property() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
@@ -227,6 +249,64 @@ public class EntityInterceptorTest {
 		assertThat(actual).isInstanceOf(ListWrapper.class);
 	}
 
+	@Test
+	public void should_reuse_wrapper_while_value_is_unchanged() throws Throwable {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().type(PropertyType.LIST).build();
+
+		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		when(proxy.invoke(bean, args)).thenReturn(new ArrayList<String>());
+
+		Object first = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		Object second = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	public void should_rebuild_wrapper_when_value_or_target_replaced() throws Throwable {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().type(PropertyType.LIST).build();
+
+		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		ArrayList<String> value = new ArrayList<String>();
+		when(proxy.invoke(bean, args)).thenReturn(value, new ArrayList<String>(), value, value);
+
+		Object first = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		Object replacedValue = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		Object sameValue = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		interceptor.setTarget(bean);
+		Object replacedTarget = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+
+		assertThat(replacedValue).isNotSameAs(first);
+		assertThat((Object) ((ListWrapper) sameValue).getTarget()).isSameAs(value);
+		assertThat(replacedTarget).isNotSameAs(sameValue);
+	}
+
+	@Test
+	public void should_reuse_paged_wrapper_until_property_replaced() throws Throwable {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.accessors().type(PropertyType.LAZY_LIST).build();
+		propertyMeta.setPageSize(10);
+
+		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		setterMetas.put(propertyMeta.getSetter(), propertyMeta);
+		Object firstView = new Object();
+		Object secondView = new Object();
+		when(interceptor.buildPagedWrapper(propertyMeta)).thenReturn(firstView, secondView);
+
+		Object first = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		Object second = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+		interceptor.intercept(bean, propertyMeta.getSetter(), args, proxy);
+		dirtyMap.clear();
+		Object afterReplace = interceptor.intercept(bean, propertyMeta.getGetter(), args, proxy);
+
+		assertThat(first).isSameAs(firstView);
+		assertThat(second).isSameAs(firstView);
+		assertThat(afterReplace).isSameAs(secondView);
+		verify(interceptor, times(2)).buildPagedWrapper(propertyMeta);
+	}
+
 	@Test
 	public void should_return_lazy_list_wrapper() throws Throwable {
 		PropertyMeta propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
@@ -0,0 +1,138 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class LoadedGettersTest {
+
+	private EntityMeta meta = new EntityMeta();
+
+	private PropertyMeta ageMeta;
+
+	private PropertyMeta nameMeta;
+
+	private LoadedGetters loadedGetters;
+
+	@Before
+	public void setUp() throws Exception {
+		ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age").type(SIMPLE).accessors()
+				.build();
+		ageMeta.setOrdinal(0);
+		nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE)
+				.accessors().build();
+		nameMeta.setOrdinal(1);
+
+		Map<Method, PropertyMeta> getterMetas = new HashMap<Method, PropertyMeta>();
+		getterMetas.put(ageMeta.getGetter(), ageMeta);
+		getterMetas.put(nameMeta.getGetter(), nameMeta);
+
+		meta.setClassName("CompleteBean");
+		meta.setGetterMetas(getterMetas);
+		meta.setMetasByOrdinal(Arrays.asList(ageMeta, nameMeta));
+
+		loadedGetters = new LoadedGetters(meta);
+	}
+
+	@Test
+	public void should_add_and_iterate_in_ordinal_order() throws Exception {
+		assertThat(loadedGetters.add(nameMeta.getGetter())).isTrue();
+		assertThat(loadedGetters.add(ageMeta.getGetter())).isTrue();
+		assertThat(loadedGetters.add(ageMeta.getGetter())).isFalse();
+
+		assertThat(loadedGetters).hasSize(2);
+		assertThat(loadedGetters).containsExactly(ageMeta.getGetter(), nameMeta.getGetter());
+	}
+
+	@Test
+	public void should_remove_and_clear() throws Exception {
+		loadedGetters.addAll(Arrays.asList(ageMeta.getGetter(), nameMeta.getGetter()));
+
+		assertThat(loadedGetters.remove(ageMeta.getGetter())).isTrue();
+		assertThat(loadedGetters.contains(ageMeta.getGetter())).isFalse();
+		assertThat(loadedGetters.contains(nameMeta.getGetter())).isTrue();
+
+		loadedGetters.clear();
+		assertThat(loadedGetters).isEmpty();
+	}
+
+	@Test
+	public void should_fall_back_to_getter_for_property_without_ordinal() throws Exception {
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().build();
+		meta.getGetterMetas().put(friendsMeta.getGetter(), friendsMeta);
+
+		assertThat(loadedGetters.add(friendsMeta.getGetter())).isTrue();
+		assertThat(loadedGetters.add(friendsMeta.getGetter())).isFalse();
+		assertThat(loadedGetters.add(nameMeta.getGetter())).isTrue();
+
+		assertThat(loadedGetters).containsExactly(nameMeta.getGetter(), friendsMeta.getGetter());
+		assertThat(loadedGetters.remove(friendsMeta.getGetter())).isTrue();
+		assertThat(loadedGetters.contains(friendsMeta.getGetter())).isFalse();
+		assertThat(loadedGetters).hasSize(1);
+	}
+
+	@Test
+	public void should_not_contain_unmapped_method() throws Exception {
+		assertThat(loadedGetters.contains(CompleteBean.class.getDeclaredMethod("getFriends"))).isFalse();
+	}
+
+	@Test(expected = AchillesException.class)
+	public void should_exception_when_adding_unmapped_method() throws Exception {
+		loadedGetters.add(CompleteBean.class.getDeclaredMethod("getFriends"));
+	}
+
+	@Test
+	public void should_check_and_mark_loaded_by_ordinal() throws Exception {
+		assertThat(loadedGetters.isLoaded(nameMeta)).isFalse();
+
+		loadedGetters.markLoaded(nameMeta);
+
+		assertThat(loadedGetters.isLoaded(nameMeta)).isTrue();
+		assertThat(loadedGetters.isLoaded(ageMeta)).isFalse();
+		assertThat(loadedGetters).containsExactly(nameMeta.getGetter());
+		assertThat(Whitebox.getInternalState(loadedGetters, "unordered")).isNull();
+	}
+
+	@Test
+	public void should_check_and_mark_loaded_property_without_ordinal() throws Exception {
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().build();
+
+		assertThat(loadedGetters.isLoaded(friendsMeta)).isFalse();
+
+		loadedGetters.markLoaded(friendsMeta);
+
+		assertThat(loadedGetters.isLoaded(friendsMeta)).isTrue();
+		assertThat(loadedGetters.contains(friendsMeta.getGetter())).isTrue();
+	}
+}
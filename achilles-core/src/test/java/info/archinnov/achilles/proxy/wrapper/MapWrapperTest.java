@@ -170,6 +170,23 @@ public class MapWrapperTest {
 		verify(dirtyMap).put(setter, propertyMeta);
 	}
 
+	@Test
+	public void should_reuse_views_built_on_empty_map() throws Exception {
+		Map<Integer, String> target = new HashMap<Integer, String>();
+		MapWrapper wrapper = prepareMapWrapper(target);
+
+		Set<Object> keySet = wrapper.keySet();
+		assertThat(wrapper.keySet()).isSameAs(keySet);
+		assertThat(wrapper.values()).isSameAs(wrapper.values());
+		assertThat(wrapper.entrySet()).isSameAs(wrapper.entrySet());
+
+		target.put(1, "FR");
+		when(proxifier.unwrap(1)).thenReturn(1);
+		keySet.remove(1);
+
+		verify(dirtyMap).put(setter, propertyMeta);
+	}
+
 	@Test
 	public void should_mark_dirty_on_remove_from_keySet() throws Exception {
 		Map<Integer, String> target = prepareMap();
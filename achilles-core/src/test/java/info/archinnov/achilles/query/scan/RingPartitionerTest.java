@@ -0,0 +1,91 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class RingPartitionerTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private static final BigInteger MIN = BigInteger.valueOf(Long.MIN_VALUE);
+	private static final BigInteger MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+	@Test
+	public void should_find_partitioner_from_class_name() throws Exception {
+		assertThat(RingPartitioner.fromClassName("org.apache.cassandra.dht.Murmur3Partitioner")).isSameAs(
+				RingPartitioner.MURMUR3);
+		assertThat(RingPartitioner.fromClassName("org.apache.cassandra.dht.RandomPartitioner")).isSameAs(
+				RingPartitioner.RANDOM);
+	}
+
+	@Test
+	public void should_exception_when_unsupported_partitioner() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Scan queries are not supported with partitioner 'org.apache.cassandra.dht.ByteOrderedPartitioner'");
+
+		RingPartitioner.fromClassName("org.apache.cassandra.dht.ByteOrderedPartitioner");
+	}
+
+	@Test
+	public void should_build_ranges_between_ring_tokens_and_unwrap_last_range() throws Exception {
+		List<TokenRange> ranges = RingPartitioner.MURMUR3.ranges(Arrays.asList("100", "-100", "0"), 1);
+
+		assertThat(ranges).containsExactly(range(-100, 0), range(0, 100), new TokenRange(BigInteger.valueOf(100), MAX),
+				new TokenRange(MIN, BigInteger.valueOf(-100)));
+	}
+
+	@Test
+	public void should_build_whole_ring_range_when_no_token() throws Exception {
+		List<TokenRange> ranges = RingPartitioner.MURMUR3.ranges(Collections.<String> emptyList(), 1);
+
+		assertThat(ranges).containsExactly(new TokenRange(MIN, MAX));
+	}
+
+	@Test
+	public void should_split_ranges_to_reach_min_range_count() throws Exception {
+		List<TokenRange> ranges = RingPartitioner.RANDOM.ranges(Arrays.asList("-1"), 4);
+
+		assertThat(ranges).hasSize(4);
+		assertThat(ranges.get(0).getStart()).isEqualTo(BigInteger.valueOf(-1));
+		assertThat(ranges.get(3).getEnd()).isEqualTo(BigInteger.valueOf(2).pow(127));
+		for (int i = 1; i < ranges.size(); i++) {
+			assertThat(ranges.get(i).getStart()).isEqualTo(ranges.get(i - 1).getEnd());
+		}
+	}
+
+	@Test
+	public void should_convert_token_to_bind_value() throws Exception {
+		assertThat(RingPartitioner.MURMUR3.toBindValue(BigInteger.TEN)).isEqualTo(10L);
+		assertThat(RingPartitioner.RANDOM.toBindValue(BigInteger.TEN)).isEqualTo(BigInteger.TEN);
+	}
+
+	private TokenRange range(long start, long end) {
+		return new TokenRange(BigInteger.valueOf(start), BigInteger.valueOf(end));
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.math.BigInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TokenRangeTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void should_split_range_into_contiguous_ranges() throws Exception {
+		assertThat(range(0, 10).split(3)).containsExactly(range(0, 3), range(3, 6), range(6, 10));
+	}
+
+	@Test
+	public void should_not_split_range_into_more_ranges_than_tokens() throws Exception {
+		assertThat(range(0, 2).split(5)).containsExactly(range(0, 1), range(1, 2));
+	}
+
+	@Test
+	public void should_exception_when_start_not_lower_than_end() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The token range start '5' should be lower than its end '5'");
+
+		range(5, 5);
+	}
+
+	private TokenRange range(long start, long end) {
+		return new TokenRange(BigInteger.valueOf(start), BigInteger.valueOf(end));
+	}
+}
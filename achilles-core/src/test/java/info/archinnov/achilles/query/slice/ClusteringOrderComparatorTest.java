@@ -0,0 +1,134 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.cassandra.db.marshal.DateType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClusteringOrderComparatorTest {
+
+	@Mock
+	private PropertyMeta idMeta;
+
+	@Test
+	public void should_compare_by_clustering_components() throws Exception {
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		mockClusterings(entity1, "key1", 10L, 1, "b");
+		mockClusterings(entity2, "key2", 20L, 1, "a");
+
+		ClusteringOrderComparator<ClusteredEntity> comparator = new ClusteringOrderComparator<ClusteredEntity>(idMeta);
+
+		assertThat(comparator.compare(entity1, entity2)).isGreaterThan(0);
+		assertThat(comparator.compare(entity2, entity1)).isLessThan(0);
+		assertThat(comparator.compare(entity1, entity1)).isEqualTo(0);
+	}
+
+	@Test
+	public void should_compare_time_uuids_by_timestamp() throws Exception {
+		UUID later = UUID.fromString("00000001-0001-1000-8000-000000000000");
+		UUID earlier = UUID.fromString("00000002-0000-1000-8000-000000000000");
+
+		assertThat(later.compareTo(earlier)).isLessThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(later, earlier)).isGreaterThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(later, earlier, true)).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_random_uuids_as_unsigned_bytes() throws Exception {
+		UUID high = UUID.fromString("80000000-0000-4000-8000-000000000000");
+		UUID low = UUID.fromString("00000000-0000-4000-8000-000000000000");
+
+		assertThat(high.compareTo(low)).isLessThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(high, low)).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_time_uuids_of_equal_timestamp_as_cassandra() throws Exception {
+		UUID uuid1 = UUID.fromString("00000001-0000-1000-8000-000000000001");
+		UUID uuid2 = UUID.fromString("00000001-0000-1000-8000-000000000002");
+
+		assertThat(ClusteringOrderComparator.compareComponents(uuid1, uuid2, true)).isLessThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(uuid2, uuid1, true)).isGreaterThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(uuid1, uuid1, true)).isEqualTo(0);
+	}
+
+	@Test
+	public void should_compare_bytes_as_unsigned() throws Exception {
+		byte[] high = new byte[] { (byte) 0x80 };
+		byte[] low = new byte[] { 0x01 };
+
+		assertThat(ClusteringOrderComparator.compareComponents(high, low)).isGreaterThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(ByteBuffer.wrap(low), high)).isLessThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(low, ByteBuffer.wrap(low))).isEqualTo(0);
+	}
+
+	@Test
+	public void should_compare_strings_as_utf8_bytes() throws Exception {
+		String halfwidth = "\uFF61";
+		String emoji = "\uD83D\uDE00";
+
+		assertThat(halfwidth.compareTo(emoji)).isGreaterThan(0);
+		assertThat(ClusteringOrderComparator.compareComponents(halfwidth, emoji)).isLessThan(0);
+	}
+
+	@Test
+	public void should_compare_dates_as_cassandra() throws Exception {
+		Date beforeEpoch = new Date(-1000L);
+		Date afterEpoch = new Date(1000L);
+
+		assertThat(ClusteringOrderComparator.compareComponents(beforeEpoch, afterEpoch)).isEqualTo(
+				DateType.instance.compare(DateType.instance.decompose(beforeEpoch),
+						DateType.instance.decompose(afterEpoch)));
+	}
+
+	@Test
+	public void should_compare_uuid_clusterings_of_entities() throws Exception {
+		when(idMeta.getClusteringComponentNames()).thenReturn(Arrays.asList("uuid"));
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		mockClusterings(entity1, "key1", 10L, UUID.fromString("80000000-0000-4000-8000-000000000000"), "a");
+		mockClusterings(entity2, "key2", 20L, UUID.fromString("00000000-0000-4000-8000-000000000000"), "a");
+
+		ClusteringOrderComparator<ClusteredEntity> comparator = new ClusteringOrderComparator<ClusteredEntity>(idMeta);
+
+		assertThat(comparator.compare(entity1, entity2)).isGreaterThan(0);
+	}
+
+	private void mockClusterings(ClusteredEntity entity, Object primaryKey, Object partitionComponent,
+			Object... clusterings) {
+		List<Object> components = Arrays.<Object> asList(partitionComponent, clusterings[0], clusterings[1]);
+		when(idMeta.getPrimaryKey(entity)).thenReturn(primaryKey);
+		when(idMeta.encodeToComponents(primaryKey)).thenReturn(components);
+		when(idMeta.extractClusteringComponents(components)).thenReturn(Arrays.asList(clusterings));
+	}
+}
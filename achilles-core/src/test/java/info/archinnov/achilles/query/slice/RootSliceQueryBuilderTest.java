@@ -31,6 +31,7 @@ import info.archinnov.achilles.entity.operations.SliceQueryExecutor;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,9 +45,12 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -80,6 +84,9 @@ public class RootSliceQueryBuilderTest {
 	@Mock
 	private Iterator<ClusteredEntity> iterator;
 
+	@Mock
+	private SliceCursorCodec cursorCodec;
+
 	@Before
 	public void setUp() {
 		Whitebox.setInternalState(builder, "sliceQueryExecutor", sliceQueryExecutor);
@@ -89,6 +96,8 @@ public class RootSliceQueryBuilderTest {
 		Whitebox.setInternalState(builder, "idMeta", idMeta);
 		Whitebox.setInternalState(builder, "fromClusterings", new ArrayList<Object>());
 		Whitebox.setInternalState(builder, "toClusterings", new ArrayList<Object>());
+		Whitebox.setInternalState(builder, "partitionKeys", new ArrayList<List<Object>>());
+		Whitebox.setInternalState(builder, "cursorCodec", cursorCodec);
 
 		when(meta.getIdMeta()).thenReturn(idMeta);
 		when(meta.getClassName()).thenReturn("entityClass");
@@ -105,6 +114,206 @@ public class RootSliceQueryBuilderTest {
 		assertThat((List<Object>) Whitebox.getInternalState(builder, "partitionComponents")).containsExactly(11L);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_set_partition_keys_of_multi_partition_query() throws Exception {
+		builder.partitionKeysInternal(Arrays.<Object> asList(10L, Arrays.<Object> asList(11L)));
+
+		verify(compoundKeyValidator).validatePartitionKey(idMeta, Arrays.<Object> asList(10L));
+		verify(compoundKeyValidator).validatePartitionKey(idMeta, Arrays.<Object> asList(11L));
+
+		List<List<Object>> partitionKeys = (List<List<Object>>) Whitebox.getInternalState(builder, "partitionKeys");
+		assertThat(partitionKeys).hasSize(2);
+		assertThat(partitionKeys.get(0)).containsExactly(10L);
+		assertThat(partitionKeys.get(1)).containsExactly(11L);
+	}
+
+	@Test
+	public void should_exception_when_no_partition_key_for_multi_partition_query() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Partition keys for multi-partition slice query for entity 'entityClass' should not be empty");
+
+		builder.partitionKeysInternal(Arrays.asList());
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_iterate_over_partitions_with_global_limit() throws Exception {
+		Whitebox.setInternalState(builder, "batchSize", 100);
+		ArgumentCaptor<List> queriesCaptor = ArgumentCaptor.forClass(List.class);
+		when(sliceQueryExecutor.iterator(queriesCaptor.capture(), eq(5))).thenReturn(iterator);
+
+		builder.partitionKeysInternal(Arrays.<Object> asList(10L, 11L, 12L));
+		builder.limit(5);
+		Iterator<ClusteredEntity> actual = builder.iteratorFromPartitions();
+
+		assertThat(actual).isSameAs(iterator);
+		List<SliceQuery<ClusteredEntity>> queries = queriesCaptor.getValue();
+		assertThat(queries).hasSize(3);
+		assertThat(queries.get(2).getPartitionComponents()).containsExactly(12L);
+		assertThat(queries.get(2).getBatchSize()).isEqualTo(5);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_get_from_partitions() throws Exception {
+		Whitebox.setInternalState(builder, "limit", 100);
+		when(sliceQueryExecutor.get(Mockito.<List<SliceQuery<ClusteredEntity>>> any(), eq(100))).thenReturn(result);
+
+		List<ClusteredEntity> actual = builder.partitionKeysInternal(Arrays.<Object> asList(10L, 11L))
+				.getFromPartitions();
+
+		assertThat(actual).isSameAs(result);
+	}
+
+	@Test
+	public void should_count() throws Exception {
+		when(sliceQueryExecutor.count(anySliceQuery())).thenReturn(42L);
+
+		assertThat(builder.partitionKeyInternal(11L).count()).isEqualTo(42L);
+	}
+
+	@Test
+	public void should_get_keys_only_up_to_limit() throws Exception {
+		EmbeddedKey id1 = new EmbeddedKey(11L, "a");
+		EmbeddedKey id2 = new EmbeddedKey(11L, "b");
+		when(sliceQueryExecutor.iteratorOfIds(anySliceQuery())).thenReturn(
+				Arrays.<Object> asList(id1, id2, new EmbeddedKey()).iterator());
+
+		builder.partitionKeyInternal(11L).limit(2);
+		List<EmbeddedKey> ids = builder.keysOnly();
+
+		assertThat(ids).containsExactly(id1, id2);
+		assertThat(Whitebox.getInternalState(builder, "batchSize")).isEqualTo(2);
+	}
+
+	@Test
+	public void should_get_page_with_next_cursor() throws Exception {
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		ArgumentCaptor<SliceQuery<ClusteredEntity>> queryCaptor = sliceQueryCaptor();
+		when(sliceQueryExecutor.get(queryCaptor.capture())).thenReturn(
+				Arrays.asList(entity1, entity2, new ClusteredEntity()));
+		when(cursorCodec.encode(idMeta, ASCENDING, entity2)).thenReturn("cursor");
+
+		Whitebox.setInternalState(builder, "ordering", ASCENDING);
+		SlicePage<ClusteredEntity> page = builder.partitionKeyInternal(11L).getPage(2);
+
+		assertThat(page.getEntities()).containsExactly(entity1, entity2);
+		assertThat(page.getNextCursor()).isEqualTo("cursor");
+		assertThat(page.hasNextPage()).isTrue();
+		assertThat(queryCaptor.getValue().getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	public void should_get_last_page_without_cursor() throws Exception {
+		ClusteredEntity entity = new ClusteredEntity();
+		when(sliceQueryExecutor.get(anySliceQuery())).thenReturn(Arrays.asList(entity));
+
+		SlicePage<ClusteredEntity> page = builder.partitionKeyInternal(11L).getPage(2);
+
+		assertThat(page.getEntities()).containsExactly(entity);
+		assertThat(page.hasNextPage()).isFalse();
+		verifyZeroInteractions(cursorCodec);
+	}
+
+	@Test
+	public void should_resume_after_cursor_keeping_end_bound() throws Exception {
+		List<Object> lastClusterings = Arrays.<Object> asList(11L, "a");
+		List<Object> resumeFrom = Arrays.<Object> asList(11L);
+		Whitebox.setInternalState(builder, "ordering", ASCENDING);
+		Whitebox.setInternalState(builder, "bounding", INCLUSIVE_BOUNDS);
+		when(cursorCodec.decode(idMeta, ASCENDING, "cursor")).thenReturn(lastClusterings);
+		when(sliceQueryExecutor.resumeClusterings(lastClusterings, new ArrayList<Object>(), new ArrayList<Object>()))
+				.thenReturn(resumeFrom);
+		when(idMeta.encodeToComponents(Arrays.<Object> asList(10L, 11L))).thenReturn(
+				Arrays.<Object> asList(10L, 11L));
+
+		SliceQuery<ClusteredEntity> query = builder.partitionKeyInternal(10L).afterCursorInternal("cursor")
+				.buildClusterQuery();
+
+		verify(compoundKeyValidator).validateClusteringKeys(idMeta, lastClusterings);
+		assertThat(query.getClusteringsFrom()).containsExactly(10L, 11L);
+		assertThat(query.getBounding()).isEqualTo(INCLUSIVE_BOUNDS);
+	}
+
+	@Test
+	public void should_resume_exclusively_after_full_cursor_clusterings() throws Exception {
+		List<Object> lastClusterings = Arrays.<Object> asList(11L, "a");
+		Whitebox.setInternalState(builder, "ordering", ASCENDING);
+		Whitebox.setInternalState(builder, "bounding", INCLUSIVE_BOUNDS);
+		when(cursorCodec.decode(idMeta, ASCENDING, "cursor")).thenReturn(lastClusterings);
+		when(sliceQueryExecutor.resumeClusterings(lastClusterings, new ArrayList<Object>(), new ArrayList<Object>()))
+				.thenReturn(lastClusterings);
+		when(idMeta.encodeToComponents(Arrays.<Object> asList(10L, 11L, "a"))).thenReturn(
+				Arrays.<Object> asList(10L, 11L, "a"));
+
+		SliceQuery<ClusteredEntity> query = builder.partitionKeyInternal(10L).afterCursorInternal("cursor")
+				.buildClusterQuery();
+
+		assertThat(query.getClusteringsFrom()).containsExactly(10L, 11L, "a");
+		assertThat(query.getBounding()).isEqualTo(INCLUSIVE_END_BOUND_ONLY);
+	}
+
+	@Test
+	public void should_drop_entities_up_to_cursor_when_resumed_on_prefix() throws Exception {
+		List<Object> lastClusterings = Arrays.<Object> asList(11L, "b");
+		Whitebox.setInternalState(builder, "ordering", ASCENDING);
+		Whitebox.setInternalState(builder, "bounding", INCLUSIVE_BOUNDS);
+		Whitebox.setInternalState(builder, "limit", 5);
+		when(cursorCodec.decode(idMeta, ASCENDING, "cursor")).thenReturn(lastClusterings);
+		when(sliceQueryExecutor.resumeClusterings(lastClusterings, new ArrayList<Object>(), new ArrayList<Object>()))
+				.thenReturn(Arrays.<Object> asList(11L));
+		when(idMeta.encodeToComponents(Arrays.<Object> asList(10L, 11L))).thenReturn(Arrays.<Object> asList(10L, 11L));
+		when(idMeta.encodeToComponents(Arrays.<Object> asList(10L, 11L, "b"))).thenReturn(
+				Arrays.<Object> asList(10L, 11L, "b"));
+		when(idMeta.extractClusteringComponents(anyListOf(Object.class))).thenAnswer(new Answer<List<Object>>() {
+			@Override
+			public List<Object> answer(InvocationOnMock invocation) throws Throwable {
+				List<?> components = (List<?>) invocation.getArguments()[0];
+				return new ArrayList<Object>(components.subList(1, components.size()));
+			}
+		});
+
+		List<ClusteredEntity> entities = new ArrayList<ClusteredEntity>();
+		Object[][] clusterings = { { 11L, "a" }, { 11L, "b" }, { 11L, "c" }, { 12L, "a" } };
+		for (Object[] clustering : clusterings) {
+			ClusteredEntity entity = new ClusteredEntity();
+			String embeddedId = "id" + entities.size();
+			when(idMeta.getPrimaryKey(entity)).thenReturn(embeddedId);
+			when(idMeta.encodeToComponents((Object) embeddedId)).thenReturn(
+					Arrays.<Object> asList(10L, clustering[0], clustering[1]));
+			entities.add(entity);
+		}
+		ArgumentCaptor<SliceQuery<ClusteredEntity>> queryCaptor = sliceQueryCaptor();
+		when(sliceQueryExecutor.iterator(queryCaptor.capture())).thenReturn(entities.iterator());
+
+		List<ClusteredEntity> actual = builder.partitionKeyInternal(10L).afterCursorInternal("cursor").get(1);
+
+		assertThat(actual).containsExactly(entities.get(2));
+		assertThat(queryCaptor.getValue().getBounding()).isEqualTo(INCLUSIVE_BOUNDS);
+		verify(sliceQueryExecutor, never()).get(anySliceQuery());
+	}
+
+	@Test
+	public void should_not_change_limit_when_getting_page() throws Exception {
+		Whitebox.setInternalState(builder, "limit", 7);
+		when(sliceQueryExecutor.get(anySliceQuery())).thenReturn(new ArrayList<ClusteredEntity>());
+
+		builder.partitionKeyInternal(11L).getPage(2);
+
+		assertThat(Whitebox.getInternalState(builder, "limit")).isEqualTo(7);
+		assertThat(Whitebox.getInternalState(builder, "limitHasBeenSet")).isEqualTo(false);
+	}
+
+	@Test
+	public void should_exception_when_blank_cursor() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cursor for slice query for entity 'entityClass' should not be blank");
+
+		builder.afterCursorInternal("");
+	}
+
 	@Test
 	public void should_set_clustering_from() throws Exception {
 
@@ -504,6 +713,11 @@ public class RootSliceQueryBuilderTest {
 		verify(sliceQueryExecutor).remove(anySliceQuery());
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private ArgumentCaptor<SliceQuery<ClusteredEntity>> sliceQueryCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(SliceQuery.class);
+	}
+
 	private SliceQuery<ClusteredEntity> anySliceQuery() {
 		return Mockito.<SliceQuery<ClusteredEntity>> any();
 	}
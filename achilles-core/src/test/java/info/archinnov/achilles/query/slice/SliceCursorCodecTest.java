@@ -0,0 +1,86 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.query.slice;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.EMBEDDED_ID;
+import static info.archinnov.achilles.type.OrderingMode.*;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class SliceCursorCodecTest {
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private SliceCursorCodec codec = new SliceCursorCodec();
+
+	private PropertyMeta idMeta;
+
+	@Before
+	public void setUp() throws Exception {
+		Method userIdGetter = EmbeddedKey.class.getDeclaredMethod("getUserId");
+		Method nameGetter = EmbeddedKey.class.getDeclaredMethod("getName");
+
+		idMeta = PropertyMetaTestBuilder.of(ClusteredEntity.class, Void.class, EmbeddedKey.class).field("id")
+				.type(EMBEDDED_ID).accessors().entityClassName("ClusteredEntity").compClasses(Long.class, String.class)
+				.compGetters(userIdGetter, nameGetter).invoker(new ReflectionInvoker()).build();
+	}
+
+	@Test
+	public void should_encode_and_decode_last_clustering_components() throws Exception {
+		ClusteredEntity entity = new ClusteredEntity();
+		entity.setId(new EmbeddedKey(11L, "name,with \"quotes\""));
+
+		String cursor = codec.encode(idMeta, ASCENDING, entity);
+		List<Object> clusterings = codec.decode(idMeta, ASCENDING, cursor);
+
+		assertThat(cursor).matches("[0-9a-f]+");
+		assertThat(clusterings).containsExactly("name,with \"quotes\"");
+	}
+
+	@Test
+	public void should_exception_when_cursor_issued_for_another_ordering() throws Exception {
+		ClusteredEntity entity = new ClusteredEntity();
+		entity.setId(new EmbeddedKey(11L, "name"));
+		String cursor = codec.encode(idMeta, ASCENDING, entity);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("has been issued for a ASCENDING slice and cannot resume a DESCENDING slice");
+
+		codec.decode(idMeta, DESCENDING, cursor);
+	}
+
+	@Test
+	public void should_exception_when_cursor_is_not_valid() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The slice cursor 'not a cursor' is not valid");
+
+		codec.decode(idMeta, ASCENDING, "not a cursor");
+	}
+}
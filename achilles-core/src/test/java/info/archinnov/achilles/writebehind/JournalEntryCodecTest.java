@@ -0,0 +1,149 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.parsing.EntityParser;
+import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.CounterBuilder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JournalEntryCodecTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Mock
+	private AchillesConsistencyLevelPolicy policy;
+
+	private JournalEntryCodec codec;
+
+	@Before
+	public void setUp() {
+		when(policy.getDefaultGlobalReadConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		when(policy.getDefaultGlobalWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+
+		DefaultObjectMapperFactory objectMapperFactory = new DefaultObjectMapperFactory();
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setConsistencyPolicy(policy);
+		configContext.setObjectMapperFactory(objectMapperFactory);
+
+		EntityMeta meta = new EntityParser().parseEntity(new EntityParsingContext(configContext, CompleteBean.class));
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<Class<?>, EntityMeta>();
+		entityMetaMap.put(CompleteBean.class, meta);
+
+		codec = new JournalEntryCodec(entityMetaMap, objectMapperFactory);
+	}
+
+	@Test
+	public void should_encode_and_decode_entity() throws Exception {
+		UserBean user = new UserBean();
+		user.setUserId(10L);
+		user.setName("user");
+
+		CompleteBean entity = new CompleteBean();
+		entity.setId(11L);
+		entity.setName("name");
+		entity.setAge(32L);
+		entity.setFriends(Arrays.asList("foo", "bar"));
+		entity.setFollowers(Sets.newHashSet("George"));
+		entity.setPreferences(ImmutableMap.of(1, "FR"));
+		entity.setUser(user);
+		entity.setCount(CounterBuilder.incr(5L));
+
+		JournalEntry entry = codec.decode(codec.encodeEntity(JournalEntryType.PERSIST, entity));
+
+		assertThat(entry.getType()).isEqualTo(JournalEntryType.PERSIST);
+		assertThat(entry.getEntityClass()).isEqualTo(CompleteBean.class.getName());
+		assertThat(entry.getProperties().keySet()).doesNotContain("label");
+
+		CompleteBean decoded = (CompleteBean) codec.decodeEntity(entry);
+		assertThat(decoded.getId()).isEqualTo(11L);
+		assertThat(decoded.getName()).isEqualTo("name");
+		assertThat(decoded.getAge()).isEqualTo(32L);
+		assertThat(decoded.getLabel()).isNull();
+		assertThat(decoded.getFriends()).containsExactly("foo", "bar");
+		assertThat(decoded.getFollowers()).containsOnly("George");
+		assertThat(decoded.getPreferences()).isEqualTo(ImmutableMap.of(1, "FR"));
+		assertThat(decoded.getUser().getUserId()).isEqualTo(10L);
+		assertThat(decoded.getUser().getName()).isEqualTo("user");
+		assertThat(decoded.getCount().get()).isEqualTo(5L);
+	}
+
+	@Test
+	public void should_encode_and_decode_counter_increment() throws Exception {
+		JournalEntry entry = codec.decode(codec.encodeCounterIncrement(CompleteBean.class, 11L, "count", 3L));
+
+		assertThat(entry.getType()).isEqualTo(JournalEntryType.COUNTER_INCREMENT);
+		assertThat(entry.getCounterProperty()).isEqualTo("count");
+		assertThat(entry.getDelta()).isEqualTo(3L);
+		assertThat(((CompleteBean) codec.decodeEntity(entry)).getId()).isEqualTo(11L);
+	}
+
+	@Test
+	public void should_exception_when_encoding_entity_without_primary_key() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("without primary key");
+
+		codec.encodeEntity(JournalEntryType.MERGE, new CompleteBean());
+	}
+
+	@Test
+	public void should_exception_when_incrementing_non_counter_property() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The property 'name' of entity '" + CompleteBean.class.getCanonicalName()
+				+ "' is not a counter");
+
+		codec.encodeCounterIncrement(CompleteBean.class, 11L, "name", 3L);
+	}
+
+	@Test
+	public void should_exception_when_decoding_unmanaged_entity() throws Exception {
+		JournalEntry entry = new JournalEntry();
+		entry.setType(JournalEntryType.PERSIST);
+		entry.setEntityClass("com.example.Unknown");
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The write-behind entity class 'com.example.Unknown' is not managed");
+
+		codec.decodeEntity(entry);
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WriteBehindDeadLettersTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void should_read_nothing_when_no_dead_letter() throws Exception {
+		WriteBehindDeadLetters deadLetters = new WriteBehindDeadLetters(folder.getRoot());
+
+		assertThat(deadLetters.readAll()).isEmpty();
+		assertThat(deadLetters.getFile().exists()).isFalse();
+	}
+
+	@Test
+	public void should_append_dead_letters_across_instances() throws Exception {
+		new WriteBehindDeadLetters(folder.getRoot()).append("first".getBytes());
+		new WriteBehindDeadLetters(folder.getRoot()).append("second".getBytes());
+
+		List<byte[]> payloads = new WriteBehindDeadLetters(folder.getRoot()).readAll();
+
+		assertThat(payloads).hasSize(2);
+		assertThat(new String(payloads.get(0))).isEqualTo("first");
+		assertThat(new String(payloads.get(1))).isEqualTo("second");
+	}
+}
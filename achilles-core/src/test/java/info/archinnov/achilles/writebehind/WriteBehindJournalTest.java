@@ -0,0 +1,221 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class WriteBehindJournalTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private WriteBehindJournal journal;
+
+	@After
+	public void tearDown() {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	@Test
+	public void should_peek_appended_records_until_acknowledged() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		journal.append(bytes("a"));
+		journal.append(bytes("b"));
+		journal.append(bytes("c"));
+
+		assertThat(strings(journal.peek(2, 0, TimeUnit.MILLISECONDS))).containsExactly("a", "b");
+		assertThat(strings(journal.peek(2, 0, TimeUnit.MILLISECONDS))).containsExactly("a", "b");
+
+		journal.acknowledge(2);
+
+		assertThat(strings(journal.peek(10, 0, TimeUnit.MILLISECONDS))).containsExactly("c");
+		assertThat(journal.pendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_return_no_record_after_timeout() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+
+		assertThat(journal.peek(10, 10, TimeUnit.MILLISECONDS)).isEmpty();
+		assertThat(journal.awaitDrained(0, TimeUnit.MILLISECONDS)).isTrue();
+	}
+
+	@Test
+	public void should_recover_records_not_acknowledged() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		journal.append(bytes("a"));
+		journal.append(bytes("b"));
+		journal.append(bytes("c"));
+		journal.acknowledge(1);
+		journal.close();
+
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		assertThat(journal.pendingCount()).isEqualTo(2);
+
+		journal.append(bytes("d"));
+		assertThat(strings(journal.peek(10, 0, TimeUnit.MILLISECONDS))).containsExactly("b", "c", "d");
+	}
+
+	@Test
+	public void should_roll_segments_and_delete_replayed_ones() throws Exception {
+		// Each segment holds two records of 8 + 8 bytes after its header
+		journal = new WriteBehindJournal(folder.getRoot(), 40, 4, false);
+		for (String value : new String[] { "record-1", "record-2", "record-3", "record-4", "record-5" }) {
+			journal.append(bytes(value));
+		}
+		assertThat(segmentFiles()).hasSize(3);
+
+		journal.acknowledge(4);
+		assertThat(segmentFiles()).hasSize(1);
+		assertThat(strings(journal.peek(10, 0, TimeUnit.MILLISECONDS))).containsExactly("record-5");
+	}
+
+	@Test
+	public void should_ignore_torn_record_on_recovery() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		journal.append(bytes("a"));
+		journal.append(bytes("b"));
+		journal.close();
+		journal = null;
+
+		// Corrupt the payload of the second record
+		File segment = segmentFiles()[0];
+		RandomAccessFile raf = new RandomAccessFile(segment, "rw");
+		raf.seek(WriteBehindJournal.HEADER_SIZE + WriteBehindJournal.RECORD_HEADER_SIZE + 1
+				+ WriteBehindJournal.RECORD_HEADER_SIZE);
+		raf.write('x');
+		raf.close();
+
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		assertThat(journal.pendingCount()).isEqualTo(1);
+
+		journal.append(bytes("c"));
+		assertThat(strings(journal.peek(10, 0, TimeUnit.MILLISECONDS))).containsExactly("a", "c");
+		assertThat(segmentFiles()).hasSize(2);
+	}
+
+	@Test
+	public void should_block_append_while_journal_is_full() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 24, 2, false);
+		journal.append(bytes("record-1"));
+		journal.append(bytes("record-2"));
+
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				journal.append(bytes("record-3"));
+			}
+		});
+		writer.start();
+		waitUntilBlocked(writer);
+		assertThat(journal.pendingCount()).isEqualTo(2);
+
+		journal.acknowledge(1);
+		writer.join(5000);
+
+		assertThat(writer.isAlive()).isFalse();
+		assertThat(strings(journal.peek(10, 0, TimeUnit.MILLISECONDS))).containsExactly("record-2", "record-3");
+	}
+
+	@Test
+	public void should_await_drained() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		journal.append(bytes("a"));
+
+		assertThat(journal.awaitDrained(10, TimeUnit.MILLISECONDS)).isFalse();
+
+		journal.acknowledge(1);
+		assertThat(journal.awaitDrained(10, TimeUnit.MILLISECONDS)).isTrue();
+	}
+
+	@Test
+	public void should_exception_when_acknowledging_more_than_pending() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+		journal.append(bytes("a"));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot acknowledge 2 write-behind entries, only 1 are pending");
+
+		journal.acknowledge(2);
+	}
+
+	@Test
+	public void should_exception_when_entry_does_not_fit_in_segment() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 24, 2, false);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("does not fit in a journal segment of 24 bytes");
+
+		journal.append(bytes("record-01"));
+	}
+
+	@Test
+	public void should_exception_when_directory_already_in_use() throws Exception {
+		journal = new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("is already in use");
+
+		new WriteBehindJournal(folder.getRoot(), 1024, 4, false);
+	}
+
+	private File[] segmentFiles() {
+		return folder.getRoot().listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".log");
+			}
+		});
+	}
+
+	private byte[] bytes(String value) {
+		return value.getBytes();
+	}
+
+	private List<String> strings(List<byte[]> records) {
+		List<String> values = new ArrayList<String>();
+		for (byte[] record : records) {
+			values.add(new String(record));
+		}
+		return values;
+	}
+
+	private void waitUntilBlocked(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.WAITING) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,298 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.writebehind;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.entity.manager.PersistenceManager;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.parsing.EntityParser;
+import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Counter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Predicates;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteBehindReplayerTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Mock
+	private AchillesConsistencyLevelPolicy policy;
+
+	@Mock
+	private PersistenceManager<?> manager;
+
+	@Mock
+	private Counter counter;
+
+	private WriteBehindJournal journal;
+
+	private JournalEntryCodec codec;
+
+	private WriteBehindDeadLetters deadLetters;
+
+	private WriteBehindReplayer replayer;
+
+	@Before
+	public void setUp() {
+		when(policy.getDefaultGlobalReadConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		when(policy.getDefaultGlobalWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+
+		DefaultObjectMapperFactory objectMapperFactory = new DefaultObjectMapperFactory();
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setConsistencyPolicy(policy);
+		configContext.setObjectMapperFactory(objectMapperFactory);
+
+		EntityMeta meta = new EntityParser().parseEntity(new EntityParsingContext(configContext, CompleteBean.class));
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<Class<?>, EntityMeta>();
+		entityMetaMap.put(CompleteBean.class, meta);
+
+		codec = new JournalEntryCodec(entityMetaMap, objectMapperFactory);
+		journal = new WriteBehindJournal(folder.getRoot(), 4096, 4, false);
+		deadLetters = new WriteBehindDeadLetters(folder.getRoot());
+		replayer = new WriteBehindReplayer(journal, codec, manager, 10, 3,
+				Predicates.<Throwable> or(Predicates.instanceOf(IllegalStateException.class)), deadLetters);
+	}
+
+	@After
+	public void tearDown() {
+		journal.close();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_replay_consecutive_persists_as_one_bulk() throws Exception {
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John")));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(12L, "Helen")));
+
+		assertThat(replayer.replayBatch()).isEqualTo(2);
+
+		ArgumentCaptor<Collection> entitiesCaptor = ArgumentCaptor.forClass(Collection.class);
+		verify(manager).persist(entitiesCaptor.capture());
+		Collection<CompleteBean> entities = entitiesCaptor.getValue();
+		assertThat(entities).hasSize(2);
+		assertThat(entities.iterator().next().getName()).isEqualTo("John");
+		assertThat(journal.pendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_replay_merge_on_reference() throws Exception {
+		CompleteBean proxy = new CompleteBean();
+		proxy.setAge(40L);
+		when(manager.getReference(CompleteBean.class, 11L)).thenReturn(proxy);
+
+		journal.append(codec.encodeEntity(JournalEntryType.MERGE, bean(11L, "John")));
+
+		assertThat(replayer.replayBatch()).isEqualTo(1);
+
+		verify(manager).merge(proxy);
+		assertThat(proxy.getName()).isEqualTo("John");
+		assertThat(proxy.getAge()).isEqualTo(40L);
+		assertThat(journal.pendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_replay_counter_increment_on_reference() throws Exception {
+		CompleteBean proxy = new CompleteBean();
+		proxy.setCount(counter);
+		when(manager.getReference(CompleteBean.class, 11L)).thenReturn(proxy);
+
+		journal.append(codec.encodeCounterIncrement(CompleteBean.class, 11L, "count", 3L));
+
+		replayer.replayBatch();
+
+		verify(counter).incr(3L);
+		assertThat(journal.pendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_move_unreadable_entry_to_dead_letters() throws Exception {
+		journal.append("not json".getBytes());
+
+		assertThat(replayer.replayBatch()).isEqualTo(1);
+
+		verify(manager, never()).persist(any(Collection.class));
+		assertThat(journal.pendingCount()).isEqualTo(0);
+		assertThat(new String(deadLetters.readAll().get(0))).isEqualTo("not json");
+	}
+
+	@Test
+	public void should_move_unreadable_entry_to_dead_letters_once_behind_failing_entry() throws Exception {
+		doThrow(new AchillesException("timeout", new IllegalStateException())).doNothing().when(manager)
+				.persist(any(Collection.class));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John")));
+		journal.append("not json".getBytes());
+
+		try {
+			replayer.replayBatch();
+			fail("Replay should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("timeout");
+		}
+		assertThat(deadLetters.readAll()).isEmpty();
+
+		assertThat(replayer.replayBatch()).isEqualTo(2);
+
+		assertThat(journal.pendingCount()).isEqualTo(0);
+		assertThat(deadLetters.readAll()).hasSize(1);
+		assertThat(new String(deadLetters.readAll().get(0))).isEqualTo("not json");
+	}
+
+	@Test
+	public void should_keep_entries_when_replay_fails() throws Exception {
+		doThrow(new AchillesException("down")).when(manager).persist(any(Collection.class));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John")));
+
+		try {
+			replayer.replayBatch();
+			fail("Replay should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("down");
+		}
+
+		assertThat(journal.pendingCount()).isEqualTo(1);
+		assertThat(deadLetters.readAll()).isEmpty();
+	}
+
+	@Test
+	public void should_retry_transient_failure_without_limit() throws Exception {
+		doThrow(new AchillesException("timeout", new IllegalStateException())).when(manager).persist(
+				any(Collection.class));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John")));
+
+		for (int attempt = 0; attempt < 5; attempt++) {
+			try {
+				replayer.replayBatch();
+				fail("Replay should have failed");
+			} catch (AchillesException e) {
+				assertThat(e.getMessage()).isEqualTo("timeout");
+			}
+		}
+
+		assertThat(journal.pendingCount()).isEqualTo(1);
+		assertThat(deadLetters.readAll()).isEmpty();
+	}
+
+	@Test
+	public void should_move_entry_to_dead_letters_after_max_attempts() throws Exception {
+		doThrow(new AchillesException("invalid")).when(manager).persist(any(Collection.class));
+		byte[] record = codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John"));
+		journal.append(record);
+
+		for (int attempt = 0; attempt < 2; attempt++) {
+			try {
+				replayer.replayBatch();
+				fail("Replay should have failed");
+			} catch (AchillesException e) {
+				assertThat(e.getMessage()).isEqualTo("invalid");
+			}
+		}
+		assertThat(replayer.replayBatch()).isEqualTo(1);
+
+		verify(manager, times(3)).persist(any(Collection.class));
+		assertThat(journal.pendingCount()).isEqualTo(0);
+		assertThat(deadLetters.readAll()).hasSize(1);
+		assertThat(deadLetters.readAll().get(0)).isEqualTo(record);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_replay_failing_persists_one_by_one() throws Exception {
+		final CompleteBean invalid = bean(12L, "Helen");
+		ArgumentCaptor<Collection> entitiesCaptor = ArgumentCaptor.forClass(Collection.class);
+		doThrow(new AchillesException("invalid")).when(manager).persist(entitiesCaptor.capture());
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(11L, "John")));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, invalid));
+		journal.append(codec.encodeEntity(JournalEntryType.PERSIST, bean(13L, "Paul")));
+
+		try {
+			replayer.replayBatch();
+			fail("Replay should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("invalid");
+		}
+
+		// first entry alone succeeds, the second one fails again
+		doNothing().doThrow(new AchillesException("invalid")).when(manager).persist(any(Collection.class));
+		try {
+			replayer.replayBatch();
+			fail("Replay should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("invalid");
+		}
+		assertThat(journal.pendingCount()).isEqualTo(2);
+
+		// second entry reaches max attempts, the third one goes alone
+		doThrow(new AchillesException("invalid")).doThrow(new AchillesException("invalid")).doNothing()
+				.when(manager).persist(entitiesCaptor.capture());
+		try {
+			replayer.replayBatch();
+			fail("Replay should have failed");
+		} catch (AchillesException e) {
+			assertThat(e.getMessage()).isEqualTo("invalid");
+		}
+		assertThat(replayer.replayBatch()).isEqualTo(2);
+
+		assertThat(journal.pendingCount()).isEqualTo(0);
+		assertThat(deadLetters.readAll()).hasSize(1);
+		Collection<CompleteBean> lastEntities = entitiesCaptor.getValue();
+		assertThat(lastEntities).hasSize(1);
+		assertThat(lastEntities.iterator().next().getName()).isEqualTo("Paul");
+		JournalEntry deadEntry = codec.decode(deadLetters.readAll().get(0));
+		assertThat(((CompleteBean) codec.decodeEntity(deadEntry)).getName()).isEqualTo(invalid.getName());
+	}
+
+	private CompleteBean bean(Long id, String name) {
+		CompleteBean bean = new CompleteBean();
+		bean.setId(id);
+		bean.setName(name);
+		return bean;
+	}
+}
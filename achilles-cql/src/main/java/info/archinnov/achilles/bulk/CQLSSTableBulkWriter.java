@@ -0,0 +1,342 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.bulk;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementBinder;
+import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
+import info.archinnov.achilles.table.CQLTableCreator;
+import info.archinnov.achilles.validation.Validator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.KSMetaData;
+import org.apache.cassandra.config.Schema;
+import org.apache.cassandra.cql3.ColumnSpecification;
+import org.apache.cassandra.cql3.QueryProcessor;
+import org.apache.cassandra.cql3.statements.CreateColumnFamilyStatement;
+import org.apache.cassandra.cql3.statements.ParsedStatement.Prepared;
+import org.apache.cassandra.cql3.statements.UpdateStatement;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ConsistencyLevel;
+import org.apache.cassandra.db.IMutation;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.exceptions.RequestExecutionException;
+import org.apache.cassandra.exceptions.RequestValidationException;
+import org.apache.cassandra.io.sstable.SSTableSimpleUnsortedWriter;
+import org.apache.cassandra.locator.SimpleStrategy;
+import org.apache.cassandra.utils.HeapAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+
+/**
+ * Write entities directly into SSTables on local disk, bypassing the cluster
+ * write path. The generated files are laid out as
+ * <em>outputDirectory/keyspace/table</em> so that they can be streamed to the
+ * cluster with <strong>sstableloader</strong> <br/>
+ * <br/>
+ * 
+ * Values are encoded exactly as for a regular persist(): the table definition
+ * is generated from the entity meta data and each entity is turned into the
+ * cells of the corresponding CQL3 INSERT. Counter properties are not written
+ * since counter cells cannot be generated offline <br/>
+ * <br/>
+ * 
+ * Cassandra resolves the table through its in-memory schema while writing.
+ * When the table is unknown to the local schema, its definition is loaded for
+ * the lifetime of the writer and unloaded on close(), with the keyspace if it
+ * was loaded for the writer too <br/>
+ * <br/>
+ * 
+ * When no Cassandra node runs in the same JVM, Cassandra's configuration must
+ * be available (cassandra.yaml on the classpath or -Dcassandra.config) or
+ * disabled with <em>Config.setLoadYaml(false)</em> before creating the writer <br/>
+ * <br/>
+ * 
+ * <strong>WARNING : This writer is not thread-safe. It must be closed to flush
+ * the last SSTable to disk</strong>
+ */
+public class CQLSSTableBulkWriter implements Closeable {
+	private static final Logger log = LoggerFactory.getLogger(CQLSSTableBulkWriter.class);
+
+	public static final int DEFAULT_BUFFER_SIZE_IN_MB = 64;
+
+	// Writers of tables unknown to the local schema, by keyspace.table
+	private static final Map<String, Integer> loadedTables = new HashMap<String, Integer>();
+	private static final Set<String> loadedKeyspaces = new HashSet<String>();
+
+	private final EntityMeta entityMeta;
+	private final CFMetaData tableMeta;
+	private final File tableDirectory;
+	private final UpdateStatement insert;
+	private final List<ColumnSpecification> boundNames;
+	private final EntityRowWriter rowWriter;
+
+	private CQLPreparedStatementBinder binder = new CQLPreparedStatementBinder();
+	private long writtenCount = 0;
+	private boolean tableLoaded = false;
+	private boolean closed = false;
+
+	public CQLSSTableBulkWriter(EntityMeta entityMeta, String keyspaceName, File outputDirectory,
+			IPartitioner partitioner) {
+		this(entityMeta, keyspaceName, outputDirectory, partitioner, DEFAULT_BUFFER_SIZE_IN_MB);
+	}
+
+	/**
+	 * Create a new writer for the table of an entity
+	 * 
+	 * @param entityMeta
+	 *            meta data of the entity to write
+	 * @param keyspaceName
+	 *            keyspace of the target table
+	 * @param outputDirectory
+	 *            root directory of the generated SSTables
+	 * @param partitioner
+	 *            partitioner of the target cluster
+	 * @param bufferSizeInMB
+	 *            amount of data buffered in memory before a new SSTable is
+	 *            flushed to disk
+	 */
+	public CQLSSTableBulkWriter(EntityMeta entityMeta, String keyspaceName, File outputDirectory,
+			IPartitioner partitioner, int bufferSizeInMB) {
+		Validator.validateNotNull(entityMeta, "Entity meta should not be null for SSTable bulk writing");
+		Validator.validateFalse(entityMeta.isClusteredCounter(),
+				"Cannot bulk write SSTables for the clustered counter entity '%s'", entityMeta.getClassName());
+		Validator.validateNotBlank(keyspaceName, "Keyspace name should be provided for SSTable bulk writing");
+		Validator.validateNotNull(outputDirectory, "Output directory should be provided for SSTable bulk writing");
+		Validator.validateNotNull(partitioner, "Partitioner should be provided for SSTable bulk writing");
+		Validator.validateTrue(bufferSizeInMB > 0, "SSTable bulk writer buffer size should be strictly positive");
+
+		this.entityMeta = entityMeta;
+		tableMeta = loadTableMeta(entityMeta, keyspaceName);
+		try {
+			tableDirectory = new File(new File(outputDirectory, tableMeta.ksName), tableMeta.cfName);
+			Validator.validateTrue(tableDirectory.isDirectory() || tableDirectory.mkdirs(),
+					"Cannot create the SSTable output directory '%s'", tableDirectory.getAbsolutePath());
+
+			String insertQuery = new CQLPreparedStatementGenerator().generateInsert(
+					insertInto(keyspaceName, entityMeta.getTableName()), entityMeta).getQueryString();
+			try {
+				Prepared prepared = QueryProcessor.parseStatement(insertQuery).prepare();
+				insert = (UpdateStatement) prepared.statement;
+				boundNames = prepared.boundNames;
+			} catch (RequestValidationException e) {
+				throw new AchillesException("Cannot prepare the insert statement '" + insertQuery
+						+ "' for SSTable bulk writing", e);
+			}
+
+			log.debug("Bulk writing SSTables for entity {} into {}", entityMeta.getClassName(), tableDirectory);
+			rowWriter = new EntityRowWriter(tableDirectory, partitioner, tableMeta, bufferSizeInMB);
+		} catch (RuntimeException e) {
+			unloadTableMeta();
+			throw e;
+		}
+	}
+
+	/**
+	 * Write an entity into the current SSTable
+	 * 
+	 * @param entity
+	 *            entity to write
+	 */
+	public void write(Object entity) {
+		Validator.validateNotNull(entity, "Cannot bulk write null entity");
+		Validator.validateTrue(entityMeta.getEntityClass().isInstance(entity),
+				"Cannot bulk write entity of type '%s' into SSTables of entity '%s'", entity.getClass()
+						.getCanonicalName(), entityMeta.getClassName());
+
+		List<Object> values = binder.encodeValuesForInsert(entityMeta, entity);
+		List<ByteBuffer> variables = new ArrayList<ByteBuffer>(values.size());
+		for (int i = 0; i < values.size(); i++) {
+			variables.add(serialize(boundNames.get(i), values.get(i)));
+		}
+
+		long timestampInMicros = System.currentTimeMillis() * 1000;
+		try {
+			for (IMutation mutation : insert.getMutations(variables, true, ConsistencyLevel.ONE, timestampInMicros)) {
+				RowMutation rowMutation = (RowMutation) mutation;
+				for (ColumnFamily row : rowMutation.getColumnFamilies()) {
+					rowWriter.addRow(rowMutation.key(), row);
+				}
+			}
+		} catch (RequestValidationException e) {
+			throw new AchillesException("Cannot bulk write entity '" + entity + "' : " + e.getMessage(), e);
+		} catch (RequestExecutionException e) {
+			throw new AchillesException("Cannot bulk write entity '" + entity + "' : " + e.getMessage(), e);
+		} catch (IOException e) {
+			throw new AchillesException("Cannot write SSTable into '" + tableDirectory.getAbsolutePath() + "'", e);
+		}
+		writtenCount++;
+	}
+
+	public void writeAll(Iterable<?> entities) {
+		writeAll(entities.iterator());
+	}
+
+	public void writeAll(Iterator<?> entities) {
+		while (entities.hasNext()) {
+			write(entities.next());
+		}
+	}
+
+	/**
+	 * Flush the buffered rows to a last SSTable, wait for all SSTables to be
+	 * written and unload the table definition loaded for this writer
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			rowWriter.close();
+		} catch (IOException e) {
+			throw new AchillesException("Cannot write SSTable into '" + tableDirectory.getAbsolutePath() + "'", e);
+		} finally {
+			unloadTableMeta();
+		}
+		log.debug("{} entities of type {} bulk written into {}", writtenCount, entityMeta.getClassName(),
+				tableDirectory);
+	}
+
+	/**
+	 * Directory holding the generated SSTables, to be given to sstableloader
+	 */
+	public File getTableDirectory() {
+		return tableDirectory;
+	}
+
+	public long getWrittenCount() {
+		return writtenCount;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ByteBuffer serialize(ColumnSpecification column, Object value) {
+		return value == null ? null : ((AbstractType<Object>) column.type).decompose(value);
+	}
+
+	private CFMetaData loadTableMeta(EntityMeta entityMeta, String keyspaceName) {
+		// Unquoted CQL3 identifiers are stored lower-cased by Cassandra
+		String ksName = keyspaceName.toLowerCase();
+		String cfName = entityMeta.getTableName().toLowerCase();
+		String tableKey = ksName + "." + cfName;
+
+		synchronized (loadedTables) {
+			CFMetaData tableMeta = Schema.instance.getCFMetaData(ksName, cfName);
+			if (tableMeta != null) {
+				Integer writers = loadedTables.get(tableKey);
+				if (writers != null) {
+					loadedTables.put(tableKey, writers + 1);
+					tableLoaded = true;
+				}
+				return tableMeta;
+			}
+
+			log.debug("Loading table definition of entity {} into local schema", entityMeta.getClassName());
+			String ddl = CQLTableCreator.buildTable(entityMeta, keyspaceName, entityMeta.getTableName())
+					.generateDDLScript();
+			try {
+				CreateColumnFamilyStatement statement = (CreateColumnFamilyStatement) QueryProcessor
+						.parseStatement(ddl).prepare().statement;
+				tableMeta = statement.getCFMetaData();
+			} catch (RequestValidationException e) {
+				throw new AchillesException("Cannot build the table definition '" + ddl
+						+ "' for SSTable bulk writing", e);
+			}
+
+			KSMetaData keyspaceMeta = Schema.instance.getKSMetaData(tableMeta.ksName);
+			if (keyspaceMeta == null) {
+				keyspaceMeta = KSMetaData.newKeyspace(tableMeta.ksName, SimpleStrategy.class,
+						ImmutableMap.of("replication_factor", "1"), true, Arrays.asList(tableMeta));
+				loadedKeyspaces.add(tableMeta.ksName);
+			} else {
+				keyspaceMeta = KSMetaData.cloneWith(keyspaceMeta,
+						Iterables.concat(keyspaceMeta.cfMetaData().values(), Arrays.asList(tableMeta)));
+			}
+			Schema.instance.load(tableMeta);
+			Schema.instance.setTableDefinition(keyspaceMeta);
+			loadedTables.put(tableKey, 1);
+			tableLoaded = true;
+			return tableMeta;
+		}
+	}
+
+	private void unloadTableMeta() {
+		if (!tableLoaded) {
+			return;
+		}
+		tableLoaded = false;
+		String tableKey = tableMeta.ksName + "." + tableMeta.cfName;
+
+		synchronized (loadedTables) {
+			int writers = loadedTables.get(tableKey);
+			if (writers > 1) {
+				loadedTables.put(tableKey, writers - 1);
+				return;
+			}
+			loadedTables.remove(tableKey);
+
+			log.debug("Unloading table definition of entity {} from local schema", entityMeta.getClassName());
+			KSMetaData keyspaceMeta = Schema.instance.getKSMetaData(tableMeta.ksName);
+			List<CFMetaData> otherTables = new ArrayList<CFMetaData>();
+			for (CFMetaData cfm : keyspaceMeta.cfMetaData().values()) {
+				if (!cfm.cfName.equals(tableMeta.cfName)) {
+					otherTables.add(cfm);
+				}
+			}
+			Schema.instance.purge(tableMeta);
+			if (otherTables.isEmpty() && loadedKeyspaces.remove(tableMeta.ksName)) {
+				Schema.instance.clearTableDefinition(keyspaceMeta);
+			} else {
+				Schema.instance.setTableDefinition(KSMetaData.cloneWith(keyspaceMeta, otherTables));
+			}
+		}
+	}
+
+	private static class EntityRowWriter extends SSTableSimpleUnsortedWriter {
+
+		EntityRowWriter(File directory, IPartitioner partitioner, CFMetaData tableMeta, int bufferSizeInMB) {
+			super(directory, partitioner, tableMeta.ksName, tableMeta.cfName, tableMeta.comparator, null,
+					bufferSizeInMB, tableMeta.compressionParameters());
+		}
+
+		void addRow(ByteBuffer key, ColumnFamily row) throws IOException {
+			newRow(key);
+			columnFamily.addAll(row, HeapAllocator.instance);
+		}
+	}
+}
@@ -17,6 +17,8 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.READ_HEDGING_ENABLE_PARAM;
+import info.archinnov.achilles.context.HedgingLoadBalancingPolicy;
 import info.archinnov.achilles.validation.Validator;
 
 import java.util.Map;
@@ -32,11 +34,20 @@ import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.Policies;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
 import com.datastax.driver.core.policies.RetryPolicy;
+import com.datastax.driver.core.policies.TokenAwarePolicy;
 
 public class CQLArgumentExtractor extends ArgumentExtractor {
 
 	public Cluster initCluster(Map<String, Object> configurationMap) {
 		Cluster cluster = (Cluster) configurationMap.get(CLUSTER_PARAM);
+		Boolean hedging = (Boolean) configurationMap.get(READ_HEDGING_ENABLE_PARAM);
+		if (cluster != null && hedging != null && hedging) {
+			// Hedged reads must start on another host, which only the hedging policy does
+			LoadBalancingPolicy providedPolicy = cluster.getConfiguration().getPolicies().getLoadBalancingPolicy();
+			Validator.validateTrue(providedPolicy instanceof HedgingLoadBalancingPolicy,
+					"%s requires the cluster provided with %s to use a %s as load balancing policy",
+					READ_HEDGING_ENABLE_PARAM, CLUSTER_PARAM, HedgingLoadBalancingPolicy.class.getSimpleName());
+		}
 		if (cluster == null) {
 			String contactPoints = (String) configurationMap.get(CONNECTION_CONTACT_POINTS_PARAM);
 			Integer port = (Integer) configurationMap.get(CONNECTION_PORT_PARAM);
@@ -51,10 +62,14 @@ public class CQLArgumentExtractor extends ArgumentExtractor {
 				retryPolicy = (RetryPolicy) configurationMap.get(RETRY_POLICY);
 			}
 
-			LoadBalancingPolicy loadBalancingPolicy = Policies.defaultLoadBalancingPolicy();
+			// Achilles sets a routing key on its statements, send them to a replica
+			LoadBalancingPolicy loadBalancingPolicy = new TokenAwarePolicy(Policies.defaultLoadBalancingPolicy());
 			if (configurationMap.containsKey(LOAD_BALANCING_POLICY)) {
 				loadBalancingPolicy = (LoadBalancingPolicy) configurationMap.get(LOAD_BALANCING_POLICY);
 			}
+			if (hedging != null && hedging) {
+				loadBalancingPolicy = new HedgingLoadBalancingPolicy(loadBalancingPolicy);
+			}
 
 			ReconnectionPolicy reconnectionPolicy = Policies.defaultReconnectionPolicy();
 			if (configurationMap.containsKey(RECONNECTION_POLICY)) {
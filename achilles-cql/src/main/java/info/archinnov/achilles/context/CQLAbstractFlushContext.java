@@ -58,7 +58,7 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 	protected void doFlush() {
 		for (BoundStatementWrapper wrapper : boundStatementWrappers) {
 
-			daoContext.execute(wrapper.getBs(), wrapper.getValues());
+			daoContext.execute(wrapper);
 		}
 		for (Statement statement : statements) {
 			daoContext.execute(statement);
@@ -94,10 +94,20 @@ public abstract class CQLAbstractFlushContext<T extends CQLAbstractFlushContext<
 		return daoContext.execute(query, boundValues);
 	}
 
+	public ResultSet executeImmediateWithConsistency(BoundStatementWrapper bsWrapper,
+			ConsistencyLevel readConsistencyLevel) {
+		bsWrapper.getBs().setConsistencyLevel(getCQLLevel(readConsistencyLevel));
+		return daoContext.execute(bsWrapper);
+	}
+
 	public List<BoundStatementWrapper> getBoundStatementWrappers() {
 		return boundStatementWrappers;
 	}
 
+	public List<Statement> getStatements() {
+		return statements;
+	}
+
 	@Override
 	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
 		this.consistencyLevel = consistencyLevel;
@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Flush context for bulk operations.
+ * 
+ * Statements are grouped by partition, each group being a batching flush
+ * context. On endBatch() the statements of a group are sent in order while
+ * distinct groups are sent concurrently, with at most 'maxInFlight' pending
+ * requests
+ */
+public class CQLBulkFlushContext extends CQLAbstractFlushContext<CQLBulkFlushContext> {
+	private static final Logger log = LoggerFactory.getLogger(CQLBulkFlushContext.class);
+
+	private Map<List<Object>, CQLBatchingFlushContext> partitionContexts = new LinkedHashMap<List<Object>, CQLBatchingFlushContext>();
+	private int maxInFlight;
+
+	public CQLBulkFlushContext(CQLDaoContext daoContext, ConsistencyLevel consistencyLevel, int maxInFlight) {
+		super(daoContext, consistencyLevel);
+		this.maxInFlight = maxInFlight;
+	}
+
+	public CQLBatchingFlushContext partitionContext(EntityMeta meta, Object primaryKey) {
+		List<Object> partition = Arrays.<Object> asList(meta.getTableName(), meta.getIdMeta()
+				.extractPartitionComponents(primaryKey));
+		CQLBatchingFlushContext partitionContext = partitionContexts.get(partition);
+		if (partitionContext == null) {
+			partitionContext = new CQLBatchingFlushContext(daoContext, consistencyLevel);
+			partitionContexts.put(partition, partitionContext);
+		}
+		return partitionContext;
+	}
+
+	@Override
+	public void startBatch() {
+		log.debug("Starting a new bulk");
+		cleanUp();
+	}
+
+	@Override
+	public void flush() {
+		log.debug("Flush called but do nothing. Flushing is done only at the end of the bulk");
+	}
+
+	@Override
+	public void endBatch() {
+		log.debug("Ending current bulk with {} partition(s)", partitionContexts.size());
+
+		List<PartitionGroup> pending = new LinkedList<PartitionGroup>();
+		for (CQLBatchingFlushContext partitionContext : partitionContexts.values()) {
+			pending.add(new PartitionGroup(partitionContext));
+		}
+
+		LinkedList<PartitionGroup> inFlight = new LinkedList<PartitionGroup>();
+		RuntimeException error = null;
+		Iterator<PartitionGroup> pendingIter = pending.iterator();
+		while (pendingIter.hasNext() || !inFlight.isEmpty()) {
+			while (error == null && pendingIter.hasNext() && inFlight.size() < maxInFlight) {
+				PartitionGroup group = pendingIter.next();
+				if (group.sendNext()) {
+					inFlight.add(group);
+				}
+			}
+			if (inFlight.isEmpty()) {
+				break;
+			}
+
+			PartitionGroup oldest = inFlight.removeFirst();
+			try {
+				oldest.awaitCurrent();
+				if (error == null && oldest.sendNext()) {
+					inFlight.add(oldest);
+				}
+			} catch (RuntimeException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+
+		cleanUp();
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	@Override
+	public void cleanUp() {
+		super.cleanUp();
+		partitionContexts.clear();
+	}
+
+	@Override
+	public FlushType type() {
+		return FlushType.BATCH;
+	}
+
+	@Override
+	public CQLBulkFlushContext duplicate() {
+		throw new UnsupportedOperationException("A bulk flush context cannot be duplicated");
+	}
+
+	Map<List<Object>, CQLBatchingFlushContext> getPartitionContexts() {
+		return partitionContexts;
+	}
+
+	/**
+	 * Statements of a single partition, sent one after the other
+	 */
+	private class PartitionGroup {
+		private final Iterator<BoundStatementWrapper> boundStatements;
+		private final Iterator<Statement> statements;
+		private ResultSetFuture current;
+
+		PartitionGroup(CQLBatchingFlushContext partitionContext) {
+			this.boundStatements = new ArrayList<BoundStatementWrapper>(partitionContext.getBoundStatementWrappers())
+					.iterator();
+			this.statements = new ArrayList<Statement>(partitionContext.getStatements()).iterator();
+		}
+
+		boolean sendNext() {
+			if (boundStatements.hasNext()) {
+				current = daoContext.executeAsync(boundStatements.next());
+			} else if (statements.hasNext()) {
+				current = daoContext.executeAsync(statements.next());
+			} else {
+				current = null;
+			}
+			return current != null;
+		}
+
+		void awaitCurrent() {
+			current.getUninterruptibly();
+		}
+	}
+}
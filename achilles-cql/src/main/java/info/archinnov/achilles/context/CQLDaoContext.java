@@ -17,11 +17,16 @@
 package info.archinnov.achilles.context;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
+import static info.archinnov.achilles.consistency.CQLConsistencyConvertor.getCQLLevel;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.*;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
+import info.archinnov.achilles.metrics.StatementType;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.statement.cache.CacheManager;
 import info.archinnov.achilles.statement.cache.StatementCacheKey;
@@ -32,6 +37,7 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +46,7 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
@@ -48,6 +55,8 @@ import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class CQLDaoContext {
 	public static final String ACHILLES_DML_STATEMENT = "ACHILLES_DML_STATEMENT";
@@ -61,6 +70,10 @@ public class CQLDaoContext {
 	private Map<CQLQueryType, PreparedStatement> counterQueryMap;
 	private Map<Class<?>, Map<CQLQueryType, PreparedStatement>> clusteredCounterQueryMap;
 	private Session session;
+	private AchillesMetrics metrics = AchillesMetrics.disabled();
+	private SlowStatementLogger slowStatementLogger = SlowStatementLogger.disabled();
+	private ReadCoalescer readCoalescer = ReadCoalescer.disabled();
+	private ReadHedger readHedger = ReadHedger.disabled();
 
 	private CQLPreparedStatementBinder binder = new CQLPreparedStatementBinder();
 	private CacheManager cacheManager = new CacheManager();
@@ -97,7 +110,8 @@ public class CQLDaoContext {
 			else if (timestampO.isPresent())
 				options = insert.using(timestamp(timestampO.get()));
 
-			context.pushStatement(options, writeLevel);
+			context.pushStatement(statementGenerator.routeToPartition(options, entityMeta, context.getPrimaryKey()),
+					writeLevel);
 		} else {
 			PreparedStatement ps = insertPSs.get(entityClass);
 			BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity());
@@ -121,7 +135,8 @@ public class CQLDaoContext {
 			else if (timestampO.isPresent())
 				options = update.using(timestamp(timestampO.get()));
 
-			context.pushStatement(options, writeLevel);
+			context.pushStatement(statementGenerator.routeToPartition(options, entityMeta, context.getPrimaryKey()),
+					writeLevel);
 		} else {
 			PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
 			BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity());
@@ -143,7 +158,7 @@ public class CQLDaoContext {
 
 		if (psMap.containsKey(tableName)) {
 			BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(psMap.get(tableName),
-					entityMeta, context.getPrimaryKey());
+					entityMeta, context.getPrimaryKey(), OperationType.REMOVE);
 			ConsistencyLevel writeLevel = getWriteConsistencyLevel(context, entityMeta);
 			context.pushBoundStatement(bsWrapper, writeLevel);
 		} else {
@@ -183,9 +198,8 @@ public class CQLDaoContext {
 		PreparedStatement ps = counterQueryMap.get(SELECT);
 		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterSelect(ps, context.getEntityMeta(), counterMeta,
 				context.getPrimaryKey());
-		ResultSet resultSet = context.executeImmediateWithConsistency(bsWrapper, consistencyLevel);
 
-		return returnFirstRowOrNull(resultSet.all());
+		return returnFirstRowOrNull(executeRead(context, bsWrapper, consistencyLevel));
 	}
 
 	public void bindForSimpleCounterDelete(CQLPersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
@@ -229,9 +243,8 @@ public class CQLDaoContext {
 		PreparedStatement ps = clusteredCounterQueryMap.get(entityMeta.getEntityClass()).get(SELECT);
 		BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterSelect(ps, entityMeta, counterMeta,
 				context.getPrimaryKey());
-		ResultSet resultSet = context.executeImmediateWithConsistency(bsWrapper, consistencyLevel);
 
-		return returnFirstRowOrNull(resultSet.all());
+		return returnFirstRowOrNull(executeRead(context, bsWrapper, consistencyLevel));
 	}
 
 	public void bindForClusteredCounterDelete(CQLPersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
@@ -252,13 +265,50 @@ public class CQLDaoContext {
 		return returnFirstRowOrNull(rows);
 	}
 
+	public Row loadFetchGroup(CQLPersistenceContext context, List<PropertyMeta> pms) {
+		EntityMeta meta = context.getEntityMeta();
+		PreparedStatement ps = cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms);
+
+		ConsistencyLevel readLevel = getReadConsistencyLevel(context, meta);
+		List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
+		return returnFirstRowOrNull(rows);
+	}
+
 	private List<Row> executeReadWithConsistency(CQLPersistenceContext context, PreparedStatement ps,
 			ConsistencyLevel readLevel) {
 		EntityMeta entityMeta = context.getEntityMeta();
 		BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta,
 				context.getPrimaryKey());
 
-		return context.executeImmediateWithConsistency(bsWrapper, readLevel).all();
+		return executeRead(context, bsWrapper, readLevel);
+	}
+
+	private List<Row> executeRead(final CQLPersistenceContext context, final BoundStatementWrapper bsWrapper,
+			final ConsistencyLevel readLevel) {
+		if (!readCoalescer.isEnabled()) {
+			return readOnce(context, bsWrapper, readLevel);
+		}
+
+		String queryString = bsWrapper.getBs().preparedStatement().getQueryString();
+		List<Object> readKey = Arrays.<Object> asList(queryString, readLevel, Arrays.asList(bsWrapper.getValues()));
+		return readCoalescer.read(readKey, new Callable<List<Row>>() {
+			@Override
+			public List<Row> call() {
+				return readOnce(context, bsWrapper, readLevel);
+			}
+		});
+	}
+
+	private List<Row> readOnce(CQLPersistenceContext context, BoundStatementWrapper bsWrapper,
+			ConsistencyLevel readLevel) {
+		if (!readHedger.isEnabled()) {
+			return context.executeImmediateWithConsistency(bsWrapper, readLevel).all();
+		}
+
+		BoundStatement bs = bsWrapper.getBs();
+		bs.setConsistencyLevel(getCQLLevel(readLevel));
+		logDMLStatement(bs, bsWrapper.getValues());
+		return executeHedged(bs, bsWrapper.getEntityClass(), bsWrapper.getOperation(), bsWrapper.getValues());
 	}
 
 	private Row returnFirstRowOrNull(List<Row> rows) {
@@ -269,9 +319,85 @@ public class CQLDaoContext {
 		}
 	}
 
+	public ResultSet execute(BoundStatementWrapper bsWrapper) {
+		BoundStatement bs = bsWrapper.getBs();
+		logDMLStatement(bs, bsWrapper.getValues());
+		return executeAndMonitor(bs, bsWrapper.getEntityClass(), bsWrapper.getOperation(), bsWrapper.getValues());
+	}
+
+	public ResultSet execute(Query query, Class<?> entityClass, OperationType operation) {
+		logDMLStatement(query);
+		return executeAndMonitor(query, entityClass, operation, null);
+	}
+
 	public ResultSet execute(Query query, Object... boundValues) {
 		logDMLStatement(query, boundValues);
-		return session.execute(query);
+		return executeAndMonitor(query, null, OperationType.OTHER, boundValues);
+	}
+
+	/**
+	 * Execute a read, sharing the result with identical reads in flight when
+	 * read coalescing is enabled, unless they started before the last write.
+	 * Only plain statements, whose values are part of the query string, are
+	 * coalesced. The read is hedged when read hedging is enabled
+	 */
+	public List<Row> executeRead(final Query query, final Class<?> entityClass, final OperationType operation) {
+		if (!readCoalescer.isEnabled() || !Statement.class.isInstance(query)) {
+			return readOnce(query, entityClass, operation);
+		}
+
+		List<Object> readKey = Arrays.<Object> asList(extractQueryString(query), extractConsistencyLevel(query));
+		return readCoalescer.read(readKey, new Callable<List<Row>>() {
+			@Override
+			public List<Row> call() {
+				return readOnce(query, entityClass, operation);
+			}
+		});
+	}
+
+	private List<Row> readOnce(Query query, Class<?> entityClass, OperationType operation) {
+		if (!readHedger.isEnabled()) {
+			return execute(query, entityClass, operation).all();
+		}
+
+		logDMLStatement(query);
+		return executeHedged(query, entityClass, operation, null);
+	}
+
+	private List<Row> executeHedged(final Query query, final Class<?> entityClass, final OperationType operation,
+			final Object[] boundValues) {
+		ResultSet resultSet = readHedger.read(new Callable<ListenableFuture<ResultSet>>() {
+			@Override
+			public ListenableFuture<ResultSet> call() {
+				return executeAsyncAndMonitor(query, entityClass, operation, boundValues);
+			}
+		}, new Callable<ListenableFuture<ResultSet>>() {
+			@Override
+			public ListenableFuture<ResultSet> call() throws Exception {
+				if (metrics.isEnabled()) {
+					metrics.recordHedge(entityClass, operation, extractStatementType(query));
+				}
+				return HedgingLoadBalancingPolicy.asHedge(new Callable<ListenableFuture<ResultSet>>() {
+					@Override
+					public ListenableFuture<ResultSet> call() {
+						return executeAsyncAndMonitor(query, entityClass, operation, boundValues);
+					}
+				});
+			}
+		});
+		return resultSet.all();
+	}
+
+	public ResultSetFuture executeAsync(BoundStatementWrapper bsWrapper) {
+		BoundStatement bs = bsWrapper.getBs();
+		logDMLStatement(bs, bsWrapper.getValues());
+		return executeAsyncAndMonitor(bs, bsWrapper.getEntityClass(), bsWrapper.getOperation(),
+				bsWrapper.getValues());
+	}
+
+	public ResultSetFuture executeAsync(Statement statement) {
+		logDMLStatement(statement);
+		return executeAsyncAndMonitor(statement, null, OperationType.OTHER, null);
 	}
 
 	public PreparedStatement prepare(Statement statement) {
@@ -282,14 +408,176 @@ public class CQLDaoContext {
 		BoundStatement bs = ps.bind(params);
 
 		logDMLStatement(bs);
-		return session.execute(bs);
+		return executeAndMonitor(bs, null, OperationType.OTHER, params);
 
 	}
 
+	public ResultSet bindAndExecute(Class<?> entityClass, OperationType operation, PreparedStatement ps,
+			Object... params) {
+		BoundStatement bs = ps.bind(params);
+
+		logDMLStatement(bs, params);
+		return executeAndMonitor(bs, entityClass, operation, params);
+	}
+
 	public Session getSession() {
 		return session;
 	}
 
+	public AchillesMetrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(AchillesMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public SlowStatementLogger getSlowStatementLogger() {
+		return slowStatementLogger;
+	}
+
+	public void setSlowStatementLogger(SlowStatementLogger slowStatementLogger) {
+		this.slowStatementLogger = slowStatementLogger;
+	}
+
+	public ReadCoalescer getReadCoalescer() {
+		return readCoalescer;
+	}
+
+	public void setReadCoalescer(ReadCoalescer readCoalescer) {
+		this.readCoalescer = readCoalescer;
+	}
+
+	public ReadHedger getReadHedger() {
+		return readHedger;
+	}
+
+	public void setReadHedger(ReadHedger readHedger) {
+		this.readHedger = readHedger;
+	}
+
+	private ResultSet executeAndMonitor(Query query, Class<?> entityClass, OperationType operation,
+			Object[] boundValues) {
+		boolean write = isCoalescedWrite(query);
+		if (!metrics.isEnabled() && !slowStatementLogger.isEnabled()) {
+			try {
+				return session.execute(query);
+			} finally {
+				recordWrite(write);
+			}
+		}
+
+		long start = System.nanoTime();
+		ResultSet resultSet = null;
+		Throwable error = null;
+		try {
+			resultSet = session.execute(query);
+			return resultSet;
+		} catch (RuntimeException e) {
+			error = e;
+			throw e;
+		} finally {
+			recordWrite(write);
+			monitor(query, entityClass, operation, boundValues, resultSet, error, System.nanoTime() - start);
+		}
+	}
+
+	private ResultSetFuture executeAsyncAndMonitor(final Query query, final Class<?> entityClass,
+			final OperationType operation, final Object[] boundValues) {
+		final boolean write = isCoalescedWrite(query);
+		if (!metrics.isEnabled() && !slowStatementLogger.isEnabled() && !write) {
+			return session.executeAsync(query);
+		}
+
+		final long start = System.nanoTime();
+		final ResultSetFuture future = session.executeAsync(query);
+		if (write) {
+			future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					readCoalescer.recordWrite();
+				}
+			}, MoreExecutors.sameThreadExecutor());
+		}
+		if (!metrics.isEnabled() && !slowStatementLogger.isEnabled()) {
+			return future;
+		}
+		future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				long elapsed = System.nanoTime() - start;
+				ResultSet resultSet = null;
+				Throwable error = null;
+				try {
+					resultSet = future.getUninterruptibly();
+				} catch (RuntimeException e) {
+					error = e;
+				}
+				monitor(query, entityClass, operation, boundValues, resultSet, error, elapsed);
+			}
+		}, MoreExecutors.sameThreadExecutor());
+		return future;
+	}
+
+	private void monitor(Query query, Class<?> entityClass, OperationType operation, Object[] boundValues,
+			ResultSet resultSet, Throwable error, long elapsed) {
+		if (metrics.isEnabled()) {
+			metrics.record(entityClass, operation, extractStatementType(query), elapsed, error);
+		}
+		if (slowStatementLogger.isSlow(entityClass, elapsed)) {
+			slowStatementLogger.log(entityClass, extractQueryString(query), extractConsistencyLevel(query),
+					boundValues, extractRowCount(resultSet), elapsed);
+		}
+	}
+
+	/**
+	 * Writes are only tracked when read coalescing is enabled, so that reads
+	 * issued after them do not join a read started before
+	 */
+	private boolean isCoalescedWrite(Query query) {
+		return readCoalescer.isEnabled() && extractStatementType(query) != StatementType.SELECT;
+	}
+
+	private void recordWrite(boolean write) {
+		if (write) {
+			readCoalescer.recordWrite();
+		}
+	}
+
+	private StatementType extractStatementType(Query query) {
+		if (BoundStatement.class.isInstance(query)) {
+			return StatementType.fromQueryString(BoundStatement.class.cast(query).preparedStatement()
+					.getQueryString());
+		} else if (Statement.class.isInstance(query)) {
+			return StatementType.fromQueryString(Statement.class.cast(query).getQueryString());
+		}
+		return StatementType.OTHER;
+	}
+
+	private String extractQueryString(Query query) {
+		if (BoundStatement.class.isInstance(query)) {
+			return BoundStatement.class.cast(query).preparedStatement().getQueryString();
+		} else if (Statement.class.isInstance(query)) {
+			return Statement.class.cast(query).getQueryString();
+		}
+		return "???";
+	}
+
+	private String extractConsistencyLevel(Query query) {
+		return query.getConsistencyLevel() == null ? "DEFAULT" : query.getConsistencyLevel().name();
+	}
+
+	/**
+	 * The 1.0 driver ResultSet does not expose its size without consuming
+	 * it, so only empty results have a known row count
+	 */
+	private int extractRowCount(ResultSet resultSet) {
+		if (resultSet != null && resultSet.isExhausted()) {
+			return 0;
+		}
+		return SlowStatementLogger.UNKNOWN_ROW_COUNT;
+	}
+
 	private void logDMLStatement(Query query, Object... boundValues) {
 		if (dmlLogger.isDebugEnabled()) {
 			String queryType;
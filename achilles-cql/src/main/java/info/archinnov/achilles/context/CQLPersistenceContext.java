@@ -25,12 +25,16 @@ import info.archinnov.achilles.entity.operations.CQLEntityPersister;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
 import info.archinnov.achilles.entity.operations.EntityRefresher;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.metrics.OperationType;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 
+import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
@@ -74,6 +78,10 @@ public class CQLPersistenceContext extends PersistenceContext {
 		return daoContext.eagerLoadEntity(this);
 	}
 
+	public Row loadFetchGroup(List<PropertyMeta> pms) {
+		return daoContext.loadFetchGroup(this, pms);
+	}
+
 	public Row loadProperty(PropertyMeta pm) {
 		return daoContext.loadProperty(this, pm);
 	}
@@ -140,8 +148,8 @@ public class CQLPersistenceContext extends PersistenceContext {
 		daoContext.bindForClusteredCounterDelete(this, entityMeta, counterMeta, primaryKey);
 	}
 
-	public ResultSet bindAndExecute(PreparedStatement ps, Object... params) {
-		return daoContext.bindAndExecute(ps, params);
+	public ResultSet bindAndExecute(OperationType operation, PreparedStatement ps, Object... params) {
+		return daoContext.bindAndExecute(entityClass, operation, ps, params);
 	}
 
 	public void pushBoundStatement(BoundStatementWrapper bsWrapper, ConsistencyLevel writeLevel) {
@@ -154,8 +162,7 @@ public class CQLPersistenceContext extends PersistenceContext {
 
 	public ResultSet executeImmediateWithConsistency(BoundStatementWrapper bsWrapper,
 			ConsistencyLevel readConsistencyLevel) {
-		return flushContext.executeImmediateWithConsistency(bsWrapper.getBs(), readConsistencyLevel,
-				bsWrapper.getValues());
+		return flushContext.executeImmediateWithConsistency(bsWrapper, readConsistencyLevel);
 	}
 
 	@Override
@@ -182,7 +189,12 @@ public class CQLPersistenceContext extends PersistenceContext {
 		T entity = loader.<T> load(this, entityClass);
 
 		if (entity != null) {
-			entity = proxifier.buildProxy(entity, this);
+			if (getFetchGroup().isPresent()) {
+				Set<Method> alreadyLoaded = new HashSet<Method>(entityMeta.getFetchGroupGetters(getFetchGroup().get()));
+				entity = proxifier.buildProxy(entity, this, alreadyLoaded);
+			} else {
+				entity = proxifier.buildProxy(entity, this);
+			}
 		}
 		return entity;
 	}
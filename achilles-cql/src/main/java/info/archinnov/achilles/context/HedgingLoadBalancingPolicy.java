@@ -0,0 +1,99 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+/**
+ * Wraps the load balancing policy so that hedged reads start on another host.
+ * 
+ * The driver computes the query plan in the thread sending the request, so
+ * requests sent within asHedge() get the plan of the delegate rotated by one
+ * host: the first host of the plan is tried last
+ */
+public class HedgingLoadBalancingPolicy implements LoadBalancingPolicy {
+	private static final ThreadLocal<Boolean> hedging = new ThreadLocal<Boolean>();
+
+	private final LoadBalancingPolicy delegate;
+
+	public HedgingLoadBalancingPolicy(LoadBalancingPolicy delegate) {
+		this.delegate = delegate;
+	}
+
+	public static <T> T asHedge(Callable<T> request) throws Exception {
+		hedging.set(Boolean.TRUE);
+		try {
+			return request.call();
+		} finally {
+			hedging.remove();
+		}
+	}
+
+	@Override
+	public Iterator<Host> newQueryPlan(Query query) {
+		Iterator<Host> plan = delegate.newQueryPlan(query);
+		if (hedging.get() == null || !plan.hasNext()) {
+			return plan;
+		}
+		Host first = plan.next();
+		return Iterators.concat(Lists.newArrayList(plan).iterator(), Iterators.singletonIterator(first));
+	}
+
+	@Override
+	public void init(Cluster cluster, Collection<Host> hosts) {
+		delegate.init(cluster, hosts);
+	}
+
+	@Override
+	public HostDistance distance(Host host) {
+		return delegate.distance(host);
+	}
+
+	@Override
+	public void onAdd(Host host) {
+		delegate.onAdd(host);
+	}
+
+	@Override
+	public void onUp(Host host) {
+		delegate.onUp(host);
+	}
+
+	@Override
+	public void onDown(Host host) {
+		delegate.onDown(host);
+	}
+
+	@Override
+	public void onRemove(Host host) {
+		delegate.onRemove(host);
+	}
+
+	public LoadBalancingPolicy getDelegate() {
+		return delegate;
+	}
+}
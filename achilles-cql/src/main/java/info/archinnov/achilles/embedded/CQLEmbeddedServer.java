@@ -39,6 +39,7 @@ import org.apache.thrift.transport.TTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 
@@ -135,4 +136,12 @@ public class CQLEmbeddedServer extends AchillesEmbeddedServer {
 		session.execute(new SimpleStatement(query).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.ALL));
 		DML_LOGGER.debug("{} : [{}] with CONSISTENCY LEVEL [{}]", "  Simple query", query, "ALL");
 	}
+
+	public boolean hasData(String tableName) {
+		String query = "SELECT * FROM " + tableName + " LIMIT 1";
+		Row row = session.execute(
+				new SimpleStatement(query).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.ALL)).one();
+		DML_LOGGER.debug("{} : [{}] with CONSISTENCY LEVEL [{}]", "  Simple query", query, "ALL");
+		return row != null;
+	}
 }
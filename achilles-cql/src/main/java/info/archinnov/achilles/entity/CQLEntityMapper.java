@@ -21,6 +21,7 @@ import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.helper.EntityMapper;
 import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 
+import java.util.List;
 import java.util.Map;
 
 import com.datastax.driver.core.ColumnDefinitions;
@@ -37,6 +38,12 @@ public class CQLEntityMapper extends EntityMapper {
 		}
 	}
 
+	public void setPropertiesToEntity(Row row, List<PropertyMeta> pms, Object entity) {
+		for (PropertyMeta pm : pms) {
+			setPropertyToEntity(row, pm, entity);
+		}
+	}
+
 	public void setPropertyToEntity(Row row, PropertyMeta pm, Object entity) {
 		if (row != null) {
 			if (pm.isEmbeddedId()) {
@@ -16,17 +16,17 @@
  */
 package info.archinnov.achilles.entity.manager;
 
+import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.context.CQLBatchingFlushContext;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
-import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
-import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -36,118 +36,106 @@ public class CQLBatchingPersistenceManager extends CQLPersistenceManager {
 
 	private static final Logger log = LoggerFactory.getLogger(CQLBatchingPersistenceManager.class);
 
-	private CQLBatchingFlushContext flushContext;
+	private BatchingSupport<CQLBatchingFlushContext> batching;
 
 	CQLBatchingPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, CQLPersistenceContextFactory contextFactory,
 			CQLDaoContext daoContext, ConfigurationContext configContext) {
 		super(entityMetaMap, contextFactory, daoContext, configContext);
-		this.flushContext = new CQLBatchingFlushContext(daoContext, null);
+		this.batching = new BatchingSupport<CQLBatchingFlushContext>(this, new CQLBatchingFlushContext(daoContext, null));
 	}
 
 	/**
 	 * Start a batch session.
 	 */
 	public void startBatch() {
-		log.debug("Starting batch mode");
-		flushContext.startBatch();
+		batching.startBatch();
 	}
 
 	/**
 	 * Start a batch session with read/write consistency levels
 	 */
 	public void startBatch(ConsistencyLevel consistencyLevel) {
-		log.debug("Starting batch mode with consistency level {}", consistencyLevel.name());
-		startBatch();
-		flushContext.setConsistencyLevel(consistencyLevel);
-
+		batching.startBatch(consistencyLevel);
 	}
 
 	/**
 	 * End an existing batch and flush all the pending statements.
 	 * 
+	 * The identity map, if any, is cleared.
+	 * 
 	 * Do nothing if there is no pending statement
 	 * 
 	 */
 	public void endBatch() {
-		log.debug("Ending batch mode");
-		try {
-			flushContext.endBatch();
-		} finally {
-			flushContext.cleanUp();
-		}
+		batching.endBatch();
 	}
 
 	/**
 	 * Cleaning all pending statements for the current batch session.
 	 */
 	public void cleanBatch() {
-		log.debug("Cleaning all pending statements");
-		flushContext.cleanUp();
+		batching.cleanBatch();
 	}
 
 	@Override
 	public void persist(final Object entity, Options options) {
-		if (options.getConsistencyLevel().isPresent()) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.persist(entity, options);
-		}
+		batching.validateNoConsistencyLevel(options);
+		super.persist(entity, options);
 	}
 
 	@Override
 	public <T> T merge(final T entity, Options options) {
-		if (options.getConsistencyLevel().isPresent()) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.merge(entity, options);
-		}
+		batching.validateNoConsistencyLevel(options);
+		return super.merge(entity, options);
 	}
 
 	@Override
 	public void remove(final Object entity, ConsistencyLevel writeLevel) {
-		if (writeLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.remove(entity, null);
-		}
+		batching.validateNoConsistencyLevel(writeLevel);
+		super.remove(entity, null);
+	}
+
+	/**
+	 * In batch mode the statements are queued in the current batch, they are
+	 * only sent at endBatch()
+	 */
+	@Override
+	public void persist(Collection<?> entities) {
+		batching.persist(entities);
+	}
+
+	@Override
+	public void remove(Collection<?> entities) {
+		batching.remove(entities);
+	}
+
+	@Override
+	public void removeById(Class<?> entityClass, Collection<?> primaryKeys) {
+		batching.removeById(entityClass, primaryKeys);
 	}
 
 	@Override
 	public <T> T find(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
-		if (readLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.find(entityClass, primaryKey, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.find(entityClass, primaryKey, (ConsistencyLevel) null);
+	}
+
+	@Override
+	public <T> T find(final Class<T> entityClass, final Object primaryKey, Options options) {
+		batching.validateNoConsistencyLevel(options);
+		return super.find(entityClass, primaryKey, options);
 	}
 
 	@Override
 	public <T> T getReference(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
-		if (readLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.getReference(entityClass, primaryKey, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.getReference(entityClass, primaryKey, null);
 	}
 
 	@Override
 	public void refresh(final Object entity, ConsistencyLevel readLevel) throws AchillesStaleObjectStateException {
-		if (readLevel != null) {
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.refresh(entity, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		super.refresh(entity, null);
 	}
 
 	@Override
@@ -156,8 +144,8 @@ public class CQLBatchingPersistenceManager extends CQLPersistenceManager {
 				entityClass.getCanonicalName(), primaryKey);
 
 		EntityMeta entityMeta = entityMetaMap.get(entityClass);
-		return new CQLPersistenceContext(entityMeta, configContext, daoContext, flushContext, entityClass, primaryKey,
-				options);
+		return new CQLPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entityClass, primaryKey, options);
 	}
 
 	@Override
@@ -165,6 +153,7 @@ public class CQLBatchingPersistenceManager extends CQLPersistenceManager {
 		log.trace("Initializing new persistence context for entity {}", entity);
 
 		EntityMeta entityMeta = this.entityMetaMap.get(proxifier.deriveBaseClass(entity));
-		return new CQLPersistenceContext(entityMeta, configContext, daoContext, flushContext, entity, options);
+		return new CQLPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entity, options);
 	}
 }
@@ -17,20 +17,26 @@
 package info.archinnov.achilles.entity.manager;
 
 import info.archinnov.achilles.compound.CQLCompoundKeyValidator;
+import info.archinnov.achilles.context.CQLBatchingFlushContext;
+import info.archinnov.achilles.context.CQLBulkFlushContext;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.FlushContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.entity.operations.CQLScanQueryExecutor;
 import info.archinnov.achilles.entity.operations.CQLSliceQueryExecutor;
 import info.archinnov.achilles.entity.operations.EntityValidator;
 import info.archinnov.achilles.query.cql.CQLNativeQueryBuilder;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.CQLTypedQueryBuilder;
 import info.archinnov.achilles.query.typed.CQLTypedQueryValidator;
 import info.archinnov.achilles.type.IndexCondition;
 import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.validation.Validator;
 
 import java.util.Map;
@@ -40,6 +46,7 @@ import com.datastax.driver.core.Session;
 public class CQLPersistenceManager extends PersistenceManager<CQLPersistenceContext> {
 	private CQLCompoundKeyValidator compoundKeyValidator = new CQLCompoundKeyValidator();
 	private CQLSliceQueryExecutor sliceQueryExecutor;
+	private CQLScanQueryExecutor scanQueryExecutor;
 	private CQLPersistenceContextFactory contextFactory;
 	protected CQLDaoContext daoContext;
 
@@ -53,6 +60,7 @@ public class CQLPersistenceManager extends PersistenceManager<CQLPersistenceCont
 		super.entityValidator = new EntityValidator<CQLPersistenceContext>(proxifier);
 		this.contextFactory = contextFactory;
 		this.sliceQueryExecutor = new CQLSliceQueryExecutor(contextFactory, configContext, daoContext);
+		this.scanQueryExecutor = new CQLScanQueryExecutor(configContext, daoContext);
 	}
 
 	@Override
@@ -65,6 +73,14 @@ public class CQLPersistenceManager extends PersistenceManager<CQLPersistenceCont
 				meta);
 	}
 
+	@Override
+	public <T> ScanQueryBuilder<T> scan(Class<T> entityClass) {
+		Validator.validateNotNull(entityClass, "The entityClass for scan should not be null");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"Cannot scan entity type '%s' because it is not managed by Achilles", entityClass.getCanonicalName());
+		return new ScanQueryBuilder<T>(scanQueryExecutor, entityClass, entityMetaMap.get(entityClass));
+	}
+
 	/**
 	 * Return a CQL native query builder
 	 * 
@@ -176,6 +192,31 @@ public class CQLPersistenceManager extends PersistenceManager<CQLPersistenceCont
 		return contextFactory.newContext(entityClass, primaryKey, options);
 	}
 
+	@Override
+	protected CQLBulkFlushContext initBulkFlushContext() {
+		return new CQLBulkFlushContext(daoContext, null, configContext.getBulkMaxInFlight());
+	}
+
+	@Override
+	protected CQLPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext, Object entity) {
+		Validator.validateNotNull(entity, "entity should not be null for persistence context creation");
+		EntityMeta meta = entityMetaMap.get(proxifier.deriveBaseClass(entity));
+		CQLBatchingFlushContext partitionContext = ((CQLBulkFlushContext) bulkFlushContext).partitionContext(meta,
+				meta.getPrimaryKey(proxifier.unwrap(entity)));
+		return new CQLPersistenceContext(meta, configContext, daoContext, partitionContext, entity,
+				OptionsBuilder.noOptions());
+	}
+
+	@Override
+	protected CQLPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext,
+			Class<?> entityClass, Object primaryKey) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		CQLBatchingFlushContext partitionContext = ((CQLBulkFlushContext) bulkFlushContext).partitionContext(meta,
+				primaryKey);
+		return new CQLPersistenceContext(meta, configContext, daoContext, partitionContext, entityClass, primaryKey,
+				OptionsBuilder.noOptions());
+	}
+
 	public Session getNativeSession() {
 		return daoContext.getSession();
 	}
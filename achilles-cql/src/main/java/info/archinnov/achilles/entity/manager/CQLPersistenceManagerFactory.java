@@ -18,6 +18,7 @@ package info.archinnov.achilles.entity.manager;
 
 import static info.archinnov.achilles.configuration.CQLConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
+import info.archinnov.achilles.bulk.CQLSSTableBulkWriter;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.CQLArgumentExtractor;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
@@ -26,22 +27,34 @@ import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLDaoContextBuilder;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.context.EntityIdentityMap;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.table.CQLTableCreator;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.validation.Validator;
 
+import java.io.File;
 import java.util.Map;
 
+import org.apache.cassandra.dht.IPartitioner;
+
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.QueryTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 
 public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 	private static final Logger log = LoggerFactory.getLogger(CQLPersistenceManagerFactory.class);
 	private Cluster cluster;
 	private Session session;
+	private String keyspaceName;
 	private CQLDaoContext daoContext;
 	private CQLPersistenceContextFactory contextFactory;
 
@@ -65,12 +78,17 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 			hasSimpleCounter = bootstrap();
 		}
 
-		new CQLTableCreator(cluster, session, (String) configurationMap.get(KEYSPACE_NAME_PARAM))
-				.validateOrCreateTables(entityMetaMap, configContext, hasSimpleCounter);
+		keyspaceName = (String) configurationMap.get(KEYSPACE_NAME_PARAM);
+		new CQLTableCreator(cluster, session, keyspaceName).validateOrCreateTables(entityMetaMap, configContext,
+				hasSimpleCounter);
 
 		daoContext = CQLDaoContextBuilder.builder(session).build(entityMetaMap, hasSimpleCounter);
+		daoContext.setMetrics(configContext.getMetrics());
+		daoContext.setSlowStatementLogger(configContext.getSlowStatementLogger());
+		daoContext.setReadCoalescer(configContext.getReadCoalescer());
+		daoContext.setReadHedger(configContext.getReadHedger());
 		contextFactory = new CQLPersistenceContextFactory(daoContext, configContext, entityMetaMap);
-		registerShutdownHook(cluster);
+		registerShutdownHook();
 	}
 
 	/**
@@ -97,6 +115,68 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 		return new CQLBatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
 	}
 
+	/**
+	 * Create a new state-full CQLPersistenceManager with an identity map.
+	 * Repeated calls to find() with the same primary key return the same
+	 * 'managed' entity without hitting Cassandra, until closeSession() is
+	 * called <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. It should be bound to a single unit of work</strong>
+	 * 
+	 * @return a new state-full CQLPersistenceManager
+	 */
+	public CQLPersistenceManager createSessionPersistenceManager() {
+		CQLPersistenceManager manager = createPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
+	/**
+	 * Create a new state-full PersistenceManager for batch handling, with an
+	 * identity map. The identity map is cleared at endBatch() and
+	 * cleanBatch() <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. In case of exception, you MUST not re-use it but create
+	 * another one</strong>
+	 * 
+	 * @return a new state-full PersistenceManager
+	 */
+	public CQLBatchingPersistenceManager createBatchingSessionPersistenceManager() {
+		CQLBatchingPersistenceManager manager = createBatchingPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
+	/**
+	 * Create a new SSTable bulk writer for an entity. Entities are encoded as
+	 * for a regular persist() and written into SSTables under
+	 * <em>outputDirectory/keyspace/table</em>, ready to be loaded with
+	 * sstableloader <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : The writer is not thread-safe and must be closed to
+	 * flush the last SSTable</strong>
+	 * 
+	 * @param entityClass
+	 *            class of the entities to write
+	 * @param outputDirectory
+	 *            root directory of the generated SSTables
+	 * @param partitioner
+	 *            partitioner of the target cluster
+	 * @return a new CQLSSTableBulkWriter
+	 */
+	public CQLSSTableBulkWriter createSSTableBulkWriter(Class<?> entityClass, File outputDirectory,
+			IPartitioner partitioner) {
+		EntityMeta entityMeta = entityMetaMap.get(entityClass);
+		Validator.validateNotNull(entityMeta, "The entity '%s' is not managed by Achilles",
+				entityClass.getCanonicalName());
+		return new CQLSSTableBulkWriter(entityMeta, keyspaceName, outputDirectory, partitioner);
+	}
+
 	@Override
 	protected AchillesConsistencyLevelPolicy initConsistencyLevelPolicy(Map<String, Object> configurationMap,
 			ArgumentExtractor argumentExtractor) {
@@ -113,11 +193,27 @@ public class CQLPersistenceManagerFactory extends PersistenceManagerFactory {
 				readConsistencyMap, writeConsistencyMap);
 	}
 
-	private void registerShutdownHook(final Cluster cluster) {
+	@Override
+	protected Predicate<Throwable> transientWriteFailure() {
+		return Predicates.<Throwable> or(Predicates.instanceOf(QueryTimeoutException.class),
+				Predicates.instanceOf(UnavailableException.class), Predicates.instanceOf(NoHostAvailableException.class));
+	}
+
+	/**
+	 * Release the resources held by this factory and shut the cluster
+	 * connection down
+	 */
+	@Override
+	public void close() {
+		super.close();
+		cluster.shutdown();
+	}
+
+	private void registerShutdownHook() {
 		Runtime.getRuntime().addShutdownHook(new Thread() {
 			@Override
 			public void run() {
-				cluster.shutdown();
+				close();
 			}
 		});
 	}
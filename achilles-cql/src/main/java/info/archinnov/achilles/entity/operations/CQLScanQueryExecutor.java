@@ -0,0 +1,186 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import static info.archinnov.achilles.consistency.CQLConsistencyConvertor.getCQLLevel;
+import info.archinnov.achilles.context.CQLDaoContext;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.entity.CQLEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.query.scan.RingPartitioner;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.query.scan.TokenRange;
+import info.archinnov.achilles.statement.CQLStatementGenerator;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+
+/**
+ * Pages are read with 'token(partition key) > ? AND token(partition key) <=
+ * ?' restrictions. When a page is full and the entity has clustering
+ * components, the partition of its last row is read on, page by page, after
+ * the clustering components of this row before the next page starts after
+ * its token. The statements are prepared once per scan
+ */
+public class CQLScanQueryExecutor extends ScanQueryExecutor<CQLScanQueryExecutor.ScanStatements> {
+
+	private CQLStatementGenerator generator = new CQLStatementGenerator();
+	private CQLEntityMapper mapper = new CQLEntityMapper();
+	private CQLRowMethodInvoker cqlInvoker = new CQLRowMethodInvoker();
+	private CQLDaoContext daoContext;
+	private ConsistencyLevel defaultReadLevel;
+
+	public CQLScanQueryExecutor(ConfigurationContext configContext, CQLDaoContext daoContext) {
+		this.daoContext = daoContext;
+		this.defaultReadLevel = configContext.getConsistencyPolicy().getDefaultGlobalReadConsistencyLevel();
+	}
+
+	@Override
+	protected String describePartitioner(EntityMeta meta) {
+		return daoContext.execute(new SimpleStatement("SELECT partitioner FROM system.local")).one()
+				.getString("partitioner");
+	}
+
+	@Override
+	protected Collection<String> describeRing(EntityMeta meta) {
+		Set<String> tokens = new HashSet<String>();
+		for (Row row : daoContext.execute(new SimpleStatement("SELECT tokens FROM system.local"))) {
+			tokens.addAll(row.getSet("tokens", String.class));
+		}
+		for (Row row : daoContext.execute(new SimpleStatement("SELECT tokens FROM system.peers"))) {
+			tokens.addAll(row.getSet("tokens", String.class));
+		}
+		return tokens;
+	}
+
+	@Override
+	protected <T> ScanStatements prepareScan(ScanQuery<T> query) {
+		ConsistencyLevel readLevel = query.getConsistencyLevel() != null ? query.getConsistencyLevel()
+				: defaultReadLevel;
+		EntityMeta meta = query.getMeta();
+		int pageSize = query.getPageSize();
+		PreparedStatement rangePS = generator.prepareScanQuery(meta, pageSize, getCQLLevel(readLevel), daoContext);
+		List<PreparedStatement> partitionPSs = generator.preparePartitionScanQueries(meta, pageSize,
+				getCQLLevel(readLevel), daoContext);
+		return new ScanStatements(rangePS, partitionPSs);
+	}
+
+	@Override
+	protected <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, ScanStatements statements,
+			TokenRange range, ScanConsumer<? super T> consumer) {
+		int pageSize = query.getPageSize();
+		BigInteger from = range.getStart();
+		while (!Thread.currentThread().isInterrupted()) {
+			List<Row> rows = fetch(query, statements.rangePS, partitioner.toBindValue(from),
+					partitioner.toBindValue(range.getEnd()));
+			consume(query, rows, consumer);
+			if (rows.size() < pageSize) {
+				return;
+			}
+
+			Row lastRow = rows.get(rows.size() - 1);
+			scanPartitionAfter(query, statements.partitionPSs, lastRow, consumer);
+
+			BigInteger lastToken = extractToken(partitioner, lastRow);
+			if (lastToken.equals(range.getEnd())) {
+				return;
+			}
+			from = lastToken;
+		}
+	}
+
+	/**
+	 * Resume after the full clustering tuple of the last row: first on its
+	 * last clustering component, then on each shorter prefix once the
+	 * previous level is exhausted
+	 */
+	private <T> void scanPartitionAfter(ScanQuery<T> query, List<PreparedStatement> partitionPSs, Row lastRow,
+			ScanConsumer<? super T> consumer) {
+		PropertyMeta idMeta = query.getMeta().getIdMeta();
+		List<Object> partitionComponents = extractComponents(lastRow, idMeta.getPartitionComponentNames(),
+				idMeta.getPartitionComponentClasses());
+		List<Object> clusteringComponents = extractComponents(lastRow, idMeta.getClusteringComponentNames(),
+				idMeta.getClusteringComponentClasses());
+
+		int depth = partitionPSs.size() - 1;
+		while (depth >= 0 && !Thread.currentThread().isInterrupted()) {
+			List<Object> boundValues = new ArrayList<Object>(partitionComponents);
+			boundValues.addAll(clusteringComponents.subList(0, depth + 1));
+			List<Row> rows = fetch(query, partitionPSs.get(depth), boundValues.toArray());
+			consume(query, rows, consumer);
+			if (rows.size() < query.getPageSize()) {
+				depth--;
+			} else {
+				clusteringComponents = extractComponents(rows.get(rows.size() - 1),
+						idMeta.getClusteringComponentNames(), idMeta.getClusteringComponentClasses());
+				depth = partitionPSs.size() - 1;
+			}
+		}
+	}
+
+	private List<Object> extractComponents(Row row, List<String> names, List<Class<?>> classes) {
+		List<Object> components = new ArrayList<Object>();
+		for (int i = 0; i < names.size(); i++) {
+			components.add(cqlInvoker.invokeOnRowForType(row, classes.get(i), names.get(i).toLowerCase()));
+		}
+		return components;
+	}
+
+	private <T> List<Row> fetch(ScanQuery<T> query, PreparedStatement ps, Object... boundValues) {
+		return daoContext.bindAndExecute(query.getEntityClass(), OperationType.SCAN, ps, boundValues).all();
+	}
+
+	private BigInteger extractToken(RingPartitioner partitioner, Row row) {
+		if (partitioner == RingPartitioner.MURMUR3) {
+			return BigInteger.valueOf(row.getLong(0));
+		} else {
+			return row.getVarint(0);
+		}
+	}
+
+	private <T> void consume(ScanQuery<T> query, List<Row> rows, ScanConsumer<? super T> consumer) {
+		EntityMeta meta = query.getMeta();
+		for (Row row : rows) {
+			T entity = meta.<T> instanciate();
+			mapper.setEagerPropertiesToEntity(row, meta, entity);
+			consumer.accept(entity);
+		}
+	}
+
+	static class ScanStatements {
+		private final PreparedStatement rangePS;
+		private final List<PreparedStatement> partitionPSs;
+
+		ScanStatements(PreparedStatement rangePS, List<PreparedStatement> partitionPSs) {
+			this.rangePS = rangePS;
+			this.partitionPSs = partitionPSs;
+		}
+	}
+}
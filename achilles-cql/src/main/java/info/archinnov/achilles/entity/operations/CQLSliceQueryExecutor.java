@@ -22,7 +22,11 @@ import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.iterator.CQLAbstractSliceQueryIterator;
 import info.archinnov.achilles.iterator.CQLSliceQueryIterator;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
@@ -35,12 +39,21 @@ import java.util.List;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
 public class CQLSliceQueryExecutor extends SliceQueryExecutor<CQLPersistenceContext> {
 
+	/**
+	 * Page size used to count slices without limit, only the primary key
+	 * columns are fetched
+	 */
+	static final int COUNT_BATCH_SIZE = 1000;
+
 	private CQLStatementGenerator generator = new CQLStatementGenerator();
 	private CQLEntityMapper mapper = new CQLEntityMapper();
+	private CQLRowMethodInvoker cqlInvoker = new CQLRowMethodInvoker();
 	private CQLDaoContext daoContext;
 	private CQLPersistenceContextFactory contextFactory;
 
@@ -61,15 +74,15 @@ public class CQLSliceQueryExecutor extends SliceQueryExecutor<CQLPersistenceCont
 
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
 		Query query = generator.generateSelectSliceQuery(cqlSliceQuery, cqlSliceQuery.getLimit());
-		List<Row> rows = daoContext.execute(query).all();
+		List<Row> rows = daoContext.executeRead(query, sliceQuery.getEntityClass(), OperationType.SLICE);
 
 		for (Row row : rows) {
 			T clusteredEntity = meta.<T> instanciate();
-			mapper.setEagerPropertiesToEntity(row, meta, clusteredEntity);
+			mapper.setPropertiesToEntity(row, cqlSliceQuery.getSelectedMetas(), clusteredEntity);
 			clusteredEntities.add(clusteredEntity);
 		}
 
-		return Lists.transform(clusteredEntities, getProxyTransformer(sliceQuery, meta.getEagerGetters()));
+		return Lists.transform(clusteredEntities, getProxyTransformer(sliceQuery, cqlSliceQuery.getSelectedGetters()));
 	}
 
 	@Override
@@ -77,18 +90,77 @@ public class CQLSliceQueryExecutor extends SliceQueryExecutor<CQLPersistenceCont
 
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
 		Query query = generator.generateSelectSliceQuery(cqlSliceQuery, cqlSliceQuery.getBatchSize());
-		Iterator<Row> iterator = daoContext.execute(query).iterator();
+		Iterator<Row> iterator = daoContext.execute(query, sliceQuery.getEntityClass(), OperationType.SLICE).iterator();
 		PreparedStatement ps = generator.generateIteratorSliceQuery(cqlSliceQuery, daoContext);
 		CQLPersistenceContext context = buildContextForQuery(sliceQuery);
 		return new CQLSliceQueryIterator<T>(cqlSliceQuery, context, iterator, ps);
 	}
 
+	@Override
+	public <T> long count(SliceQuery<T> sliceQuery) {
+		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
+		if (sliceQuery.isLimitSet()) {
+			Query query = generator.generateCountSliceQuery(cqlSliceQuery, sliceQuery.getLimit());
+			return daoContext.execute(query, sliceQuery.getEntityClass(), OperationType.SLICE).one().getLong(0);
+		}
+
+		Iterator<Row> rows = keysIterator(sliceQuery, cqlSliceQuery, COUNT_BATCH_SIZE);
+		long count = 0;
+		while (rows.hasNext()) {
+			rows.next();
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public <T> Iterator<Object> iteratorOfIds(SliceQuery<T> sliceQuery) {
+		final PropertyMeta idMeta = sliceQuery.getMeta().getIdMeta();
+		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
+		Iterator<Row> rows = keysIterator(sliceQuery, cqlSliceQuery, cqlSliceQuery.getBatchSize());
+		return Iterators.transform(rows, new Function<Row, Object>() {
+			@Override
+			public Object apply(Row row) {
+				return cqlInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, true);
+			}
+		});
+	}
+
+	private <T> Iterator<Row> keysIterator(SliceQuery<T> sliceQuery, CQLSliceQuery<T> cqlSliceQuery, int batchSize) {
+		Query query = generator.generateSelectSliceKeysQuery(cqlSliceQuery, batchSize);
+		Iterator<Row> iterator = daoContext.execute(query, sliceQuery.getEntityClass(), OperationType.SLICE).iterator();
+		PreparedStatement ps = generator.generateIteratorSliceKeysQuery(cqlSliceQuery, batchSize, daoContext);
+		CQLPersistenceContext context = buildContextForQuery(sliceQuery);
+		return new CQLAbstractSliceQueryIterator<Row>(cqlSliceQuery, context, iterator, ps, batchSize) {
+			@Override
+			protected Row fromRow(Row row) {
+				return row;
+			}
+		};
+	}
+
+	/**
+	 * CQL3 can only restrict the varying clustering component with a range, so
+	 * the slice resumes from the value of this component, inclusively. The
+	 * query builder then drops the entities up to and including the cursor
+	 */
+	@Override
+	public List<Object> resumeClusterings(List<Object> lastClusterings, List<Object> fromClusterings,
+			List<Object> toClusterings) {
+		int fixedComponentsCount = 0;
+		while (fixedComponentsCount < Math.min(fromClusterings.size(), toClusterings.size())
+				&& fromClusterings.get(fixedComponentsCount).equals(toClusterings.get(fixedComponentsCount))) {
+			fixedComponentsCount++;
+		}
+		return lastClusterings.subList(0, Math.min(fixedComponentsCount + 1, lastClusterings.size()));
+	}
+
 	@Override
 	public <T> void remove(SliceQuery<T> sliceQuery) {
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<T>(sliceQuery, defaultReadLevel);
 		cqlSliceQuery.validateSliceQueryForRemove();
 		Query query = generator.generateRemoveSliceQuery(cqlSliceQuery);
-		daoContext.execute(query);
+		daoContext.execute(query, sliceQuery.getEntityClass(), OperationType.REMOVE);
 	}
 
 	@Override
@@ -22,6 +22,8 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.List;
+
 import com.datastax.driver.core.Row;
 
 public class CQLLoaderImpl {
@@ -40,6 +42,13 @@ public class CQLLoaderImpl {
 			if (counterValue != null) {
 				entity = entityMeta.<T> instanciate();
 			}
+		} else if (context.getFetchGroup().isPresent()) {
+			List<PropertyMeta> groupMetas = entityMeta.getFetchGroupMetas(context.getFetchGroup().get());
+			Row row = context.loadFetchGroup(groupMetas);
+			if (row != null) {
+				entity = entityMeta.<T> instanciate();
+				mapper.setPropertiesToEntity(row, groupMetas, entity);
+			}
 		} else {
 			Row row = context.eagerLoadEntity();
 			if (row != null) {
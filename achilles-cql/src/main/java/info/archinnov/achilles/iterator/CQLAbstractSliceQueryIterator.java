@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import info.archinnov.achilles.context.CQLPersistenceContext;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+
+import java.util.Iterator;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+
+/**
+ * Page through the rows of a slice, starting each new batch after the last
+ * value of the varying clustering component
+ */
+public abstract class CQLAbstractSliceQueryIterator<T> implements Iterator<T> {
+
+	protected CQLPersistenceContext context;
+	private Iterator<Row> iterator;
+	private String varyingComponentName;
+	private Object lastVaryingComponentValue;
+	private Class<?> varyingComponentClass;
+	private PreparedStatement ps;
+	private int batchSize;
+	private int count = 0;
+
+	private CQLRowMethodInvoker cqlInvoker = new CQLRowMethodInvoker();
+
+	protected CQLAbstractSliceQueryIterator(CQLSliceQuery<?> sliceQuery, CQLPersistenceContext context,
+			Iterator<Row> iterator, PreparedStatement ps, int batchSize) {
+		this.context = context;
+		this.iterator = iterator;
+		this.ps = ps;
+		this.varyingComponentName = sliceQuery.getVaryingComponentName();
+		this.varyingComponentClass = sliceQuery.getVaryingComponentClass();
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!iterator.hasNext() && count == batchSize) {
+			iterator = context.bindAndExecute(OperationType.SLICE, ps, lastVaryingComponentValue).iterator();
+			count = 0;
+		}
+		return iterator.hasNext();
+	}
+
+	@Override
+	public T next() {
+		Row row = iterator.next();
+		lastVaryingComponentValue = cqlInvoker.invokeOnRowForType(row, varyingComponentClass, varyingComponentName);
+		count++;
+		return fromRow(row);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
+	}
+
+	protected abstract T fromRow(Row row);
+}
@@ -19,69 +19,50 @@ package info.archinnov.achilles.iterator;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
-import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 
+import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Optional;
 
-public class CQLSliceQueryIterator<T> implements Iterator<T> {
+public class CQLSliceQueryIterator<T> extends CQLAbstractSliceQueryIterator<T> {
 
-	private CQLPersistenceContext context;
-	private Iterator<Row> iterator;
-	private String varyingComponentName;
-	private Object lastVaryingComponentValue;
-	private Class<?> varyingComponentClass;
-	private PreparedStatement ps;
 	private EntityMeta meta;
-	private int batchSize;
-	private int count = 0;
+	private List<PropertyMeta> selectedMetas;
+	private Optional<String> fetchGroup;
 
 	private CQLEntityMapper mapper = new CQLEntityMapper();
-	private CQLRowMethodInvoker cqlInvoker = new CQLRowMethodInvoker();
 	private CQLEntityProxifier proxifier = new CQLEntityProxifier();
 
 	public CQLSliceQueryIterator(CQLSliceQuery<T> sliceQuery, CQLPersistenceContext context, Iterator<Row> iterator,
 			PreparedStatement ps) {
-		this.context = context;
-		this.iterator = iterator;
-		this.ps = ps;
+		super(sliceQuery, context, iterator, ps, sliceQuery.getBatchSize());
 		this.meta = sliceQuery.getMeta();
-		this.varyingComponentName = sliceQuery.getVaryingComponentName();
-		this.varyingComponentClass = sliceQuery.getVaryingComponentClass();
-		this.batchSize = sliceQuery.getBatchSize();
+		this.selectedMetas = sliceQuery.getSelectedMetas();
+		this.fetchGroup = sliceQuery.getFetchGroup();
 	}
 
 	@Override
-	public boolean hasNext() {
-		if (!iterator.hasNext() && count == batchSize) {
-			iterator = context.bindAndExecute(ps, lastVaryingComponentValue).iterator();
-			count = 0;
-		}
-		return iterator.hasNext();
-	}
-
-	@Override
-	public T next() {
-
-		Row row = iterator.next();
-		lastVaryingComponentValue = cqlInvoker.invokeOnRowForType(row, varyingComponentClass, varyingComponentName);
+	protected T fromRow(Row row) {
 		T clusteredEntity = meta.<T> instanciate();
-		mapper.setEagerPropertiesToEntity(row, meta, clusteredEntity);
-		count++;
+		mapper.setPropertiesToEntity(row, selectedMetas, clusteredEntity);
 		return proxify(clusteredEntity);
 	}
 
-	@Override
-	public void remove() {
-		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
-	}
-
 	private T proxify(T clusteredEntity) {
 		CQLPersistenceContext duplicate = context.duplicate(clusteredEntity);
+		if (fetchGroup.isPresent()) {
+			Set<Method> alreadyLoaded = new HashSet<Method>(meta.getFetchGroupGetters(fetchGroup.get()));
+			return proxifier.buildProxy(clusteredEntity, duplicate, alreadyLoaded);
+		}
 		return proxifier.buildProxy(clusteredEntity, duplicate);
 	}
 
@@ -111,4 +111,9 @@ public class AchillesCQLResource extends AchillesTestResource {
 		}
 	}
 
+	@Override
+	protected boolean hasData(String table) {
+		return server.hasData(table);
+	}
+
 }
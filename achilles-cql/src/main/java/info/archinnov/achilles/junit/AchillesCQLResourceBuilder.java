@@ -24,6 +24,7 @@ public class AchillesCQLResourceBuilder {
 	private Steps cleanupSteps = Steps.BOTH;
 	private String[] tablesToCleanUp;
 	private String entityPackages;
+	private boolean deleteWrittenKeysOnly = false;
 
 	private AchillesCQLResourceBuilder() {
 	}
@@ -84,7 +85,21 @@ public class AchillesCQLResourceBuilder {
 		return this;
 	}
 
+	/**
+	 * Delete only the entities written through the PersistenceManager instead
+	 * of truncating the tables. The tables are still truncated when they hold
+	 * data after the deletion, for example rows written with the native API
+	 */
+	public AchillesCQLResourceBuilder deleteWrittenKeysOnly() {
+		this.deleteWrittenKeysOnly = true;
+		return this;
+	}
+
 	public AchillesCQLResource build() {
-		return new AchillesCQLResource(entityPackages, cleanupSteps, tablesToCleanUp);
+		AchillesCQLResource resource = new AchillesCQLResource(entityPackages, cleanupSteps, tablesToCleanUp);
+		if (deleteWrittenKeysOnly) {
+			resource.deleteWrittenKeysOnly(resource.getPersistenceManagerFactory(), resource.getPersistenceManager());
+		}
+		return resource;
 	}
 }
@@ -18,11 +18,9 @@ package info.archinnov.achilles.proxy;
 
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
-import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -69,11 +67,14 @@ public class CQLEntityInterceptorBuilder<T> {
 		interceptor.setIdGetter(entityMeta.getIdMeta().getGetter());
 		interceptor.setIdSetter(entityMeta.getIdMeta().getSetter());
 
+		Set<Method> loadedGetters = new LoadedGetters(entityMeta);
+		loadedGetters.addAll(alreadyLoaded);
 		if (context.isLoadEagerFields() && alreadyLoaded.isEmpty()) {
-			alreadyLoaded.addAll(entityMeta.getEagerGetters());
+			loadedGetters.addAll(entityMeta.getEagerGetters());
 		}
-		interceptor.setAlreadyLoaded(alreadyLoaded);
-		interceptor.setDirtyMap(new HashMap<Method, PropertyMeta>());
+
+		interceptor.setAlreadyLoaded(loadedGetters);
+		interceptor.setDirtyMap(new DirtyMap(entityMeta));
 		interceptor.setPrimaryKey(context.getPrimaryKey());
 
 		return interceptor;
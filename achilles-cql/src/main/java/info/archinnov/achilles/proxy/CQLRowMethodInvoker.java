@@ -21,6 +21,7 @@ import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.validation.Validator;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -54,7 +55,8 @@ public class CQLRowMethodInvoker {
 			case ID:
 			case SIMPLE:
 			case LAZY_SIMPLE:
-				value = invokeOnRowForProperty(row, pm, propertyName, pm.getValueClass());
+				Class<?> rawClass = pm.isCompressed() ? ByteBuffer.class : pm.getValueClass();
+				value = invokeOnRowForProperty(row, pm, propertyName, rawClass);
 				break;
 			default:
 				break;
@@ -18,6 +18,7 @@ package info.archinnov.achilles.query.cql;
 
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.operations.CQLNativeQueryMapper;
+import info.archinnov.achilles.metrics.OperationType;
 
 import java.util.List;
 import java.util.Map;
@@ -46,7 +47,7 @@ public class CQLNativeQueryBuilder {
 	 * @return List<Map<String, Object>>
 	 */
 	public List<Map<String, Object>> get() {
-		List<Row> rows = daoContext.execute(new SimpleStatement(queryString)).all();
+		List<Row> rows = daoContext.execute(new SimpleStatement(queryString), null, OperationType.NATIVE_QUERY).all();
 		return mapper.mapRows(rows);
 	}
 
@@ -58,7 +59,7 @@ public class CQLNativeQueryBuilder {
 	 * @return Map<String, Object>
 	 */
 	public Map<String, Object> first() {
-		List<Row> rows = daoContext.execute(new SimpleStatement(queryString)).all();
+		List<Row> rows = daoContext.execute(new SimpleStatement(queryString), null, OperationType.NATIVE_QUERY).all();
 		List<Map<String, Object>> result = mapper.mapRows(rows);
 		if (result.isEmpty())
 			return null;
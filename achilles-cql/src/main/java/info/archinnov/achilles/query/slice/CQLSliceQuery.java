@@ -19,12 +19,14 @@ package info.archinnov.achilles.query.slice;
 import static info.archinnov.achilles.consistency.CQLConsistencyConvertor.getCQLLevel;
 import info.archinnov.achilles.compound.CQLCompoundKeyValidator;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.type.BoundingMode;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.OrderingMode;
 import info.archinnov.achilles.validation.Validator;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,6 +34,7 @@ import org.apache.cassandra.utils.Pair;
 
 import com.datastax.driver.core.querybuilder.Ordering;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.base.Optional;
 
 public class CQLSliceQuery<T> {
 
@@ -106,6 +109,26 @@ public class CQLSliceQuery<T> {
 		return sliceQuery.getMeta().getIdMeta().getComponentClasses().get(fixedComponents.size());
 	}
 
+	public Optional<String> getFetchGroup() {
+		return sliceQuery.getFetchGroup();
+	}
+
+	public List<PropertyMeta> getSelectedMetas() {
+		EntityMeta meta = sliceQuery.getMeta();
+		if (sliceQuery.getFetchGroup().isPresent()) {
+			return meta.getFetchGroupMetas(sliceQuery.getFetchGroup().get());
+		}
+		return meta.getEagerMetas();
+	}
+
+	public List<Method> getSelectedGetters() {
+		EntityMeta meta = sliceQuery.getMeta();
+		if (sliceQuery.getFetchGroup().isPresent()) {
+			return meta.getFetchGroupGetters(sliceQuery.getFetchGroup().get());
+		}
+		return meta.getEagerGetters();
+	}
+
 	public EntityMeta getMeta() {
 		return sliceQuery.getMeta();
 	}
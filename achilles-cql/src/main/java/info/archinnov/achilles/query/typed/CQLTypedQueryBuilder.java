@@ -23,6 +23,8 @@ import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -36,6 +38,8 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.lang.StringUtils;
+
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SimpleStatement;
 
@@ -43,6 +47,8 @@ public class CQLTypedQueryBuilder<T> {
 
 	private static final Pattern SELECT_COLUMNS_EXTRACTION_PATTERN = Pattern.compile("^\\s*select\\s+(.+)\\s+from.+$");
 	private static final String SELECT_STAR = "select * ";
+	private static final Pattern LEADING_SELECT_STAR_PATTERN = Pattern.compile("^\\s*select\\s+\\*\\s+(from\\s.+)$",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 	private static final String WHITE_SPACES = "\\s+";
 
 	private Class<T> entityClass;
@@ -84,7 +90,8 @@ public class CQLTypedQueryBuilder<T> {
 	 */
 	public List<T> get() {
 		List<T> result = new ArrayList<T>();
-		List<Row> rows = daoContext.execute(new SimpleStatement(normalizedQuery)).all();
+		List<Row> rows = daoContext.executeRead(new SimpleStatement(normalizedQuery), entityClass,
+				OperationType.TYPED_QUERY);
 		for (Row row : rows) {
 			T entity = mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertiesMap, managed);
 			if (entity != null) {
@@ -108,8 +115,10 @@ public class CQLTypedQueryBuilder<T> {
 	 */
 	public T getFirst() {
 		T entity = null;
-		Row row = daoContext.execute(new SimpleStatement(normalizedQuery)).one();
-		if (row != null) {
+		List<Row> rows = daoContext.executeRead(new SimpleStatement(normalizedQuery), entityClass,
+				OperationType.TYPED_QUERY);
+		if (!rows.isEmpty()) {
+			Row row = rows.get(0);
 			entity = mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertiesMap, managed);
 			if (entity != null && managed) {
 				entity = buildProxy(entity);
@@ -118,6 +127,37 @@ public class CQLTypedQueryBuilder<T> {
 		return entity;
 	}
 
+	/**
+	 * Restrict the selected columns to the primary key and the properties of
+	 * the provided fetch group
+	 * 
+	 * The query should be a "SELECT * FROM ..." query
+	 * 
+	 * @param fetchGroup
+	 *            name of a fetch group declared on the entity
+	 * 
+	 * @return CQLTypedQueryBuilder<T>
+	 */
+	public CQLTypedQueryBuilder<T> fetchGroup(String fetchGroup) {
+		Matcher matcher = LEADING_SELECT_STAR_PATTERN.matcher(normalizedQuery);
+		Validator.validateTrue(matcher.matches(),
+				"The query '%s' should select all columns with 'SELECT *' to apply the fetch group '%s'",
+				normalizedQuery, fetchGroup);
+		List<PropertyMeta> groupMetas = meta.getFetchGroupMetas(fetchGroup);
+
+		List<String> columns = new ArrayList<String>();
+		for (PropertyMeta pm : groupMetas) {
+			if (pm.isEmbeddedId()) {
+				columns.addAll(pm.getComponentNames());
+			} else {
+				columns.add(pm.getPropertyName());
+			}
+		}
+		normalizedQuery = "select " + StringUtils.join(columns, ",").toLowerCase() + " " + matcher.group(1);
+		alreadyLoaded = new HashSet<Method>(meta.getFetchGroupGetters(fetchGroup));
+		return this;
+	}
+
 	private Map<String, PropertyMeta> transformPropertiesMap(EntityMeta meta) {
 		Map<String, PropertyMeta> propertiesMap = new HashMap<String, PropertyMeta>();
 		for (Entry<String, PropertyMeta> entry : meta.getPropertyMetas().entrySet()) {
@@ -0,0 +1,117 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement;
+
+import info.archinnov.achilles.cql.CQLTypeMapper;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DataType.Name;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Statement built by the QueryBuilder, decorated with the routing key of the
+ * partition it targets so that a token-aware load balancing policy can send it
+ * directly to a replica
+ */
+public class CQLRoutedStatement extends Statement {
+	private static final Map<Name, DataType> primitiveTypes = new HashMap<Name, DataType>();
+
+	static {
+		for (DataType dataType : DataType.allPrimitiveTypes()) {
+			primitiveTypes.put(dataType.getName(), dataType);
+		}
+	}
+
+	private final Statement statement;
+	private final ByteBuffer routingKey;
+
+	CQLRoutedStatement(Statement statement, ByteBuffer routingKey) {
+		this.statement = statement;
+		this.routingKey = routingKey;
+		if (statement.getConsistencyLevel() != null) {
+			setConsistencyLevel(statement.getConsistencyLevel());
+		}
+		if (statement.getRetryPolicy() != null) {
+			setRetryPolicy(statement.getRetryPolicy());
+		}
+		if (statement.isTracing()) {
+			enableTracing();
+		}
+	}
+
+	/**
+	 * Route the statement with the given encoded partition components. The
+	 * statement is returned unchanged if one component is missing
+	 */
+	public static Statement route(Statement statement, List<Object> partitionComponents) {
+		ByteBuffer routingKey = routingKey(partitionComponents);
+		return routingKey != null ? new CQLRoutedStatement(statement, routingKey) : statement;
+	}
+
+	static ByteBuffer routingKey(List<Object> partitionComponents) {
+		if (partitionComponents.isEmpty()) {
+			return null;
+		}
+		ByteBuffer[] buffers = new ByteBuffer[partitionComponents.size()];
+		for (int i = 0; i < buffers.length; i++) {
+			Object component = partitionComponents.get(i);
+			if (component == null) {
+				return null;
+			}
+			buffers[i] = primitiveTypes.get(CQLTypeMapper.toCQLType(component.getClass())).serialize(component);
+		}
+		return buffers.length == 1 ? buffers[0] : compose(buffers);
+	}
+
+	/**
+	 * Same layout as a CompositeType value, the way Cassandra hashes a
+	 * composite partition key
+	 */
+	private static ByteBuffer compose(ByteBuffer[] buffers) {
+		int totalLength = 0;
+		for (ByteBuffer buffer : buffers) {
+			totalLength += 2 + buffer.remaining() + 1;
+		}
+		ByteBuffer composite = ByteBuffer.allocate(totalLength);
+		for (ByteBuffer buffer : buffers) {
+			composite.putShort((short) buffer.remaining());
+			composite.put(buffer.duplicate());
+			composite.put((byte) 0);
+		}
+		composite.flip();
+		return composite;
+	}
+
+	@Override
+	public String getQueryString() {
+		return statement.getQueryString();
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey() {
+		return routingKey;
+	}
+
+	public Statement getStatement() {
+		return statement;
+	}
+}
@@ -26,10 +26,12 @@ import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.statement.prepared.CQLSliceQueryPreparedStatementGenerator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.Statement;
@@ -48,9 +50,29 @@ public class CQLStatementGenerator {
 	private CQLSliceQueryPreparedStatementGenerator sliceQueryPreparedGenerator = new CQLSliceQueryPreparedStatementGenerator();
 
 	public <T> Query generateSelectSliceQuery(CQLSliceQuery<T> sliceQuery, int limit) {
+		return generateSelectSliceQuery(sliceQuery, sliceQuery.getSelectedMetas(), limit);
+	}
+
+	/**
+	 * Same slice as generateSelectSliceQuery() but only primary key columns
+	 * are selected
+	 */
+	public <T> Query generateSelectSliceKeysQuery(CQLSliceQuery<T> sliceQuery, int limit) {
+		return generateSelectSliceQuery(sliceQuery, Arrays.<PropertyMeta> asList(), limit);
+	}
+
+	public <T> Query generateCountSliceQuery(CQLSliceQuery<T> sliceQuery, int limit) {
+		Select select = select().countAll().from(sliceQuery.getMeta().getTableName()).limit(limit);
+		Statement where = sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
+
+		return routeToPartition(where, sliceQuery).setConsistencyLevel(sliceQuery.getConsistencyLevel());
+	}
+
+	private <T> Query generateSelectSliceQuery(CQLSliceQuery<T> sliceQuery, List<PropertyMeta> selectedMetas,
+			int limit) {
 		EntityMeta meta = sliceQuery.getMeta();
 
-		Select select = generateSelectEntity(meta);
+		Select select = generateSelectEntity(meta, selectedMetas);
 		select = select.limit(limit);
 		if(sliceQuery.getCQLOrdering()!=null){
 			select.orderBy(sliceQuery.getCQLOrdering());
@@ -58,14 +80,28 @@ public class CQLStatementGenerator {
 
 		Statement where = sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(sliceQuery, select);
 
-		return where.setConsistencyLevel(sliceQuery.getConsistencyLevel());
+		return routeToPartition(where, sliceQuery).setConsistencyLevel(sliceQuery.getConsistencyLevel());
 	}
 
 	public <T> PreparedStatement generateIteratorSliceQuery(CQLSliceQuery<T> sliceQuery, CQLDaoContext daoContext) {
+		return generateIteratorSliceQuery(sliceQuery, sliceQuery.getSelectedMetas(), sliceQuery.getLimit(),
+				daoContext);
+	}
+
+	/**
+	 * Next pages of generateSelectSliceKeysQuery(), by batch of 'limit'
+	 */
+	public <T> PreparedStatement generateIteratorSliceKeysQuery(CQLSliceQuery<T> sliceQuery, int limit,
+			CQLDaoContext daoContext) {
+		return generateIteratorSliceQuery(sliceQuery, Arrays.<PropertyMeta> asList(), limit, daoContext);
+	}
+
+	private <T> PreparedStatement generateIteratorSliceQuery(CQLSliceQuery<T> sliceQuery,
+			List<PropertyMeta> selectedMetas, int limit, CQLDaoContext daoContext) {
 		EntityMeta meta = sliceQuery.getMeta();
 
-		Select select = generateSelectEntity(meta);
-		select = select.limit(sliceQuery.getLimit());
+		Select select = generateSelectEntity(meta, selectedMetas);
+		select = select.limit(limit);
 		if(sliceQuery.getCQLOrdering()!=null){
 			select.orderBy(sliceQuery.getCQLOrdering());
 		}
@@ -83,18 +119,46 @@ public class CQLStatementGenerator {
 		Delete delete = QueryBuilder.delete().from(meta.getTableName());
 		Statement where = sliceQueryGenerator.generateWhereClauseForDeleteSliceQuery(sliceQuery, delete);
 
-		return where.setConsistencyLevel(sliceQuery.getConsistencyLevel());
+		return routeToPartition(where, sliceQuery).setConsistencyLevel(sliceQuery.getConsistencyLevel());
+	}
+
+	/**
+	 * QueryBuilder statements have no routing key, set it from the primary
+	 * key for token-aware load balancing
+	 */
+	public Statement routeToPartition(Statement statement, EntityMeta entityMeta, Object primaryKey) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		List<Object> partitionComponents;
+		if (idMeta.isEmbeddedId()) {
+			partitionComponents = idMeta.extractPartitionComponents(idMeta.encodeToComponents(primaryKey));
+		} else {
+			partitionComponents = Arrays.<Object> asList(idMeta.encode(primaryKey));
+		}
+		return CQLRoutedStatement.route(statement, partitionComponents);
+	}
+
+	private <T> Statement routeToPartition(Statement statement, CQLSliceQuery<T> sliceQuery) {
+		PropertyMeta idMeta = sliceQuery.getMeta().getIdMeta();
+		List<Object> fixedComponents = sliceQuery.getFixedComponents();
+		if (fixedComponents.size() < idMeta.getPartitionComponentClasses().size()) {
+			return statement;
+		}
+		return CQLRoutedStatement.route(statement, idMeta.extractPartitionComponents(fixedComponents));
 	}
 
 	public Select generateSelectEntity(EntityMeta entityMeta) {
+		return generateSelectEntity(entityMeta, entityMeta.getEagerMetas());
+	}
+
+	public Select generateSelectEntity(EntityMeta entityMeta, List<PropertyMeta> selectedMetas) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 
 		Selection select = select();
 
 		generateSelectForPrimaryKey(idMeta, select);
 
-		List<PropertyMeta> eagerMetas = FluentIterable.from(entityMeta.getEagerMetas())
-				.filter(PropertyType.excludeIdType).toImmutableList();
+		List<PropertyMeta> eagerMetas = FluentIterable.from(selectedMetas).filter(PropertyType.excludeIdType)
+				.toImmutableList();
 
 		for (PropertyMeta pm : eagerMetas) {
 			select.column(pm.getPropertyName());
@@ -102,6 +166,63 @@ public class CQLStatementGenerator {
 		return select.from(entityMeta.getTableName());
 	}
 
+	/**
+	 * Page of a token range scan, bound with the exclusive start token and the
+	 * inclusive end token
+	 */
+	public PreparedStatement prepareScanQuery(EntityMeta entityMeta, int limit, ConsistencyLevel consistencyLevel,
+			CQLDaoContext daoContext) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		String token = token(partitionKeyColumns(idMeta));
+
+		Selection select = select();
+		select.column(token);
+		generateSelectForPrimaryKey(idMeta, select);
+		generateSelectForEagerProperties(entityMeta, select);
+
+		Statement where = select.from(entityMeta.getTableName()).limit(limit).where(gt(token, bindMarker()))
+				.and(lte(token, bindMarker()));
+
+		PreparedStatement preparedStatement = daoContext.prepare(where);
+		preparedStatement.setConsistencyLevel(consistencyLevel);
+		return preparedStatement;
+	}
+
+	/**
+	 * Pages of a partition cut by a token range scan page. CQL3 can only
+	 * restrict the last clustering component with a range, so the i-th
+	 * statement fixes the partition key and the i first clustering
+	 * components, and reads after the (i+1)-th one. Bound with the partition
+	 * components then the i+1 first clustering components of the last row read
+	 */
+	public List<PreparedStatement> preparePartitionScanQueries(EntityMeta entityMeta, int limit,
+			ConsistencyLevel consistencyLevel, CQLDaoContext daoContext) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		List<String> partitionComponents = idMeta.getPartitionComponentNames();
+		List<String> clusteringComponents = idMeta.getClusteringComponentNames();
+
+		List<PreparedStatement> preparedStatements = new ArrayList<PreparedStatement>();
+		for (int depth = 0; depth < clusteringComponents.size(); depth++) {
+			Selection select = select();
+			generateSelectForPrimaryKey(idMeta, select);
+			generateSelectForEagerProperties(entityMeta, select);
+
+			Select.Where where = select.from(entityMeta.getTableName()).limit(limit).where();
+			for (String partitionComponent : partitionComponents) {
+				where.and(eq(partitionComponent, bindMarker()));
+			}
+			for (String clusteringComponent : clusteringComponents.subList(0, depth)) {
+				where.and(eq(clusteringComponent, bindMarker()));
+			}
+			where.and(gt(clusteringComponents.get(depth), bindMarker()));
+
+			PreparedStatement preparedStatement = daoContext.prepare(where);
+			preparedStatement.setConsistencyLevel(consistencyLevel);
+			preparedStatements.add(preparedStatement);
+		}
+		return preparedStatements;
+	}
+
 	public Insert generateInsert(Object entity, EntityMeta entityMeta) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Insert insert = insertInto(entityMeta.getTableName());
@@ -204,6 +325,23 @@ public class CQLStatementGenerator {
 		return value;
 	}
 
+	private String[] partitionKeyColumns(PropertyMeta idMeta) {
+		if (idMeta.isEmbeddedId()) {
+			List<String> partitionComponents = idMeta.getPartitionComponentNames();
+			return partitionComponents.toArray(new String[partitionComponents.size()]);
+		} else {
+			return new String[] { idMeta.getPropertyName() };
+		}
+	}
+
+	private void generateSelectForEagerProperties(EntityMeta entityMeta, Selection select) {
+		List<PropertyMeta> eagerMetas = FluentIterable.from(entityMeta.getEagerMetas())
+				.filter(PropertyType.excludeIdType).toImmutableList();
+		for (PropertyMeta pm : eagerMetas) {
+			select.column(pm.getPropertyName());
+		}
+	}
+
 	private void generateSelectForPrimaryKey(PropertyMeta idMeta, Selection select) {
 		if (idMeta.isEmbeddedId()) {
 			for (String component : idMeta.getComponentNames()) {
@@ -21,6 +21,7 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.statement.prepared.CQLPreparedStatementGenerator;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -57,15 +58,29 @@ public class CacheManager {
 		return ps;
 	}
 
-	public PreparedStatement getCacheForFieldsUpdate(Session session,
+	public PreparedStatement getCacheForFieldsSelect(Session session,
 			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
 			List<PropertyMeta> pms) {
 		Class<?> entityClass = context.getEntityClass();
 		EntityMeta entityMeta = context.getEntityMeta();
 		Set<String> fields = new HashSet<String>(Collections2.transform(pms, propertyExtractor));
-		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(), fields,
+		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SELECT_FIELDS, entityMeta.getTableName(), fields,
 				entityClass);
 		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		if (ps == null) {
+			ps = generator.prepareSelectFieldsPS(session, entityMeta, pms);
+			dynamicPSCache.put(cacheKey, ps);
+		}
+		return ps;
+	}
+
+	public PreparedStatement getCacheForFieldsUpdate(Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, CQLPersistenceContext context,
+			List<PropertyMeta> pms) {
+		Class<?> entityClass = context.getEntityClass();
+		EntityMeta entityMeta = context.getEntityMeta();
+		StatementCacheKey cacheKey = updateFieldsCacheKey(entityMeta, pms, entityClass);
+		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
 		if (ps == null) {
 			ps = generator.prepareUpdateFields(session, entityMeta, pms);
 			dynamicPSCache.put(cacheKey, ps);
@@ -73,6 +88,18 @@ public class CacheManager {
 		return ps;
 	}
 
+	private StatementCacheKey updateFieldsCacheKey(EntityMeta entityMeta, List<PropertyMeta> pms, Class<?> entityClass) {
+		BitSet ordinals = new BitSet();
+		for (PropertyMeta pm : pms) {
+			if (!entityMeta.hasOrdinal(pm)) {
+				Set<String> fields = new HashSet<String>(Collections2.transform(pms, propertyExtractor));
+				return new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(), fields, entityClass);
+			}
+			ordinals.set(pm.getOrdinal());
+		}
+		return new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(), ordinals, entityClass);
+	}
+
 	private Set<String> extractClusteredFieldsIfNecessary(PropertyMeta pm) {
 		if (pm.isEmbeddedId()) {
 			return new HashSet<String>(pm.getComponentNames());
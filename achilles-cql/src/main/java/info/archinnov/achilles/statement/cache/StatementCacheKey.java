@@ -16,6 +16,7 @@
  */
 package info.archinnov.achilles.statement.cache;
 
+import java.util.BitSet;
 import java.util.Set;
 
 public class StatementCacheKey {
@@ -25,6 +26,8 @@ public class StatementCacheKey {
 
 	private Set<String> fields;
 
+	private BitSet ordinals;
+
 	private Class<?> entityClass;
 
 	public StatementCacheKey(CacheType type, String tableName, Set<String> fields, Class<?> entityClass) {
@@ -34,6 +37,13 @@ public class StatementCacheKey {
 		this.fields = fields;
 	}
 
+	public StatementCacheKey(CacheType type, String tableName, BitSet ordinals, Class<?> entityClass) {
+		this.type = type;
+		this.entityClass = entityClass;
+		this.tableName = tableName;
+		this.ordinals = ordinals;
+	}
+
 	public CacheType getType() {
 		return type;
 	}
@@ -46,6 +56,10 @@ public class StatementCacheKey {
 		return fields;
 	}
 
+	public BitSet getOrdinals() {
+		return ordinals;
+	}
+
 	public Class<?> getEntityClass() {
 		return entityClass;
 	}
@@ -55,6 +69,7 @@ public class StatementCacheKey {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((fields == null) ? 0 : fields.hashCode());
+		result = prime * result + ((ordinals == null) ? 0 : ordinals.hashCode());
 		result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
 		result = prime * result + ((type == null) ? 0 : type.hashCode());
 		return result;
@@ -74,6 +89,11 @@ public class StatementCacheKey {
 				return false;
 		} else if (!fields.equals(other.fields))
 			return false;
+		if (ordinals == null) {
+			if (other.ordinals != null)
+				return false;
+		} else if (!ordinals.equals(other.ordinals))
+			return false;
 		if (tableName == null) {
 			if (other.tableName != null)
 				return false;
@@ -16,19 +16,39 @@
  */
 package info.archinnov.achilles.statement.prepared;
 
+import info.archinnov.achilles.metrics.OperationType;
+
 import com.datastax.driver.core.BoundStatement;
 
 public class BoundStatementWrapper {
 
+	private Class<?> entityClass;
+
+	private OperationType operation;
+
 	private BoundStatement bs;
 
 	private Object[] values;
 
 	public BoundStatementWrapper(BoundStatement bs, Object[] values) {
+		this(null, OperationType.OTHER, bs, values);
+	}
+
+	public BoundStatementWrapper(Class<?> entityClass, OperationType operation, BoundStatement bs, Object[] values) {
+		this.entityClass = entityClass;
+		this.operation = operation;
 		this.bs = bs;
 		this.values = values;
 	}
 
+	public Class<?> getEntityClass() {
+		return entityClass;
+	}
+
+	public OperationType getOperation() {
+		return operation;
+	}
+
 	public BoundStatement getBs() {
 		return bs;
 	}
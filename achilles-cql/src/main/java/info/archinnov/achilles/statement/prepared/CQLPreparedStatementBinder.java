@@ -20,6 +20,7 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.metrics.OperationType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,15 @@ import com.google.common.collect.FluentIterable;
 public class CQLPreparedStatementBinder {
 
 	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, Object entity) {
+		List<Object> values = encodeValuesForInsert(entityMeta, entity);
+
+		Object[] boundValues = new Object[values.size()];
+		BoundStatement bs = ps.bind(values.toArray(boundValues));
+
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.PERSIST, bs, boundValues);
+	}
+
+	public List<Object> encodeValuesForInsert(EntityMeta entityMeta, Object entity) {
 		List<Object> values = new ArrayList<Object>();
 		Object primaryKey = entityMeta.getPrimaryKey(entity);
 		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
@@ -49,11 +59,7 @@ public class CQLPreparedStatementBinder {
 			value = encodeValueForCassandra(pm, value);
 			values.add(value);
 		}
-
-		Object[] boundValues = new Object[values.size()];
-		BoundStatement bs = ps.bind(values.toArray(boundValues));
-
-		return new BoundStatementWrapper(bs, boundValues);
+		return values;
 	}
 
 	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
@@ -70,18 +76,23 @@ public class CQLPreparedStatementBinder {
 		Object[] boundValues = new Object[values.size()];
 		BoundStatement bs = ps.bind(values.toArray(boundValues));
 
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.MERGE, bs, boundValues);
 	}
 
 	public BoundStatementWrapper bindStatementWithOnlyPKInWhereClause(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey) {
+		return bindStatementWithOnlyPKInWhereClause(ps, entityMeta, primaryKey, OperationType.FIND);
+	}
+
+	public BoundStatementWrapper bindStatementWithOnlyPKInWhereClause(PreparedStatement ps, EntityMeta entityMeta,
+			Object primaryKey, OperationType operation) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		List<Object> values = bindPrimaryKey(primaryKey, idMeta);
 
 		Object[] boundValues = new Object[values.size()];
 		BoundStatement bs = ps.bind(values.toArray(boundValues));
 
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), operation, bs, boundValues);
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
@@ -91,7 +102,7 @@ public class CQLPreparedStatementBinder {
 
 		BoundStatement bs = ps.bind(boundValues);
 
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, boundValues);
 
 	}
 
@@ -99,14 +110,14 @@ public class CQLPreparedStatementBinder {
 			PropertyMeta pm, Object primaryKey) {
 		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
 		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, boundValues);
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
 			PropertyMeta pm, Object primaryKey) {
 		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
 		BoundStatement bs = ps.bind(boundValues);
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, boundValues);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
@@ -116,7 +127,7 @@ public class CQLPreparedStatementBinder {
 
 		BoundStatement bs = ps.bind(keys);
 
-		return new BoundStatementWrapper(bs, keys);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, keys);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
@@ -126,7 +137,7 @@ public class CQLPreparedStatementBinder {
 
 		BoundStatement bs = ps.bind(boundValues);
 
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, boundValues);
 	}
 
 	public BoundStatementWrapper bindForClusteredCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
@@ -135,7 +146,7 @@ public class CQLPreparedStatementBinder {
 		Object[] boundValues = primarykeys.toArray(new Object[primarykeys.size()]);
 		BoundStatement bs = ps.bind(boundValues);
 
-		return new BoundStatementWrapper(bs, boundValues);
+		return new BoundStatementWrapper(entityMeta.getEntityClass(), OperationType.COUNTER, bs, boundValues);
 	}
 
 	private List<Object> bindPrimaryKey(Object primaryKey, PropertyMeta idMeta) {
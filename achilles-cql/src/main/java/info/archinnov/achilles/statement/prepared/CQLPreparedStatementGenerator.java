@@ -44,8 +44,12 @@ import com.google.common.collect.FluentIterable;
 
 public class CQLPreparedStatementGenerator {
 	public PreparedStatement prepareInsertPS(Session session, EntityMeta entityMeta) {
+		Insert insert = generateInsert(insertInto(entityMeta.getTableName()), entityMeta);
+		return session.prepare(insert.getQueryString());
+	}
+
+	public Insert generateInsert(Insert insert, EntityMeta entityMeta) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
-		Insert insert = insertInto(entityMeta.getTableName());
 		prepareInsertPrimaryKey(idMeta, insert);
 
 		List<PropertyMeta> nonProxyMetas = FluentIterable.from(entityMeta.getAllMetasExceptIdMeta())
@@ -57,7 +61,7 @@ public class CQLPreparedStatementGenerator {
 		for (PropertyMeta pm : fieldMetas) {
 			insert.value(pm.getPropertyName(), bindMarker());
 		}
-		return session.prepare(insert.getQueryString());
+		return insert;
 	}
 
 	public PreparedStatement prepareInsertPSForClusteredCounter(Session session, EntityMeta entityMeta) {
@@ -124,6 +128,20 @@ public class CQLPreparedStatementGenerator {
 		return session.prepare(statement.getQueryString());
 	}
 
+	public PreparedStatement prepareSelectFieldsPS(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+
+		Selection select = select();
+
+		for (PropertyMeta pm : pms) {
+			select = prepareSelectField(pm, select);
+		}
+		Select from = select.from(entityMeta.getTableName());
+
+		Statement statement = prepareWhereClauseForSelect(idMeta, from);
+		return session.prepare(statement.getQueryString());
+	}
+
 	public Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session) {
 		StringBuilder incr = new StringBuilder();
 		incr.append("UPDATE ").append(CQL_COUNTER_TABLE).append(" ");
@@ -42,6 +42,7 @@ public class CQLTableBuilder {
 
 	private static final Logger log = LoggerFactory.getLogger(ACHILLES_DDL_SCRIPT);
 
+	private String keyspaceName;
 	private String tableName;
 	private String comment;
 	private List<String> partitionComponents = new ArrayList<String>();
@@ -55,15 +56,25 @@ public class CQLTableBuilder {
 	private boolean counter;
 
 	public static CQLTableBuilder createTable(String tableName) {
-		return new CQLTableBuilder(tableName, false);
+		return new CQLTableBuilder(null, tableName, false);
+	}
+
+	/**
+	 * Create a table builder whose scripts name the table with its keyspace,
+	 * for statements not bound to a session on that keyspace
+	 */
+	public static CQLTableBuilder createTable(String keyspaceName, String tableName) {
+		Validator.validateNotBlank(keyspaceName, "Keyspace name for table '%s' should not be blank", tableName);
+		return new CQLTableBuilder(keyspaceName, tableName, false);
 	}
 
 	public static CQLTableBuilder createCounterTable(String tableName) {
-		return new CQLTableBuilder(tableName, true);
+		return new CQLTableBuilder(null, tableName, true);
 	}
 
-	private CQLTableBuilder(String tableName, boolean counter) {
+	private CQLTableBuilder(String keyspaceName, String tableName, boolean counter) {
 		this.counter = counter;
+		this.keyspaceName = keyspaceName;
 		this.tableName = normalizerAndValidateColumnFamilyName(tableName);
 	}
 
@@ -170,7 +181,7 @@ public class CQLTableBuilder {
 
 		ddl.append("\n");
 		ddl.append("\tCREATE TABLE ");
-		ddl.append(tableName).append("(\n");
+		ddl.append(qualifiedTableName()).append("(\n");
 
 		for (Entry<String, String> columnEntry : columns.entrySet()) {
 			ddl.append("\t\t");
@@ -242,13 +253,17 @@ public class CQLTableBuilder {
 				ddl.append("\n");
 				ddl.append("CREATE INDEX ").append(indexName);
 				ddl.append("\n");
-				ddl.append("ON ").append(tableName).append(" (").append(indexProperties.getPropertyName()).append(");\n");
+				ddl.append("ON ").append(qualifiedTableName()).append(" (").append(indexProperties.getPropertyName()).append(");\n");
 				indicesScripts.add(ddl.toString());
 			}
 		}
 		return indicesScripts;
 	}
 
+	private String qualifiedTableName() {
+		return keyspaceName == null ? tableName : keyspaceName + "." + tableName;
+	}
+
 	private String generateCounterTable() {
 
 		Validator.validateTrue(columns.size() == partitionComponents.size() + clusteringComponents.size() + 1,
@@ -258,7 +273,7 @@ public class CQLTableBuilder {
 
 		ddl.append("\n");
 		ddl.append("\tCREATE TABLE ");
-		ddl.append(tableName).append("(\n");
+		ddl.append(qualifiedTableName()).append("(\n");
 
 		for (Entry<String, String> columnEntry : columns.entrySet()) {
 			String columnName = columnEntry.getKey();
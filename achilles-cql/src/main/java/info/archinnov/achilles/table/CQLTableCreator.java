@@ -114,7 +114,48 @@ public class CQLTableCreator extends TableCreator {
 	}
 
 	private void createTable(EntityMeta entityMeta, String tableName) {
-		CQLTableBuilder builder = CQLTableBuilder.createTable(tableName);
+		CQLTableBuilder builder = buildTable(entityMeta, tableName);
+		session.execute(builder.generateDDLScript());
+		if (builder.hasIndices()) {
+			for (String indexScript : builder.generateIndices()) {
+				session.execute(indexScript);
+			}
+		}
+
+	}
+
+	/**
+	 * Build the CQL3 table definition for the given (non clustered counter)
+	 * entity, without executing it
+	 * 
+	 * @param entityMeta
+	 *            meta data of the entity
+	 * @param tableName
+	 *            name of the table
+	 * @return table builder holding the DDL and index scripts
+	 */
+	public static CQLTableBuilder buildTable(EntityMeta entityMeta, String tableName) {
+		return buildTable(entityMeta, CQLTableBuilder.createTable(tableName));
+	}
+
+	/**
+	 * Build the CQL3 table definition for the given (non clustered counter)
+	 * entity with the table name qualified by its keyspace, without executing
+	 * it
+	 * 
+	 * @param entityMeta
+	 *            meta data of the entity
+	 * @param keyspaceName
+	 *            keyspace of the table
+	 * @param tableName
+	 *            name of the table
+	 * @return table builder holding the DDL and index scripts
+	 */
+	public static CQLTableBuilder buildTable(EntityMeta entityMeta, String keyspaceName, String tableName) {
+		return buildTable(entityMeta, CQLTableBuilder.createTable(keyspaceName, tableName));
+	}
+
+	private static CQLTableBuilder buildTable(EntityMeta entityMeta, CQLTableBuilder builder) {
 		for (PropertyMeta pm : entityMeta.getAllMetasExceptIdMeta()) {
 			String propertyName = pm.getPropertyName();
 			Class<?> keyClass = pm.getKeyClass();
@@ -146,13 +187,7 @@ public class CQLTableCreator extends TableCreator {
 		}
 		buildPrimaryKey(entityMeta.getIdMeta(), builder);
 		builder.addComment("Create table for entity '" + entityMeta.getClassName() + "'");
-		session.execute(builder.generateDDLScript());
-		if (builder.hasIndices()) {
-			for (String indexScript : builder.generateIndices()) {
-				session.execute(indexScript);
-			}
-		}
-
+		return builder;
 	}
 
 	private void createTableForClusteredCounter(EntityMeta meta) {
@@ -184,7 +219,7 @@ public class CQLTableCreator extends TableCreator {
 		return tableMetas;
 	}
 
-	private void buildPrimaryKey(PropertyMeta pm, CQLTableBuilder builder) {
+	private static void buildPrimaryKey(PropertyMeta pm, CQLTableBuilder builder) {
 		if (pm.isEmbeddedId()) {
 			addPrimaryKeyComponents(pm, builder, true);
 			addPrimaryKeyComponents(pm, builder, false);
@@ -195,7 +230,7 @@ public class CQLTableCreator extends TableCreator {
 		}
 	}
 
-	private void addPrimaryKeyComponents(PropertyMeta pm, CQLTableBuilder builder, boolean partitionKey) {
+	private static void addPrimaryKeyComponents(PropertyMeta pm, CQLTableBuilder builder, boolean partitionKey) {
 		List<String> componentNames;
 		List<Class<?>> componentClasses;
 
@@ -17,8 +17,10 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.READ_HEDGING_ENABLE_PARAM;
 import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.HedgingLoadBalancingPolicy;
 import info.archinnov.achilles.exception.AchillesException;
 
 import java.util.HashMap;
@@ -32,10 +34,16 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.MetricsOptions;
+import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.ProtocolOptions;
 import com.datastax.driver.core.ProtocolOptions.Compression;
 import com.datastax.driver.core.SSLOptions;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.Policies;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -79,6 +87,32 @@ public class CQLArgumentExtractorTest {
 		assertThat(actual).isSameAs(cluster);
 	}
 
+	@Test
+	public void should_get_cluster_with_hedging_policy_when_hedging_enabled() throws Exception {
+		HedgingLoadBalancingPolicy policy = new HedgingLoadBalancingPolicy(Policies.defaultLoadBalancingPolicy());
+		when(cluster.getConfiguration()).thenReturn(configuration(policy));
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(CLUSTER_PARAM, cluster);
+		params.put(READ_HEDGING_ENABLE_PARAM, true);
+
+		Cluster actual = extractor.initCluster(params);
+		assertThat(actual).isSameAs(cluster);
+	}
+
+	@Test
+	public void should_exception_when_cluster_without_hedging_policy_and_hedging_enabled() throws Exception {
+		when(cluster.getConfiguration()).thenReturn(configuration(Policies.defaultLoadBalancingPolicy()));
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(CLUSTER_PARAM, cluster);
+		params.put(READ_HEDGING_ENABLE_PARAM, true);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(READ_HEDGING_ENABLE_PARAM + " requires the cluster provided with " + CLUSTER_PARAM
+				+ " to use a HedgingLoadBalancingPolicy as load balancing policy");
+
+		extractor.initCluster(params);
+	}
+
 	@Test(expected = NoHostAvailableException.class)
 	public void should_init_cluster_with_minimum_params() throws Exception {
 		Map<String, Object> params = new HashMap<String, Object>();
@@ -140,4 +174,11 @@ public class CQLArgumentExtractorTest {
 
 		assertThat(actual).isSameAs(session);
 	}
+
+	private Configuration configuration(LoadBalancingPolicy loadBalancingPolicy) {
+		Policies policies = new Policies(loadBalancingPolicy, Policies.defaultReconnectionPolicy(),
+				Policies.defaultRetryPolicy());
+		return new Configuration(policies, new ProtocolOptions(), new PoolingOptions(), new SocketOptions(),
+				new MetricsOptions());
+	}
 }
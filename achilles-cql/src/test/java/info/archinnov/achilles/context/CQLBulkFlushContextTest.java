@@ -0,0 +1,180 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.ID;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.context.FlushContext.FlushType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CQLBulkFlushContextTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private CQLBulkFlushContext context;
+
+	@Mock
+	private CQLDaoContext daoContext;
+
+	@Mock
+	private BoundStatementWrapper bsWrapper1;
+
+	@Mock
+	private BoundStatementWrapper bsWrapper2;
+
+	@Mock
+	private BoundStatementWrapper bsWrapper3;
+
+	@Mock
+	private Statement statement;
+
+	@Mock
+	private ResultSetFuture future1;
+
+	@Mock
+	private ResultSetFuture future2;
+
+	@Mock
+	private ResultSetFuture future3;
+
+	@Mock
+	private ResultSetFuture future4;
+
+	private EntityMeta meta;
+
+	@Before
+	public void setUp() throws Exception {
+		context = new CQLBulkFlushContext(daoContext, null, 1);
+
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.build();
+		meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(daoContext.executeAsync(bsWrapper1)).thenReturn(future1);
+		when(daoContext.executeAsync(bsWrapper2)).thenReturn(future2);
+		when(daoContext.executeAsync(bsWrapper3)).thenReturn(future3);
+		when(daoContext.executeAsync(statement)).thenReturn(future4);
+	}
+
+	@Test
+	public void should_group_statements_by_partition() throws Exception {
+		EntityMeta otherMeta = new EntityMeta();
+		otherMeta.setTableName("other_table");
+		otherMeta.setIdMeta(meta.getIdMeta());
+
+		CQLBatchingFlushContext partition1 = context.partitionContext(meta, 10L);
+
+		assertThat(context.partitionContext(meta, 10L)).isSameAs(partition1);
+		assertThat(context.partitionContext(meta, 11L)).isNotSameAs(partition1);
+		assertThat(context.partitionContext(otherMeta, 10L)).isNotSameAs(partition1);
+		assertThat(context.getPartitionContexts()).hasSize(3);
+	}
+
+	@Test
+	public void should_send_statements_of_a_partition_in_order() throws Exception {
+		CQLBatchingFlushContext partition1 = context.partitionContext(meta, 10L);
+		partition1.boundStatementWrappers.add(bsWrapper1);
+		partition1.boundStatementWrappers.add(bsWrapper2);
+		partition1.statements.add(statement);
+		CQLBatchingFlushContext partition2 = context.partitionContext(meta, 11L);
+		partition2.boundStatementWrappers.add(bsWrapper3);
+
+		context.endBatch();
+
+		InOrder inOrder = inOrder(daoContext, future1, future2, future3, future4);
+		inOrder.verify(daoContext).executeAsync(bsWrapper1);
+		inOrder.verify(future1).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(bsWrapper2);
+		inOrder.verify(future2).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(statement);
+		inOrder.verify(future4).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(bsWrapper3);
+		inOrder.verify(future3).getUninterruptibly();
+
+		assertThat(context.getPartitionContexts()).isEmpty();
+	}
+
+	@Test
+	public void should_send_partitions_concurrently() throws Exception {
+		context = new CQLBulkFlushContext(daoContext, null, 2);
+		context.partitionContext(meta, 10L).boundStatementWrappers.add(bsWrapper1);
+		context.partitionContext(meta, 11L).boundStatementWrappers.add(bsWrapper2);
+		context.partitionContext(meta, 12L).boundStatementWrappers.add(bsWrapper3);
+
+		context.endBatch();
+
+		InOrder inOrder = inOrder(daoContext, future1);
+		inOrder.verify(daoContext).executeAsync(bsWrapper1);
+		inOrder.verify(daoContext).executeAsync(bsWrapper2);
+		inOrder.verify(future1).getUninterruptibly();
+		inOrder.verify(daoContext).executeAsync(bsWrapper3);
+	}
+
+	@Test
+	public void should_stop_sending_and_rethrow_first_error() throws Exception {
+		context = new CQLBulkFlushContext(daoContext, null, 2);
+		context.partitionContext(meta, 10L).boundStatementWrappers.add(bsWrapper1);
+		context.partitionContext(meta, 11L).boundStatementWrappers.add(bsWrapper2);
+		context.partitionContext(meta, 12L).boundStatementWrappers.add(bsWrapper3);
+		when(future1.getUninterruptibly()).thenThrow(new RuntimeException("timeout"));
+
+		exception.expect(RuntimeException.class);
+		exception.expectMessage("timeout");
+
+		try {
+			context.endBatch();
+		} finally {
+			verify(future2).getUninterruptibly();
+			verify(daoContext, never()).executeAsync(bsWrapper3);
+			assertThat(context.getPartitionContexts()).isEmpty();
+		}
+	}
+
+	@Test
+	public void should_do_nothing_when_flush_is_called() throws Exception {
+		context.partitionContext(meta, 10L).boundStatementWrappers.add(bsWrapper1);
+
+		context.flush();
+
+		verifyZeroInteractions(daoContext);
+	}
+
+	@Test
+	public void should_get_type() throws Exception {
+		assertThat(context.type()).isSameAs(FlushType.BATCH);
+	}
+}
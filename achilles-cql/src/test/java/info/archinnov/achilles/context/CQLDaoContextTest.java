@@ -23,6 +23,10 @@ import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.OperationMetrics;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.metrics.StatementType;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.statement.cache.CacheManager;
 import info.archinnov.achilles.statement.cache.StatementCacheKey;
@@ -37,6 +41,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.cassandra.utils.Pair;
 import org.apache.commons.lang.math.RandomUtils;
@@ -49,12 +57,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
@@ -194,6 +205,8 @@ public class CQLDaoContextTest {
 		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(insert);
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 
+		when(statementGenerator.routeToPartition(eq(insertOptions), eq(entityMeta), any())).thenReturn(insertOptions);
+
 		daoContext.pushInsertStatement(context);
 		verify(context).pushStatement(insertOptions, ALL);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(ttl));
@@ -212,6 +225,8 @@ public class CQLDaoContextTest {
 		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(insert);
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 
+		when(statementGenerator.routeToPartition(eq(insertOptions), eq(entityMeta), any())).thenReturn(insertOptions);
+
 		daoContext.pushInsertStatement(context);
 		verify(context).pushStatement(insertOptions, ALL);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
@@ -232,6 +247,8 @@ public class CQLDaoContextTest {
 		when(insert.using(usingCaptor.capture())).thenReturn(insertOptions);
 		when(insertOptions.and(usingCaptor.capture())).thenReturn(insertOptions);
 
+		when(statementGenerator.routeToPartition(eq(insertOptions), eq(entityMeta), any())).thenReturn(insertOptions);
+
 		daoContext.pushInsertStatement(context);
 		verify(context).pushStatement(insertOptions, ALL);
 		List<Using> usings = usingCaptor.getAllValues();
@@ -274,6 +291,8 @@ public class CQLDaoContextTest {
 		when(statementGenerator.generateUpdateFields(entity, entityMeta, pms)).thenReturn(update);
 		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
 
+		when(statementGenerator.routeToPartition(eq(updateOptions), eq(entityMeta), any())).thenReturn(updateOptions);
+
 		daoContext.pushUpdateStatement(context, pms);
 		verify(context).pushStatement(updateOptions, EACH_QUORUM);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(ttl));
@@ -296,6 +315,8 @@ public class CQLDaoContextTest {
 		when(statementGenerator.generateUpdateFields(entity, entityMeta, pms)).thenReturn(update);
 		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
 
+		when(statementGenerator.routeToPartition(eq(updateOptions), eq(entityMeta), any())).thenReturn(updateOptions);
+
 		daoContext.pushUpdateStatement(context, pms);
 		verify(context).pushStatement(updateOptions, EACH_QUORUM);
 		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
@@ -320,6 +341,8 @@ public class CQLDaoContextTest {
 		when(update.using(usingCaptor.capture())).thenReturn(updateOptions);
 		when(updateOptions.and(usingCaptor.capture())).thenReturn(updateOptions);
 
+		when(statementGenerator.routeToPartition(eq(updateOptions), eq(entityMeta), any())).thenReturn(updateOptions);
+
 		daoContext.pushUpdateStatement(context, pms);
 		verify(context).pushStatement(updateOptions, EACH_QUORUM);
 
@@ -331,7 +354,8 @@ public class CQLDaoContextTest {
 	@Test
 	public void should_bind_for_removal() throws Exception {
 		when(removePSs.get(CompleteBean.class)).thenReturn(ImmutableMap.of("table", ps));
-		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId())).thenReturn(bsWrapper);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), OperationType.REMOVE)).thenReturn(
+				bsWrapper);
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
 
 		daoContext.bindForRemoval(context, "table");
@@ -411,6 +435,42 @@ public class CQLDaoContextTest {
 		assertThat(actual).isSameAs(resultSet);
 	}
 
+	@Test
+	public void should_record_writes_but_not_reads_on_read_coalescer() throws Exception {
+		ReadCoalescer readCoalescer = mock(ReadCoalescer.class);
+		when(readCoalescer.isEnabled()).thenReturn(true);
+		daoContext.setReadCoalescer(readCoalescer);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(ps.getQueryString()).thenReturn("SELECT * FROM table WHERE id=?");
+
+		daoContext.execute(bs, boundValues);
+		verify(readCoalescer, never()).recordWrite();
+
+		when(ps.getQueryString()).thenReturn("UPDATE table SET name=? WHERE id=?");
+		daoContext.execute(bs, boundValues);
+		verify(readCoalescer).recordWrite();
+	}
+
+	@Test
+	public void should_record_metrics_when_executing_bound_statement() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, false, null);
+		daoContext.setMetrics(metrics);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(session.execute(bs)).thenReturn(resultSet);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(ps.getQueryString()).thenReturn("SELECT * FROM table WHERE id=?");
+		BoundStatementWrapper wrapper = new BoundStatementWrapper(CompleteBean.class, OperationType.FIND, bs,
+				boundValues);
+
+		ResultSet actual = daoContext.execute(wrapper);
+
+		assertThat(actual).isSameAs(resultSet);
+		OperationMetrics operationMetrics = metrics.getMetrics(CompleteBean.class.getCanonicalName(),
+				OperationType.FIND, StatementType.SELECT);
+		assertThat(operationMetrics.getCount()).isEqualTo(1L);
+		assertThat(operationMetrics.getErrorCount()).isEqualTo(0L);
+	}
+
 	// Simple counter
 	@Test
 	public void should_bind_simple_counter_increment() throws Exception {
@@ -468,6 +528,90 @@ public class CQLDaoContextTest {
 		verify(context).executeImmediateWithConsistency(bsWrapper, EACH_QUORUM);
 	}
 
+	@Test
+	public void should_coalesce_identical_concurrent_eager_loads() throws Exception {
+		Whitebox.setInternalState(daoContext, "readCoalescer", new ReadCoalescer(true));
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId())).thenReturn(bsWrapper);
+		when(bsWrapper.getBs()).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(ps.getQueryString()).thenReturn("SELECT * FROM CompleteBean WHERE id=?");
+		when(bsWrapper.getValues()).thenReturn(new Object[] { entity.getId() });
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		Row row = mock(Row.class);
+		final ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+
+		final AtomicReference<Row> followerRow = new AtomicReference<Row>();
+		final Thread follower = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				followerRow.set(daoContext.eagerLoadEntity(context));
+			}
+		});
+		when(context.executeImmediateWithConsistency(bsWrapper, LOCAL_QUORUM)).thenAnswer(new Answer<ResultSet>() {
+			@Override
+			public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+				follower.start();
+				while (follower.getState() != Thread.State.WAITING && follower.getState() != Thread.State.TERMINATED) {
+					Thread.sleep(1);
+				}
+				return resultSet;
+			}
+		});
+
+		Row actual = daoContext.eagerLoadEntity(context);
+		follower.join();
+
+		assertThat(actual).isSameAs(row);
+		assertThat(followerRow.get()).isSameAs(row);
+		verify(context, times(1)).executeImmediateWithConsistency(bsWrapper, LOCAL_QUORUM);
+	}
+
+	@Test
+	public void should_hedge_slow_eager_load() throws Exception {
+		AchillesMetrics metrics = new AchillesMetrics(true, false, null);
+		daoContext.setMetrics(metrics);
+		daoContext.setReadHedger(new ReadHedger(1, null, 1.0));
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId())).thenReturn(bsWrapper);
+		when(bsWrapper.getEntityClass()).thenReturn((Class) CompleteBean.class);
+		when(bsWrapper.getOperation()).thenReturn(OperationType.FIND);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(ps.getQueryString()).thenReturn("SELECT * FROM CompleteBean WHERE id=?");
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		ResultSetFuture slow = mock(ResultSetFuture.class);
+		when(slow.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+
+		Row row = mock(Row.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		ResultSetFuture hedge = mock(ResultSetFuture.class);
+		when(hedge.get()).thenReturn(resultSet);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(hedge).addListener(any(Runnable.class), any(Executor.class));
+
+		when(session.executeAsync(bs)).thenReturn(slow, hedge);
+
+		Row actual = daoContext.eagerLoadEntity(context);
+
+		assertThat(actual).isSameAs(row);
+		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.LOCAL_QUORUM);
+		verify(session, times(2)).executeAsync(bs);
+		verify(context, never()).executeImmediateWithConsistency(bsWrapper, LOCAL_QUORUM);
+		assertThat(metrics.getMetrics(CompleteBean.class.getCanonicalName(), OperationType.FIND,
+				StatementType.SELECT).getHedgeCount()).isEqualTo(1L);
+	}
+
 	@Test
 	public void should_get_simple_counter() throws Exception {
 		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
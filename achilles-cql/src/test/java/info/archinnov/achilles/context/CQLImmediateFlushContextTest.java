@@ -132,14 +132,12 @@ public class CQLImmediateFlushContextTest {
 		List<Statement> statements = new ArrayList<Statement>();
 		statements.add(statement);
 
-		Object[] boundValues = new Object[1];
-		when(bsWrapper.getValues()).thenReturn(boundValues);
 		Whitebox.setInternalState(context, "boundStatementWrappers", boundStatementWrappers);
 		Whitebox.setInternalState(context, "statements", statements);
 
 		context.flush();
 
-		verify(daoContext).execute(bs, boundValues);
+		verify(daoContext).execute(bsWrapper);
 		verify(daoContext).execute(statement);
 		assertThat(boundStatementWrappers).isEmpty();
 		assertThat(statements).isEmpty();
@@ -30,6 +30,7 @@ import info.archinnov.achilles.entity.operations.CQLEntityPersister;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
 import info.archinnov.achilles.entity.operations.EntityInitializer;
 import info.archinnov.achilles.entity.operations.EntityRefresher;
+import info.archinnov.achilles.metrics.OperationType;
 import info.archinnov.achilles.proxy.EntityInterceptor;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.statement.prepared.BoundStatementWrapper;
@@ -175,8 +176,9 @@ public class CQLPersistenceContextTest {
 		PreparedStatement ps = mock(PreparedStatement.class);
 		ResultSet rs = mock(ResultSet.class);
 
-		when(daoContext.bindAndExecute(ps, 11L, "a")).thenReturn(rs);
-		ResultSet actual = context.bindAndExecute(ps, 11L, "a");
+		Whitebox.setInternalState(context, "entityClass", (Object) CompleteBean.class);
+		when(daoContext.bindAndExecute(CompleteBean.class, OperationType.COUNTER, ps, 11L, "a")).thenReturn(rs);
+		ResultSet actual = context.bindAndExecute(OperationType.COUNTER, ps, 11L, "a");
 
 		assertThat(actual).isSameAs(rs);
 	}
@@ -319,14 +321,9 @@ public class CQLPersistenceContextTest {
 	@Test
 	public void should_execute_immediate_with_consistency() throws Exception {
 		BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
-		BoundStatement bs = mock(BoundStatement.class);
-
-		Object[] boundValues = new Object[1];
-		when(bsWrapper.getBs()).thenReturn(bs);
-		when(bsWrapper.getValues()).thenReturn(boundValues);
 
 		ResultSet resultSet = mock(ResultSet.class);
-		when(flushContext.executeImmediateWithConsistency(bs, EACH_QUORUM, boundValues)).thenReturn(resultSet);
+		when(flushContext.executeImmediateWithConsistency(bsWrapper, EACH_QUORUM)).thenReturn(resultSet);
 
 		ResultSet actual = context.executeImmediateWithConsistency(bsWrapper, EACH_QUORUM);
 
@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.google.common.collect.Lists;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgingLoadBalancingPolicyTest {
+
+	@Mock
+	private LoadBalancingPolicy delegate;
+
+	@Mock
+	private Query query;
+
+	@Mock
+	private Host host1;
+
+	@Mock
+	private Host host2;
+
+	@Mock
+	private Host host3;
+
+	@Test
+	public void should_return_plan_of_delegate() throws Exception {
+		HedgingLoadBalancingPolicy policy = new HedgingLoadBalancingPolicy(delegate);
+		when(delegate.newQueryPlan(query)).thenReturn(Arrays.asList(host1, host2, host3).iterator());
+
+		assertPlan(policy.newQueryPlan(query), host1, host2, host3);
+	}
+
+	@Test
+	public void should_try_first_host_last_for_hedge() throws Exception {
+		final HedgingLoadBalancingPolicy policy = new HedgingLoadBalancingPolicy(delegate);
+		when(delegate.newQueryPlan(query)).thenReturn(Arrays.asList(host1, host2, host3).iterator());
+
+		Iterator<Host> plan = HedgingLoadBalancingPolicy.asHedge(new Callable<Iterator<Host>>() {
+			@Override
+			public Iterator<Host> call() throws Exception {
+				return policy.newQueryPlan(query);
+			}
+		});
+
+		assertPlan(plan, host2, host3, host1);
+	}
+
+	@Test
+	public void should_return_empty_plan_for_hedge() throws Exception {
+		final HedgingLoadBalancingPolicy policy = new HedgingLoadBalancingPolicy(delegate);
+		when(delegate.newQueryPlan(query)).thenReturn(Lists.<Host> newArrayList().iterator());
+
+		Iterator<Host> plan = HedgingLoadBalancingPolicy.asHedge(new Callable<Iterator<Host>>() {
+			@Override
+			public Iterator<Host> call() throws Exception {
+				return policy.newQueryPlan(query);
+			}
+		});
+
+		assertThat(plan.hasNext()).isFalse();
+	}
+
+	private void assertPlan(Iterator<Host> plan, Host... expected) {
+		// Host.hashCode() cannot be mocked, compare references
+		List<Host> hosts = Lists.newArrayList(plan);
+		assertThat(hosts.size()).isEqualTo(expected.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertThat(hosts.get(i)).isSameAs(expected[i]);
+		}
+	}
+}
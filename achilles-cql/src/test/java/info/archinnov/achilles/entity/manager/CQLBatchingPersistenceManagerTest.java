@@ -24,11 +24,16 @@ import info.archinnov.achilles.context.CQLBatchingFlushContext;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.context.CQLPersistenceContextFactory;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.NegativeLookupCache;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.test.integration.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cassandra.utils.Pair;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -36,6 +41,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
@@ -73,7 +79,8 @@ public class CQLBatchingPersistenceManagerTest {
 	public void setUp() {
 		when(configContext.getConsistencyPolicy()).thenReturn(consistencyPolicy);
 		manager = new CQLBatchingPersistenceManager(null, contextFactory, daoContext, configContext);
-		Whitebox.setInternalState(manager, CQLBatchingFlushContext.class, flushContext);
+		Whitebox.setInternalState(manager, "batching", new BatchingSupport<CQLBatchingFlushContext>(manager,
+				flushContext));
 	}
 
 	@Test
@@ -109,6 +116,22 @@ public class CQLBatchingPersistenceManagerTest {
 		}
 	}
 
+	@Test
+	public void should_evict_batch_writes_from_negative_cache_after_flush() throws Exception {
+		NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+		manager.negativeLookupCache = negativeLookupCache;
+		List<Pair<Class<?>, String>> batchEvictions = new ArrayList<Pair<Class<?>, String>>();
+		batchEvictions.add(Pair.<Class<?>, String> create(CompleteBean.class, "10"));
+		Whitebox.setInternalState(manager, "batchEvictions", batchEvictions);
+
+		manager.endBatch();
+
+		InOrder inOrder = inOrder(flushContext, negativeLookupCache);
+		inOrder.verify(flushContext).endBatch();
+		inOrder.verify(negativeLookupCache).invalidate(CompleteBean.class, "10");
+		assertThat(Whitebox.getInternalState(manager, "batchEvictions")).isNull();
+	}
+
 	@Test
 	public void should_clean_batch() throws Exception {
 		manager.cleanBatch();
@@ -30,11 +30,14 @@ import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.iterator.CQLSliceQueryIterator;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.query.SliceQuery;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.statement.CQLStatementGenerator;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -82,6 +85,9 @@ public class CQLSliceQueryExecutorTest {
 	@Mock
 	private CQLEntityProxifier proxifier;
 
+	@Mock
+	private CQLRowMethodInvoker cqlInvoker;
+
 	@Mock
 	private CQLPersistenceContext context;
 
@@ -113,6 +119,7 @@ public class CQLSliceQueryExecutorTest {
 		executor.proxifier = proxifier;
 		Whitebox.setInternalState(executor, CQLStatementGenerator.class, generator);
 		Whitebox.setInternalState(executor, CQLEntityMapper.class, mapper);
+		Whitebox.setInternalState(executor, CQLRowMethodInvoker.class, cqlInvoker);
 
 		meta = new EntityMeta();
 		meta.setEagerGetters(new ArrayList<Method>());
@@ -135,21 +142,21 @@ public class CQLSliceQueryExecutorTest {
 
 		Row row = mock(Row.class);
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(query).all()).thenReturn(rows);
+		when(daoContext.executeRead(query, ClusteredEntity.class, OperationType.SLICE)).thenReturn(rows);
 
 		when(invoker.instanciate(ClusteredEntity.class)).thenReturn(entity);
 		when(contextFactory.newContext(entity)).thenReturn(context);
 		when(proxifier.buildProxy(entity, context)).thenReturn(entity);
 
 		assertThat(executor.get(sliceQuery)).containsOnly(entity);
-		verify(mapper).setEagerPropertiesToEntity(row, meta, entity);
+		verify(mapper).setPropertiesToEntity(row, meta.getEagerMetas(), entity);
 	}
 
 	@Test
 	public void should_create_iterator_for_clustered_entities() throws Exception {
 		Query query = mock(Query.class);
 		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit))).thenReturn(query);
-		when(daoContext.execute(query).iterator()).thenReturn(iterator);
+		when(daoContext.execute(query, ClusteredEntity.class, OperationType.SLICE).iterator()).thenReturn(iterator);
 
 		PreparedStatement ps = mock(PreparedStatement.class);
 		when(generator.generateIteratorSliceQuery(anySliceQuery(), eq(daoContext))).thenReturn(ps);
@@ -163,6 +170,68 @@ public class CQLSliceQueryExecutorTest {
 		assertThat(iter).isInstanceOf(CQLSliceQueryIterator.class);
 	}
 
+	@Test
+	public void should_count_with_count_query_when_limit_set() throws Exception {
+		Query query = mock(Query.class);
+		when(generator.generateCountSliceQuery(anySliceQuery(), eq(limit))).thenReturn(query);
+		when(daoContext.execute(query, ClusteredEntity.class, OperationType.SLICE).one().getLong(0)).thenReturn(12L);
+
+		assertThat(executor.count(sliceQuery)).isEqualTo(12L);
+	}
+
+	@Test
+	public void should_count_by_paging_keys_when_no_limit() throws Exception {
+		sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom,
+				clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, false);
+
+		Query query = mock(Query.class);
+		Row row = mock(Row.class);
+		when(generator.generateSelectSliceKeysQuery(anySliceQuery(), eq(CQLSliceQueryExecutor.COUNT_BATCH_SIZE)))
+				.thenReturn(query);
+		when(daoContext.execute(query, ClusteredEntity.class, OperationType.SLICE).iterator()).thenReturn(
+				Arrays.asList(row, row, row).iterator());
+		when(contextFactory.newContextForSliceQuery(ClusteredEntity.class, partitionComponents, LOCAL_QUORUM))
+				.thenReturn(context);
+		when(idMeta.getCQLComponentNames()).thenReturn(Arrays.asList("id", "name"));
+
+		assertThat(executor.count(sliceQuery)).isEqualTo(3L);
+		verify(generator, never()).generateCountSliceQuery(anySliceQuery(), anyInt());
+	}
+
+	@Test
+	public void should_iterate_over_ids() throws Exception {
+		Query query = mock(Query.class);
+		Row row = mock(Row.class);
+		EmbeddedKey embeddedId = new EmbeddedKey();
+		when(generator.generateSelectSliceKeysQuery(anySliceQuery(), eq(batchSize))).thenReturn(query);
+		when(daoContext.execute(query, ClusteredEntity.class, OperationType.SLICE).iterator()).thenReturn(
+				Arrays.asList(row).iterator());
+		when(contextFactory.newContextForSliceQuery(ClusteredEntity.class, partitionComponents, LOCAL_QUORUM))
+				.thenReturn(context);
+		when(idMeta.getCQLComponentNames()).thenReturn(Arrays.asList("id", "name"));
+		when(cqlInvoker.extractCompoundPrimaryKeyFromRow(row, idMeta, true)).thenReturn(embeddedId);
+
+		Iterator<Object> ids = executor.iteratorOfIds(sliceQuery);
+
+		assertThat(ids.next()).isSameAs(embeddedId);
+		assertThat(ids.hasNext()).isFalse();
+		verifyZeroInteractions(mapper, proxifier);
+	}
+
+	@Test
+	public void should_resume_after_varying_component() throws Exception {
+		List<Object> lastClusterings = Arrays.<Object> asList(11L, "b", 3);
+
+		assertThat(executor.resumeClusterings(lastClusterings, Arrays.<Object> asList(), Arrays.<Object> asList()))
+				.containsExactly(11L);
+		assertThat(
+				executor.resumeClusterings(lastClusterings, Arrays.<Object> asList(11L, "a"),
+						Arrays.<Object> asList(11L, "c"))).containsExactly(11L, "b");
+		assertThat(
+				executor.resumeClusterings(lastClusterings, Arrays.<Object> asList(11L, "b"),
+						Arrays.<Object> asList(11L, "b"))).containsExactly(11L, "b", 3);
+	}
+
 	@Test
 	public void should_remove_clustered_entities() throws Exception {
 		sliceQuery = new SliceQuery<ClusteredEntity>(ClusteredEntity.class, meta, partitionComponents,
@@ -174,7 +243,7 @@ public class CQLSliceQueryExecutorTest {
 
 		executor.remove(sliceQuery);
 
-		verify(daoContext).execute(query);
+		verify(daoContext).execute(query, ClusteredEntity.class, OperationType.REMOVE);
 
 	}
 
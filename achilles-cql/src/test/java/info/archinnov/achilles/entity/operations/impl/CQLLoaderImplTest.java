@@ -32,6 +32,7 @@ import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -95,6 +96,7 @@ public class CQLLoaderImplTest {
 
 		when(entityMeta.getIdMeta()).thenReturn(idMeta);
 		when(entityMeta.isClusteredCounter()).thenReturn(false);
+		when(context.getFetchGroup()).thenReturn(Optional.<String> absent());
 	}
 
 	@Test
@@ -110,6 +112,22 @@ public class CQLLoaderImplTest {
 		verify(mapper).setEagerPropertiesToEntity(row, entityMeta, actual);
 	}
 
+	@Test
+	public void should_load_entity_with_fetch_group() throws Exception {
+		List<PropertyMeta> groupMetas = Arrays.asList(idMeta);
+		when(context.getFetchGroup()).thenReturn(Optional.fromNullable("summary"));
+		when(entityMeta.getFetchGroupMetas("summary")).thenReturn(groupMetas);
+		when(context.loadFetchGroup(groupMetas)).thenReturn(row);
+		when(entityMeta.instanciate()).thenReturn(new CompleteBean());
+
+		CompleteBean actual = loaderImpl.eagerLoadEntity(context, CompleteBean.class);
+
+		assertThat(actual).isInstanceOf(CompleteBean.class);
+
+		verify(mapper).setPropertiesToEntity(row, groupMetas, actual);
+		verify(context, never()).eagerLoadEntity();
+	}
+
 	@Test
 	public void should_return_null_for_eager_load_when_not_found() throws Exception {
 		when(context.eagerLoadEntity()).thenReturn(null);
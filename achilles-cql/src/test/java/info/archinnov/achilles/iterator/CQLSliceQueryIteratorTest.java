@@ -21,13 +21,17 @@ import static org.mockito.Mockito.*;
 import info.archinnov.achilles.context.CQLPersistenceContext;
 import info.archinnov.achilles.entity.CQLEntityMapper;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.metrics.OperationType;
 import info.archinnov.achilles.proxy.CQLRowMethodInvoker;
 import info.archinnov.achilles.proxy.ReflectionInvoker;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +43,7 @@ import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Optional;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLSliceQueryIteratorTest {
@@ -71,6 +76,8 @@ public class CQLSliceQueryIteratorTest {
 
 	private EntityMeta meta = new EntityMeta();
 
+	private List<PropertyMeta> selectedMetas = new ArrayList<PropertyMeta>();
+
 	private int batchSize = 99;
 
 	@Before
@@ -80,6 +87,8 @@ public class CQLSliceQueryIteratorTest {
 		when(sliceQuery.getVaryingComponentName()).thenReturn("name");
 		when(sliceQuery.getVaryingComponentClass()).thenReturn((Class) String.class);
 		when(sliceQuery.getBatchSize()).thenReturn(batchSize);
+		when(sliceQuery.getSelectedMetas()).thenReturn(selectedMetas);
+		when(sliceQuery.getFetchGroup()).thenReturn(Optional.<String> absent());
 
 		sliceIterator = new CQLSliceQueryIterator<ClusteredEntity>(sliceQuery, context, iterator, ps);
 
@@ -100,11 +109,11 @@ public class CQLSliceQueryIteratorTest {
 		Whitebox.setInternalState(sliceIterator, "count", batchSize);
 		when(iterator.hasNext()).thenReturn(false);
 
-		when(context.bindAndExecute(ps, "name").iterator()).thenReturn(iterator);
+		when(context.bindAndExecute(OperationType.SLICE, ps, "name").iterator()).thenReturn(iterator);
 
 		assertThat(sliceIterator.hasNext()).isFalse();
 
-		verify(context).bindAndExecute(ps, "name");
+		verify(context).bindAndExecute(OperationType.SLICE, ps, "name");
 	}
 
 	@Test
@@ -135,7 +144,7 @@ public class CQLSliceQueryIteratorTest {
 
 		assertThat(actual).isSameAs(entity);
 		assertThat((Integer) Whitebox.getInternalState(sliceIterator, "count")).isEqualTo(1);
-		verify(mapper).setEagerPropertiesToEntity(row, meta, entity);
+		verify(mapper).setPropertiesToEntity(row, selectedMetas, entity);
 	}
 
 	@Test(expected = UnsupportedOperationException.class)
@@ -62,4 +62,33 @@ public class AchillesCQLResourceBuilderTest {
 		assertThat(resource.getPersistenceManager()).isSameAs(manager);
 		assertThat(resource.getNativeSession()).isSameAs(session);
 	}
+
+	@Test
+	public void should_delete_written_keys_only() throws Throwable {
+		AchillesCQLResource resource = AchillesCQLResourceBuilder
+				.withEntityPackages("info.archinnov.achilles.test.integration.entity").tablesToTruncate("User")
+				.truncateAfterTest().deleteWrittenKeysOnly().build();
+
+		resource.before();
+		Long id = RandomUtils.nextLong();
+		manager.persist(new User(id, "fn", "ln"));
+
+		resource.after();
+
+		assertThat(session.execute("SELECT * FROM User WHERE id=" + id).one()).isNull();
+	}
+
+	@Test
+	public void should_truncate_tables_written_natively() throws Exception {
+		AchillesCQLResource resource = AchillesCQLResourceBuilder
+				.withEntityPackages("info.archinnov.achilles.test.integration.entity").tablesToTruncate("User")
+				.truncateAfterTest().deleteWrittenKeysOnly().build();
+
+		Long id = RandomUtils.nextLong();
+		session.execute("INSERT INTO User(id,firstname,lastname) VALUES(" + id + ",'fn','ln')");
+
+		resource.after();
+
+		assertThat(session.execute("SELECT * FROM User WHERE id=" + id).one()).isNull();
+	}
 }
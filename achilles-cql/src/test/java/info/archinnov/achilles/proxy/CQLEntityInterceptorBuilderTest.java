@@ -25,6 +25,7 @@ import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.junit.Test;
@@ -32,6 +33,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,12 +47,15 @@ public class CQLEntityInterceptorBuilderTest {
 	@Test
 	public void should_build_interceptor_with_eager_fields_already_loaded() throws Exception {
 
-		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("id").build();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.build();
+		idMeta.setOrdinal(0);
 
 		EntityMeta meta = new EntityMeta();
 		meta.setIdMeta(idMeta);
 		meta.setClassName("classname");
-		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setMetasByOrdinal(Arrays.asList(idMeta));
+		meta.setGetterMetas(ImmutableMap.of(idMeta.getGetter(), idMeta));
 		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
 		meta.setEagerGetters(Lists.newArrayList(idMeta.getGetter()));
 
@@ -71,12 +76,15 @@ public class CQLEntityInterceptorBuilderTest {
 	@Test
 	public void should_build_interceptor_with_no_eager_fields() throws Exception {
 
-		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("id").build();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").accessors()
+				.build();
+		idMeta.setOrdinal(0);
 
 		EntityMeta meta = new EntityMeta();
 		meta.setIdMeta(idMeta);
 		meta.setClassName("classname");
-		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setMetasByOrdinal(Arrays.asList(idMeta));
+		meta.setGetterMetas(ImmutableMap.of(idMeta.getGetter(), idMeta));
 		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
 		meta.setEagerGetters(Lists.newArrayList(idMeta.getGetter()));
 
@@ -17,10 +17,11 @@
 package info.archinnov.achilles.query.cql;
 
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.context.CQLDaoContext;
 import info.archinnov.achilles.entity.operations.CQLNativeQueryMapper;
+import info.archinnov.achilles.metrics.OperationType;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -66,7 +67,7 @@ public class CQLNativeQueryBuilderTest {
 	@Test
 	public void should_get() throws Exception {
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(rows);
+		when(daoContext.execute(any(SimpleStatement.class), isNull(Class.class), eq(OperationType.NATIVE_QUERY)).all()).thenReturn(rows);
 
 		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
 		when(mapper.mapRows(rows)).thenReturn(result);
@@ -80,7 +81,7 @@ public class CQLNativeQueryBuilderTest {
 	public void should_get_one() throws Exception {
 
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(rows);
+		when(daoContext.execute(any(SimpleStatement.class), isNull(Class.class), eq(OperationType.NATIVE_QUERY)).all()).thenReturn(rows);
 
 		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
 		Map<String, Object> line = new LinkedHashMap<String, Object>();
@@ -95,7 +96,7 @@ public class CQLNativeQueryBuilderTest {
 	public void should_return_null_when_no_row() throws Exception {
 
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(rows);
+		when(daoContext.execute(any(SimpleStatement.class), isNull(Class.class), eq(OperationType.NATIVE_QUERY)).all()).thenReturn(rows);
 
 		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
 		when(mapper.mapRows(rows)).thenReturn(result);
@@ -28,6 +28,8 @@ import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.entity.metadata.PropertyType;
 import info.archinnov.achilles.entity.operations.CQLEntityProxifier;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.metrics.OperationType;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
@@ -39,7 +41,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
@@ -51,10 +55,14 @@ import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SimpleStatement;
+import com.google.common.collect.ImmutableMap;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CQLTypedQueryBuilderTest {
 
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
 	private CQLTypedQueryBuilder<CompleteBean> builder;
 
 	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
@@ -98,7 +106,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = "select * from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(entity);
@@ -128,7 +136,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = " select id, name   from  test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(entity);
@@ -147,7 +155,7 @@ public class CQLTypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		initBuilder("select * from test", meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(null);
@@ -166,7 +174,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = "select * from test";
 		initBuilder(queryString, meta, propertyMetas, false);
 
-		when(daoContext.execute(any(SimpleStatement.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(mapper.mapRowToEntityWithPrimaryKey(entityClass, meta, row, propertyMetas, false)).thenReturn(entity);
 
 		List<CompleteBean> actual = builder.get();
@@ -189,7 +197,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(row);
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(entity);
@@ -214,7 +222,7 @@ public class CQLTypedQueryBuilderTest {
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
 
-		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(row);
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(false))).thenReturn(entity);
@@ -231,7 +239,7 @@ public class CQLTypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
-		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(null);
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.<Row> asList());
 		CompleteBean actual = builder.getFirst();
 
 		assertThat(actual).isNull();
@@ -245,7 +253,7 @@ public class CQLTypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
-		when(daoContext.execute(any(SimpleStatement.class)).one()).thenReturn(row);
+		when(daoContext.executeRead(any(SimpleStatement.class), any(Class.class), eq(OperationType.TYPED_QUERY))).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(entityClass), eq(meta), eq(row),
 						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(null);
@@ -257,6 +265,36 @@ public class CQLTypedQueryBuilderTest {
 		verifyZeroInteractions(contextFactory, proxifier);
 	}
 
+	@Test
+	public void should_rewrite_leading_select_star_for_fetch_group() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().build();
+		EntityMeta meta = buildEntityMeta(idMeta, nameMeta);
+		meta.setFetchGroups(ImmutableMap.of("group", Arrays.asList(idMeta, nameMeta)));
+
+		initBuilder("  SELECT   *\nFROM test WHERE label='select * from'", meta, meta.getPropertyMetas(), true);
+		builder.fetchGroup("group");
+
+		assertThat(Whitebox.getInternalState(builder, "normalizedQuery")).isEqualTo(
+				"select id,name FROM test WHERE label='select * from'");
+	}
+
+	@Test
+	public void should_exception_when_fetch_group_without_leading_select_star() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+		EntityMeta meta = buildEntityMeta(idMeta);
+		meta.setFetchGroups(ImmutableMap.of("group", Arrays.asList(idMeta)));
+
+		initBuilder("select id from test where label='select * from'", meta, meta.getPropertyMetas(), true);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("should select all columns with 'SELECT *'");
+		builder.fetchGroup("group");
+	}
+
 	private EntityMeta buildEntityMeta(PropertyMeta... pms) {
 		EntityMeta meta = new EntityMeta();
 		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
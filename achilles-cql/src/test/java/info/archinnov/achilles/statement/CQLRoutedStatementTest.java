@@ -0,0 +1,63 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.statement;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+
+public class CQLRoutedStatementTest {
+
+	@Test
+	public void should_route_on_single_partition_component() throws Exception {
+		Statement statement = QueryBuilder.select().from("table").where(QueryBuilder.eq("id", 10L));
+		statement.setConsistencyLevel(ConsistencyLevel.QUORUM);
+
+		Statement routed = CQLRoutedStatement.route(statement, Arrays.<Object> asList(10L));
+
+		assertThat(routed.getQueryString()).isEqualTo(statement.getQueryString());
+		assertThat(routed.getRoutingKey()).isEqualTo(ByteBuffer.allocate(8).putLong(0, 10L));
+		assertThat(routed.getConsistencyLevel()).isEqualTo(ConsistencyLevel.QUORUM);
+	}
+
+	@Test
+	public void should_compose_routing_key_for_composite_partition_key() throws Exception {
+		ByteBuffer routingKey = CQLRoutedStatement.routingKey(Arrays.<Object> asList(10L, "a"));
+
+		ByteBuffer expected = ByteBuffer.allocate(2 + 8 + 1 + 2 + 1 + 1);
+		expected.putShort((short) 8).putLong(10L).put((byte) 0);
+		expected.putShort((short) 1).put((byte) 'a').put((byte) 0);
+		expected.flip();
+
+		assertThat(routingKey).isEqualTo(expected);
+	}
+
+	@Test
+	public void should_not_route_when_partition_component_missing() throws Exception {
+		Statement statement = QueryBuilder.select().from("table");
+
+		assertThat(CQLRoutedStatement.route(statement, Arrays.<Object> asList(10L, null))).isSameAs(statement);
+		assertThat(CQLRoutedStatement.route(statement, Arrays.<Object> asList())).isSameAs(statement);
+	}
+}
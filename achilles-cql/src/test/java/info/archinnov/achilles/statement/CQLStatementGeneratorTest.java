@@ -34,7 +34,9 @@ import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Test;
@@ -100,10 +102,61 @@ public class CQLStatementGeneratorTest {
 		assertThat(select.getQueryString()).isEqualTo("SELECT id,a,b,age,name,label FROM table;");
 	}
 
+	@Test
+	public void should_prepare_scan_query_for_token_range() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id");
+		PreparedStatement ps = mock(PreparedStatement.class);
+		when(daoContext.prepare(statementCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareScanQuery(meta, 100, ConsistencyLevel.ONE, daoContext);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo(
+				"SELECT token(id),id,age,name,label FROM table WHERE token(id)>? AND token(id)<=? LIMIT 100;");
+		verify(ps).setConsistencyLevel(ConsistencyLevel.ONE);
+	}
+
+	@Test
+	public void should_prepare_scan_query_on_partition_components() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "a", "b");
+		when(daoContext.prepare(statementCaptor.capture())).thenReturn(mock(PreparedStatement.class));
+
+		generator.prepareScanQuery(meta, 100, ConsistencyLevel.ONE, daoContext);
+
+		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo(
+				"SELECT token(id),id,a,b,age,name,label FROM table WHERE token(id)>? AND token(id)<=? LIMIT 100;");
+	}
+
+	@Test
+	public void should_prepare_partition_scan_query_for_each_clustering_component() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "a", "b");
+		PreparedStatement ps = mock(PreparedStatement.class);
+		when(daoContext.prepare(statementCaptor.capture())).thenReturn(ps);
+
+		List<PreparedStatement> actual = generator.preparePartitionScanQueries(meta, 100, ConsistencyLevel.ONE,
+				daoContext);
+
+		assertThat(actual).containsExactly(ps, ps);
+		assertThat(statementCaptor.getAllValues().get(0).getQueryString()).isEqualTo(
+				"SELECT id,a,b,age,name,label FROM table WHERE id=? AND a>? LIMIT 100;");
+		assertThat(statementCaptor.getAllValues().get(1).getQueryString()).isEqualTo(
+				"SELECT id,a,b,age,name,label FROM table WHERE id=? AND a=? AND b>? LIMIT 100;");
+		verify(ps, times(2)).setConsistencyLevel(ConsistencyLevel.ONE);
+	}
+
+	@Test
+	public void should_not_prepare_partition_scan_query_without_clustering_component() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id");
+
+		assertThat(generator.preparePartitionScanQueries(meta, 100, ConsistencyLevel.ONE, daoContext)).isEmpty();
+		verifyZeroInteractions(daoContext);
+	}
+
 	@Test
 	public void should_generate_slice_select_query() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getSelectedMetas()).thenReturn(meta.getEagerMetas());
 		when(sliceQuery.getCQLOrdering()).thenReturn(QueryBuilder.desc("comp1"));
 		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.EACH_QUORUM);
 		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), any(Select.class))).thenAnswer(
@@ -125,6 +178,7 @@ public class CQLStatementGeneratorTest {
 	public void should_generate_slice_select_query_without_ordering() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getSelectedMetas()).thenReturn(meta.getEagerMetas());
 		when(sliceQuery.getCQLOrdering())
 				.thenReturn(null);
 		when(sliceQuery.getConsistencyLevel()).thenReturn(
@@ -153,6 +207,7 @@ public class CQLStatementGeneratorTest {
 	public void should_generate_slice_iterator_query() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getSelectedMetas()).thenReturn(meta.getEagerMetas());
 		when(sliceQuery.getLimit()).thenReturn(99);
 		when(sliceQuery.getCQLOrdering()).thenReturn(QueryBuilder.desc("comp1"));
 		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.EACH_QUORUM);
@@ -178,10 +233,79 @@ public class CQLStatementGeneratorTest {
 		verify(ps).setConsistencyLevel(ConsistencyLevel.EACH_QUORUM);
 	}
 
+	@Test
+	public void should_generate_slice_keys_query() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getCQLOrdering()).thenReturn(QueryBuilder.asc("comp1"));
+		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), any(Select.class)))
+				.thenAnswer(new Answer<Statement>() {
+					@Override
+					public Statement answer(InvocationOnMock invocation) throws Throwable {
+						return buildFakeWhereForSelect((Select) invocation.getArguments()[1]);
+					}
+				});
+
+		Query query = generator.generateSelectSliceKeysQuery(sliceQuery, 50);
+
+		assertThat(query.toString()).isEqualTo(
+				"SELECT id,comp1,comp2 FROM table WHERE fake='fake' ORDER BY comp1 ASC LIMIT 50;");
+	}
+
+	@Test
+	public void should_generate_slice_count_query() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), any(Select.class)))
+				.thenAnswer(new Answer<Statement>() {
+					@Override
+					public Statement answer(InvocationOnMock invocation) throws Throwable {
+						return buildFakeWhereForSelect((Select) invocation.getArguments()[1]);
+					}
+				});
+
+		Query query = generator.generateCountSliceQuery(sliceQuery, 10);
+
+		assertThat(query.toString()).isEqualTo("SELECT count(*) FROM table WHERE fake='fake' LIMIT 10;");
+		assertThat(query.getConsistencyLevel()).isEqualTo(ConsistencyLevel.ONE);
+	}
+
+	@Test
+	public void should_set_routing_key_on_slice_query() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
+		when(sliceQuery.getMeta()).thenReturn(meta);
+		when(sliceQuery.getFixedComponents()).thenReturn(Arrays.<Object> asList(10L, 1));
+		when(sliceQuery.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		when(sliceQueryGenerator.generateWhereClauseForSelectSliceQuery(eq(sliceQuery), any(Select.class)))
+				.thenAnswer(new Answer<Statement>() {
+					@Override
+					public Statement answer(InvocationOnMock invocation) throws Throwable {
+						return buildFakeWhereForSelect((Select) invocation.getArguments()[1]);
+					}
+				});
+
+		Query query = generator.generateCountSliceQuery(sliceQuery, 10);
+
+		assertThat(query.getRoutingKey()).isEqualTo(ByteBuffer.allocate(8).putLong(0, 10L));
+		assertThat(query.getConsistencyLevel()).isEqualTo(ConsistencyLevel.ONE);
+	}
+
+	@Test
+	public void should_set_routing_key_from_primary_key() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id");
+		Statement statement = QueryBuilder.delete().from("table").where(QueryBuilder.eq("id", 11L));
+
+		Statement routed = generator.routeToPartition(statement, meta, 11L);
+
+		assertThat(routed.getQueryString()).isEqualTo(statement.getQueryString());
+		assertThat(routed.getRoutingKey()).isEqualTo(ByteBuffer.allocate(8).putLong(0, 11L));
+	}
+
 	@Test
 	public void should_generate_slice_delete_query() throws Exception {
-		EntityMeta meta = new EntityMeta();
-		meta.setTableName("table");
+		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
 
 		when(sliceQuery.getMeta()).thenReturn(meta);
 		when(sliceQueryGenerator.generateWhereClauseForDeleteSliceQuery(eq(sliceQuery), any(Delete.class))).thenAnswer(
@@ -343,7 +467,8 @@ public class CQLStatementGeneratorTest {
 		PropertyMeta idMeta;
 		if (componentNames.length > 1) {
 			idMeta = PropertyMetaTestBuilder.completeBean(Void.class, EmbeddedKey.class).field("id")
-					.compNames(componentNames).type(PropertyType.EMBEDDED_ID).build();
+					.compClasses(Long.class, Integer.class, String.class).compNames(componentNames)
+					.type(PropertyType.EMBEDDED_ID).build();
 		} else {
 			idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field(componentNames[0]).type(ID)
 					.build();
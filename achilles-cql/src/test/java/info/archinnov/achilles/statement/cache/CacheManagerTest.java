@@ -135,6 +135,9 @@ public class CacheManagerTest {
 
 		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
 				.type(PropertyType.SIMPLE).build();
+		ageMeta.setOrdinal(0);
+		nameMeta.setOrdinal(1);
+		meta.setMetasByOrdinal(Arrays.asList(ageMeta, nameMeta));
 
 		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
@@ -148,7 +151,9 @@ public class CacheManagerTest {
 		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS);
-		assertThat(cacheKey.getFields()).containsOnly("name", "age");
+		assertThat(cacheKey.getOrdinals().cardinality()).isEqualTo(2);
+		assertThat(cacheKey.getOrdinals().get(0)).isTrue();
+		assertThat(cacheKey.getOrdinals().get(1)).isTrue();
 	}
 
 	@Test
@@ -161,6 +166,9 @@ public class CacheManagerTest {
 
 		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
 				.type(PropertyType.SIMPLE).build();
+		ageMeta.setOrdinal(0);
+		nameMeta.setOrdinal(1);
+		meta.setMetasByOrdinal(Arrays.asList(ageMeta, nameMeta));
 
 		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
 
@@ -176,6 +184,62 @@ public class CacheManagerTest {
 		assertThat((Class) cacheKey.getEntityClass()).isSameAs(CompleteBean.class);
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS);
+		assertThat(cacheKey.getOrdinals().cardinality()).isEqualTo(2);
+		assertThat(cacheKey.getOrdinals().get(0)).isTrue();
+		assertThat(cacheKey.getOrdinals().get(1)).isTrue();
+	}
+
+	@Test
+	public void should_key_fields_update_by_name_when_ordinal_not_registered() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+		ageMeta.setOrdinal(0);
+		meta.setMetasByOrdinal(Arrays.asList(ageMeta));
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsUpdate(session, cache, context,
+				Arrays.asList(nameMeta, ageMeta));
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS);
+		assertThat(cacheKey.getOrdinals()).isNull();
 		assertThat(cacheKey.getFields()).containsOnly("name", "age");
 	}
+
+	@Test
+	public void should_generate_select_fields_prepared_statement_when_not_found_in_cache() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+
+		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+		when(generator.prepareSelectFieldsPS(session, meta, pms)).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsSelect(session, cache, context, pms);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_FIELDS);
+		assertThat(cacheKey.getFields()).containsOnly("name", "age");
+		verify(cache).put(cacheKey, ps);
+	}
 }
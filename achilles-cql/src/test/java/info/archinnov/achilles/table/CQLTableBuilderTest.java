@@ -77,4 +77,17 @@ public class CQLTableBuilderTest {
 						+ "\t) WITH COMMENT = 'This is a comment for \"tableName\"'");
 
 	}
+
+	@Test
+	public void should_build_table_and_indices_with_keyspace() throws Exception {
+		CQLTableBuilder builder = CQLTableBuilder.createTable("ks", "tableName").addColumn("longCol", Long.class)
+				.addColumn("intCol", Integer.class).addPartitionComponent("longCol")
+				.addIndex(new IndexProperties("", "intCol")).addComment("comment");
+
+		assertThat(builder.generateDDLScript()).isEqualTo(
+				"\n\tCREATE TABLE ks.tableName(\n" + "\t\tlongCol bigint,\n" + "\t\tintCol int,\n"
+						+ "\t\tPRIMARY KEY(longCol)\n" + "\t) WITH COMMENT = 'comment'");
+		assertThat(builder.generateIndices().iterator().next()).isEqualTo(
+				"\nCREATE INDEX tableName_intCol\n" + "ON ks.tableName (intCol);\n");
+	}
 }
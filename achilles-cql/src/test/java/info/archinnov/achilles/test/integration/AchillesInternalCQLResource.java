@@ -97,6 +97,18 @@ public class AchillesInternalCQLResource extends AchillesTestResource {
 		return session;
 	}
 
+	/**
+	 * Delete only the entities written through the PersistenceManager instead
+	 * of truncating the tables. Tables still holding data after the deletion
+	 * are truncated
+	 * 
+	 * @return this resource
+	 */
+	public AchillesInternalCQLResource deleteWrittenKeysOnly() {
+		deleteWrittenKeysOnly(pmf, manager);
+		return this;
+	}
+
 	@Override
 	protected void truncateTables() {
 		if (tables != null) {
@@ -106,4 +118,9 @@ public class AchillesInternalCQLResource extends AchillesTestResource {
 		}
 	}
 
+	@Override
+	protected boolean hasData(String table) {
+		return server.hasData(table);
+	}
+
 }
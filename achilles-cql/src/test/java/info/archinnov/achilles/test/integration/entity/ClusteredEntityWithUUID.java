@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntityWithUUID.TABLE_NAME;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Order;
+
+import java.util.UUID;
+
+@Entity(table = TABLE_NAME)
+public class ClusteredEntityWithUUID {
+
+	public static final String TABLE_NAME = "clustered_with_uuid";
+
+	@EmbeddedId
+	private ClusteredKey id;
+
+	@Column
+	private String value;
+
+	public ClusteredEntityWithUUID() {
+	}
+
+	public ClusteredEntityWithUUID(Long id, Integer bucket, UUID uuid, String value) {
+		this.id = new ClusteredKey(id, bucket, uuid);
+		this.value = value;
+	}
+
+	public ClusteredKey getId() {
+		return id;
+	}
+
+	public void setId(ClusteredKey id) {
+		this.id = id;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public void setValue(String value) {
+		this.value = value;
+	}
+
+	public static class ClusteredKey {
+		@Column
+		@Order(1)
+		private Long id;
+
+		@Column
+		@Order(2)
+		private Integer bucket;
+
+		@Column
+		@Order(3)
+		private UUID uuid;
+
+		public ClusteredKey() {
+		}
+
+		public ClusteredKey(Long id, Integer bucket, UUID uuid) {
+			this.id = id;
+			this.bucket = bucket;
+			this.uuid = uuid;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public Integer getBucket() {
+			return bucket;
+		}
+
+		public void setBucket(Integer bucket) {
+			this.bucket = bucket;
+		}
+
+		public UUID getUuid() {
+			return uuid;
+		}
+
+		public void setUuid(UUID uuid) {
+			this.uuid = uuid;
+		}
+	}
+}
@@ -19,6 +19,7 @@ package info.archinnov.achilles.test.integration.tests;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.context.CQLBatchingFlushContext;
+import info.archinnov.achilles.entity.manager.BatchingSupport;
 import info.archinnov.achilles.entity.manager.CQLBatchingPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
@@ -248,7 +249,8 @@ public class BatchModeIT {
 	}
 
 	private void assertThatBatchContextHasBeenReset(CQLBatchingPersistenceManager batchEm) {
-		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
+		BatchingSupport<CQLBatchingFlushContext> batching = Whitebox.getInternalState(batchEm, "batching");
+		CQLBatchingFlushContext flushContext = batching.getFlushContext();
 		Optional<ConsistencyLevel> consistencyLevel = Whitebox.getInternalState(flushContext, "consistencyLevel");
 		List<BoundStatementWrapper> boundStatementWrappers = Whitebox.getInternalState(flushContext,
 				"boundStatementWrappers");
@@ -0,0 +1,112 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntity.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLBatchingPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BulkOperationsIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean",
+			TABLE_NAME);
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_persist_and_remove_entities_in_bulk() throws Exception {
+		List<CompleteBean> beans = new ArrayList<CompleteBean>();
+		for (int i = 0; i < 10; i++) {
+			beans.add(CompleteBeanTestBuilder.builder().randomId().name("name" + i).addFriends("foo", "bar").buid());
+		}
+
+		manager.persist(beans);
+
+		for (CompleteBean bean : beans) {
+			CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+			assertThat(found.getName()).isEqualTo(bean.getName());
+			assertThat(found.getFriends()).containsExactly("foo", "bar");
+		}
+
+		List<CompleteBean> managed = new ArrayList<CompleteBean>();
+		for (CompleteBean bean : beans) {
+			managed.add(manager.getReference(CompleteBean.class, bean.getId()));
+		}
+		manager.remove(managed);
+
+		for (CompleteBean bean : beans) {
+			assertThat(manager.find(CompleteBean.class, bean.getId())).isNull();
+		}
+	}
+
+	@Test
+	public void should_persist_and_remove_by_id_entities_of_same_partition_in_bulk() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		List<ClusteredEntity> entities = new ArrayList<ClusteredEntity>();
+		List<ClusteredKey> keys = new ArrayList<ClusteredKey>();
+		for (int i = 0; i < 5; i++) {
+			ClusteredKey key = new ClusteredKey(partitionKey, i, "name" + i);
+			keys.add(key);
+			entities.add(new ClusteredEntity(key, "value" + i));
+		}
+
+		manager.persist(entities);
+
+		List<ClusteredEntity> found = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.get(10);
+		assertThat(found).hasSize(5);
+		assertThat(found.get(4).getValue()).isEqualTo("value4");
+
+		manager.removeById(ClusteredEntity.class, keys);
+
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).get(10)).isEmpty();
+	}
+
+	@Test
+	public void should_queue_bulk_persist_in_current_batch() throws Exception {
+		CQLBatchingPersistenceManager batchManager = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		CompleteBean bean1 = CompleteBeanTestBuilder.builder().randomId().name("bean1").buid();
+		CompleteBean bean2 = CompleteBeanTestBuilder.builder().randomId().name("bean2").buid();
+
+		batchManager.startBatch();
+		batchManager.persist(Arrays.asList(bean1, bean2));
+
+		assertThat(manager.find(CompleteBean.class, bean1.getId())).isNull();
+
+		batchManager.endBatch();
+
+		assertThat(manager.find(CompleteBean.class, bean1.getId()).getName()).isEqualTo("bean1");
+		assertThat(manager.find(CompleteBean.class, bean2.getId()).getName()).isEqualTo("bean2");
+	}
+}
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.test.integration.tests;
 
 import static info.archinnov.achilles.test.integration.entity.ClusteredEntity.TABLE_NAME;
+import static info.archinnov.achilles.type.BoundingMode.EXCLUSIVE_BOUNDS;
 import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_END_BOUND_ONLY;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static info.archinnov.achilles.type.OrderingMode.DESCENDING;
@@ -24,13 +25,18 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.query.slice.SlicePage;
 import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
 import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
 import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithUUID;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Rule;
@@ -45,7 +51,8 @@ public class ClusteredEntityIT {
 	public ExpectedException exception = ExpectedException.none();
 
 	@Rule
-	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME,
+			ClusteredEntityWithUUID.TABLE_NAME).deleteWrittenKeysOnly();
 
 	private CQLPersistenceManager manager = resource.getPersistenceManager();
 
@@ -507,6 +514,188 @@ public class ClusteredEntityIT {
 
 	}
 
+	@Test
+	public void should_query_several_partitions_in_clustering_order() throws Exception {
+		long partitionKey1 = RandomUtils.nextLong();
+		long partitionKey2 = RandomUtils.nextLong();
+		insertClusteredEntity(partitionKey1, 1, "name1", "value11");
+		insertClusteredEntity(partitionKey2, 2, "name1", "value21");
+		insertClusteredEntity(partitionKey1, 3, "name1", "value13");
+		insertClusteredEntity(partitionKey2, 3, "name2", "value23");
+
+		List<ClusteredEntity> entities = manager.sliceQuery(ClusteredEntity.class)
+				.partitionKeys(Arrays.asList(partitionKey1, partitionKey2)).limit(3).get();
+
+		assertThat(entities).hasSize(3);
+		assertThat(entities.get(0).getValue()).isEqualTo("value11");
+		assertThat(entities.get(1).getValue()).isEqualTo("value21");
+		assertThat(entities.get(2).getValue()).isEqualTo("value13");
+
+		Iterator<ClusteredEntity> iter = manager.sliceQuery(ClusteredEntity.class)
+				.partitionKeys(Arrays.asList(partitionKey1, partitionKey2)).ordering(DESCENDING).iterator(1);
+
+		assertThat(iter.next().getValue()).isEqualTo("value23");
+		assertThat(iter.next().getValue()).isEqualTo("value13");
+		assertThat(iter.next().getValue()).isEqualTo("value21");
+		assertThat(iter.next().getValue()).isEqualTo("value11");
+		assertThat(iter.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_query_several_partitions_in_uuid_clustering_order() throws Exception {
+		long partitionKey1 = RandomUtils.nextLong();
+		long partitionKey2 = RandomUtils.nextLong();
+		manager.persist(new ClusteredEntityWithUUID(partitionKey1, 1, uuid("00"), "value00"));
+		manager.persist(new ClusteredEntityWithUUID(partitionKey2, 1, uuid("40"), "value40"));
+		manager.persist(new ClusteredEntityWithUUID(partitionKey1, 1, uuid("80"), "value80"));
+		manager.persist(new ClusteredEntityWithUUID(partitionKey2, 1, uuid("c0"), "valuec0"));
+
+		List<ClusteredEntityWithUUID> entities = manager.sliceQuery(ClusteredEntityWithUUID.class)
+				.partitionKeys(Arrays.asList(partitionKey1, partitionKey2)).limit(3).get();
+
+		assertThat(entities).hasSize(3);
+		assertThat(entities.get(0).getValue()).isEqualTo("value00");
+		assertThat(entities.get(1).getValue()).isEqualTo("value40");
+		assertThat(entities.get(2).getValue()).isEqualTo("value80");
+	}
+
+	@Test
+	public void should_page_with_cursor_within_equal_first_clustering_component_before_uuid() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (String prefix : Arrays.asList("c0", "80", "40", "00")) {
+			manager.persist(new ClusteredEntityWithUUID(partitionKey, 1, uuid(prefix), "value1_" + prefix));
+		}
+		manager.persist(new ClusteredEntityWithUUID(partitionKey, 2, uuid("00"), "value2_00"));
+
+		List<String> values = new ArrayList<String>();
+		SlicePage<ClusteredEntityWithUUID> page = manager.sliceQuery(ClusteredEntityWithUUID.class)
+				.partitionKey(partitionKey).getPage(2);
+		while (true) {
+			for (ClusteredEntityWithUUID entity : page.getEntities()) {
+				values.add(entity.getValue());
+			}
+			if (!page.hasNextPage()) {
+				break;
+			}
+			page = manager.sliceQuery(ClusteredEntityWithUUID.class).partitionKey(partitionKey)
+					.afterCursor(page.getNextCursor()).getPage(2);
+		}
+
+		assertThat(values).containsExactly("value1_00", "value1_40", "value1_80", "value1_c0", "value2_00");
+
+		page = manager.sliceQuery(ClusteredEntityWithUUID.class).partitionKey(partitionKey).ordering(DESCENDING)
+				.getPage(2);
+		page = manager.sliceQuery(ClusteredEntityWithUUID.class).partitionKey(partitionKey).ordering(DESCENDING)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value1_80");
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value1_40");
+	}
+
+	@Test
+	public void should_count_and_get_ids_only() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 5; i++) {
+			insertClusteredEntity(partitionKey, i, "name" + i, "value" + i);
+		}
+
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).count()).isEqualTo(5L);
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).limit(3).count()).isEqualTo(3L);
+		assertThat(
+				manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+						.toClusterings(2).ordering(DESCENDING).count()).isEqualTo(3L);
+
+		List<ClusteredKey> ids = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).limit(2)
+				.keysOnly();
+		assertThat(ids).containsExactly(new ClusteredKey(partitionKey, 1, "name1"),
+				new ClusteredKey(partitionKey, 2, "name2"));
+
+		Iterator<ClusteredKey> iter = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.iteratorOfIds(2);
+		int count = 0;
+		while (iter.hasNext()) {
+			count++;
+			assertThat(iter.next()).isEqualTo(new ClusteredKey(partitionKey, count, "name" + count));
+		}
+		assertThat(count).isEqualTo(5);
+	}
+
+	@Test
+	public void should_page_with_cursor() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 5; i++) {
+			insertClusteredEntity(partitionKey, i, "name" + i, "value" + i);
+		}
+
+		SlicePage<ClusteredEntity> page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value2");
+		assertThat(page.hasNextPage()).isTrue();
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value3");
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value4");
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value5");
+		assertThat(page.hasNextPage()).isFalse();
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+				.toClusterings(1).ordering(DESCENDING).bounding(EXCLUSIVE_BOUNDS).getPage(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value3");
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+				.toClusterings(1).ordering(DESCENDING).bounding(EXCLUSIVE_BOUNDS)
+				.afterCursor(page.getNextCursor()).getPage(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value2");
+		assertThat(page.hasNextPage()).isFalse();
+	}
+
+	@Test
+	public void should_page_with_cursor_within_equal_first_clustering_component() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 5; i++) {
+			insertClusteredEntity(partitionKey, 1, "name" + i, "value1_" + i);
+		}
+		insertClusteredEntity(partitionKey, 2, "name1", "value2_1");
+
+		List<String> values = new ArrayList<String>();
+		SlicePage<ClusteredEntity> page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.getPage(2);
+		while (true) {
+			for (ClusteredEntity entity : page.getEntities()) {
+				values.add(entity.getValue());
+			}
+			if (!page.hasNextPage()) {
+				break;
+			}
+			page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+					.afterCursor(page.getNextCursor()).getPage(2);
+		}
+
+		assertThat(values).containsExactly("value1_1", "value1_2", "value1_3", "value1_4", "value1_5", "value2_1");
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).ordering(DESCENDING).getPage(3);
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).ordering(DESCENDING)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value1_3");
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value1_2");
+	}
+
+	/**
+	 * Random (version 4) UUID whose first byte sets the Cassandra order,
+	 * unlike UUID.compareTo() which compares signed longs
+	 */
+	private UUID uuid(String firstByte) {
+		return UUID.fromString(firstByte + "000000-0000-4000-8000-000000000000");
+	}
+
 	private String insertValues(long partitionKey, int countValue, int size) {
 		String namePrefix = "name";
 		String clusteredValuePrefix = "value";
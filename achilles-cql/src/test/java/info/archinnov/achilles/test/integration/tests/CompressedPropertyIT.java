@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+public class CompressedPropertyIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME)
+			.deleteWrittenKeysOnly();
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	private Session session = resource.getNativeSession();
+
+	@Test
+	public void should_persist_and_find_compressed_property() throws Exception {
+		Long id = RandomUtils.nextLong();
+		String content = StringUtils.repeat("{\"name\":\"DuyHai\",\"age\":35},", 200);
+		manager.persist(new EntityWithCompressedProperty(id, content, "summary"));
+
+		EntityWithCompressedProperty found = manager.find(EntityWithCompressedProperty.class, id);
+
+		assertThat(found.getContent()).isEqualTo(content);
+		assertThat(found.getSummary()).isEqualTo("summary");
+
+		Row row = session.execute("SELECT content,summary FROM " + TABLE_NAME + " WHERE id=" + id).one();
+		ByteBuffer storedContent = row.getBytes("content");
+		ByteBuffer storedSummary = row.getBytes("summary");
+		assertThat(storedContent.remaining()).isLessThan(content.length() / 5);
+		assertThat(storedContent.get(storedContent.position())).isEqualTo((byte) 1);
+		assertThat(storedSummary.get(storedSummary.position())).isEqualTo((byte) 0);
+	}
+
+	@Test
+	public void should_update_compressed_property() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithCompressedProperty entity = manager.merge(new EntityWithCompressedProperty(id, "content",
+				"summary"));
+
+		String content = StringUtils.repeat("new content ", 100);
+		entity.setContent(content);
+		manager.merge(entity);
+
+		assertThat(manager.find(EntityWithCompressedProperty.class, id).getContent()).isEqualTo(content);
+	}
+}
@@ -20,6 +20,7 @@ import static info.archinnov.achilles.test.integration.entity.ClusteredEntity.*;
 import static info.archinnov.achilles.type.ConsistencyLevel.*;
 import static org.fest.assertions.api.Assertions.*;
 import info.archinnov.achilles.context.CQLBatchingFlushContext;
+import info.archinnov.achilles.entity.manager.BatchingSupport;
 import info.archinnov.achilles.entity.manager.CQLBatchingPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
 import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
@@ -188,7 +189,8 @@ public class ConsistencyLevelPriorityOrderingIT {
 	}
 
 	private void assertThatBatchContextHasBeenReset(CQLBatchingPersistenceManager batchEm) {
-		CQLBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, CQLBatchingFlushContext.class);
+		BatchingSupport<CQLBatchingFlushContext> batching = Whitebox.getInternalState(batchEm, "batching");
+		CQLBatchingFlushContext flushContext = batching.getFlushContext();
 		Optional<ConsistencyLevel> consistencyLevel = Whitebox.getInternalState(flushContext, "consistencyLevel");
 		List<BoundStatementWrapper> boundStatementWrappers = Whitebox.getInternalState(flushContext,
 				"boundStatementWrappers");
@@ -19,7 +19,8 @@ import com.datastax.driver.core.Session;
 public class EntityWithCompositePartitionKeyIT {
 
 	@Rule
-	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME);
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, TABLE_NAME)
+			.deleteWrittenKeysOnly();
 
 	private CQLPersistenceManager manager = resource.getPersistenceManager();
 
@@ -0,0 +1,127 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.*;
+import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.cglib.proxy.Factory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+public class ProxyLessReadIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean");
+
+	private Session session = resource.getNativeSession();
+
+	private CQLPersistenceManager manager;
+
+	private CompleteBean bean;
+
+	@Before
+	public void setUp() {
+		Map<String, Object> configMap = new HashMap<String, Object>();
+		configMap.put(CONNECTION_CONTACT_POINTS_PARAM, CASSANDRA_TEST_HOST);
+		configMap.put(CONNECTION_PORT_PARAM, CASSANDRA_CQL_TEST_PORT);
+		configMap.put(KEYSPACE_NAME_PARAM, CASSANDRA_TEST_KEYSPACE_NAME);
+		configMap.put(ENTITY_PACKAGES_PARAM, "info.archinnov.achilles.test.integration.entity");
+		configMap.put(PROXY_LESS_READS_PARAM, true);
+		CQLPersistenceManagerFactory pmf = new CQLPersistenceManagerFactory(configMap);
+		manager = pmf.createPersistenceManager();
+
+		bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L).addFriends("foo", "bar")
+				.addPreference(1, "FR").buid();
+		resource.getPersistenceManager().persist(bean);
+	}
+
+	@Test
+	public void should_find_plain_entity() throws Exception {
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		assertThat(found).isNotInstanceOf(Factory.class);
+		assertThat(found.getName()).isEqualTo("DuyHai");
+		assertThat(found.getAge()).isEqualTo(35L);
+		assertThat(found.getPreferences()).containsKey(1);
+		assertThat(found.getFriends()).isNull();
+	}
+
+	@Test
+	public void should_merge_only_modified_properties() throws Exception {
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		session.execute("UPDATE CompleteBean SET age_in_years=40 WHERE id=" + bean.getId());
+		found.setName("Jonathan");
+
+		CompleteBean merged = manager.merge(found);
+
+		assertThat(merged).isSameAs(found);
+		Row row = session.execute("SELECT name,age_in_years,friends FROM CompleteBean WHERE id=" + bean.getId())
+				.one();
+		assertThat(row.getString("name")).isEqualTo("Jonathan");
+		assertThat(row.getLong("age_in_years")).isEqualTo(40L);
+		List<String> friends = row.getList("friends", String.class);
+		assertThat(friends).containsExactly("foo", "bar");
+	}
+
+	@Test
+	public void should_not_update_unchanged_entity() throws Exception {
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		session.execute("UPDATE CompleteBean SET name='Jonathan' WHERE id=" + bean.getId());
+		manager.merge(found);
+
+		Row row = session.execute("SELECT name FROM CompleteBean WHERE id=" + bean.getId()).one();
+		assertThat(row.getString("name")).isEqualTo("Jonathan");
+	}
+
+	@Test
+	public void should_remove_plain_entity() throws Exception {
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		manager.remove(found);
+
+		assertThat(manager.find(CompleteBean.class, bean.getId())).isNull();
+	}
+
+	@Test
+	public void should_return_plain_entities_from_typed_query() throws Exception {
+		List<CompleteBean> found = manager.typedQuery(CompleteBean.class,
+				"SELECT * FROM CompleteBean WHERE id=" + bean.getId()).get();
+
+		assertThat(found).hasSize(1);
+		assertThat(found.get(0)).isNotInstanceOf(Factory.class);
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.*;
+import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.CounterBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ReadHedgingIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean");
+
+	private CQLPersistenceManager manager;
+
+	private CompleteBean bean;
+
+	@Before
+	public void setUp() {
+		Map<String, Object> configMap = new HashMap<String, Object>();
+		configMap.put(CONNECTION_CONTACT_POINTS_PARAM, CASSANDRA_TEST_HOST);
+		configMap.put(CONNECTION_PORT_PARAM, CASSANDRA_CQL_TEST_PORT);
+		configMap.put(KEYSPACE_NAME_PARAM, CASSANDRA_TEST_KEYSPACE_NAME);
+		configMap.put(ENTITY_PACKAGES_PARAM, "info.archinnov.achilles.test.integration.entity");
+		configMap.put(READ_HEDGING_ENABLE_PARAM, true);
+		// Hedge nearly every read
+		configMap.put(READ_HEDGING_DELAY_MILLIS_PARAM, 1);
+		configMap.put(READ_HEDGING_MAX_RATIO_PARAM, 1.0);
+		CQLPersistenceManagerFactory pmf = new CQLPersistenceManagerFactory(configMap);
+		manager = pmf.createPersistenceManager();
+
+		bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L).addFriends("foo", "bar")
+				.version(CounterBuilder.incr(3L)).buid();
+		resource.getPersistenceManager().persist(bean);
+	}
+
+	@Test
+	public void should_find_with_hedged_reads() throws Exception {
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		assertThat(found.getName()).isEqualTo("DuyHai");
+		assertThat(found.getAge()).isEqualTo(35L);
+		assertThat(found.getFriends()).containsExactly("foo", "bar");
+		assertThat(found.getVersion().get()).isEqualTo(3L);
+	}
+
+	@Test
+	public void should_execute_typed_query_with_hedged_reads() throws Exception {
+		List<CompleteBean> found = manager.typedQuery(CompleteBean.class,
+				"SELECT id,name FROM CompleteBean WHERE id=" + bean.getId()).get();
+
+		assertThat(found).hasSize(1);
+		assertThat(found.get(0).getName()).isEqualTo("DuyHai");
+	}
+}
@@ -0,0 +1,171 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.CASSANDRA_TEST_KEYSPACE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.bulk.CQLSSTableBulkWriter;
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.parsing.EntityParser;
+import info.archinnov.achilles.entity.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Arrays;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.config.Schema;
+import org.apache.cassandra.service.StorageService;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class SSTableBulkWriterIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean",
+			ClusteredEntity.TABLE_NAME);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CQLPersistenceManagerFactory pmf = resource.getPersistenceManagerFactory();
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_bulk_write_and_load_entities() throws Exception {
+		CompleteBean bean1 = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+				.addFriends("foo", "bar").addPreference(1, "FR").buid();
+		CompleteBean bean2 = CompleteBeanTestBuilder.builder().randomId().name("John").age(40L).buid();
+
+		CQLSSTableBulkWriter writer = pmf.createSSTableBulkWriter(CompleteBean.class, liveDataDirectory(),
+				StorageService.getPartitioner());
+		writer.writeAll(Arrays.asList(bean1, bean2));
+		writer.close();
+
+		assertThat(writer.getWrittenCount()).isEqualTo(2L);
+		loadNewSSTables(writer);
+
+		CompleteBean found1 = manager.find(CompleteBean.class, bean1.getId());
+		assertThat(found1.getName()).isEqualTo("DuyHai");
+		assertThat(found1.getAge()).isEqualTo(35L);
+		assertThat(found1.getFriends()).containsExactly("foo", "bar");
+		assertThat(found1.getPreferences()).containsKey(1);
+
+		CompleteBean found2 = manager.find(CompleteBean.class, bean2.getId());
+		assertThat(found2.getName()).isEqualTo("John");
+		assertThat(found2.getFriends()).isNull();
+	}
+
+	@Test
+	public void should_bulk_write_clustered_entities_of_same_partition() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+
+		CQLSSTableBulkWriter writer = pmf.createSSTableBulkWriter(ClusteredEntity.class, liveDataDirectory(),
+				StorageService.getPartitioner());
+		writer.write(new ClusteredEntity(partitionKey, 1, "name", "value1"));
+		writer.write(new ClusteredEntity(partitionKey, 2, "name", "value2"));
+		writer.close();
+
+		loadNewSSTables(writer);
+
+		assertThat(manager.find(ClusteredEntity.class, new ClusteredEntity.ClusteredKey(partitionKey, 1, "name"))
+				.getValue()).isEqualTo("value1");
+		assertThat(manager.find(ClusteredEntity.class, new ClusteredEntity.ClusteredKey(partitionKey, 2, "name"))
+				.getValue()).isEqualTo("value2");
+	}
+
+	@Test
+	public void should_write_sstables_in_loader_layout() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+		CQLSSTableBulkWriter writer = pmf.createSSTableBulkWriter(CompleteBean.class, folder.getRoot(),
+				StorageService.getPartitioner());
+		writer.write(bean);
+		writer.close();
+
+		File tableDirectory = writer.getTableDirectory();
+		assertThat(tableDirectory.getParentFile().getName()).isEqualTo(CASSANDRA_TEST_KEYSPACE_NAME);
+		assertThat(tableDirectory.getParentFile().getParentFile()).isEqualTo(folder.getRoot());
+		assertThat(tableDirectory.list(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith("-Data.db");
+			}
+		})).hasSize(1);
+	}
+
+	@Test
+	public void should_write_sstables_for_table_unknown_to_local_schema() throws Exception {
+		AchillesConsistencyLevelPolicy policy = Mockito.mock(AchillesConsistencyLevelPolicy.class);
+		Mockito.when(policy.getDefaultGlobalReadConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		Mockito.when(policy.getDefaultGlobalWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setImpl(Impl.CQL);
+		configContext.setConsistencyPolicy(policy);
+		configContext.setObjectMapperFactory(new DefaultObjectMapperFactory());
+		EntityMeta entityMeta = new EntityParser().parseEntity(new EntityParsingContext(configContext,
+				CompleteBean.class));
+
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").addFriends("foo").buid();
+
+		CQLSSTableBulkWriter writer = new CQLSSTableBulkWriter(entityMeta, "bulk_offline", folder.getRoot(),
+				StorageService.getPartitioner());
+		CQLSSTableBulkWriter otherWriter = new CQLSSTableBulkWriter(entityMeta, "bulk_offline", folder.newFolder(),
+				StorageService.getPartitioner());
+		try {
+			assertThat(Schema.instance.getCFMetaData("bulk_offline", "completebean")).isNotNull();
+			writer.write(bean);
+			writer.close();
+
+			assertThat(Schema.instance.getCFMetaData("bulk_offline", "completebean")).isNotNull();
+			otherWriter.write(bean);
+		} finally {
+			writer.close();
+			otherWriter.close();
+		}
+
+		assertThat(writer.getTableDirectory().list()).isNotEmpty();
+		assertThat(otherWriter.getTableDirectory().list()).isNotEmpty();
+		assertThat(Schema.instance.getCFMetaData("bulk_offline", "completebean")).isNull();
+		assertThat(Schema.instance.getKSMetaData("bulk_offline")).isNull();
+	}
+
+	private File liveDataDirectory() {
+		return new File(DatabaseDescriptor.getAllDataFileLocations()[0]);
+	}
+
+	private void loadNewSSTables(CQLSSTableBulkWriter writer) {
+		File tableDirectory = writer.getTableDirectory();
+		StorageService.instance.loadNewSSTables(tableDirectory.getParentFile().getName(), tableDirectory.getName());
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.ClusteredEntity.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ScanIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.BOTH, "CompleteBean",
+			TABLE_NAME);
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_scan_all_entities_of_table() throws Exception {
+		Map<Long, String> expected = new HashMap<Long, String>();
+		for (int i = 0; i < 20; i++) {
+			CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("name" + i).buid();
+			manager.persist(bean);
+			expected.put(bean.getId(), bean.getName());
+		}
+
+		final Map<Long, String> scanned = new ConcurrentHashMap<Long, String>();
+		manager.scan(CompleteBean.class).parallelism(2).pageSize(3).consistencyLevel(ConsistencyLevel.ONE)
+				.forEach(new ScanConsumer<CompleteBean>() {
+					@Override
+					public void accept(CompleteBean entity) {
+						scanned.put(entity.getId(), entity.getName());
+					}
+				});
+
+		assertThat(scanned).isEqualTo(expected);
+	}
+
+	@Test
+	public void should_scan_partition_larger_than_page_size() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 0; i < 10; i++) {
+			manager.persist(new ClusteredEntity(new ClusteredKey(partitionKey, i, "name" + i), "value" + i));
+		}
+
+		final Set<String> values = new HashSet<String>();
+		manager.scan(ClusteredEntity.class).parallelism(1).pageSize(4).forEach(new ScanConsumer<ClusteredEntity>() {
+			@Override
+			public void accept(ClusteredEntity entity) {
+				synchronized (values) {
+					values.add(entity.getValue());
+				}
+			}
+		});
+
+		assertThat(values).hasSize(10);
+		assertThat(values).contains("value0", "value9");
+	}
+
+	@Test
+	public void should_scan_partition_once_when_page_ends_within_equal_clustering_prefix() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 0; i < 10; i++) {
+			manager.persist(new ClusteredEntity(new ClusteredKey(partitionKey, i / 3, "name" + i), "value" + i));
+		}
+
+		final List<String> values = Collections.synchronizedList(new ArrayList<String>());
+		manager.scan(ClusteredEntity.class).parallelism(1).pageSize(4).forEach(new ScanConsumer<ClusteredEntity>() {
+			@Override
+			public void accept(ClusteredEntity entity) {
+				values.add(entity.getValue());
+			}
+		});
+
+		assertThat(values).hasSize(10);
+		assertThat(new HashSet<String>(values)).hasSize(10);
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.CQLConfigurationParameters.*;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.*;
+import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManager;
+import info.archinnov.achilles.entity.manager.CQLPersistenceManagerFactory;
+import info.archinnov.achilles.entity.manager.WriteBehindPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalCQLResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.CounterBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WriteBehindIT {
+
+	@Rule
+	public AchillesInternalCQLResource resource = new AchillesInternalCQLResource(Steps.AFTER_TEST, "CompleteBean");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CQLPersistenceManager manager = resource.getPersistenceManager();
+
+	private CQLPersistenceManagerFactory pmf;
+
+	private WriteBehindPersistenceManager writeBehind;
+
+	@Before
+	public void setUp() {
+		Map<String, Object> configMap = new HashMap<String, Object>();
+		configMap.put(CONNECTION_CONTACT_POINTS_PARAM, CASSANDRA_TEST_HOST);
+		configMap.put(CONNECTION_PORT_PARAM, CASSANDRA_CQL_TEST_PORT);
+		configMap.put(KEYSPACE_NAME_PARAM, CASSANDRA_TEST_KEYSPACE_NAME);
+		configMap.put(ENTITY_PACKAGES_PARAM, "info.archinnov.achilles.test.integration.entity");
+		configMap.put(WRITE_BEHIND_JOURNAL_DIR_PARAM, folder.getRoot());
+		pmf = new CQLPersistenceManagerFactory(configMap);
+		writeBehind = pmf.getWriteBehindPersistenceManager();
+	}
+
+	@After
+	public void tearDown() {
+		pmf.close();
+	}
+
+	@Test
+	public void should_persist_behind() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+				.addFriends("foo", "bar").addPreference(1, "FR").version(CounterBuilder.incr(2L)).buid();
+
+		writeBehind.persist(bean);
+
+		assertThat(writeBehind.flush(10, TimeUnit.SECONDS)).isTrue();
+
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+		assertThat(found.getName()).isEqualTo("DuyHai");
+		assertThat(found.getAge()).isEqualTo(35L);
+		assertThat(found.getFriends()).containsExactly("foo", "bar");
+		assertThat(found.getPreferences()).containsKey(1);
+		assertThat(found.getVersion().get()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_merge_behind_non_null_properties() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L).buid();
+		manager.persist(bean);
+
+		CompleteBean update = CompleteBeanTestBuilder.builder().id(bean.getId()).name("Jonathan").buid();
+		writeBehind.merge(update);
+
+		assertThat(writeBehind.flush(10, TimeUnit.SECONDS)).isTrue();
+
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+		assertThat(found.getName()).isEqualTo("Jonathan");
+		assertThat(found.getAge()).isEqualTo(35L);
+	}
+
+	@Test
+	public void should_increment_counter_behind() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+		manager.persist(bean);
+
+		writeBehind.incrementCounter(CompleteBean.class, bean.getId(), "version", 5L);
+		writeBehind.incrementCounter(CompleteBean.class, bean.getId(), "version", -2L);
+
+		assertThat(writeBehind.flush(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(writeBehind.pendingCount()).isEqualTo(0);
+
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+		assertThat(found.getVersion().get()).isEqualTo(3L);
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.compound;
+
+import static info.archinnov.achilles.type.OrderingMode.ASCENDING;
+import info.archinnov.achilles.type.OrderingMode;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The in-memory storage can slice between any two clustering prefixes, the
+ * bounds only need to be in the order of the slice
+ */
+public class MemoryCompoundKeyValidator extends CompoundKeyValidator {
+	private static final Logger log = LoggerFactory.getLogger(MemoryCompoundKeyValidator.class);
+
+	@Override
+	public void validateComponentsForSliceQuery(List<Object> startComponents, List<Object> endComponents,
+			OrderingMode ordering) {
+		String startDescription = StringUtils.join(startComponents, ",");
+		String endDescription = StringUtils.join(endComponents, ",");
+
+		log.trace("Check compound keys {} / {}", startDescription, endDescription);
+
+		int commonIndex = Math.min(getLastNonNullIndex(startComponents), getLastNonNullIndex(endComponents));
+		for (int i = 0; i <= commonIndex; i++) {
+			int comparisonResult = comparator.compare(startComponents.get(i), endComponents.get(i));
+			if (comparisonResult != 0) {
+				if (ASCENDING.equals(ordering)) {
+					Validator
+							.validateTrue(
+									comparisonResult < 0,
+									"For slice query with ascending order, start clustering key should be 'lesser or equal' to end clustering key: [[%s],[%s]",
+									startDescription, endDescription);
+				} else {
+					Validator
+							.validateTrue(
+									comparisonResult > 0,
+									"For slice query with descending order, start clustering key should be 'greater or equal' to end clustering key: [[%s],[%s]",
+									startDescription, endDescription);
+				}
+				return;
+			}
+		}
+	}
+
+}
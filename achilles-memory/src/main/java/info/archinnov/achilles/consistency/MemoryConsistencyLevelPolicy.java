@@ -0,0 +1,78 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.consistency;
+
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.Map;
+
+/**
+ * Consistency levels are kept for the API compatibility with the other
+ * implementations but have no effect on the in-memory storage
+ */
+public class MemoryConsistencyLevelPolicy extends AchillesConsistencyLevelPolicy {
+
+	public MemoryConsistencyLevelPolicy(ConsistencyLevel defaultGlobalReadConsistencyLevel,
+			ConsistencyLevel defaultGlobalWriteConsistencyLevel, Map<String, ConsistencyLevel> readCfConsistencyLevels,
+			Map<String, ConsistencyLevel> writeCfConsistencyLevels) {
+		super(defaultGlobalReadConsistencyLevel, defaultGlobalWriteConsistencyLevel, readCfConsistencyLevels,
+				writeCfConsistencyLevels);
+	}
+
+	@Override
+	public void loadConsistencyLevelForRead(String columnFamily) {
+	}
+
+	@Override
+	public void loadConsistencyLevelForWrite(String columnFamily) {
+	}
+
+	@Override
+	public void reinitDefaultConsistencyLevels() {
+	}
+
+	@Override
+	public void reinitCurrentConsistencyLevels() {
+	}
+
+	@Override
+	public ConsistencyLevel getCurrentReadLevel() {
+		return null;
+	}
+
+	@Override
+	public void setCurrentReadLevel(ConsistencyLevel readLevel) {
+	}
+
+	@Override
+	public void removeCurrentReadLevel() {
+	}
+
+	@Override
+	public ConsistencyLevel getCurrentWriteLevel() {
+		return null;
+	}
+
+	@Override
+	public void setCurrentWriteLevel(ConsistencyLevel writeLevel) {
+	}
+
+	@Override
+	public void removeCurrentWriteLevel() {
+	}
+
+}
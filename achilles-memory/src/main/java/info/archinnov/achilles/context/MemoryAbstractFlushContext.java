@@ -0,0 +1,76 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pending mutations of the in-memory storage. The consistency level is only
+ * kept for the API compatibility with the other implementations, there is
+ * a single replica
+ */
+public abstract class MemoryAbstractFlushContext<T extends MemoryAbstractFlushContext<T>> extends FlushContext<T> {
+	protected List<Runnable> mutations = new ArrayList<Runnable>();
+
+	protected ConsistencyLevel consistencyLevel;
+
+	public MemoryAbstractFlushContext(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	protected MemoryAbstractFlushContext(List<Runnable> mutations, ConsistencyLevel consistencyLevel) {
+		this.mutations = mutations;
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	@Override
+	public void cleanUp() {
+		mutations.clear();
+		consistencyLevel = null;
+	}
+
+	protected void doFlush() {
+		try {
+			for (Runnable mutation : mutations) {
+				mutation.run();
+			}
+		} finally {
+			cleanUp();
+		}
+	}
+
+	public void pushMutation(Runnable mutation) {
+		mutations.add(mutation);
+	}
+
+	public List<Runnable> getMutations() {
+		return mutations;
+	}
+
+	@Override
+	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	@Override
+	public ConsistencyLevel getConsistencyLevel() {
+		return consistencyLevel;
+	}
+}
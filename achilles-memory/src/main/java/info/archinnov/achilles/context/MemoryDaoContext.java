@@ -0,0 +1,421 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.excludeCounterType;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.query.slice.ClusteringOrderComparator;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.OrderingMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+
+/**
+ * Storage of the in-memory implementation. A table is a map of partitions,
+ * each partition being a sorted concurrent map of rows keyed by their
+ * clustering components, the way CQL3 lays out a primary key. Values are
+ * stored encoded so that entities never share state with the storage.
+ * 
+ * Writes are pushed as mutations to the flush context of the persistence
+ * context and only applied when it is flushed. TTL are honoured, write
+ * timestamps are ignored
+ */
+public class MemoryDaoContext {
+	private static final Logger log = LoggerFactory.getLogger(MemoryDaoContext.class);
+
+	/**
+	 * Clustering components are compared one by one, a prefix being sorted
+	 * before all the keys it starts
+	 */
+	static final Comparator<List<Object>> CLUSTERING_COMPARATOR = new Comparator<List<Object>>() {
+		@Override
+		public int compare(List<Object> clusterings1, List<Object> clusterings2) {
+			int result = comparePrefix(clusterings1, clusterings2);
+			return result != 0 ? result : clusterings1.size() - clusterings2.size();
+		}
+	};
+
+	private ConcurrentMap<String, ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>>> tables = new ConcurrentHashMap<String, ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>>>();
+	private ConcurrentMap<List<Object>, AtomicLong> simpleCounters = new ConcurrentHashMap<List<Object>, AtomicLong>();
+
+	public void pushInsertStatement(MemoryPersistenceContext context) {
+		final EntityMeta meta = context.getEntityMeta();
+		final Object primaryKey = context.getPrimaryKey();
+		List<PropertyMeta> pms = FluentIterable.from(meta.getAllMetasExceptIdMeta()).filter(excludeCounterType)
+				.toImmutableList();
+		final Map<String, Object> values = encodeValues(pms, context.getEntity());
+		final Optional<Integer> ttl = context.getTtt();
+
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				log.trace("Insert row {} in table {}", primaryKey, meta.getTableName());
+				partition(meta, primaryKey, true).put(clusteringKey(meta, primaryKey),
+						new MemoryRow(values, MemoryRow.deadline(ttl)));
+			}
+		});
+	}
+
+	public void pushUpdateStatement(MemoryPersistenceContext context, List<PropertyMeta> pms) {
+		final EntityMeta meta = context.getEntityMeta();
+		final Object primaryKey = context.getPrimaryKey();
+		final Map<String, Object> values = encodeValues(pms, context.getEntity());
+		final Optional<Integer> ttl = context.getTtt();
+
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				log.trace("Update columns {} of row {} in table {}", values.keySet(), primaryKey, meta.getTableName());
+				row(meta, primaryKey).putAll(values, MemoryRow.deadline(ttl));
+			}
+		});
+	}
+
+	public MemoryRow loadProperty(MemoryPersistenceContext context, PropertyMeta pm) {
+		return loadRow(context);
+	}
+
+	public MemoryRow eagerLoadEntity(MemoryPersistenceContext context) {
+		return loadRow(context);
+	}
+
+	public MemoryRow loadFetchGroup(MemoryPersistenceContext context, List<PropertyMeta> pms) {
+		return loadRow(context);
+	}
+
+	public void bindForRemoval(MemoryPersistenceContext context) {
+		final EntityMeta meta = context.getEntityMeta();
+		final Object primaryKey = context.getPrimaryKey();
+
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				log.trace("Remove row {} from table {}", primaryKey, meta.getTableName());
+				ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partition(meta, primaryKey, false);
+				if (partition != null) {
+					partition.remove(clusteringKey(meta, primaryKey));
+				}
+			}
+		});
+	}
+
+	// Simple counter
+	public void bindForSimpleCounterIncrement(MemoryPersistenceContext context, PropertyMeta counterMeta,
+			final Long increment) {
+		final List<Object> counterKey = simpleCounterKey(context, counterMeta);
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				simpleCounter(counterKey).addAndGet(increment);
+			}
+		});
+	}
+
+	public void incrementSimpleCounter(MemoryPersistenceContext context, PropertyMeta counterMeta, Long increment) {
+		simpleCounter(simpleCounterKey(context, counterMeta)).addAndGet(increment);
+	}
+
+	public Long getSimpleCounter(MemoryPersistenceContext context, PropertyMeta counterMeta) {
+		AtomicLong counter = simpleCounters.get(simpleCounterKey(context, counterMeta));
+		return counter != null ? counter.get() : null;
+	}
+
+	public void bindForSimpleCounterRemoval(MemoryPersistenceContext context, PropertyMeta counterMeta) {
+		final List<Object> counterKey = simpleCounterKey(context, counterMeta);
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				simpleCounters.remove(counterKey);
+			}
+		});
+	}
+
+	// Clustered counter
+	public void pushClusteredCounterIncrementStatement(MemoryPersistenceContext context,
+			final PropertyMeta counterMeta, final Long increment) {
+		final EntityMeta meta = context.getEntityMeta();
+		final Object primaryKey = context.getPrimaryKey();
+		context.pushMutation(new Runnable() {
+			@Override
+			public void run() {
+				row(meta, primaryKey).counter(counterMeta.getPropertyName()).addAndGet(increment);
+			}
+		});
+	}
+
+	public void incrementClusteredCounter(MemoryPersistenceContext context, PropertyMeta counterMeta, Long increment) {
+		row(context.getEntityMeta(), context.getPrimaryKey()).counter(counterMeta.getPropertyName()).addAndGet(
+				increment);
+	}
+
+	public Long getClusteredCounter(MemoryPersistenceContext context, PropertyMeta counterMeta) {
+		MemoryRow row = loadRow(context);
+		if (row == null || row.isNull(counterMeta.getPropertyName())) {
+			return null;
+		}
+		return ((AtomicLong) row.get(counterMeta.getPropertyName())).get();
+	}
+
+	public void bindForClusteredCounterRemoval(MemoryPersistenceContext context) {
+		bindForRemoval(context);
+	}
+
+	// Slice & scan
+	/**
+	 * Rows of a partition between two clustering prefixes, in the order of
+	 * the slice. As with CQL3, a bound restricts all the rows starting with
+	 * its components
+	 */
+	public Iterator<Entry<List<Object>, MemoryRow>> slice(EntityMeta meta, List<Object> partitionComponents,
+			final List<Object> clusteringsFrom, final List<Object> clusteringsTo, OrderingMode ordering,
+			BoundingMode bounding) {
+		ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partitionsOf(meta).get(partitionComponents);
+		if (partition == null) {
+			return Iterators.emptyIterator();
+		}
+
+		final boolean reverse = ordering.isReverse();
+		final boolean inclusiveStart = bounding.isInclusiveStart();
+		final boolean inclusiveEnd = bounding.isInclusiveEnd();
+		NavigableMap<List<Object>, MemoryRow> rows;
+		if (reverse) {
+			rows = partition.descendingMap();
+		} else if (!clusteringsFrom.isEmpty()) {
+			rows = partition.tailMap(clusteringsFrom, true);
+		} else {
+			rows = partition;
+		}
+		final Iterator<Entry<List<Object>, MemoryRow>> iterator = rows.entrySet().iterator();
+
+		return new AbstractIterator<Entry<List<Object>, MemoryRow>>() {
+			@Override
+			protected Entry<List<Object>, MemoryRow> computeNext() {
+				while (iterator.hasNext()) {
+					Entry<List<Object>, MemoryRow> entry = iterator.next();
+					List<Object> clusterings = entry.getKey();
+					if (!entry.getValue().isLive()) {
+						continue;
+					}
+					if (!clusteringsFrom.isEmpty()) {
+						int start = comparePrefix(clusterings, clusteringsFrom) * (reverse ? -1 : 1);
+						if (start < 0 || (start == 0 && !inclusiveStart)) {
+							continue;
+						}
+					}
+					if (!clusteringsTo.isEmpty()) {
+						int end = comparePrefix(clusterings, clusteringsTo) * (reverse ? -1 : 1);
+						if (end > 0 || (end == 0 && !inclusiveEnd)) {
+							return endOfData();
+						}
+					}
+					return entry;
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	public void removeRows(EntityMeta meta, List<Object> partitionComponents, Collection<List<Object>> clusteringKeys) {
+		ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partitionsOf(meta).get(partitionComponents);
+		if (partition != null) {
+			for (List<Object> clusteringKey : clusteringKeys) {
+				partition.remove(clusteringKey);
+			}
+		}
+	}
+
+	public Set<Entry<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>>> partitions(EntityMeta meta) {
+		return partitionsOf(meta).entrySet();
+	}
+
+	/**
+	 * Rebuild the primary key of a row from its partition and clustering
+	 * components
+	 */
+	public Object primaryKey(EntityMeta meta, List<Object> partitionComponents, List<Object> clusteringComponents) {
+		PropertyMeta idMeta = meta.getIdMeta();
+		if (idMeta.isEmbeddedId()) {
+			return idMeta.decodeFromComponents(ImmutableList.builder().addAll(partitionComponents)
+					.addAll(clusteringComponents).build());
+		} else {
+			return idMeta.decode(partitionComponents.get(0));
+		}
+	}
+
+	public List<Object> partitionKey(EntityMeta meta, Object primaryKey) {
+		PropertyMeta idMeta = meta.getIdMeta();
+		if (idMeta.isEmbeddedId()) {
+			return new ArrayList<Object>(idMeta.extractPartitionComponents(idMeta.encodeToComponents(primaryKey)));
+		} else {
+			return Arrays.<Object> asList(idMeta.encode(primaryKey));
+		}
+	}
+
+	public List<Object> clusteringKey(EntityMeta meta, Object primaryKey) {
+		PropertyMeta idMeta = meta.getIdMeta();
+		if (idMeta.isEmbeddedId()) {
+			return new ArrayList<Object>(idMeta.extractClusteringComponents(idMeta.encodeToComponents(primaryKey)));
+		} else {
+			return new ArrayList<Object>();
+		}
+	}
+
+	public Object encodeValue(PropertyMeta pm, Object value) {
+		if (value != null) {
+			switch (pm.type()) {
+			case SIMPLE:
+			case LAZY_SIMPLE:
+				return pm.encode(value);
+			case LIST:
+			case LAZY_LIST:
+				return pm.encode((List<?>) value);
+			case SET:
+			case LAZY_SET:
+				return pm.encode((Set<?>) value);
+			case MAP:
+			case LAZY_MAP:
+				return pm.encode((Map<?, ?>) value);
+			default:
+				throw new AchillesException("Cannot encode value '" + value + "' for property '"
+						+ pm.getPropertyName() + "' of type '" + pm.type().name() + "'");
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Remove all the rows and counters
+	 */
+	public void truncateAll() {
+		log.debug("Truncate all tables");
+		tables.clear();
+		simpleCounters.clear();
+	}
+
+	private Map<String, Object> encodeValues(List<PropertyMeta> pms, Object entity) {
+		Map<String, Object> values = new HashMap<String, Object>();
+		for (PropertyMeta pm : pms) {
+			values.put(pm.getPropertyName(), encodeValue(pm, pm.getValueFromField(entity)));
+		}
+		return values;
+	}
+
+	private MemoryRow loadRow(MemoryPersistenceContext context) {
+		EntityMeta meta = context.getEntityMeta();
+		Object primaryKey = context.getPrimaryKey();
+		ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partition(meta, primaryKey, false);
+		MemoryRow row = partition != null ? partition.get(clusteringKey(meta, primaryKey)) : null;
+		return row != null && row.isLive() ? row.copy() : null;
+	}
+
+	private MemoryRow row(EntityMeta meta, Object primaryKey) {
+		ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partition(meta, primaryKey, true);
+		List<Object> clusteringKey = clusteringKey(meta, primaryKey);
+		MemoryRow row = partition.get(clusteringKey);
+		if (row == null) {
+			MemoryRow newRow = new MemoryRow();
+			row = partition.putIfAbsent(clusteringKey, newRow);
+			if (row == null) {
+				row = newRow;
+			}
+		}
+		return row;
+	}
+
+	private ConcurrentSkipListMap<List<Object>, MemoryRow> partition(EntityMeta meta, Object primaryKey,
+			boolean create) {
+		ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>> partitions = partitionsOf(meta);
+		List<Object> partitionKey = partitionKey(meta, primaryKey);
+		ConcurrentSkipListMap<List<Object>, MemoryRow> partition = partitions.get(partitionKey);
+		if (partition == null && create) {
+			ConcurrentSkipListMap<List<Object>, MemoryRow> newPartition = new ConcurrentSkipListMap<List<Object>, MemoryRow>(
+					CLUSTERING_COMPARATOR);
+			partition = partitions.putIfAbsent(partitionKey, newPartition);
+			if (partition == null) {
+				partition = newPartition;
+			}
+		}
+		return partition;
+	}
+
+	private ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>> partitionsOf(EntityMeta meta) {
+		String tableName = meta.getTableName();
+		ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>> partitions = tables.get(tableName);
+		if (partitions == null) {
+			ConcurrentMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>> newPartitions = new ConcurrentHashMap<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>>();
+			partitions = tables.putIfAbsent(tableName, newPartitions);
+			if (partitions == null) {
+				partitions = newPartitions;
+			}
+		}
+		return partitions;
+	}
+
+	private List<Object> simpleCounterKey(MemoryPersistenceContext context, PropertyMeta counterMeta) {
+		EntityMeta meta = context.getEntityMeta();
+		String primaryKeyAsString = meta.getIdMeta().forceEncodeToJSON(context.getPrimaryKey());
+		return Arrays.<Object> asList(meta.getClassName(), primaryKeyAsString, counterMeta.getPropertyName());
+	}
+
+	private AtomicLong simpleCounter(List<Object> counterKey) {
+		AtomicLong counter = simpleCounters.get(counterKey);
+		if (counter == null) {
+			AtomicLong newCounter = new AtomicLong();
+			counter = simpleCounters.putIfAbsent(counterKey, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		return counter;
+	}
+
+	static int comparePrefix(List<Object> clusterings, List<Object> prefix) {
+		int size = Math.min(clusterings.size(), prefix.size());
+		for (int i = 0; i < size; i++) {
+			int result = ClusteringOrderComparator.compareComponents(clusterings.get(i), prefix.get(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+}
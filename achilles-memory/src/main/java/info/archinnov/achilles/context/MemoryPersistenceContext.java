@@ -0,0 +1,194 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.operations.EntityRefresher;
+import info.archinnov.achilles.entity.operations.MemoryEntityLoader;
+import info.archinnov.achilles.entity.operations.MemoryEntityMerger;
+import info.archinnov.achilles.entity.operations.MemoryEntityPersister;
+import info.archinnov.achilles.entity.operations.MemoryEntityProxifier;
+import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.proxy.EntityInterceptor;
+import info.archinnov.achilles.type.Options;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MemoryPersistenceContext extends PersistenceContext {
+	private MemoryDaoContext daoContext;
+	private MemoryAbstractFlushContext<?> flushContext;
+	private MemoryEntityLoader loader = new MemoryEntityLoader();
+	private MemoryEntityPersister persister = new MemoryEntityPersister();
+	private MemoryEntityMerger merger = new MemoryEntityMerger();
+	private MemoryEntityProxifier proxifier = new MemoryEntityProxifier();
+	private EntityRefresher<MemoryPersistenceContext> refresher;
+
+	public MemoryPersistenceContext(EntityMeta entityMeta, ConfigurationContext configContext,
+			MemoryDaoContext daoContext, MemoryAbstractFlushContext<?> flushContext, Class<?> entityClass,
+			Object primaryKey, Options options) {
+		super(entityMeta, configContext, entityClass, primaryKey, flushContext, options);
+		initCollaborators(daoContext, flushContext);
+	}
+
+	public MemoryPersistenceContext(EntityMeta entityMeta, ConfigurationContext configContext,
+			MemoryDaoContext daoContext, MemoryAbstractFlushContext<?> flushContext, Object entity, Options options) {
+		super(entityMeta, configContext, entity, flushContext, options);
+		initCollaborators(daoContext, flushContext);
+	}
+
+	private void initCollaborators(MemoryDaoContext daoContext, MemoryAbstractFlushContext<?> flushContext) {
+		this.refresher = new EntityRefresher<MemoryPersistenceContext>(loader, proxifier);
+		this.daoContext = daoContext;
+		this.flushContext = flushContext;
+	}
+
+	@Override
+	public MemoryPersistenceContext duplicate(Object entity) {
+		return new MemoryPersistenceContext(entityMeta, configContext, daoContext, flushContext.duplicate(), entity,
+				options.duplicateWithoutTtlAndTimestamp());
+	}
+
+	public MemoryRow eagerLoadEntity() {
+		return daoContext.eagerLoadEntity(this);
+	}
+
+	public MemoryRow loadFetchGroup(List<PropertyMeta> pms) {
+		return daoContext.loadFetchGroup(this, pms);
+	}
+
+	public MemoryRow loadProperty(PropertyMeta pm) {
+		return daoContext.loadProperty(this, pm);
+	}
+
+	public void pushInsertStatement() {
+		daoContext.pushInsertStatement(this);
+	}
+
+	public void pushUpdateStatement(List<PropertyMeta> pms) {
+		daoContext.pushUpdateStatement(this, pms);
+	}
+
+	public void bindForRemoval() {
+		daoContext.bindForRemoval(this);
+	}
+
+	// Simple counter
+	public void bindForSimpleCounterIncrement(PropertyMeta counterMeta, Long increment) {
+		daoContext.bindForSimpleCounterIncrement(this, counterMeta, increment);
+	}
+
+	public void incrementSimpleCounter(PropertyMeta counterMeta, Long increment) {
+		daoContext.incrementSimpleCounter(this, counterMeta, increment);
+	}
+
+	public void decrementSimpleCounter(PropertyMeta counterMeta, Long decrement) {
+		daoContext.incrementSimpleCounter(this, counterMeta, -decrement);
+	}
+
+	public Long getSimpleCounter(PropertyMeta counterMeta) {
+		return daoContext.getSimpleCounter(this, counterMeta);
+	}
+
+	public void bindForSimpleCounterRemoval(PropertyMeta counterMeta) {
+		daoContext.bindForSimpleCounterRemoval(this, counterMeta);
+	}
+
+	// Clustered counter
+	public void pushClusteredCounterIncrementStatement(PropertyMeta counterMeta, Long increment) {
+		daoContext.pushClusteredCounterIncrementStatement(this, counterMeta, increment);
+	}
+
+	public void incrementClusteredCounter(PropertyMeta counterMeta, Long increment) {
+		daoContext.incrementClusteredCounter(this, counterMeta, increment);
+	}
+
+	public void decrementClusteredCounter(PropertyMeta counterMeta, Long decrement) {
+		daoContext.incrementClusteredCounter(this, counterMeta, -decrement);
+	}
+
+	public Long getClusteredCounter(PropertyMeta counterMeta) {
+		return daoContext.getClusteredCounter(this, counterMeta);
+	}
+
+	public void bindForClusteredCounterRemoval() {
+		daoContext.bindForClusteredCounterRemoval(this);
+	}
+
+	public void pushMutation(Runnable mutation) {
+		flushContext.pushMutation(mutation);
+	}
+
+	public MemoryDaoContext getDaoContext() {
+		return daoContext;
+	}
+
+	@Override
+	public void persist() {
+		persister.persist(this);
+		flush();
+	}
+
+	@Override
+	public <T> T merge(T entity) {
+		T merged = merger.merge(this, entity);
+		flush();
+		return merged;
+	}
+
+	@Override
+	public void remove() {
+		persister.remove(this);
+		flush();
+	}
+
+	@Override
+	public <T> T find(Class<T> entityClass) {
+		T entity = loader.<T> load(this, entityClass);
+
+		if (entity != null) {
+			if (getFetchGroup().isPresent()) {
+				Set<Method> alreadyLoaded = new HashSet<Method>(entityMeta.getFetchGroupGetters(getFetchGroup().get()));
+				entity = proxifier.buildProxy(entity, this, alreadyLoaded);
+			} else {
+				entity = proxifier.buildProxy(entity, this);
+			}
+		}
+		return entity;
+	}
+
+	@Override
+	public <T> T getReference(Class<T> entityClass) {
+		setLoadEagerFields(false);
+		return find(entityClass);
+	}
+
+	@Override
+	public void refresh() throws AchillesStaleObjectStateException {
+		refresher.refresh(this);
+	}
+
+	@Override
+	public <T> T initialize(T entity) {
+		final EntityInterceptor<MemoryPersistenceContext, T> interceptor = proxifier.getInterceptor(entity);
+		initializer.initializeEntity(entity, entityMeta, interceptor);
+		return entity;
+	}
+}
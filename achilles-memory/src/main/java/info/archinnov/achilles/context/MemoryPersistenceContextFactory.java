@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.entity.operations.MemoryEntityProxifier;
+import info.archinnov.achilles.proxy.ReflectionInvoker;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.List;
+import java.util.Map;
+
+public class MemoryPersistenceContextFactory implements PersistenceContextFactory {
+
+	private MemoryDaoContext daoContext;
+	private ConfigurationContext configContext;
+	private Map<Class<?>, EntityMeta> entityMetaMap;
+	private MemoryEntityProxifier proxifier = new MemoryEntityProxifier();
+	private ReflectionInvoker invoker = new ReflectionInvoker();
+
+	public MemoryPersistenceContextFactory(MemoryDaoContext daoContext, ConfigurationContext configContext,
+			Map<Class<?>, EntityMeta> entityMetaMap) {
+		this.daoContext = daoContext;
+		this.configContext = configContext;
+		this.entityMetaMap = entityMetaMap;
+	}
+
+	@Override
+	public MemoryPersistenceContext newContext(Object entity, Options options) {
+		Validator.validateNotNull(entity, "entity should not be null for persistence context creation");
+		Class<?> entityClass = proxifier.deriveBaseClass(entity);
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		MemoryImmediateFlushContext flushContext = buildImmediateFlushContext(options);
+
+		return new MemoryPersistenceContext(meta, configContext, daoContext, flushContext, entity, options);
+	}
+
+	@Override
+	public MemoryPersistenceContext newContext(Object entity) {
+		return newContext(entity, OptionsBuilder.noOptions());
+	}
+
+	@Override
+	public MemoryPersistenceContext newContext(Class<?> entityClass, Object primaryKey, Options options) {
+		Validator.validateNotNull(entityClass, "entityClass should not be null for persistence context creation");
+		Validator.validateNotNull(primaryKey, "primaryKey should not be null for persistence context creation");
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		MemoryImmediateFlushContext flushContext = buildImmediateFlushContext(options);
+
+		return new MemoryPersistenceContext(meta, configContext, daoContext, flushContext, entityClass, primaryKey,
+				options);
+	}
+
+	@Override
+	public MemoryPersistenceContext newContextForSliceQuery(Class<?> entityClass, List<Object> partitionComponents,
+			ConsistencyLevel cl) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		PropertyMeta idMeta = meta.getIdMeta();
+		Object embeddedId = invoker.instanciateEmbeddedIdWithPartitionComponents(idMeta, partitionComponents);
+
+		MemoryImmediateFlushContext flushContext = buildImmediateFlushContext(OptionsBuilder.withConsistency(cl));
+
+		return new MemoryPersistenceContext(meta, configContext, daoContext, flushContext, entityClass, embeddedId,
+				OptionsBuilder.withConsistency(cl));
+	}
+
+	private MemoryImmediateFlushContext buildImmediateFlushContext(Options options) {
+		return new MemoryImmediateFlushContext(options.getConsistencyLevel().orNull());
+	}
+}
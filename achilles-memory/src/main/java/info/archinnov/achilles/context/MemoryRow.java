@@ -0,0 +1,147 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Optional;
+
+/**
+ * Columns of a row of the in-memory storage, keyed by property name. A null
+ * value removes the column, the way a null bound value does in CQL3.
+ * 
+ * Columns written with a TTL expire at their deadline. As with CQL3, an
+ * inserted row lives as long as its primary key, even without any column,
+ * while a row only created by updates lives as long as one of its columns
+ */
+public class MemoryRow {
+	static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+	private ConcurrentMap<String, Object> columns = new ConcurrentHashMap<String, Object>();
+	private ConcurrentMap<String, Long> deadlines = new ConcurrentHashMap<String, Long>();
+	private volatile Long primaryKeyDeadline;
+
+	public MemoryRow() {
+	}
+
+	/**
+	 * Row inserted with all its columns
+	 */
+	public MemoryRow(Map<String, Object> values, long deadline) {
+		this.primaryKeyDeadline = deadline;
+		putAll(values, deadline);
+	}
+
+	/**
+	 * Deadline in milliseconds of a write with the given TTL in seconds
+	 */
+	public static long deadline(Optional<Integer> ttl) {
+		return ttl.isPresent() ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl.get()) : NO_EXPIRATION;
+	}
+
+	public Object get(String propertyName) {
+		return isExpired(propertyName) ? null : columns.get(propertyName);
+	}
+
+	public boolean isNull(String propertyName) {
+		return !columns.containsKey(propertyName) || isExpired(propertyName);
+	}
+
+	public void put(String propertyName, Object value) {
+		put(propertyName, value, NO_EXPIRATION);
+	}
+
+	public void put(String propertyName, Object value, long deadline) {
+		if (value == null) {
+			columns.remove(propertyName);
+			deadlines.remove(propertyName);
+		} else {
+			columns.put(propertyName, value);
+			if (deadline == NO_EXPIRATION) {
+				deadlines.remove(propertyName);
+			} else {
+				deadlines.put(propertyName, deadline);
+			}
+		}
+	}
+
+	public void putAll(Map<String, Object> values) {
+		putAll(values, NO_EXPIRATION);
+	}
+
+	public void putAll(Map<String, Object> values, long deadline) {
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			put(entry.getKey(), entry.getValue(), deadline);
+		}
+	}
+
+	public AtomicLong counter(String propertyName) {
+		AtomicLong counter = (AtomicLong) columns.get(propertyName);
+		if (counter == null) {
+			AtomicLong newCounter = new AtomicLong();
+			counter = (AtomicLong) columns.putIfAbsent(propertyName, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Whether the row is still visible, i.e. its primary key or one of its
+	 * columns has not expired
+	 */
+	public boolean isLive() {
+		long now = System.currentTimeMillis();
+		Long keyDeadline = primaryKeyDeadline;
+		if (keyDeadline != null && keyDeadline > now) {
+			return true;
+		}
+		for (String propertyName : columns.keySet()) {
+			Long deadline = deadlines.get(propertyName);
+			if (deadline == null || deadline > now) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Snapshot of the live columns of the row
+	 */
+	public MemoryRow copy() {
+		MemoryRow copy = new MemoryRow();
+		copy.primaryKeyDeadline = primaryKeyDeadline;
+		long now = System.currentTimeMillis();
+		for (Map.Entry<String, Object> entry : columns.entrySet()) {
+			Long deadline = deadlines.get(entry.getKey());
+			if (deadline == null || deadline > now) {
+				copy.put(entry.getKey(), entry.getValue(), deadline != null ? deadline : NO_EXPIRATION);
+			}
+		}
+		return copy;
+	}
+
+	private boolean isExpired(String propertyName) {
+		Long deadline = deadlines.get(propertyName);
+		return deadline != null && deadline <= System.currentTimeMillis();
+	}
+}
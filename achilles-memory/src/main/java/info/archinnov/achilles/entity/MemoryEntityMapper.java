@@ -0,0 +1,71 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity;
+
+import info.archinnov.achilles.context.MemoryRow;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.helper.EntityMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MemoryEntityMapper extends EntityMapper {
+
+	public void setEagerPropertiesToEntity(MemoryRow row, EntityMeta entityMeta, Object entity) {
+		for (PropertyMeta pm : entityMeta.getEagerMetas()) {
+			setPropertyToEntity(row, pm, entity);
+		}
+	}
+
+	public void setPropertiesToEntity(MemoryRow row, List<PropertyMeta> pms, Object entity) {
+		for (PropertyMeta pm : pms) {
+			setPropertyToEntity(row, pm, entity);
+		}
+	}
+
+	public void setPropertyToEntity(MemoryRow row, PropertyMeta pm, Object entity) {
+		if (row != null && !pm.type().isId() && !pm.isCounter()) {
+			String propertyName = pm.getPropertyName();
+			if (!row.isNull(propertyName)) {
+				pm.setValueToField(entity, decodeValue(pm, row.get(propertyName)));
+			}
+		}
+	}
+
+	private Object decodeValue(PropertyMeta pm, Object value) {
+		switch (pm.type()) {
+		case SIMPLE:
+		case LAZY_SIMPLE:
+			return pm.decode(value);
+		case LIST:
+		case LAZY_LIST:
+			return pm.decode((List<?>) value);
+		case SET:
+		case LAZY_SET:
+			return pm.decode((Set<?>) value);
+		case MAP:
+		case LAZY_MAP:
+			return pm.decode((Map<?, ?>) value);
+		default:
+			throw new AchillesException("Cannot decode value '" + value + "' for property '" + pm.getPropertyName()
+					+ "' of type '" + pm.type().name() + "'");
+		}
+	}
+}
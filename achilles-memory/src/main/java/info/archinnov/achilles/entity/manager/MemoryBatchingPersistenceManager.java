@@ -0,0 +1,159 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.MemoryBatchingFlushContext;
+import info.archinnov.achilles.context.MemoryDaoContext;
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.context.MemoryPersistenceContextFactory;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Options;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MemoryBatchingPersistenceManager extends MemoryPersistenceManager {
+
+	private static final Logger log = LoggerFactory.getLogger(MemoryBatchingPersistenceManager.class);
+
+	private BatchingSupport<MemoryBatchingFlushContext> batching;
+
+	MemoryBatchingPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap,
+			MemoryPersistenceContextFactory contextFactory, MemoryDaoContext daoContext, ConfigurationContext configContext) {
+		super(entityMetaMap, contextFactory, daoContext, configContext);
+		this.batching = new BatchingSupport<MemoryBatchingFlushContext>(this, new MemoryBatchingFlushContext(null));
+	}
+
+	/**
+	 * Start a batch session.
+	 */
+	public void startBatch() {
+		batching.startBatch();
+	}
+
+	/**
+	 * Start a batch session with read/write consistency levels
+	 */
+	public void startBatch(ConsistencyLevel consistencyLevel) {
+		batching.startBatch(consistencyLevel);
+	}
+
+	/**
+	 * End an existing batch and flush all the pending statements.
+	 * 
+	 * The identity map, if any, is cleared.
+	 * 
+	 * Do nothing if there is no pending statement
+	 * 
+	 */
+	public void endBatch() {
+		batching.endBatch();
+	}
+
+	/**
+	 * Cleaning all pending statements for the current batch session.
+	 */
+	public void cleanBatch() {
+		batching.cleanBatch();
+	}
+
+	@Override
+	public void persist(final Object entity, Options options) {
+		batching.validateNoConsistencyLevel(options);
+		super.persist(entity, options);
+	}
+
+	@Override
+	public <T> T merge(final T entity, Options options) {
+		batching.validateNoConsistencyLevel(options);
+		return super.merge(entity, options);
+	}
+
+	@Override
+	public void remove(final Object entity, ConsistencyLevel writeLevel) {
+		batching.validateNoConsistencyLevel(writeLevel);
+		super.remove(entity, null);
+	}
+
+	/**
+	 * In batch mode the statements are queued in the current batch, they are
+	 * only sent at endBatch()
+	 */
+	@Override
+	public void persist(Collection<?> entities) {
+		batching.persist(entities);
+	}
+
+	@Override
+	public void remove(Collection<?> entities) {
+		batching.remove(entities);
+	}
+
+	@Override
+	public void removeById(Class<?> entityClass, Collection<?> primaryKeys) {
+		batching.removeById(entityClass, primaryKeys);
+	}
+
+	@Override
+	public <T> T find(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.find(entityClass, primaryKey, (ConsistencyLevel) null);
+	}
+
+	@Override
+	public <T> T find(final Class<T> entityClass, final Object primaryKey, Options options) {
+		batching.validateNoConsistencyLevel(options);
+		return super.find(entityClass, primaryKey, options);
+	}
+
+	@Override
+	public <T> T getReference(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.getReference(entityClass, primaryKey, null);
+	}
+
+	@Override
+	public void refresh(final Object entity, ConsistencyLevel readLevel) throws AchillesStaleObjectStateException {
+		batching.validateNoConsistencyLevel(readLevel);
+		super.refresh(entity, null);
+	}
+
+	@Override
+	protected MemoryPersistenceContext initPersistenceContext(Class<?> entityClass, Object primaryKey, Options options) {
+		log.trace("Initializing new persistence context for entity class {} and primary key {}",
+				entityClass.getCanonicalName(), primaryKey);
+
+		EntityMeta entityMeta = entityMetaMap.get(entityClass);
+		return new MemoryPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entityClass, primaryKey, options);
+	}
+
+	@Override
+	protected MemoryPersistenceContext initPersistenceContext(Object entity, Options options) {
+		log.trace("Initializing new persistence context for entity {}", entity);
+
+		EntityMeta entityMeta = this.entityMetaMap.get(proxifier.deriveBaseClass(entity));
+		return new MemoryPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entity, options);
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import info.archinnov.achilles.compound.MemoryCompoundKeyValidator;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.context.MemoryBatchingFlushContext;
+import info.archinnov.achilles.context.MemoryDaoContext;
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.context.MemoryPersistenceContextFactory;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.operations.EntityValidator;
+import info.archinnov.achilles.entity.operations.MemoryEntityProxifier;
+import info.archinnov.achilles.entity.operations.MemoryScanQueryExecutor;
+import info.archinnov.achilles.entity.operations.MemorySliceQueryExecutor;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
+import info.archinnov.achilles.query.slice.SliceQueryBuilder;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.Map;
+
+public class MemoryPersistenceManager extends PersistenceManager<MemoryPersistenceContext> {
+	private MemoryCompoundKeyValidator compoundKeyValidator = new MemoryCompoundKeyValidator();
+	private MemorySliceQueryExecutor sliceQueryExecutor;
+	private MemoryScanQueryExecutor scanQueryExecutor;
+	private MemoryPersistenceContextFactory contextFactory;
+	protected MemoryDaoContext daoContext;
+
+	protected MemoryPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, //
+			MemoryPersistenceContextFactory contextFactory, MemoryDaoContext daoContext,
+			ConfigurationContext configContext) {
+		super(entityMetaMap, configContext);
+		this.daoContext = daoContext;
+		super.proxifier = new MemoryEntityProxifier();
+		super.entityValidator = new EntityValidator<MemoryPersistenceContext>(proxifier);
+		this.contextFactory = contextFactory;
+		this.sliceQueryExecutor = new MemorySliceQueryExecutor(contextFactory, configContext, daoContext);
+		this.scanQueryExecutor = new MemoryScanQueryExecutor(daoContext);
+	}
+
+	@Override
+	public <T> SliceQueryBuilder<MemoryPersistenceContext, T> sliceQuery(Class<T> entityClass) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateTrue(meta.isClusteredEntity(),
+				"Cannot perform slice query on entity type '%s' because it is " + "not a clustered entity",
+				meta.getClassName());
+		return new SliceQueryBuilder<MemoryPersistenceContext, T>(sliceQueryExecutor, compoundKeyValidator,
+				entityClass, meta);
+	}
+
+	@Override
+	public <T> ScanQueryBuilder<T> scan(Class<T> entityClass) {
+		Validator.validateNotNull(entityClass, "The entityClass for scan should not be null");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"Cannot scan entity type '%s' because it is not managed by Achilles", entityClass.getCanonicalName());
+		return new ScanQueryBuilder<T>(scanQueryExecutor, entityClass, entityMetaMap.get(entityClass));
+	}
+
+	@Override
+	protected MemoryPersistenceContext initPersistenceContext(Object entity, Options options) {
+		return contextFactory.newContext(entity, options);
+	}
+
+	@Override
+	protected MemoryPersistenceContext initPersistenceContext(Class<?> entityClass, Object primaryKey,
+			Options options) {
+		return contextFactory.newContext(entityClass, primaryKey, options);
+	}
+
+	/**
+	 * Bulk mutations are all applied at the end of the bulk, there is no
+	 * request in flight to bound
+	 */
+	@Override
+	protected MemoryBatchingFlushContext initBulkFlushContext() {
+		return new MemoryBatchingFlushContext(null);
+	}
+
+	@Override
+	protected MemoryPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext, Object entity) {
+		Validator.validateNotNull(entity, "entity should not be null for persistence context creation");
+		EntityMeta meta = entityMetaMap.get(proxifier.deriveBaseClass(entity));
+		return new MemoryPersistenceContext(meta, configContext, daoContext,
+				(MemoryBatchingFlushContext) bulkFlushContext, entity, OptionsBuilder.noOptions());
+	}
+
+	@Override
+	protected MemoryPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext,
+			Class<?> entityClass, Object primaryKey) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		return new MemoryPersistenceContext(meta, configContext, daoContext,
+				(MemoryBatchingFlushContext) bulkFlushContext, entityClass, primaryKey, OptionsBuilder.noOptions());
+	}
+
+	/**
+	 * Remove all the entities and counters stored in memory, for all the
+	 * PersistenceManagers of the factory
+	 */
+	public void truncateAll() {
+		daoContext.truncateAll();
+	}
+}
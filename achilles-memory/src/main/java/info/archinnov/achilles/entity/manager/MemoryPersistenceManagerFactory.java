@@ -0,0 +1,142 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.manager;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
+import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.configuration.MemoryArgumentExtractor;
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.consistency.MemoryConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.context.EntityIdentityMap;
+import info.archinnov.achilles.context.MemoryDaoContext;
+import info.archinnov.achilles.context.MemoryPersistenceContextFactory;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PersistenceManagerFactory storing all the entities in the JVM heap. No
+ * Cassandra cluster is required, which makes it suitable for unit tests and
+ * local development.
+ * 
+ * TTL are honoured. Consistency levels and timestamp options are accepted but
+ * ignored
+ */
+public class MemoryPersistenceManagerFactory extends PersistenceManagerFactory {
+	private static final Logger log = LoggerFactory.getLogger(MemoryPersistenceManagerFactory.class);
+	private MemoryDaoContext daoContext;
+	private MemoryPersistenceContextFactory contextFactory;
+
+	/**
+	 * Create a new MemoryPersistenceManagerFactory with a configuration map
+	 * 
+	 * @param configurationMap
+	 *            Check documentation for more details on configuration
+	 *            parameters
+	 */
+	public MemoryPersistenceManagerFactory(Map<String, Object> configurationMap) {
+		super(configurationMap, new MemoryArgumentExtractor());
+		configContext.setImpl(Impl.MEMORY);
+
+		if (StringUtils.isNotBlank((String) configurationMap.get(ENTITY_PACKAGES_PARAM))) {
+			bootstrap();
+		}
+
+		daoContext = new MemoryDaoContext();
+		contextFactory = new MemoryPersistenceContextFactory(daoContext, configContext, entityMetaMap);
+	}
+
+	/**
+	 * Create a new MemoryPersistenceManager. This instance of
+	 * MemoryPersistenceManager is <strong>thread-safe</strong>
+	 * 
+	 * @return MemoryPersistenceManager
+	 */
+	public MemoryPersistenceManager createPersistenceManager() {
+		return new MemoryPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
+	}
+
+	/**
+	 * Create a new state-full PersistenceManager for batch handling <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. In case of exception, you MUST not re-use it but create
+	 * another one</strong>
+	 * 
+	 * @return a new state-full PersistenceManager
+	 */
+	public MemoryBatchingPersistenceManager createBatchingPersistenceManager() {
+		return new MemoryBatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
+	}
+
+	/**
+	 * Create a new state-full MemoryPersistenceManager with an identity map.
+	 * Repeated calls to find() with the same primary key return the same
+	 * 'managed' entity until closeSession() is called <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. It should be bound to a single unit of work</strong>
+	 * 
+	 * @return a new state-full MemoryPersistenceManager
+	 */
+	public MemoryPersistenceManager createSessionPersistenceManager() {
+		MemoryPersistenceManager manager = createPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
+	/**
+	 * Create a new state-full PersistenceManager for batch handling, with an
+	 * identity map. The identity map is cleared at endBatch() and
+	 * cleanBatch() <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. In case of exception, you MUST not re-use it but create
+	 * another one</strong>
+	 * 
+	 * @return a new state-full PersistenceManager
+	 */
+	public MemoryBatchingPersistenceManager createBatchingSessionPersistenceManager() {
+		MemoryBatchingPersistenceManager manager = createBatchingPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
+	@Override
+	protected AchillesConsistencyLevelPolicy initConsistencyLevelPolicy(Map<String, Object> configurationMap,
+			ArgumentExtractor argumentExtractor) {
+		log.info("Initializing new Achilles Memory Consistency Level Policy from arguments ");
+
+		ConsistencyLevel defaultReadConsistencyLevel = argumentExtractor
+				.initDefaultReadConsistencyLevel(configurationMap);
+		ConsistencyLevel defaultWriteConsistencyLevel = argumentExtractor
+				.initDefaultWriteConsistencyLevel(configurationMap);
+		Map<String, ConsistencyLevel> readConsistencyMap = argumentExtractor.initReadConsistencyMap(configurationMap);
+		Map<String, ConsistencyLevel> writeConsistencyMap = argumentExtractor.initWriteConsistencyMap(configurationMap);
+
+		return new MemoryConsistencyLevelPolicy(defaultReadConsistencyLevel, defaultWriteConsistencyLevel,
+				readConsistencyMap, writeConsistencyMap);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.context.MemoryRow;
+import info.archinnov.achilles.entity.MemoryEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.validation.Validator;
+
+import java.util.List;
+
+public class MemoryEntityLoader implements EntityLoader<MemoryPersistenceContext> {
+	private MemoryEntityMapper mapper = new MemoryEntityMapper();
+
+	@Override
+	public <T> T load(MemoryPersistenceContext context, Class<T> entityClass) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		Object primaryKey = context.getPrimaryKey();
+
+		Validator.validateNotNull(entityClass, "Entity class should not be null");
+		Validator.validateNotNull(primaryKey, "Entity '%s' key should not be null", entityClass.getCanonicalName());
+		Validator
+				.validateNotNull(entityMeta, "Entity meta for '%s' should not be null", entityClass.getCanonicalName());
+
+		T entity = null;
+
+		if (context.isLoadEagerFields()) {
+			entity = eagerLoadEntity(context, entityMeta);
+		} else {
+			entity = entityMeta.<T> instanciate();
+		}
+		if (entity != null) {
+			entityMeta.getIdMeta().setValueToField(entity, primaryKey);
+		}
+
+		return entity;
+	}
+
+	@Override
+	public <V> void loadPropertyIntoObject(MemoryPersistenceContext context, Object realObject, PropertyMeta pm) {
+		if (!pm.type().isCounter()) {
+			MemoryRow row = context.loadProperty(pm);
+			mapper.setPropertyToEntity(row, pm, realObject);
+		}
+	}
+
+	private <T> T eagerLoadEntity(MemoryPersistenceContext context, EntityMeta entityMeta) {
+		T entity = null;
+
+		if (entityMeta.isClusteredCounter()) {
+			Long counterValue = context.getClusteredCounter(entityMeta.getFirstMeta());
+			if (counterValue != null) {
+				entity = entityMeta.<T> instanciate();
+			}
+		} else if (context.getFetchGroup().isPresent()) {
+			List<PropertyMeta> groupMetas = entityMeta.getFetchGroupMetas(context.getFetchGroup().get());
+			MemoryRow row = context.loadFetchGroup(groupMetas);
+			if (row != null) {
+				entity = entityMeta.<T> instanciate();
+				mapper.setPropertiesToEntity(row, groupMetas, entity);
+			}
+		} else {
+			MemoryRow row = context.eagerLoadEntity();
+			if (row != null) {
+				entity = entityMeta.<T> instanciate();
+				mapper.setEagerPropertiesToEntity(row, entityMeta, entity);
+			}
+		}
+		return entity;
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.counterType;
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.type.CounterBuilder.CounterImpl;
+import info.archinnov.achilles.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.FluentIterable;
+
+public class MemoryEntityPersister implements EntityPersister<MemoryPersistenceContext> {
+	private static final Logger log = LoggerFactory.getLogger(MemoryEntityPersister.class);
+
+	@Override
+	public void persist(MemoryPersistenceContext context) {
+		EntityMeta entityMeta = context.getEntityMeta();
+
+		Object entity = context.getEntity();
+		log.debug("Persisting transient entity {}", entity);
+
+		if (entityMeta.isClusteredCounter()) {
+			PropertyMeta counterMeta = context.getFirstMeta();
+			CounterImpl counter = counterValue(entity, counterMeta);
+			if (counter == null) {
+				throw new IllegalStateException("Cannot insert clustered counter entity '" + entity
+						+ "' with null clustered counter value");
+			}
+			context.pushClusteredCounterIncrementStatement(counterMeta, counter.get());
+		} else {
+			context.pushInsertStatement();
+			for (PropertyMeta counterMeta : counterMetas(entityMeta)) {
+				CounterImpl counter = counterValue(entity, counterMeta);
+				if (counter != null) {
+					context.bindForSimpleCounterIncrement(counterMeta, counter.get());
+				}
+			}
+		}
+	}
+
+	@Override
+	public void remove(MemoryPersistenceContext context) {
+		EntityMeta entityMeta = context.getEntityMeta();
+		if (entityMeta.isClusteredCounter()) {
+			context.bindForClusteredCounterRemoval();
+		} else {
+			context.bindForRemoval();
+			for (PropertyMeta counterMeta : counterMetas(entityMeta)) {
+				context.bindForSimpleCounterRemoval(counterMeta);
+			}
+		}
+	}
+
+	private Iterable<PropertyMeta> counterMetas(EntityMeta entityMeta) {
+		return FluentIterable.from(entityMeta.getAllMetasExceptIdMeta()).filter(counterType);
+	}
+
+	private CounterImpl counterValue(Object entity, PropertyMeta counterMeta) {
+		Object counter = counterMeta.getValueFromField(entity);
+		if (counter != null) {
+			Validator.validateTrue(CounterImpl.class.isAssignableFrom(counter.getClass()),
+					"Counter property '%s' value from entity class '%s'  should be of type '%s'",
+					counterMeta.getPropertyName(), counterMeta.getEntityClassName(),
+					CounterImpl.class.getCanonicalName());
+		}
+		return (CounterImpl) counter;
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import info.archinnov.achilles.context.MemoryDaoContext;
+import info.archinnov.achilles.context.MemoryRow;
+import info.archinnov.achilles.entity.MemoryEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.query.scan.RingPartitioner;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The in-memory storage has a single node owning the whole Murmur3 ring.
+ * Partitions are assigned a token by hashing their partition components so
+ * that the ranges scanned in parallel do not overlap
+ */
+public class MemoryScanQueryExecutor extends ScanQueryExecutor<Void> {
+	private static final String MURMUR3_PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+	private static final HashFunction hashFunction = Hashing.murmur3_128();
+
+	private MemoryEntityMapper mapper = new MemoryEntityMapper();
+	private MemoryDaoContext daoContext;
+
+	public MemoryScanQueryExecutor(MemoryDaoContext daoContext) {
+		this.daoContext = daoContext;
+	}
+
+	@Override
+	protected String describePartitioner(EntityMeta meta) {
+		return MURMUR3_PARTITIONER;
+	}
+
+	@Override
+	protected Collection<String> describeRing(EntityMeta meta) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	protected <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, Void scanState,
+			TokenRange range, ScanConsumer<? super T> consumer) {
+		EntityMeta meta = query.getMeta();
+		for (Entry<List<Object>, ConcurrentSkipListMap<List<Object>, MemoryRow>> partition : daoContext
+				.partitions(meta)) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			BigInteger token = token(partition.getKey());
+			if (token.compareTo(range.getStart()) > 0 && token.compareTo(range.getEnd()) <= 0) {
+				for (Entry<List<Object>, MemoryRow> row : partition.getValue().entrySet()) {
+					if (!row.getValue().isLive()) {
+						continue;
+					}
+					T entity = meta.<T> instanciate();
+					meta.getIdMeta().setValueToField(entity,
+							daoContext.primaryKey(meta, partition.getKey(), row.getKey()));
+					mapper.setEagerPropertiesToEntity(row.getValue(), meta, entity);
+					consumer.accept(entity);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Murmur3 tokens are in ]Long.MIN_VALUE, Long.MAX_VALUE]
+	 */
+	static BigInteger token(List<Object> partitionComponents) {
+		long token = hashFunction.hashInt(partitionComponents.hashCode()).asLong();
+		return BigInteger.valueOf(token == Long.MIN_VALUE ? Long.MAX_VALUE : token);
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.MemoryDaoContext;
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.context.MemoryPersistenceContextFactory;
+import info.archinnov.achilles.context.MemoryRow;
+import info.archinnov.achilles.entity.MemoryEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.query.SliceQuery;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+/**
+ * Slices are read straight from the sorted partitions of the in-memory
+ * storage. Iterators are weakly consistent views of the partition, they see
+ * the rows written after their creation as long as they have not gone past
+ * them
+ */
+public class MemorySliceQueryExecutor extends SliceQueryExecutor<MemoryPersistenceContext> {
+
+	private MemoryEntityMapper mapper = new MemoryEntityMapper();
+	private MemoryDaoContext daoContext;
+	private MemoryPersistenceContextFactory contextFactory;
+
+	public MemorySliceQueryExecutor(MemoryPersistenceContextFactory contextFactory,
+			ConfigurationContext configContext, MemoryDaoContext daoContext) {
+		super(new MemoryEntityProxifier());
+		this.contextFactory = contextFactory;
+		this.daoContext = daoContext;
+		defaultReadLevel = configContext.getConsistencyPolicy().getDefaultGlobalReadConsistencyLevel();
+	}
+
+	@Override
+	public <T> List<T> get(SliceQuery<T> sliceQuery) {
+		List<T> clusteredEntities = new ArrayList<T>();
+		Iterator<Entry<List<Object>, MemoryRow>> rows = Iterators.limit(rows(sliceQuery), sliceQuery.getLimit());
+		while (rows.hasNext()) {
+			clusteredEntities.add(toEntity(sliceQuery, rows.next()));
+		}
+		return Lists.transform(clusteredEntities, getProxyTransformer(sliceQuery, selectedGetters(sliceQuery)));
+	}
+
+	@Override
+	public <T> Iterator<T> iterator(final SliceQuery<T> sliceQuery) {
+		Iterator<T> clusteredEntities = Iterators.transform(rows(sliceQuery),
+				new Function<Entry<List<Object>, MemoryRow>, T>() {
+					@Override
+					public T apply(Entry<List<Object>, MemoryRow> row) {
+						return toEntity(sliceQuery, row);
+					}
+				});
+		return Iterators.transform(clusteredEntities, getProxyTransformer(sliceQuery, selectedGetters(sliceQuery)));
+	}
+
+	@Override
+	public <T> long count(SliceQuery<T> sliceQuery) {
+		Iterator<Entry<List<Object>, MemoryRow>> rows = rows(sliceQuery);
+		if (sliceQuery.isLimitSet()) {
+			rows = Iterators.limit(rows, sliceQuery.getLimit());
+		}
+		return Iterators.size(rows);
+	}
+
+	@Override
+	public <T> Iterator<Object> iteratorOfIds(final SliceQuery<T> sliceQuery) {
+		final List<Object> partitionComponents = partitionComponents(sliceQuery);
+		return Iterators.transform(rows(sliceQuery), new Function<Entry<List<Object>, MemoryRow>, Object>() {
+			@Override
+			public Object apply(Entry<List<Object>, MemoryRow> row) {
+				return daoContext.primaryKey(sliceQuery.getMeta(), partitionComponents, row.getKey());
+			}
+		});
+	}
+
+	/**
+	 * Unlike CQL3, the in-memory storage can remove a slice with a varying
+	 * clustering component. The limit, when set, caps the removed rows
+	 */
+	@Override
+	public <T> void remove(SliceQuery<T> sliceQuery) {
+		Iterator<Entry<List<Object>, MemoryRow>> rows = rows(sliceQuery);
+		if (sliceQuery.isLimitSet()) {
+			rows = Iterators.limit(rows, sliceQuery.getLimit());
+		}
+		List<List<Object>> clusteringKeys = new ArrayList<List<Object>>();
+		while (rows.hasNext()) {
+			clusteringKeys.add(rows.next().getKey());
+		}
+		daoContext.removeRows(sliceQuery.getMeta(), partitionComponents(sliceQuery), clusteringKeys);
+	}
+
+	@Override
+	protected <T> MemoryPersistenceContext buildContextForQuery(SliceQuery<T> sliceQuery) {
+		ConsistencyLevel cl = sliceQuery.getConsistencyLevel() == null ? defaultReadLevel : sliceQuery
+				.getConsistencyLevel();
+		return contextFactory.newContextForSliceQuery(sliceQuery.getEntityClass(), sliceQuery.getPartitionComponents(),
+				cl);
+	}
+
+	@Override
+	protected <T> MemoryPersistenceContext buildNewContext(SliceQuery<T> sliceQuery, T clusteredEntity) {
+		return contextFactory.newContext(clusteredEntity);
+	}
+
+	private <T> Iterator<Entry<List<Object>, MemoryRow>> rows(SliceQuery<T> sliceQuery) {
+		int partitionSize = partitionSize(sliceQuery);
+		List<Object> clusteringsFrom = sliceQuery.getClusteringsFrom();
+		List<Object> clusteringsTo = sliceQuery.getClusteringsTo();
+
+		return daoContext.slice(sliceQuery.getMeta(), partitionComponents(sliceQuery),
+				nonNullComponents(clusteringsFrom.subList(partitionSize, clusteringsFrom.size())),
+				nonNullComponents(clusteringsTo.subList(partitionSize, clusteringsTo.size())),
+				sliceQuery.getOrdering(), sliceQuery.getBounding());
+	}
+
+	private <T> T toEntity(SliceQuery<T> sliceQuery, Entry<List<Object>, MemoryRow> row) {
+		EntityMeta meta = sliceQuery.getMeta();
+		T clusteredEntity = meta.<T> instanciate();
+		meta.getIdMeta().setValueToField(clusteredEntity,
+				daoContext.primaryKey(meta, partitionComponents(sliceQuery), row.getKey()));
+		mapper.setPropertiesToEntity(row.getValue(), selectedMetas(sliceQuery), clusteredEntity);
+		return clusteredEntity;
+	}
+
+	private <T> List<Object> partitionComponents(SliceQuery<T> sliceQuery) {
+		return new ArrayList<Object>(sliceQuery.getClusteringsFrom().subList(0, partitionSize(sliceQuery)));
+	}
+
+	private <T> int partitionSize(SliceQuery<T> sliceQuery) {
+		return sliceQuery.getMeta().getIdMeta().getPartitionComponentClasses().size();
+	}
+
+	private List<Object> nonNullComponents(List<Object> components) {
+		List<Object> nonNullComponents = new ArrayList<Object>();
+		for (Object component : components) {
+			if (component == null) {
+				break;
+			}
+			nonNullComponents.add(component);
+		}
+		return nonNullComponents;
+	}
+
+	private <T> List<PropertyMeta> selectedMetas(SliceQuery<T> sliceQuery) {
+		EntityMeta meta = sliceQuery.getMeta();
+		if (sliceQuery.getFetchGroup().isPresent()) {
+			return meta.getFetchGroupMetas(sliceQuery.getFetchGroup().get());
+		}
+		return meta.getEagerMetas();
+	}
+
+	private <T> List<Method> selectedGetters(SliceQuery<T> sliceQuery) {
+		EntityMeta meta = sliceQuery.getMeta();
+		if (sliceQuery.getFetchGroup().isPresent()) {
+			return meta.getFetchGroupGetters(sliceQuery.getFetchGroup().get());
+		}
+		return meta.getEagerGetters();
+	}
+}
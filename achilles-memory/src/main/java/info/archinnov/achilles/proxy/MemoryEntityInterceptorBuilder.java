@@ -0,0 +1,87 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy;
+
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.validation.Validator;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MemoryEntityInterceptorBuilder<T> {
+	private static final Logger log = LoggerFactory.getLogger(MemoryEntityInterceptorBuilder.class);
+
+	private T target;
+	private Set<Method> alreadyLoaded = new HashSet<Method>();
+	private MemoryPersistenceContext context;
+
+	public static <T> MemoryEntityInterceptorBuilder<T> builder(MemoryPersistenceContext context, T entity) {
+		return new MemoryEntityInterceptorBuilder<T>(context, entity);
+	}
+
+	public MemoryEntityInterceptorBuilder(MemoryPersistenceContext context, T entity) {
+		Validator.validateNotNull(context, "PersistenceContext for interceptor should not be null");
+		Validator.validateNotNull(entity, "Target entity for interceptor should not be null");
+		this.context = context;
+		this.target = entity;
+	}
+
+	public MemoryEntityInterceptor<T> build() {
+		log.debug("Build interceptor for entity of class {}", context.getEntityMeta().getClassName());
+
+		MemoryEntityInterceptor<T> interceptor = new MemoryEntityInterceptor<T>();
+
+		EntityMeta entityMeta = context.getEntityMeta();
+
+		String className = context.getEntityClass().getCanonicalName();
+		Validator.validateNotNull(target, "Target object for interceptor of '%s' should not be null", className);
+		Validator.validateNotNull(entityMeta.getGetterMetas(),
+				"Getters metadata for interceptor of '%s' should not be null", className);
+		Validator.validateNotNull(entityMeta.getSetterMetas(),
+				"Setters metadata for interceptor of '%s' should not be null", className);
+		Validator.validateNotNull(entityMeta.getIdMeta(), "Id metadata for '%s' should not be null", className);
+
+		interceptor.setTarget(target);
+		interceptor.setContext(context);
+		interceptor.setGetterMetas(entityMeta.getGetterMetas());
+		interceptor.setSetterMetas(entityMeta.getSetterMetas());
+		interceptor.setIdGetter(entityMeta.getIdMeta().getGetter());
+		interceptor.setIdSetter(entityMeta.getIdMeta().getSetter());
+
+		Set<Method> loadedGetters = new LoadedGetters(entityMeta);
+		loadedGetters.addAll(alreadyLoaded);
+		if (context.isLoadEagerFields() && alreadyLoaded.isEmpty()) {
+			loadedGetters.addAll(entityMeta.getEagerGetters());
+		}
+
+		interceptor.setAlreadyLoaded(loadedGetters);
+		interceptor.setDirtyMap(new DirtyMap(entityMeta));
+		interceptor.setPrimaryKey(context.getPrimaryKey());
+
+		return interceptor;
+	}
+
+	public MemoryEntityInterceptorBuilder<T> alreadyLoaded(Set<Method> alreadyLoaded) {
+		this.alreadyLoaded = alreadyLoaded;
+		return this;
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import info.archinnov.achilles.context.MemoryPersistenceContext;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Counter;
+
+/**
+ * Counter applied right away to the in-memory storage. Consistency levels
+ * are accepted but ignored
+ */
+public class MemoryCounterWrapper implements Counter {
+
+	private MemoryPersistenceContext context;
+	private PropertyMeta counterMeta;
+	private boolean clusteredCounter;
+
+	public MemoryCounterWrapper(MemoryPersistenceContext context, PropertyMeta counterMeta) {
+		this.context = context;
+		this.counterMeta = counterMeta;
+		this.clusteredCounter = context.getEntityMeta().isClusteredCounter();
+	}
+
+	@Override
+	public Long get() {
+		if (clusteredCounter)
+			return context.getClusteredCounter(counterMeta);
+		else
+			return context.getSimpleCounter(counterMeta);
+	}
+
+	@Override
+	public Long get(ConsistencyLevel readLevel) {
+		return get();
+	}
+
+	@Override
+	public void incr() {
+		incr(1L);
+	}
+
+	@Override
+	public void incr(ConsistencyLevel writeLevel) {
+		incr(1L);
+	}
+
+	@Override
+	public void incr(Long increment) {
+		if (clusteredCounter)
+			context.incrementClusteredCounter(counterMeta, increment);
+		else
+			context.incrementSimpleCounter(counterMeta, increment);
+	}
+
+	@Override
+	public void incr(Long increment, ConsistencyLevel writeLevel) {
+		incr(increment);
+	}
+
+	@Override
+	public void decr() {
+		decr(1L);
+	}
+
+	@Override
+	public void decr(ConsistencyLevel writeLevel) {
+		decr(1L);
+	}
+
+	@Override
+	public void decr(Long decrement) {
+		if (clusteredCounter)
+			context.decrementClusteredCounter(counterMeta, decrement);
+		else
+			context.decrementSimpleCounter(counterMeta, decrement);
+	}
+
+	@Override
+	public void decr(Long decrement, ConsistencyLevel writeLevel) {
+		decr(decrement);
+	}
+}
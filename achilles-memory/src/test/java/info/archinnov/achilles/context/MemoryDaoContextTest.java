@@ -0,0 +1,52 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static info.archinnov.achilles.context.MemoryDaoContext.CLUSTERING_COMPARATOR;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MemoryDaoContextTest {
+
+	@Test
+	public void should_sort_clusterings_component_by_component() throws Exception {
+		assertThat(CLUSTERING_COMPARATOR.compare(list(1, "a"), list(1, "b"))).isLessThan(0);
+		assertThat(CLUSTERING_COMPARATOR.compare(list(2, "a"), list(1, "b"))).isGreaterThan(0);
+		assertThat(CLUSTERING_COMPARATOR.compare(list(1, "a"), list(1, "a"))).isEqualTo(0);
+	}
+
+	@Test
+	public void should_sort_prefix_before_keys_it_starts() throws Exception {
+		assertThat(CLUSTERING_COMPARATOR.compare(list(1), list(1, "a"))).isLessThan(0);
+		assertThat(CLUSTERING_COMPARATOR.compare(list(2), list(1, "z"))).isGreaterThan(0);
+	}
+
+	@Test
+	public void should_compare_on_prefix_only() throws Exception {
+		assertThat(MemoryDaoContext.comparePrefix(list(1, "a"), list(1))).isEqualTo(0);
+		assertThat(MemoryDaoContext.comparePrefix(list(1, "a"), list(2))).isLessThan(0);
+		assertThat(MemoryDaoContext.comparePrefix(list(3, "a"), list(2))).isGreaterThan(0);
+	}
+
+	private List<Object> list(Object... components) {
+		return Arrays.<Object> asList(components);
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MemoryRowTest {
+
+	private static final long EXPIRED = System.currentTimeMillis() - 1;
+
+	@Test
+	public void should_hide_expired_column() throws Exception {
+		MemoryRow row = new MemoryRow();
+		row.put("name", "DuyHai", EXPIRED);
+		row.put("age", 35L);
+
+		assertThat(row.get("name")).isNull();
+		assertThat(row.isNull("name")).isTrue();
+		assertThat(row.get("age")).isEqualTo(35L);
+		assertThat(row.copy().isNull("name")).isTrue();
+	}
+
+	@Test
+	public void should_keep_inserted_row_live_without_columns() throws Exception {
+		MemoryRow row = new MemoryRow(values("name", null), MemoryRow.NO_EXPIRATION);
+
+		assertThat(row.isLive()).isTrue();
+	}
+
+	@Test
+	public void should_expire_inserted_row_with_its_primary_key() throws Exception {
+		MemoryRow row = new MemoryRow(values("name", "DuyHai"), EXPIRED);
+
+		assertThat(row.isLive()).isFalse();
+	}
+
+	@Test
+	public void should_expire_updated_row_with_its_last_column() throws Exception {
+		MemoryRow row = new MemoryRow();
+		row.putAll(values("name", "DuyHai"), EXPIRED);
+
+		assertThat(row.isLive()).isFalse();
+	}
+
+	@Test
+	public void should_clear_deadline_when_column_rewritten_without_ttl() throws Exception {
+		MemoryRow row = new MemoryRow();
+		row.put("name", "DuyHai", EXPIRED);
+		row.put("name", "John");
+
+		assertThat(row.get("name")).isEqualTo("John");
+		assertThat(row.isLive()).isTrue();
+	}
+
+	private Map<String, Object> values(String propertyName, Object value) {
+		return Collections.singletonMap(propertyName, value);
+	}
+}
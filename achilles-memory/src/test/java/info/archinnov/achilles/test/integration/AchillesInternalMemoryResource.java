@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManager;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManagerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.rules.ExternalResource;
+
+/**
+ * In-memory counterpart of AchillesInternalCQLResource. The factory is shared
+ * by all the tests and the storage is truncated after each test
+ */
+public class AchillesInternalMemoryResource extends ExternalResource {
+
+	private static final String ENTITY_PACKAGES = "info.archinnov.achilles.test.integration.entity";
+
+	private static final MemoryPersistenceManagerFactory pmf;
+
+	static {
+		Map<String, Object> configMap = new HashMap<String, Object>();
+		configMap.put(ENTITY_PACKAGES_PARAM, ENTITY_PACKAGES);
+		pmf = new MemoryPersistenceManagerFactory(configMap);
+	}
+
+	private final MemoryPersistenceManager manager = pmf.createPersistenceManager();
+
+	/**
+	 * Return the singleton MemoryPersistenceManagerFactory
+	 * 
+	 * @return MemoryPersistenceManagerFactory singleton
+	 */
+	public MemoryPersistenceManagerFactory getPersistenceManagerFactory() {
+		return pmf;
+	}
+
+	/**
+	 * Return a MemoryPersistenceManager
+	 * 
+	 * @return MemoryPersistenceManager
+	 */
+	public MemoryPersistenceManager getPersistenceManager() {
+		return manager;
+	}
+
+	@Override
+	protected void after() {
+		manager.truncateAll();
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import info.archinnov.achilles.context.MemoryBatchingFlushContext;
+import info.archinnov.achilles.entity.manager.BatchingSupport;
+import info.archinnov.achilles.entity.manager.MemoryBatchingPersistenceManager;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManager;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.builders.TweetTestBuilder;
+import info.archinnov.achilles.test.builders.UserTestBuilder;
+import info.archinnov.achilles.test.integration.AchillesInternalMemoryResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.integration.entity.Tweet;
+import info.archinnov.achilles.test.integration.entity.User;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class BatchModeIT {
+	@Rule
+	public AchillesInternalMemoryResource resource = new AchillesInternalMemoryResource();
+
+	private MemoryPersistenceManager manager = resource.getPersistenceManager();
+
+	private User user;
+
+	@Before
+	public void setUpUser() {
+		user = UserTestBuilder.user().id(RandomUtils.nextLong()).firstname("fn").lastname("ln").buid();
+	}
+
+	@Test
+	public void should_batch_entity_and_flush_counters_immediately() throws Exception {
+		MemoryBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		entity = batchEm.merge(entity);
+		entity.setLabel("label");
+		entity.getVersion().incr(10L);
+		batchEm.merge(entity);
+
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNull();
+
+		batchEm.endBatch();
+
+		CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+		assertThat(found.getLabel()).isEqualTo("label");
+		assertThat(found.getVersion().get()).isEqualTo(10L);
+		assertThatBatchContextHasBeenReset(batchEm);
+	}
+
+	@Test
+	public void should_batch_several_entities() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+		Tweet tweet1 = TweetTestBuilder.tweet().randomId().content("tweet1").buid();
+		Tweet tweet2 = TweetTestBuilder.tweet().randomId().content("tweet2").buid();
+
+		MemoryBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		batchEm.merge(bean);
+		batchEm.merge(tweet1);
+		batchEm.merge(tweet2);
+		batchEm.merge(user);
+
+		assertThat(batchEm.find(CompleteBean.class, bean.getId())).isNull();
+		assertThat(batchEm.find(Tweet.class, tweet1.getId())).isNull();
+		assertThat(batchEm.find(Tweet.class, tweet2.getId())).isNull();
+		assertThat(batchEm.find(User.class, user.getId())).isNull();
+
+		batchEm.endBatch();
+
+		CompleteBean foundBean = batchEm.find(CompleteBean.class, bean.getId());
+		Tweet foundTweet1 = batchEm.find(Tweet.class, tweet1.getId());
+		Tweet foundTweet2 = batchEm.find(Tweet.class, tweet2.getId());
+		User foundUser = batchEm.find(User.class, user.getId());
+
+		assertThat(foundBean.getName()).isEqualTo("name");
+		assertThat(foundTweet1.getContent()).isEqualTo("tweet1");
+		assertThat(foundTweet2.getContent()).isEqualTo("tweet2");
+		assertThat(foundUser.getFirstname()).isEqualTo("fn");
+		assertThat(foundUser.getLastname()).isEqualTo("ln");
+		assertThatBatchContextHasBeenReset(batchEm);
+	}
+
+	@Test
+	public void should_reinit_batch_context_after_exception() throws Exception {
+		User user = UserTestBuilder.user().id(123456494L).firstname("firstname").lastname("lastname").buid();
+		Tweet tweet = TweetTestBuilder.tweet().randomId().content("simple_tweet").creator(user).buid();
+
+		MemoryBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+
+		try {
+			batchEm.persist(tweet);
+		} catch (AchillesException e) {
+			batchEm.cleanBatch();
+			assertThatBatchContextHasBeenReset(batchEm);
+
+			assertThat(batchEm.find(Tweet.class, tweet.getId())).isNull();
+		}
+
+		// batchEm should reinit batch context
+		batchEm.persist(user);
+		batchEm.endBatch();
+
+		User foundUser = batchEm.find(User.class, user.getId());
+		assertThat(foundUser.getFirstname()).isEqualTo("firstname");
+		assertThat(foundUser.getLastname()).isEqualTo("lastname");
+
+		batchEm.persist(tweet);
+		batchEm.endBatch();
+
+		Tweet foundTweet = batchEm.find(Tweet.class, tweet.getId());
+		assertThat(foundTweet.getContent()).isEqualTo("simple_tweet");
+		assertThat(foundTweet.getCreator().getId()).isEqualTo(foundUser.getId());
+		assertThat(foundTweet.getCreator().getFirstname()).isEqualTo("firstname");
+		assertThat(foundTweet.getCreator().getLastname()).isEqualTo("lastname");
+		assertThatBatchContextHasBeenReset(batchEm);
+	}
+
+	@Test
+	public void should_reject_runtime_consistency_level_and_clean_batch() throws Exception {
+		Tweet tweet = TweetTestBuilder.tweet().randomId().content("tweet").buid();
+
+		MemoryBatchingPersistenceManager batchEm = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchEm.startBatch();
+		batchEm.persist(tweet);
+
+		try {
+			batchEm.find(Tweet.class, tweet.getId(), ONE);
+			fail("Runtime consistency level should be rejected in batch mode");
+		} catch (AchillesException e) {
+			assertThatBatchContextHasBeenReset(batchEm);
+		}
+
+		batchEm.endBatch();
+
+		assertThat(batchEm.find(Tweet.class, tweet.getId())).isNull();
+	}
+
+	private void assertThatBatchContextHasBeenReset(MemoryBatchingPersistenceManager batchEm) {
+		BatchingSupport<MemoryBatchingFlushContext> batching = Whitebox.getInternalState(batchEm, "batching");
+		MemoryBatchingFlushContext flushContext = batching.getFlushContext();
+
+		assertThat(flushContext.getConsistencyLevel()).isNull();
+		assertThat(flushContext.getMutations()).isEmpty();
+	}
+}
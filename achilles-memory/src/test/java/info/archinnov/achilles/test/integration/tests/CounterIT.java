@@ -0,0 +1,73 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalMemoryResource;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CounterIT {
+	@Rule
+	public AchillesInternalMemoryResource resource = new AchillesInternalMemoryResource();
+
+	private MemoryPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_find_counter() throws Exception {
+		long version = 10L;
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("test").buid();
+
+		bean = manager.merge(bean);
+		bean.getVersion().incr(version);
+
+		assertThat(bean.getVersion().get()).isEqualTo(version);
+	}
+
+	@Test
+	public void should_reload_counter_on_find() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("test").buid();
+
+		bean = manager.merge(bean);
+		bean.getVersion().incr(2L);
+		bean.getVersion().decr();
+
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		assertThat(found.getVersion().get()).isEqualTo(1L);
+	}
+
+	@Test
+	public void should_remove_counter_with_entity() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("test").buid();
+
+		bean = manager.merge(bean);
+		bean.getVersion().incr(154321L);
+
+		manager.remove(bean);
+
+		assertThat(manager.find(CompleteBean.class, bean.getId())).isNull();
+
+		bean = manager.merge(CompleteBeanTestBuilder.builder().id(bean.getId()).name("test").buid());
+
+		assertThat(bean.getVersion().get()).isNull();
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
+import static info.archinnov.achilles.type.BoundingMode.INCLUSIVE_END_BOUND_ONLY;
+import static info.archinnov.achilles.type.OrderingMode.DESCENDING;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.MemoryBatchingPersistenceManager;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManager;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManagerFactory;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntityWithCounter;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.type.CounterBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.After;
+import org.junit.Test;
+
+public class MemoryPersistenceManagerIT {
+
+	private static final MemoryPersistenceManagerFactory factory;
+
+	static {
+		Map<String, Object> configMap = new HashMap<String, Object>();
+		configMap.put(ENTITY_PACKAGES_PARAM, "info.archinnov.achilles.test.integration.entity");
+		factory = new MemoryPersistenceManagerFactory(configMap);
+	}
+
+	private MemoryPersistenceManager manager = factory.createPersistenceManager();
+
+	@After
+	public void tearDown() {
+		manager.truncateAll();
+	}
+
+	@Test
+	public void should_persist_find_and_remove() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L)
+				.addFriends("foo", "bar").addFollowers("George").addPreference(1, "FR").buid();
+
+		manager.persist(entity);
+
+		CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+
+		assertThat(found.getName()).isEqualTo("DuyHai");
+		assertThat(found.getAge()).isEqualTo(35L);
+		assertThat(found.getFriends()).containsExactly("foo", "bar");
+		assertThat(found.getFollowers()).containsOnly("George");
+		assertThat(found.getPreferences()).containsKey(1);
+
+		manager.remove(found);
+
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNull();
+	}
+
+	@Test
+	public void should_not_share_state_with_storage() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").addFriends("foo").buid();
+		manager.persist(entity);
+
+		entity.getFriends().add("bar");
+
+		assertThat(manager.find(CompleteBean.class, entity.getId()).getFriends()).containsExactly("foo");
+	}
+
+	@Test
+	public void should_merge_dirty_properties_only() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").label("label").buid();
+		entity = manager.merge(entity);
+
+		entity.setName("Helen");
+		manager.merge(entity);
+
+		CompleteBean found = manager.find(CompleteBean.class, entity.getId());
+		assertThat(found.getName()).isEqualTo("Helen");
+		assertThat(found.getLabel()).isEqualTo("label");
+	}
+
+	@Test
+	public void should_increment_simple_counter() throws Exception {
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai")
+				.version(CounterBuilder.incr(2L)).buid();
+		entity = manager.merge(entity);
+
+		entity.getVersion().incr(3L);
+
+		assertThat(manager.find(CompleteBean.class, entity.getId()).getVersion().get()).isEqualTo(5L);
+	}
+
+	@Test
+	public void should_increment_clustered_counter() throws Exception {
+		ClusteredEntityWithCounter.ClusteredKey key = new ClusteredEntityWithCounter.ClusteredKey(
+				RandomUtils.nextLong(), "name");
+		ClusteredEntityWithCounter entity = manager.merge(new ClusteredEntityWithCounter(key, CounterBuilder
+				.incr(10L)));
+
+		entity.getCounter().decr(4L);
+
+		assertThat(manager.find(ClusteredEntityWithCounter.class, key).getCounter().get()).isEqualTo(6L);
+	}
+
+	@Test
+	public void should_slice_in_clustering_order() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int count = 1; count <= 2; count++) {
+			for (int i = 1; i <= 5; i++) {
+				manager.persist(new ClusteredEntity(partitionKey, count, "name" + i, "value" + count + i));
+			}
+		}
+
+		List<ClusteredEntity> entities = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.fromClusterings(1, "name2").toClusterings(1, "name4").get();
+
+		assertThat(entities).hasSize(3);
+		assertThat(entities.get(0).getValue()).isEqualTo("value12");
+		assertThat(entities.get(2).getValue()).isEqualTo("value14");
+
+		entities = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(1, "name4")
+				.toClusterings(1, "name1").bounding(INCLUSIVE_END_BOUND_ONLY).ordering(DESCENDING).limit(2).get();
+
+		assertThat(entities).hasSize(2);
+		assertThat(entities.get(0).getValue()).isEqualTo("value13");
+		assertThat(entities.get(1).getValue()).isEqualTo("value12");
+
+		entities = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(2)
+				.toClusterings(2).get(100);
+
+		assertThat(entities).hasSize(5);
+		assertThat(entities.get(0).getValue()).isEqualTo("value21");
+
+		manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(1).toClusterings(1)
+				.remove(100);
+
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).get(100)).hasSize(5);
+	}
+
+	@Test
+	public void should_apply_batch_at_end_only() throws Exception {
+		MemoryBatchingPersistenceManager batchingManager = factory.createBatchingPersistenceManager();
+		CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").buid();
+
+		batchingManager.startBatch();
+		batchingManager.persist(entity);
+
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNull();
+
+		batchingManager.endBatch();
+
+		assertThat(manager.find(CompleteBean.class, entity.getId())).isNotNull();
+	}
+
+	@Test
+	public void should_scan_all_entities() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			manager.persist(CompleteBeanTestBuilder.builder().randomId().name("name" + i).buid());
+		}
+
+		final List<String> names = new ArrayList<String>();
+		manager.scan(CompleteBean.class).parallelism(2).forEach(new ScanConsumer<CompleteBean>() {
+			@Override
+			public void accept(CompleteBean entity) {
+				synchronized (names) {
+					names.add(entity.getName());
+				}
+			}
+		});
+
+		assertThat(names).hasSize(10);
+	}
+}
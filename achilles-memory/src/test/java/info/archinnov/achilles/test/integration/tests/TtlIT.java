@@ -0,0 +1,129 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.MemoryPersistenceManager;
+import info.archinnov.achilles.test.integration.AchillesInternalMemoryResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.integration.entity.ValuelessClusteredEntity.CompoundKey;
+import info.archinnov.achilles.test.integration.entity.ValuelessClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.ValuelessEntity;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TtlIT {
+	@Rule
+	public AchillesInternalMemoryResource resource = new AchillesInternalMemoryResource();
+
+	private MemoryPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_persist_clustered_entity_with_ttl() throws Exception {
+		ClusteredKey compoundKey = new ClusteredKey(RandomUtils.nextLong(), RandomUtils.nextInt(), "name");
+		ClusteredEntity entity = new ClusteredEntity(compoundKey, "clustered_value");
+
+		manager.persist(entity, OptionsBuilder.withTtl(1));
+
+		assertThat(manager.find(ClusteredEntity.class, compoundKey)).isNotNull();
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ClusteredEntity.class, compoundKey)).isNull();
+	}
+
+	@Test
+	public void should_merge_clustered_entity_with_ttl() throws Exception {
+		ClusteredKey compoundKey = new ClusteredKey(RandomUtils.nextLong(), RandomUtils.nextInt(), "name");
+		ClusteredEntity entity = new ClusteredEntity(compoundKey, "clustered_value");
+
+		manager.merge(entity, OptionsBuilder.withTtl(1));
+
+		assertThat(manager.find(ClusteredEntity.class, compoundKey)).isNotNull();
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ClusteredEntity.class, compoundKey)).isNull();
+	}
+
+	@Test
+	public void should_persist_valueless_entity_with_ttl() throws Exception {
+		Long id = RandomUtils.nextLong();
+
+		manager.persist(new ValuelessEntity(id), OptionsBuilder.withTtl(1));
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ValuelessEntity.class, id)).isNull();
+	}
+
+	@Test
+	public void should_merge_valueless_entity_with_ttl() throws Exception {
+		Long id = RandomUtils.nextLong();
+
+		manager.merge(new ValuelessEntity(id), OptionsBuilder.withTtl(1));
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ValuelessEntity.class, id)).isNull();
+	}
+
+	@Test
+	public void should_persist_valueless_clustered_entity_with_ttl() throws Exception {
+		CompoundKey compoundKey = new CompoundKey(RandomUtils.nextLong(), "name");
+
+		manager.persist(new ValuelessClusteredEntity(compoundKey), OptionsBuilder.withTtl(1));
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ValuelessClusteredEntity.class, compoundKey)).isNull();
+	}
+
+	@Test
+	public void should_merge_valueless_clustered_entity_with_ttl() throws Exception {
+		CompoundKey compoundKey = new CompoundKey(RandomUtils.nextLong(), "name");
+
+		manager.merge(new ValuelessClusteredEntity(compoundKey), OptionsBuilder.withTtl(1));
+
+		Thread.sleep(1000);
+
+		assertThat(manager.find(ValuelessClusteredEntity.class, compoundKey)).isNull();
+	}
+
+	@Test
+	public void should_expire_only_columns_merged_with_ttl() throws Exception {
+		CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("DuyHai").age(35L).buid();
+
+		bean = manager.merge(bean);
+		bean.setName("temporary");
+		manager.merge(bean, OptionsBuilder.withTtl(1));
+
+		Thread.sleep(1000);
+
+		CompleteBean found = manager.find(CompleteBean.class, bean.getId());
+
+		assertThat(found).isNotNull();
+		assertThat(found.getName()).isNull();
+		assertThat(found.getAge()).isEqualTo(35L);
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+/**
+ * <p>
+ * Define a named group of properties to be loaded together. 
+ * When a fetch group is requested at runtime, only the listed properties 
+ * are read, all other properties are lazy loaded on first access
+ * </p>
+ */
+public @interface FetchGroup {
+	/**
+	 * <p>
+	 * Name of the fetch group
+	 * </p>
+	 */
+	String name();
+
+	/**
+	 * <p>
+	 * Names of the properties belonging to the fetch group
+	 * </p>
+	 */
+	String[] properties();
+}
@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Remember the primary keys for which find() returned null, so that repeated
+ * lookups of missing entities do not hit Cassandra. A persist() or merge()
+ * through a PersistenceManager of the same factory evicts the key at once;
+ * writes from other JVMs become visible when the entry expires
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface NegativeCache {
+
+	/**
+	 * <p>
+	 * Maximum number of missing primary keys remembered for the entity
+	 * </p>
+	 */
+	int maxSize() default 10000;
+
+	/**
+	 * <p>
+	 * Duration in seconds after which a missing primary key is looked up again
+	 * </p>
+	 */
+	int expireAfterSeconds() default 30;
+}
@@ -0,0 +1,45 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Paged collection property. The List, Set or Map is never loaded as a whole
+ * into the entity: the getter returns a view which reads the elements from
+ * Cassandra page by page when iterated, fetches a single element on
+ * <em>get(key)</em>/<em>contains()</em> and writes each mutation as a single
+ * column. The property is implicitly lazy. Only available for Thrift
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Paged {
+
+	/**
+	 * <p>
+	 * Number of elements fetched per page when iterating
+	 * </p>
+	 */
+	int pageSize() default 100;
+}
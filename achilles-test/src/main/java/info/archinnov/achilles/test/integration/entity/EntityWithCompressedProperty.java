@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty.TABLE_NAME;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Compressed;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.Lazy;
+
+@Entity(table = TABLE_NAME)
+public class EntityWithCompressedProperty {
+
+	public static final String TABLE_NAME = "entity_with_compressed_property";
+
+	@Id
+	private Long id;
+
+	@Column
+	@Compressed(threshold = 100)
+	private String content;
+
+	@Lazy
+	@Column
+	@Compressed
+	private String summary;
+
+	public EntityWithCompressedProperty() {
+	}
+
+	public EntityWithCompressedProperty(Long id, String content, String summary) {
+		this.id = id;
+		this.content = content;
+		this.summary = summary;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public void setContent(String content) {
+		this.content = content;
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public void setSummary(String summary) {
+		this.summary = summary;
+	}
+}
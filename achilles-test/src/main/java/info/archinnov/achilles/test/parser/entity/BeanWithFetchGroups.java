@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.parser.entity;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.FetchGroup;
+import info.archinnov.achilles.annotations.FetchGroups;
+import info.archinnov.achilles.annotations.Id;
+
+@FetchGroups({ @FetchGroup(name = "summary", properties = { "name" }),
+		@FetchGroup(name = "full", properties = { "name", "age" }) })
+public class BeanWithFetchGroups {
+
+	@Id
+	private Long id;
+
+	@Column
+	private String name;
+
+	@Column
+	private Long age;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getAge() {
+		return age;
+	}
+
+	public void setAge(Long age) {
+		this.age = age;
+	}
+}
@@ -139,11 +139,14 @@ public class ThriftCompositeFactory {
 		composite.setComponent(0, propertyMeta.type().flag(), BYTE_SRZ, BYTE_SRZ.getComparatorType().getTypeName());
 		composite.setComponent(1, propertyMeta.getPropertyName(), STRING_SRZ, STRING_SRZ.getComparatorType()
 				.getTypeName());
-		String positionString = new DecimalFormat(numberFormat).format(position);
-		composite.setComponent(2, positionString, STRING_SRZ, STRING_SRZ.getComparatorType().getTypeName());
+		composite.setComponent(2, formatListPosition(position), STRING_SRZ, STRING_SRZ.getComparatorType().getTypeName());
 		return composite;
 	}
 
+	public String formatListPosition(int position) {
+		return new DecimalFormat(numberFormat).format(position);
+	}
+
 	public Composite createForBatchInsertSetOrMap(PropertyMeta propertyMeta, String valueOrKey) {
 		log.trace("Creating base composite for propertyMeta {} for set/map value batch insert {}",
 				propertyMeta.getPropertyName(), valueOrKey);
@@ -90,7 +90,7 @@ public class ThriftCompositeTransformer {
 		return mapper.initClusteredEntity(entityClass, context.getEntityMeta(), embeddedId);
 	}
 
-	private Object buildEmbeddedIdFromComponents(ThriftPersistenceContext context, List<Component<?>> components) {
+	public Object buildEmbeddedIdFromComponents(ThriftPersistenceContext context, List<Component<?>> components) {
 		Object primaryKey = context.getPrimaryKey();
 		PropertyMeta idMeta = context.getIdMeta();
 		return compoundKeyMapper.fromCompositeToEmbeddedId(idMeta, components, primaryKey);
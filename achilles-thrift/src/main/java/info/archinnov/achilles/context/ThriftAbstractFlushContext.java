@@ -19,7 +19,6 @@ package info.archinnov.achilles.context;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.counter.AchillesCounter;
 import info.archinnov.achilles.dao.ThriftAbstractDao;
-import info.archinnov.achilles.dao.ThriftCounterDao;
 import info.archinnov.achilles.dao.ThriftGenericEntityDao;
 import info.archinnov.achilles.dao.ThriftGenericWideRowDao;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -27,6 +26,7 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import me.prettyprint.hector.api.mutation.Mutator;
 
@@ -34,6 +34,8 @@ import org.apache.cassandra.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Sets;
+
 public abstract class ThriftAbstractFlushContext<T extends ThriftAbstractFlushContext<T>> extends FlushContext<T> {
 	protected static final Logger log = LoggerFactory.getLogger(ThriftAbstractFlushContext.class);
 
@@ -59,13 +61,20 @@ public abstract class ThriftAbstractFlushContext<T extends ThriftAbstractFlushCo
 		this.hasCustomConsistencyLevels = hasCustomConsistencyLevels;
 	}
 
+	/**
+	 * Column families sharing the same write consistency level share the same
+	 * mutator, each mutator is executed once as a single batch_mutate
+	 */
 	protected void doFlush() {
 		log.debug("Execute mutations flush");
 		try {
+			Set<Mutator<?>> executedMutators = Sets.newIdentityHashSet();
 			for (Entry<String, Pair<Mutator<Object>, ThriftAbstractDao>> entry : mutatorMap.entrySet()) {
 				ThriftAbstractDao dao = entry.getValue().right;
 				Mutator<?> mutator = entry.getValue().left;
-				dao.executeMutator(mutator);
+				if (executedMutators.add(mutator)) {
+					dao.executeMutator(mutator);
+				}
 			}
 		} finally {
 			cleanUp();
@@ -100,8 +109,7 @@ public abstract class ThriftAbstractFlushContext<T extends ThriftAbstractFlushCo
 			ThriftGenericEntityDao entityDao = thriftDaoContext.findEntityDao(tableName);
 
 			if (entityDao != null) {
-				mutator = entityDao.buildMutator();
-				mutatorMap.put(tableName, Pair.<Mutator<Object>, ThriftAbstractDao> create(mutator, entityDao));
+				mutator = registerMutator(tableName, entityDao);
 			}
 		}
 		return mutator;
@@ -115,8 +123,7 @@ public abstract class ThriftAbstractFlushContext<T extends ThriftAbstractFlushCo
 			ThriftGenericWideRowDao columnFamilyDao = thriftDaoContext.findWideRowDao(tableName);
 
 			if (columnFamilyDao != null) {
-				mutator = columnFamilyDao.buildMutator();
-				mutatorMap.put(tableName, Pair.<Mutator<Object>, ThriftAbstractDao> create(mutator, columnFamilyDao));
+				mutator = registerMutator(tableName, columnFamilyDao);
 			}
 		}
 		return mutator;
@@ -127,11 +134,24 @@ public abstract class ThriftAbstractFlushContext<T extends ThriftAbstractFlushCo
 		if (mutatorMap.containsKey(AchillesCounter.THRIFT_COUNTER_CF)) {
 			mutator = mutatorMap.get(AchillesCounter.THRIFT_COUNTER_CF).left;
 		} else {
-			ThriftCounterDao thriftCounterDao = thriftDaoContext.getCounterDao();
-			mutator = thriftCounterDao.buildMutator();
-			mutatorMap.put(AchillesCounter.THRIFT_COUNTER_CF,
-					Pair.<Mutator<Object>, ThriftAbstractDao> create(mutator, thriftCounterDao));
+			mutator = registerMutator(AchillesCounter.THRIFT_COUNTER_CF, thriftDaoContext.getCounterDao());
+		}
+		return mutator;
+	}
+
+	private Mutator<Object> registerMutator(String tableName, ThriftAbstractDao dao) {
+		Mutator<Object> mutator = null;
+		ConsistencyLevel writeLevel = consistencyContext.getWriteConsistencyLevel(tableName);
+		for (Entry<String, Pair<Mutator<Object>, ThriftAbstractDao>> entry : mutatorMap.entrySet()) {
+			if (consistencyContext.getWriteConsistencyLevel(entry.getKey()) == writeLevel) {
+				mutator = entry.getValue().left;
+				break;
+			}
+		}
+		if (mutator == null) {
+			mutator = dao.buildMutator();
 		}
+		mutatorMap.put(tableName, Pair.<Mutator<Object>, ThriftAbstractDao> create(mutator, dao));
 		return mutator;
 	}
 
@@ -90,6 +90,13 @@ public class ThriftConsistencyContext {
 		return consistencyLevel;
 	}
 
+	/**
+	 * Write level the mutations of a column family will be flushed with
+	 */
+	public ConsistencyLevel getWriteConsistencyLevel(String columnFamily) {
+		return consistencyLevel != null ? consistencyLevel : policy.getConsistencyLevelForWrite(columnFamily);
+	}
+
 	private <T> T reinitConsistencyLevels(SafeExecutionContext<T> context) {
 		try {
 			return context.execute();
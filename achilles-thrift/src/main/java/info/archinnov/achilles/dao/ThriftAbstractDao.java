@@ -19,15 +19,25 @@ package info.archinnov.achilles.dao;
 import static info.archinnov.achilles.logger.ThriftLoggerHelper.*;
 import static me.prettyprint.hector.api.factory.HFactory.*;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ReadCoalescer;
 import info.archinnov.achilles.context.execution.SafeExecutionContext;
 import info.archinnov.achilles.counter.AchillesCounter;
 import info.archinnov.achilles.iterator.ThriftCounterSliceIterator;
 import info.archinnov.achilles.iterator.ThriftSliceIterator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.OperationType;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
+import info.archinnov.achilles.metrics.StatementType;
 import info.archinnov.achilles.serializer.ThriftSerializerTypeInferer;
 import info.archinnov.achilles.serializer.ThriftSerializerUtils;
+import info.archinnov.achilles.serializer.ThriftTypeInferringSerializer;
+import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import me.prettyprint.cassandra.model.HCounterColumnImpl;
 import me.prettyprint.cassandra.model.thrift.ThriftCounterColumnQuery;
@@ -37,6 +47,7 @@ import me.prettyprint.hector.api.Serializer;
 import me.prettyprint.hector.api.beans.Composite;
 import me.prettyprint.hector.api.beans.HColumn;
 import me.prettyprint.hector.api.beans.HCounterColumn;
+import me.prettyprint.hector.api.beans.OrderedRows;
 import me.prettyprint.hector.api.beans.Rows;
 import me.prettyprint.hector.api.factory.HFactory;
 import me.prettyprint.hector.api.mutation.Mutator;
@@ -44,6 +55,7 @@ import me.prettyprint.hector.api.query.CounterQuery;
 import me.prettyprint.hector.api.query.SliceCounterQuery;
 import me.prettyprint.hector.api.query.SliceQuery;
 
+import org.apache.cassandra.thrift.TokenRange;
 import org.apache.cassandra.utils.Pair;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -63,6 +75,9 @@ public abstract class ThriftAbstractDao {
 	protected String columnFamily;
 	protected AchillesConsistencyLevelPolicy policy;
 	protected Pair<?, ?> rowkeyAndValueClasses;
+	protected AchillesMetrics metrics = AchillesMetrics.disabled();
+	protected SlowStatementLogger slowStatementLogger = SlowStatementLogger.disabled();
+	protected ReadCoalescer readCoalescer = ReadCoalescer.disabled();
 
 	public static int DEFAULT_LENGTH = 100;
 
@@ -81,13 +96,104 @@ public abstract class ThriftAbstractDao {
 		this.rowkeyAndValueClasses = rowkeyAndValueClasses;
 	}
 
-	private <T> T reinitConsistencyLevels(SafeExecutionContext<T> context) {
+	private <T> T reinitConsistencyLevels(OperationType operation, StatementType statementType,
+			Object[] boundValues, SafeExecutionContext<T> context) {
 		log.trace("Execute safely and reinit consistency level in thread {}", Thread.currentThread());
+		boolean monitored = metrics.isEnabled() || slowStatementLogger.isEnabled();
+		long start = monitored ? System.nanoTime() : 0L;
+		T result = null;
+		Throwable error = null;
 		try {
-			return context.execute();
+			result = context.execute();
+			return result;
+		} catch (RuntimeException e) {
+			error = e;
+			throw e;
 		} finally {
+			// Captured before the reset so that the level actually used is logged
+			ConsistencyLevel usedLevel = monitored ? usedConsistencyLevel(statementType) : null;
 			this.policy.reinitDefaultConsistencyLevels();
+			if (statementType != StatementType.SELECT) {
+				readCoalescer.recordWrite();
+			}
+			if (monitored) {
+				long elapsed = System.nanoTime() - start;
+				if (metrics.isEnabled()) {
+					metrics.record(columnFamily, operation, statementType, elapsed, error);
+				}
+				if (slowStatementLogger.isSlow(columnFamily, elapsed)) {
+					logSlowStatement(operation, statementType, usedLevel, boundValues, result, elapsed);
+				}
+			}
+		}
+	}
+
+	private <T> T executeRead(OperationType operation, Object[] boundValues, Object[] readOptions,
+			SafeExecutionContext<T> context) {
+		return reinitConsistencyLevels(operation, StatementType.SELECT, boundValues,
+				coalesce(boundValues, readOptions, context));
+	}
+
+	private <T> SafeExecutionContext<T> coalesce(Object[] boundValues, Object[] readOptions,
+			final SafeExecutionContext<T> context) {
+		if (!readCoalescer.isEnabled()) {
+			return context;
 		}
+
+		ConsistencyLevel currentLevel = policy.getCurrentReadLevel();
+		final List<Object> readKey = new ArrayList<Object>();
+		readKey.add(columnFamily);
+		readKey.add(currentLevel != null ? currentLevel : policy.getConsistencyLevelForRead(columnFamily));
+		for (Object boundValue : boundValues) {
+			// Composites are compared on their serialized form, equality flags included
+			readKey.add(boundValue instanceof Composite ? ((Composite) boundValue).serialize() : boundValue);
+		}
+		readKey.addAll(Arrays.asList(readOptions));
+
+		return new SafeExecutionContext<T>() {
+			@Override
+			public T execute() {
+				return readCoalescer.read(readKey, new Callable<T>() {
+					@Override
+					public T call() {
+						return context.execute();
+					}
+				});
+			}
+		};
+	}
+
+	private ConsistencyLevel usedConsistencyLevel(StatementType statementType) {
+		if (statementType == StatementType.SELECT) {
+			ConsistencyLevel currentLevel = policy.getCurrentReadLevel();
+			return currentLevel != null ? currentLevel : policy.getConsistencyLevelForRead(columnFamily);
+		} else {
+			ConsistencyLevel currentLevel = policy.getCurrentWriteLevel();
+			return currentLevel != null ? currentLevel : policy.getConsistencyLevelForWrite(columnFamily);
+		}
+	}
+
+	private void logSlowStatement(OperationType operation, StatementType statementType,
+			ConsistencyLevel consistencyLevel, Object[] boundValues, Object result, long elapsed) {
+		slowStatementLogger.log(columnFamily, operation.name() + " " + statementType.name() + " on column family "
+				+ columnFamily, consistencyLevel == null ? "DEFAULT" : consistencyLevel.name(), boundValues,
+				countRows(result), elapsed);
+	}
+
+	private int countRows(Object result) {
+		if (result == null) {
+			return 0;
+		} else if (result instanceof List) {
+			return ((List<?>) result).size();
+		} else if (result instanceof Rows) {
+			return ((Rows<?, ?, ?>) result).getCount();
+		} else if (result instanceof Integer) {
+			// Number of mutations of an executed mutator
+			return (Integer) result;
+		} else if (result instanceof HColumn || result instanceof HCounterColumn) {
+			return 1;
+		}
+		return SlowStatementLogger.UNKNOWN_ROW_COUNT;
 	}
 
 	protected <V> Function<HColumn<Composite, V>, V> getHColumnToValueFn() {
@@ -149,7 +255,8 @@ public abstract class ThriftAbstractDao {
 		}
 
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		return reinitConsistencyLevels(new SafeExecutionContext<HColumn<Composite, V>>() {
+		return executeRead(OperationType.FIND, new Object[] { key, name }, new Object[] { "column" },
+				new SafeExecutionContext<HColumn<Composite, V>>() {
 			@Override
 			public HColumn<Composite, V> execute() {
 				return HFactory
@@ -229,7 +336,8 @@ public abstract class ThriftAbstractDao {
 					count, format(start), format(end), columnFamily, key, reverse);
 		}
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		List<HColumn<Composite, V>> columns = reinitConsistencyLevels(new SafeExecutionContext<List<HColumn<Composite, V>>>() {
+		List<HColumn<Composite, V>> columns = executeRead(OperationType.SLICE, new Object[] { key, start, end },
+				new Object[] { "slice", reverse, count }, new SafeExecutionContext<List<HColumn<Composite, V>>>() {
 			@Override
 			public List<HColumn<Composite, V>> execute() {
 				return createSliceQuery(keyspace, ThriftAbstractDao.this.<K> rowSrz(), columnNameSerializer,
@@ -248,7 +356,8 @@ public abstract class ThriftAbstractDao {
 					count, format(start), format(end), columnFamily, key, reverse);
 		}
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		List<HColumn<Composite, V>> columns = reinitConsistencyLevels(new SafeExecutionContext<List<HColumn<Composite, V>>>() {
+		List<HColumn<Composite, V>> columns = executeRead(OperationType.SLICE, new Object[] { key, start, end },
+				new Object[] { "slice", reverse, count }, new SafeExecutionContext<List<HColumn<Composite, V>>>() {
 			@Override
 			public List<HColumn<Composite, V>> execute() {
 				return createSliceQuery(keyspace, ThriftAbstractDao.this.<K> rowSrz(), columnNameSerializer,
@@ -268,7 +377,8 @@ public abstract class ThriftAbstractDao {
 		}
 
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		return reinitConsistencyLevels(new SafeExecutionContext<List<HColumn<Composite, V>>>() {
+		return executeRead(OperationType.SLICE, new Object[] { key, start, end },
+				new Object[] { "slice", reverse, count }, new SafeExecutionContext<List<HColumn<Composite, V>>>() {
 			@Override
 			public List<HColumn<Composite, V>> execute() {
 				List<HColumn<Composite, V>> columns = createSliceQuery(keyspace, ThriftAbstractDao.this.<K> rowSrz(),
@@ -280,6 +390,24 @@ public abstract class ThriftAbstractDao {
 		});
 	}
 
+	public <K> int countColumnsRange(final K key, final Composite start, final Composite end, final int count) {
+		if (log.isTraceEnabled()) {
+			log.trace(
+					"Count up to {} columns within range having inclusive start/end {}/{} column names from column family {} with key {}",
+					count, format(start), format(end), columnFamily, key);
+		}
+
+		this.policy.loadConsistencyLevelForRead(columnFamily);
+		return executeRead(OperationType.SLICE, new Object[] { key, start, end }, new Object[] { "count", count },
+				new SafeExecutionContext<Integer>() {
+					@Override
+					public Integer execute() {
+						return createCountQuery(keyspace, ThriftAbstractDao.this.<K> rowSrz(), columnNameSerializer)
+								.setColumnFamily(columnFamily).setKey(key).setRange(start, end, count).execute().get();
+					}
+				});
+	}
+
 	public <K, V> List<HCounterColumn<Composite>> findCounterColumnsRange(final K key, final Composite start,
 			final Composite end, final int count, final boolean reverse) {
 		if (log.isTraceEnabled()) {
@@ -289,7 +417,8 @@ public abstract class ThriftAbstractDao {
 		}
 
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		return reinitConsistencyLevels(new SafeExecutionContext<List<HCounterColumn<Composite>>>() {
+		return executeRead(OperationType.COUNTER, new Object[] { key, start, end }, new Object[] { "counterSlice",
+				reverse, count }, new SafeExecutionContext<List<HCounterColumn<Composite>>>() {
 			@Override
 			public List<HCounterColumn<Composite>> execute() {
 				return HFactory
@@ -338,7 +467,8 @@ public abstract class ThriftAbstractDao {
 		}
 
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		return reinitConsistencyLevels(new SafeExecutionContext<Rows<K, Composite, V>>() {
+		return reinitConsistencyLevels(OperationType.SLICE, StatementType.SELECT, keys.toArray(),
+				new SafeExecutionContext<Rows<K, Composite, V>>() {
 			@Override
 			public Rows<K, Composite, V> execute() {
 				return HFactory
@@ -349,6 +479,41 @@ public abstract class ThriftAbstractDao {
 		});
 	}
 
+	public <K, V> OrderedRows<K, Composite, V> getRangeSlices(final K startKey, final String startToken,
+			final String endToken, final Composite start, final Composite end, final int rowCount) {
+		log.trace(
+				"Get range slices within range having inclusive start/end {}/{} column names from column family {} with start key {}, start token {}, end token {} by batch of {} rows",
+				format(start), format(end), columnFamily, startKey, startToken, endToken, rowCount);
+
+		this.policy.loadConsistencyLevelForRead(columnFamily);
+		return reinitConsistencyLevels(OperationType.SCAN, StatementType.SELECT, new Object[] { startKey, startToken,
+				endToken }, new SafeExecutionContext<OrderedRows<K, Composite, V>>() {
+			@Override
+			public OrderedRows<K, Composite, V> execute() {
+				return HFactory
+						.createRangeSlicesQuery(keyspace, ThriftAbstractDao.this.<K> rowSrz(), columnNameSerializer,
+								ThriftAbstractDao.this.<V> valSrz()).setColumnFamily(columnFamily)
+						.setTokens(startKey, startToken, endToken).setRange(start, end, false, Integer.MAX_VALUE)
+						.setRowCount(rowCount).execute().get();
+			}
+		});
+	}
+
+	public String describePartitioner() {
+		return cluster.describePartitioner();
+	}
+
+	/**
+	 * End tokens of all the ranges of the ring
+	 */
+	public List<String> describeRingTokens() {
+		List<String> tokens = new ArrayList<String>();
+		for (TokenRange range : cluster.describeRing(keyspace.getKeyspaceName())) {
+			tokens.add(range.getEnd_token());
+		}
+		return tokens;
+	}
+
 	public <K> void removeRowBatch(K key, Mutator<K> mutator) {
 		log.trace("Remove row as batch mutation from column family {} with key {}", columnFamily, key);
 
@@ -363,7 +528,16 @@ public abstract class ThriftAbstractDao {
 		Mutator<K> mutator = buildMutator();
 		mutator.addCounter(key, columnFamily, new HCounterColumnImpl<Composite>(name, value,
 				ThriftSerializerUtils.COMPOSITE_SRZ));
-		executeMutator(mutator);
+		executeMutator(mutator, OperationType.COUNTER, StatementType.UPDATE);
+	}
+
+	public <K> void incrementCounterBatch(K key, Composite name, Long value, Mutator<K> mutator) {
+		if (log.isTraceEnabled()) {
+			log.trace("Incrementing counter column {} with key {} from column family {} by {} as batch mutation",
+					format(name), key, columnFamily, value);
+		}
+		mutator.addCounter(key, columnFamily, new HCounterColumnImpl<Composite>(name, value,
+				ThriftSerializerUtils.COMPOSITE_SRZ));
 	}
 
 	public <K> void decrementCounter(K key, Composite name, Long value) {
@@ -374,7 +548,7 @@ public abstract class ThriftAbstractDao {
 		Mutator<K> mutator = buildMutator();
 		mutator.addCounter(key, columnFamily, new HCounterColumnImpl<Composite>(name, value * -1L,
 				ThriftSerializerUtils.COMPOSITE_SRZ));
-		executeMutator(mutator);
+		executeMutator(mutator, OperationType.COUNTER, StatementType.UPDATE);
 	}
 
 	public <K> Long getCounterValue(K key, Composite name) {
@@ -400,7 +574,8 @@ public abstract class ThriftAbstractDao {
 				this.<K> rowSrz(), columnNameSerializer).setColumnFamily(columnFamily).setKey(key).setName(name);
 
 		this.policy.loadConsistencyLevelForRead(columnFamily);
-		return reinitConsistencyLevels(new SafeExecutionContext<HCounterColumn<Composite>>() {
+		return executeRead(OperationType.COUNTER, new Object[] { key, name }, new Object[] { "counterColumn" },
+				new SafeExecutionContext<HCounterColumn<Composite>>() {
 			@Override
 			public HCounterColumn<Composite> execute() {
 				return counter.execute().get();
@@ -441,20 +616,30 @@ public abstract class ThriftAbstractDao {
 		cluster.truncate(keyspace.getKeyspaceName(), AchillesCounter.THRIFT_COUNTER_CF);
 	}
 
+	/**
+	 * The row key serializer is inferred for each key, the mutator can be
+	 * shared with other column families to flush them in one batch_mutate
+	 */
+	@SuppressWarnings("unchecked")
 	public <K> Mutator<K> buildMutator() {
-		return HFactory.createMutator(this.keyspace, this.<K> rowSrz());
+		return HFactory.createMutator(this.keyspace, (Serializer<K>) ThriftTypeInferringSerializer.get());
 	}
 
 	public <K> void executeMutator(final Mutator<K> mutator) {
+		executeMutator(mutator, OperationType.FLUSH, StatementType.BATCH);
+	}
+
+	private <K> void executeMutator(final Mutator<K> mutator, OperationType operation, StatementType statementType) {
 		log.trace("Execute safely mutator with {} mutations for column family {}", mutator.getPendingMutationCount(),
 				columnFamily);
 
 		this.policy.loadConsistencyLevelForWrite(this.columnFamily);
-		reinitConsistencyLevels(new SafeExecutionContext<Void>() {
+		reinitConsistencyLevels(operation, statementType, null, new SafeExecutionContext<Integer>() {
 			@Override
-			public Void execute() {
+			public Integer execute() {
+				int mutationCount = mutator.getPendingMutationCount();
 				mutator.execute();
-				return null;
+				return mutationCount;
 			}
 		});
 	}
@@ -463,6 +648,18 @@ public abstract class ThriftAbstractDao {
 		return columnFamily;
 	}
 
+	public void setMetrics(AchillesMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public void setSlowStatementLogger(SlowStatementLogger slowStatementLogger) {
+		this.slowStatementLogger = slowStatementLogger;
+	}
+
+	public void setReadCoalescer(ReadCoalescer readCoalescer) {
+		this.readCoalescer = readCoalescer;
+	}
+
 	protected <T> Serializer<T> rowSrz() {
 		return ThriftSerializerTypeInferer.<T> getSerializer((Class<?>) rowkeyAndValueClasses.left);
 	}
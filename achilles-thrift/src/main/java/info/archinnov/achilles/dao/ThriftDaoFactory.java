@@ -61,6 +61,9 @@ public class ThriftDaoFactory {
 				tableName, //
 				configContext.getConsistencyPolicy(), //
 				Pair.create(partitionKeyClass, String.class));
+		entityDao.setMetrics(configContext.getMetrics());
+		entityDao.setSlowStatementLogger(configContext.getSlowStatementLogger());
+		entityDao.setReadCoalescer(configContext.getReadCoalescer());
 		entityDaosMap.put(tableName, entityDao);
 		log.debug("Build entity dao for column family {}", tableName);
 	}
@@ -99,6 +102,9 @@ public class ThriftDaoFactory {
 					tableName, consistencyPolicy, //
 					Pair.create(partitionKeyClass, String.class));
 		}
+		dao.setMetrics(configContext.getMetrics());
+		dao.setSlowStatementLogger(configContext.getSlowStatementLogger());
+		dao.setReadCoalescer(configContext.getReadCoalescer());
 		wideRowDaosMap.put(tableName, dao);
 		log.debug("Build clustered entity dao for column family {}", tableName);
 	}
@@ -106,6 +112,9 @@ public class ThriftDaoFactory {
 	public ThriftCounterDao createCounterDao(Cluster cluster, Keyspace keyspace, ConfigurationContext configContext) {
 		ThriftCounterDao counterDao = new ThriftCounterDao(cluster, keyspace, configContext.getConsistencyPolicy(), //
 				Pair.create(Composite.class, Long.class));
+		counterDao.setMetrics(configContext.getMetrics());
+		counterDao.setSlowStatementLogger(configContext.getSlowStatementLogger());
+		counterDao.setReadCoalescer(configContext.getReadCoalescer());
 		log.debug("Build achillesCounterCF dao");
 
 		return counterDao;
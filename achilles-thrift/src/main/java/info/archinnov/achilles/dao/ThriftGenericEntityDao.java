@@ -29,6 +29,7 @@ import me.prettyprint.hector.api.Keyspace;
 import me.prettyprint.hector.api.beans.AbstractComposite.ComponentEquality;
 import me.prettyprint.hector.api.beans.Composite;
 import me.prettyprint.hector.api.beans.HColumn;
+import me.prettyprint.hector.api.beans.OrderedRows;
 import me.prettyprint.hector.api.beans.Row;
 import me.prettyprint.hector.api.beans.Rows;
 
@@ -72,6 +73,14 @@ public class ThriftGenericEntityDao extends ThriftAbstractDao {
 				Integer.MAX_VALUE);
 	}
 
+	public <K> OrderedRows<K, Composite, String> eagerFetchEntitiesInRange(K startKey, String startToken,
+			String endToken, int rowCount) {
+		log.trace("Eager fetching properties for entities within token range in column family {} ", columnFamily);
+
+		return this.getRangeSlices(startKey, startToken, endToken, startCompositeForEagerFetch,
+				endCompositeForEagerFetch, rowCount);
+	}
+
 	public <K> Map<K, List<Pair<Composite, String>>> eagerFetchEntities(List<K> keys) {
 		log.trace("Eager fetching properties for multiple entities in column family {} ", columnFamily);
 
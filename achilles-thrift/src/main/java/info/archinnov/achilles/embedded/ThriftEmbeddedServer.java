@@ -25,9 +25,13 @@ import info.archinnov.achilles.entity.manager.ThriftPersistenceManagerFactory;
 import java.util.ArrayList;
 import java.util.Map;
 
+import me.prettyprint.cassandra.serializers.BytesArraySerializer;
 import me.prettyprint.cassandra.service.CassandraHostConfigurator;
 import me.prettyprint.hector.api.Cluster;
 import me.prettyprint.hector.api.Keyspace;
+import me.prettyprint.hector.api.beans.OrderedRows;
+import me.prettyprint.hector.api.beans.Row;
+import me.prettyprint.hector.api.exceptions.HectorException;
 import me.prettyprint.hector.api.factory.HFactory;
 
 import org.apache.cassandra.thrift.Cassandra;
@@ -48,6 +52,8 @@ public class ThriftEmbeddedServer extends AchillesEmbeddedServer {
 
 	private static final Object SEMAPHORE = new Object();
 	private static final Logger LOGGER = LoggerFactory.getLogger(ThriftEmbeddedServer.class);
+	private static final BytesArraySerializer BYTES_SRZ = BytesArraySerializer.get();
+	private static final int DATA_CHECK_ROW_COUNT = 100;
 
 	private static String entityPackages;
 	private static boolean initialized = false;
@@ -123,6 +129,29 @@ public class ThriftEmbeddedServer extends AchillesEmbeddedServer {
 		}
 	}
 
+	/**
+	 * Whether the column family holds at least one live row. Row tombstones
+	 * are returned by range slices, so a column family whose first rows are
+	 * all deleted is considered as holding data
+	 */
+	public boolean hasData(String columnFamily) {
+		try {
+			OrderedRows<byte[], byte[], byte[]> rows = HFactory
+					.createRangeSlicesQuery(keyspace, BYTES_SRZ, BYTES_SRZ, BYTES_SRZ).setColumnFamily(columnFamily)
+					.setKeys(new byte[0], new byte[0]).setRange(null, null, false, 1)
+					.setRowCount(DATA_CHECK_ROW_COUNT).execute().get();
+			for (Row<byte[], byte[], byte[]> row : rows) {
+				if (!row.getColumnSlice().getColumns().isEmpty()) {
+					return true;
+				}
+			}
+			return rows.getCount() >= DATA_CHECK_ROW_COUNT;
+		} catch (HectorException e) {
+			LOGGER.debug("Cannot check data of column family {} : {}", columnFamily, e.getMessage());
+			return true;
+		}
+	}
+
 	public Cluster getCluster() {
 		return cluster;
 	}
@@ -22,34 +22,35 @@ import info.archinnov.achilles.context.ThriftDaoContext;
 import info.archinnov.achilles.context.ThriftPersistenceContext;
 import info.archinnov.achilles.context.ThriftPersistenceContextFactory;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
-import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ThriftBatchingPersistenceManager extends ThriftPersistenceManager {
+
 	private static final Logger log = LoggerFactory.getLogger(ThriftBatchingPersistenceManager.class);
 
-	private ThriftBatchingFlushContext flushContext;
+	private BatchingSupport<ThriftBatchingFlushContext> batching;
 
 	ThriftBatchingPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap,
 			ThriftPersistenceContextFactory contextFactory, ThriftDaoContext daoContext,
 			ConfigurationContext configContext) {
 		super(entityMetaMap, contextFactory, daoContext, configContext);
-		this.flushContext = new ThriftBatchingFlushContext(daoContext, consistencyPolicy, null);
+		ThriftBatchingFlushContext flushContext = new ThriftBatchingFlushContext(daoContext, consistencyPolicy, null);
+		this.batching = new BatchingSupport<ThriftBatchingFlushContext>(this, flushContext);
 	}
 
 	/**
 	 * Start a batch session using a Hector mutator.
 	 */
 	public void startBatch() {
-		log.debug("Starting batch mode");
-		flushContext.startBatch();
+		batching.startBatch();
 	}
 
 	/**
@@ -57,94 +58,87 @@ public class ThriftBatchingPersistenceManager extends ThriftPersistenceManager {
 	 * mutator.
 	 */
 	public void startBatch(ConsistencyLevel consistencyLevel) {
-		log.debug("Starting batch mode with write consistency level {}", consistencyLevel);
-		startBatch();
-		flushContext.setConsistencyLevel(consistencyLevel);
-
+		batching.startBatch(consistencyLevel);
 	}
 
 	/**
 	 * End an existing batch and flush all the mutators.
 	 * 
+	 * The identity map, if any, is cleared.
+	 * 
 	 * Do nothing if no batch mutator was started
 	 * 
 	 */
 	public void endBatch() {
-		log.debug("Ending batch mode");
-		flushContext.endBatch();
+		batching.endBatch();
 	}
 
 	/**
 	 * Cleaning all pending mutations for the current batch session.
 	 */
 	public void cleanBatch() {
-		log.debug("Cleaning all pending mutations");
-		flushContext.cleanUp();
+		batching.cleanBatch();
 	}
 
 	@Override
 	public void persist(final Object entity, Options options) {
-		if (options.getConsistencyLevel().isPresent()) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.persist(entity, options);
-		}
+		batching.validateNoConsistencyLevel(options);
+		super.persist(entity, options);
 	}
 
 	@Override
 	public <T> T merge(final T entity, Options options) {
-		if (options.getConsistencyLevel().isPresent()) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.merge(entity, options);
-		}
+		batching.validateNoConsistencyLevel(options);
+		return super.merge(entity, options);
 	}
 
 	@Override
 	public void remove(final Object entity, ConsistencyLevel writeLevel) {
-		if (writeLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.remove(entity, null);
-		}
+		batching.validateNoConsistencyLevel(writeLevel);
+		super.remove(entity, null);
+	}
+
+	/**
+	 * In batch mode the mutations are queued in the current batch, they are
+	 * only sent at endBatch()
+	 */
+	@Override
+	public void persist(Collection<?> entities) {
+		batching.persist(entities);
+	}
+
+	@Override
+	public void remove(Collection<?> entities) {
+		batching.remove(entities);
+	}
+
+	@Override
+	public void removeById(Class<?> entityClass, Collection<?> primaryKeys) {
+		batching.removeById(entityClass, primaryKeys);
 	}
 
 	@Override
 	public <T> T find(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
-		if (readLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.find(entityClass, primaryKey, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.find(entityClass, primaryKey, (ConsistencyLevel) null);
+	}
+
+	@Override
+	public <T> T find(final Class<T> entityClass, final Object primaryKey, Options options) {
+		batching.validateNoConsistencyLevel(options);
+		return super.find(entityClass, primaryKey, options);
 	}
 
 	@Override
 	public <T> T getReference(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
-		if (readLevel != null) {
-			flushContext.cleanUp();
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			return super.getReference(entityClass, primaryKey, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		return super.getReference(entityClass, primaryKey, null);
 	}
 
 	@Override
 	public void refresh(final Object entity, ConsistencyLevel readLevel) throws AchillesStaleObjectStateException {
-		if (readLevel != null) {
-			throw new AchillesException(
-					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(readLevel,writeLevel)'");
-		} else {
-			super.refresh(entity, null);
-		}
+		batching.validateNoConsistencyLevel(readLevel);
+		super.refresh(entity, null);
 	}
 
 	@Override
@@ -153,8 +147,8 @@ public class ThriftBatchingPersistenceManager extends ThriftPersistenceManager {
 				entityClass.getCanonicalName(), primaryKey);
 
 		EntityMeta entityMeta = entityMetaMap.get(entityClass);
-		return new ThriftPersistenceContext(entityMeta, configContext, daoContext, flushContext, entityClass,
-				primaryKey, options);
+		return new ThriftPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entityClass, primaryKey, options);
 	}
 
 	@Override
@@ -162,6 +156,7 @@ public class ThriftBatchingPersistenceManager extends ThriftPersistenceManager {
 		log.trace("Initializing new persistence context for entity {}", entity);
 
 		EntityMeta entityMeta = this.entityMetaMap.get(proxifier.deriveBaseClass(entity));
-		return new ThriftPersistenceContext(entityMeta, configContext, daoContext, flushContext, entity, options);
+		return new ThriftPersistenceContext(entityMeta, configContext, daoContext, batching.getFlushContext(),
+				entity, options);
 	}
 }
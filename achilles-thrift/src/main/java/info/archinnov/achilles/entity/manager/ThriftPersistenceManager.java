@@ -18,15 +18,20 @@ package info.archinnov.achilles.entity.manager;
 
 import info.archinnov.achilles.compound.ThriftCompoundKeyValidator;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.FlushContext;
+import info.archinnov.achilles.context.ThriftBatchingFlushContext;
 import info.archinnov.achilles.context.ThriftDaoContext;
 import info.archinnov.achilles.context.ThriftPersistenceContext;
 import info.archinnov.achilles.context.ThriftPersistenceContextFactory;
 import info.archinnov.achilles.entity.metadata.EntityMeta;
 import info.archinnov.achilles.entity.operations.EntityValidator;
 import info.archinnov.achilles.entity.operations.ThriftEntityProxifier;
+import info.archinnov.achilles.entity.operations.ThriftScanQueryExecutor;
 import info.archinnov.achilles.entity.operations.ThriftSliceQueryExecutor;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 import info.archinnov.achilles.validation.Validator;
 
 import java.util.Map;
@@ -40,6 +45,7 @@ public class ThriftPersistenceManager extends PersistenceManager<ThriftPersisten
 	protected ThriftDaoContext daoContext;
 	protected ThriftPersistenceContextFactory contextFactory;
 	private ThriftSliceQueryExecutor sliceQueryExecutor;
+	private ThriftScanQueryExecutor scanQueryExecutor;
 	private ThriftCompoundKeyValidator compoundKeyValidator = new ThriftCompoundKeyValidator();
 
 	/**
@@ -58,6 +64,7 @@ public class ThriftPersistenceManager extends PersistenceManager<ThriftPersisten
 		super.proxifier = new ThriftEntityProxifier();
 		super.entityValidator = new EntityValidator<ThriftPersistenceContext>(super.proxifier);
 		this.sliceQueryExecutor = new ThriftSliceQueryExecutor(contextFactory, configContext);
+		this.scanQueryExecutor = new ThriftScanQueryExecutor(configContext, daoContext);
 	}
 
 	/**
@@ -77,6 +84,29 @@ public class ThriftPersistenceManager extends PersistenceManager<ThriftPersisten
 				entityClass, meta);
 	}
 
+	/**
+	 * Create a new scan query builder for entity of type T<br/>
+	 * <br/>
+	 * 
+	 * Only entities stored in their own column family can be scanned, not
+	 * clustered entities
+	 * 
+	 * @param entityClass
+	 *            Entity class
+	 * @return ScanQueryBuilder<T>
+	 */
+	@Override
+	public <T> ScanQueryBuilder<T> scan(Class<T> entityClass) {
+		Validator.validateNotNull(entityClass, "The entityClass for scan should not be null");
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateNotNull(meta, "Cannot scan entity type '%s' because it is not managed by Achilles",
+				entityClass.getCanonicalName());
+		Validator.validateFalse(meta.isClusteredEntity(),
+				"Cannot scan clustered entity type '%s'. Please use slice queries on each partition instead",
+				entityClass.getCanonicalName());
+		return new ScanQueryBuilder<T>(scanQueryExecutor, entityClass, meta);
+	}
+
 	@Override
 	protected ThriftPersistenceContext initPersistenceContext(Class<?> entityClass, Object primaryKey, Options options) {
 		return contextFactory.newContext(entityClass, primaryKey, options);
@@ -87,6 +117,27 @@ public class ThriftPersistenceManager extends PersistenceManager<ThriftPersisten
 		return contextFactory.newContext(entity, options);
 	}
 
+	@Override
+	protected ThriftBatchingFlushContext initBulkFlushContext() {
+		return new ThriftBatchingFlushContext(daoContext, consistencyPolicy, null);
+	}
+
+	@Override
+	protected ThriftPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext, Object entity) {
+		Validator.validateNotNull(entity, "entity should not be null for persistence context creation");
+		EntityMeta meta = entityMetaMap.get(proxifier.deriveBaseClass(entity));
+		return new ThriftPersistenceContext(meta, configContext, daoContext,
+				(ThriftBatchingFlushContext) bulkFlushContext, entity, OptionsBuilder.noOptions());
+	}
+
+	@Override
+	protected ThriftPersistenceContext initBulkPersistenceContext(FlushContext<?> bulkFlushContext,
+			Class<?> entityClass, Object primaryKey) {
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		return new ThriftPersistenceContext(meta, configContext, daoContext,
+				(ThriftBatchingFlushContext) bulkFlushContext, entityClass, primaryKey, OptionsBuilder.noOptions());
+	}
+
 	protected void setThriftDaoContext(ThriftDaoContext thriftDaoContext) {
 		this.daoContext = thriftDaoContext;
 	}
@@ -22,6 +22,7 @@ import info.archinnov.achilles.configuration.ThriftArgumentExtractor;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.consistency.ThriftConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext.Impl;
+import info.archinnov.achilles.context.EntityIdentityMap;
 import info.archinnov.achilles.context.ThriftDaoContext;
 import info.archinnov.achilles.context.ThriftDaoContextBuilder;
 import info.archinnov.achilles.context.ThriftPersistenceContextFactory;
@@ -34,10 +35,19 @@ import java.util.Map;
 
 import me.prettyprint.hector.api.Cluster;
 import me.prettyprint.hector.api.Keyspace;
+import me.prettyprint.hector.api.exceptions.HInactivePoolException;
+import me.prettyprint.hector.api.exceptions.HPoolExhaustedException;
+import me.prettyprint.hector.api.exceptions.HTimedOutException;
+import me.prettyprint.hector.api.exceptions.HUnavailableException;
+import me.prettyprint.hector.api.exceptions.HectorPoolException;
+import me.prettyprint.hector.api.exceptions.HectorTransportException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
 public class ThriftPersistenceManagerFactory extends PersistenceManagerFactory {
 
 	private static final Logger log = LoggerFactory.getLogger(ThriftPersistenceManagerFactory.class);
@@ -108,6 +118,42 @@ public class ThriftPersistenceManagerFactory extends PersistenceManagerFactory {
 		return new ThriftBatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
 	}
 
+	/**
+	 * Create a new state-full ThriftPersistenceManager with an identity map.
+	 * Repeated calls to find() with the same primary key return the same
+	 * 'managed' entity without hitting Cassandra, until closeSession() is
+	 * called <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. It should be bound to a single unit of work</strong>
+	 * 
+	 * @return a new state-full ThriftPersistenceManager
+	 */
+	public ThriftPersistenceManager createSessionPersistenceManager() {
+		ThriftPersistenceManager manager = createPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
+	/**
+	 * Create a new state-full PersistenceManager for batch handling, with an
+	 * identity map. The identity map is cleared at endBatch() and
+	 * cleanBatch() <br/>
+	 * <br/>
+	 * 
+	 * <strong>WARNING : This PersistenceManager is state-full and not
+	 * thread-safe. In case of exception, you MUST not re-use it but create
+	 * another one</strong>
+	 * 
+	 * @return a new state-full PersistenceManager
+	 */
+	public ThriftBatchingPersistenceManager createBatchingSessionPersistenceManager() {
+		ThriftBatchingPersistenceManager manager = createBatchingPersistenceManager();
+		manager.setIdentityMap(new EntityIdentityMap());
+		return manager;
+	}
+
 	@Override
 	protected AchillesConsistencyLevelPolicy initConsistencyLevelPolicy(Map<String, Object> configurationMap,
 			ArgumentExtractor argumentExtractor) {
@@ -125,6 +171,15 @@ public class ThriftPersistenceManagerFactory extends PersistenceManagerFactory {
 		return policy;
 	}
 
+	@Override
+	protected Predicate<Throwable> transientWriteFailure() {
+		return Predicates.<Throwable> or(Predicates.instanceOf(HTimedOutException.class),
+				Predicates.instanceOf(HUnavailableException.class),
+				Predicates.instanceOf(HectorTransportException.class), Predicates.instanceOf(HectorPoolException.class),
+				Predicates.instanceOf(HPoolExhaustedException.class),
+				Predicates.instanceOf(HInactivePoolException.class));
+	}
+
 	protected void setThriftDaoContext(ThriftDaoContext thriftDaoContext) {
 		this.daoContext = thriftDaoContext;
 	}
@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.entity.operations;
+
+import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.ThriftConsistencyContext;
+import info.archinnov.achilles.context.ThriftDaoContext;
+import info.archinnov.achilles.context.execution.SafeExecutionContext;
+import info.archinnov.achilles.dao.ThriftGenericEntityDao;
+import info.archinnov.achilles.entity.ThriftEntityMapper;
+import info.archinnov.achilles.entity.metadata.EntityMeta;
+import info.archinnov.achilles.query.ScanQuery;
+import info.archinnov.achilles.query.scan.RingPartitioner;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import me.prettyprint.hector.api.beans.Composite;
+import me.prettyprint.hector.api.beans.HColumn;
+import me.prettyprint.hector.api.beans.OrderedRows;
+import me.prettyprint.hector.api.beans.Row;
+
+import org.apache.cassandra.utils.Pair;
+
+/**
+ * Pages are read with get_range_slices. The first page starts at the token
+ * range start, the next ones at the last key read, which is returned again
+ * and skipped
+ */
+public class ThriftScanQueryExecutor extends ScanQueryExecutor<Void> {
+
+	private ThriftEntityMapper mapper = new ThriftEntityMapper();
+	private ThriftDaoContext daoContext;
+	private AchillesConsistencyLevelPolicy consistencyPolicy;
+
+	public ThriftScanQueryExecutor(ConfigurationContext configContext, ThriftDaoContext daoContext) {
+		this.daoContext = daoContext;
+		this.consistencyPolicy = configContext.getConsistencyPolicy();
+	}
+
+	@Override
+	protected String describePartitioner(EntityMeta meta) {
+		return daoContext.findEntityDao(meta.getTableName()).describePartitioner();
+	}
+
+	@Override
+	protected Collection<String> describeRing(EntityMeta meta) {
+		return daoContext.findEntityDao(meta.getTableName()).describeRingTokens();
+	}
+
+	@Override
+	protected <T> void scanRange(RingPartitioner partitioner, ScanQuery<T> query, Void scanState,
+			TokenRange range, ScanConsumer<? super T> consumer) {
+		EntityMeta meta = query.getMeta();
+		ThriftGenericEntityDao entityDao = daoContext.findEntityDao(meta.getTableName());
+		ThriftConsistencyContext consistencyContext = new ThriftConsistencyContext(consistencyPolicy,
+				query.getConsistencyLevel());
+		String startToken = range.getStart().toString();
+		String endToken = range.getEnd().toString();
+
+		Object lastKey = null;
+		while (!Thread.currentThread().isInterrupted()) {
+			int rowCount = lastKey == null ? query.getPageSize() : query.getPageSize() + 1;
+			List<Row<Object, Composite, String>> rows = fetch(entityDao, consistencyContext, lastKey,
+					lastKey == null ? startToken : null, endToken, rowCount).getList();
+
+			for (Row<Object, Composite, String> row : rows) {
+				if (lastKey != null && lastKey.equals(row.getKey())) {
+					continue;
+				}
+				List<HColumn<Composite, String>> hColumns = row.getColumnSlice().getColumns();
+				if (!hColumns.isEmpty()) {
+					consumer.accept(this.<T> buildEntity(meta, row.getKey(), hColumns));
+				}
+			}
+
+			if (rows.size() < rowCount) {
+				return;
+			}
+			lastKey = rows.get(rows.size() - 1).getKey();
+		}
+	}
+
+	private OrderedRows<Object, Composite, String> fetch(final ThriftGenericEntityDao entityDao,
+			ThriftConsistencyContext consistencyContext, final Object startKey, final String startToken,
+			final String endToken, final int rowCount) {
+		return consistencyContext
+				.executeWithReadConsistencyLevel(new SafeExecutionContext<OrderedRows<Object, Composite, String>>() {
+					@Override
+					public OrderedRows<Object, Composite, String> execute() {
+						return entityDao.eagerFetchEntitiesInRange(startKey, startToken, endToken, rowCount);
+					}
+				});
+	}
+
+	private <T> T buildEntity(EntityMeta meta, Object key, List<HColumn<Composite, String>> hColumns) {
+		List<Pair<Composite, String>> columns = new ArrayList<Pair<Composite, String>>(hColumns.size());
+		for (HColumn<Composite, String> hColumn : hColumns) {
+			columns.add(Pair.create(hColumn.getName(), hColumn.getValue()));
+		}
+		T entity = meta.<T> instanciate();
+		mapper.setEagerPropertiesToEntity(key, columns, meta, entity);
+		return entity;
+	}
+}
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.entity.operations;
 
 import info.archinnov.achilles.clustered.ClusteredEntityFactory;
+import info.archinnov.achilles.composite.ThriftCompositeTransformer;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.context.ThriftPersistenceContext;
@@ -40,6 +41,8 @@ import me.prettyprint.hector.api.beans.Composite;
 import me.prettyprint.hector.api.beans.HColumn;
 import me.prettyprint.hector.api.beans.HCounterColumn;
 
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
 public class ThriftSliceQueryExecutor extends SliceQueryExecutor<ThriftPersistenceContext> {
@@ -48,6 +51,7 @@ public class ThriftSliceQueryExecutor extends SliceQueryExecutor<ThriftPersisten
 
 	private ClusteredEntityFactory factory = new ClusteredEntityFactory();
 	private ThriftQueryExecutorImpl executorImpl = new ThriftQueryExecutorImpl();
+	private ThriftCompositeTransformer transformer = new ThriftCompositeTransformer();
 	private ThriftPersistenceContextFactory contextFactory;
 
 	public ThriftSliceQueryExecutor(ThriftPersistenceContextFactory contextFactory, ConfigurationContext configContext) {
@@ -102,6 +106,42 @@ public class ThriftSliceQueryExecutor extends SliceQueryExecutor<ThriftPersisten
 		}
 	}
 
+	@Override
+	public <T> long count(final SliceQuery<T> sliceQuery) {
+		ThriftPersistenceContext context = buildContextForQuery(sliceQuery);
+		int limit = sliceQuery.isLimitSet() ? sliceQuery.getLimit() : Integer.MAX_VALUE;
+		return executorImpl.countColumns(sliceQuery, context, limit);
+	}
+
+	@Override
+	public <T> Iterator<Object> iteratorOfIds(final SliceQuery<T> sliceQuery) {
+		final ThriftPersistenceContext context = buildContextForQuery(sliceQuery);
+		PropertyType type = context.isValueless() ? PropertyType.SIMPLE : context.getFirstMeta().type();
+
+		switch (type) {
+		case SIMPLE:
+			ThriftSliceIterator<Object, Object> columnsIterator = executorImpl.getColumnsIterator(sliceQuery, context);
+			return Iterators.transform(columnsIterator, new Function<HColumn<Composite, Object>, Object>() {
+				@Override
+				public Object apply(HColumn<Composite, Object> hColumn) {
+					return transformer.buildEmbeddedIdFromComponents(context, hColumn.getName().getComponents());
+				}
+			});
+		case COUNTER:
+			ThriftCounterSliceIterator<Object> counterColumnsIterator = executorImpl.getCounterColumnsIterator(
+					sliceQuery, context);
+			return Iterators.transform(counterColumnsIterator, new Function<HCounterColumn<Composite>, Object>() {
+				@Override
+				public Object apply(HCounterColumn<Composite> hColumn) {
+					return transformer.buildEmbeddedIdFromComponents(context, hColumn.getName().getComponents());
+				}
+			});
+		default:
+			throw new AchillesException("Cannot get ids iterator for clustered value of type '" + type.name()
+					+ "' and clustered entity class '" + sliceQuery.getEntityClass().getCanonicalName() + "'");
+		}
+	}
+
 	@Override
 	public <T> void remove(final SliceQuery<T> sliceQuery) {
 		ThriftPersistenceContext context = buildContextForQuery(sliceQuery);
@@ -83,7 +83,7 @@ public class ThriftPersisterImpl {
 					CounterImpl.class.getCanonicalName());
 
 			CounterImpl counterValue = (CounterImpl) counter;
-			context.getCounterDao().incrementCounter(rowKey, name, counterValue.get());
+			context.getCounterDao().incrementCounterBatch(rowKey, name, counterValue.get(), context.getCounterMutator());
 		}
 	}
 
@@ -166,7 +166,7 @@ public class ThriftPersisterImpl {
 						"Counter clustered entity '%s' value should be of type '%s'", className,
 						CounterImpl.class.getCanonicalName());
 				CounterImpl counterValue = (CounterImpl) clusteredValue;
-				dao.incrementCounter(rowKey, comp, counterValue.get());
+				dao.incrementCounterBatch(rowKey, comp, counterValue.get(), mutator);
 			} else {
 				Object persistentValue = pm.encode(clusteredValue);
 				dao.setValueBatch(rowKey, comp, persistentValue, context.getTtt(), context.getTimestamp(), mutator);
@@ -56,6 +56,31 @@ public class ThriftQueryExecutorImpl {
 		}, query.getConsistencyLevel());
 	}
 
+	/**
+	 * Server-side column count, works for both simple and counter clustered
+	 * entities. A reversed slice covers the same columns as the forward slice
+	 * with its bounds swapped
+	 */
+	public <T> int countColumns(final SliceQuery<T> query, ThriftPersistenceContext context, final int limit) {
+		EntityMeta meta = query.getMeta();
+		final ThriftGenericWideRowDao wideRowDao = context.getWideRowDao();
+		PropertyMeta idMeta = meta.getIdMeta();
+		final Object rowKey = compositeFactory.buildRowKey(context);
+
+		final Composite[] composites = compositeFactory.createForClusteredQuery(idMeta, query.getClusteringsFrom(),
+				query.getClusteringsTo(), query.getBounding(), query.getOrdering());
+		final boolean reverse = query.getOrdering().isReverse();
+
+		return context.executeWithReadConsistencyLevel(new SafeExecutionContext<Integer>() {
+			@Override
+			public Integer execute() {
+				Composite start = reverse ? composites[1] : composites[0];
+				Composite end = reverse ? composites[0] : composites[1];
+				return wideRowDao.countColumnsRange(rowKey, start, end, limit);
+			}
+		}, query.getConsistencyLevel());
+	}
+
 	public <T> ThriftSliceIterator<Object, Object> getColumnsIterator(final SliceQuery<T> query,
 			ThriftPersistenceContext context) {
 		EntityMeta meta = query.getMeta();
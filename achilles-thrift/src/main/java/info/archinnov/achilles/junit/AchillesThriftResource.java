@@ -146,6 +146,11 @@ public class AchillesThriftResource extends AchillesTestResource {
 		}
 	}
 
+	@Override
+	protected boolean hasData(String table) {
+		return server.hasData(table);
+	}
+
 	public <K> ThriftGenericEntityDao getEntityDao(String columnFamily, Class<K> keyClass) {
 		return new ThriftGenericEntityDao(cluster, keyspace, columnFamily, policy, Pair.create(keyClass, String.class));
 	}
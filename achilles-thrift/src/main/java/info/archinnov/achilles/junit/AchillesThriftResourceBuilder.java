@@ -24,6 +24,7 @@ public class AchillesThriftResourceBuilder {
 	private Steps cleanupSteps = Steps.BOTH;
 	private String[] tablesToCleanUp;
 	private String entityPackages;
+	private boolean deleteWrittenKeysOnly = false;
 
 	private AchillesThriftResourceBuilder() {
 	}
@@ -77,7 +78,21 @@ public class AchillesThriftResourceBuilder {
 		return this;
 	}
 
+	/**
+	 * Delete only the entities written through the PersistenceManager instead
+	 * of truncating the tables. The tables are still truncated when they hold
+	 * data after the deletion, for example rows written with the native API
+	 */
+	public AchillesThriftResourceBuilder deleteWrittenKeysOnly() {
+		this.deleteWrittenKeysOnly = true;
+		return this;
+	}
+
 	public AchillesThriftResource build() {
-		return new AchillesThriftResource(entityPackages, cleanupSteps, tablesToCleanUp);
+		AchillesThriftResource resource = new AchillesThriftResource(entityPackages, cleanupSteps, tablesToCleanUp);
+		if (deleteWrittenKeysOnly) {
+			resource.deleteWrittenKeysOnly(resource.getPersistenceManagerFactory(), resource.getPersistenceManager());
+		}
+		return resource;
 	}
 }
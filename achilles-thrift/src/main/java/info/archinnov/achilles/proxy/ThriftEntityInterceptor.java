@@ -25,6 +25,7 @@ import info.archinnov.achilles.entity.operations.ThriftEntityLoader;
 import info.archinnov.achilles.entity.operations.ThriftEntityPersister;
 import info.archinnov.achilles.entity.operations.ThriftEntityProxifier;
 import info.archinnov.achilles.proxy.wrapper.builder.ThriftCounterWrapperBuilder;
+import info.archinnov.achilles.proxy.wrapper.builder.ThriftPagedWrapperBuilder;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
 import me.prettyprint.hector.api.beans.Composite;
@@ -65,4 +66,29 @@ public class ThriftEntityInterceptor<T> extends EntityInterceptor<ThriftPersiste
 				.counterDao(counterDao).columnName(comp).consistencyLevel(consistencyLevel).key(rowKey).build();
 		return result;
 	}
+
+	@Override
+	protected Object buildPagedWrapper(PropertyMeta propertyMeta) {
+		Object rowKey = thriftCompositeFactory.buildRowKey(context);
+		ConsistencyLevel consistencyLevel = context.getConsistencyLevel().isPresent() ? context.getConsistencyLevel()
+				.get() : propertyMeta.getReadConsistencyLevel();
+
+		ThriftPagedWrapperBuilder builder = ThriftPagedWrapperBuilder.builder(context, propertyMeta)
+		//
+				.entityDao(context.getEntityDao()).consistencyLevel(consistencyLevel).key(rowKey);
+
+		Object result;
+		switch (propertyMeta.type()) {
+		case LAZY_LIST:
+			result = builder.buildList();
+			break;
+		case LAZY_SET:
+			result = builder.buildSet();
+			break;
+		default:
+			result = builder.buildMap();
+			break;
+		}
+		return result;
+	}
 }
@@ -22,7 +22,6 @@ import info.archinnov.achilles.entity.metadata.PropertyMeta;
 import info.archinnov.achilles.validation.Validator;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -76,12 +75,14 @@ public class ThriftEntityInterceptorBuilder<T> {
 		interceptor.setIdGetter(idMeta.getGetter());
 		interceptor.setIdSetter(idMeta.getSetter());
 
+		Set<Method> loadedGetters = new LoadedGetters(entityMeta);
+		loadedGetters.addAll(alreadyLoaded);
 		if (context.isLoadEagerFields()) {
-			alreadyLoaded.addAll(entityMeta.getEagerGetters());
+			loadedGetters.addAll(entityMeta.getEagerGetters());
 		}
 
-		interceptor.setAlreadyLoaded(alreadyLoaded);
-		interceptor.setDirtyMap(new HashMap<Method, PropertyMeta>());
+		interceptor.setAlreadyLoaded(loadedGetters);
+		interceptor.setDirtyMap(new DirtyMap(entityMeta));
 
 		interceptor.setPrimaryKey(context.getPrimaryKey());
 
@@ -0,0 +1,215 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import static info.archinnov.achilles.serializer.ThriftSerializerUtils.STRING_SRZ;
+import static me.prettyprint.hector.api.beans.AbstractComposite.ComponentEquality.*;
+import info.archinnov.achilles.composite.ThriftCompositeFactory;
+import info.archinnov.achilles.context.ThriftPersistenceContext;
+import info.archinnov.achilles.context.execution.SafeExecutionContext;
+import info.archinnov.achilles.dao.ThriftGenericEntityDao;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import me.prettyprint.hector.api.beans.Composite;
+import me.prettyprint.hector.api.beans.HColumn;
+
+import org.apache.cassandra.utils.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Columns of a paged collection property within the entity row. Reads hit
+ * Cassandra for a single column or page by page, each write is pushed as a
+ * single column mutation to the flush context of the entity
+ */
+public class ThriftPagedColumns {
+	private static final Logger log = LoggerFactory.getLogger(ThriftPagedColumns.class);
+
+	private ThriftCompositeFactory compositeFactory = new ThriftCompositeFactory();
+
+	private Object key;
+	private ThriftGenericEntityDao entityDao;
+	private ThriftPersistenceContext context;
+	private PropertyMeta propertyMeta;
+	private ConsistencyLevel consistencyLevel;
+
+	public ThriftPagedColumns(ThriftPersistenceContext context, PropertyMeta propertyMeta) {
+		this.context = context;
+		this.propertyMeta = propertyMeta;
+	}
+
+	public String getValue(String component) {
+		final Composite name = compositeFactory.createForBatchInsertSetOrMap(propertyMeta, component);
+		log.trace("Get column {} of paged property {} of entity {}", component, propertyMeta.getPropertyName(),
+				context.getEntityClass().getCanonicalName());
+
+		return context.executeWithReadConsistencyLevel(new SafeExecutionContext<String>() {
+			@Override
+			public String execute() {
+				return entityDao.getValue(key, name);
+			}
+		}, consistencyLevel);
+	}
+
+	public int count() {
+		log.trace("Count columns of paged property {} of entity {}", propertyMeta.getPropertyName(), context
+				.getEntityClass().getCanonicalName());
+
+		return context.executeWithReadConsistencyLevel(new SafeExecutionContext<Integer>() {
+			@Override
+			public Integer execute() {
+				return entityDao.countColumnsRange(key, start(), end(), Integer.MAX_VALUE);
+			}
+		}, consistencyLevel);
+	}
+
+	public boolean isEmpty() {
+		List<Pair<Composite, String>> firstColumn = context.executeWithReadConsistencyLevel(
+				new SafeExecutionContext<List<Pair<Composite, String>>>() {
+					@Override
+					public List<Pair<Composite, String>> execute() {
+						return entityDao.findColumnsRange(key, start(), end(), false, 1);
+					}
+				}, consistencyLevel);
+		return firstColumn.isEmpty();
+	}
+
+	/**
+	 * Iterates over the columns by pages of {@link PropertyMeta#getPageSize()}
+	 * columns. Calling remove() on the iterator removes the last returned
+	 * column
+	 */
+	public Iterator<Pair<String, String>> iterator() {
+		log.trace("Iterate over paged property {} of entity {} by pages of {} columns",
+				propertyMeta.getPropertyName(), context.getEntityClass().getCanonicalName(),
+				propertyMeta.getPageSize());
+
+		final Iterator<HColumn<Composite, String>> columnsIterator = context.executeWithReadConsistencyLevel(
+				new SafeExecutionContext<Iterator<HColumn<Composite, String>>>() {
+					@Override
+					public Iterator<HColumn<Composite, String>> execute() {
+						return entityDao.getColumnsIterator(key, start(), end(), false, propertyMeta.getPageSize());
+					}
+				}, consistencyLevel);
+
+		return new Iterator<Pair<String, String>>() {
+			private String current;
+
+			@Override
+			public boolean hasNext() {
+				return columnsIterator.hasNext();
+			}
+
+			@Override
+			public Pair<String, String> next() {
+				if (!columnsIterator.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				HColumn<Composite, String> column = columnsIterator.next();
+				current = column.getName().get(2, STRING_SRZ);
+				return Pair.create(current, column.getValue());
+			}
+
+			@Override
+			public void remove() {
+				if (current == null) {
+					throw new IllegalStateException("next() should be called before remove()");
+				}
+				ThriftPagedColumns.this.remove(current);
+				current = null;
+			}
+		};
+	}
+
+	public void insert(String component, String value) {
+		Composite name = compositeFactory.createForBatchInsertSetOrMap(propertyMeta, component);
+		log.trace("Insert column {} of paged property {} of entity {}", component, propertyMeta.getPropertyName(),
+				context.getEntityClass().getCanonicalName());
+
+		entityDao.insertColumnBatch(key, name, value, context.getTtt(), context.getTimestamp(),
+				context.getEntityMutator(context.getTableName()));
+		context.flush();
+	}
+
+	public void remove(String component) {
+		Composite name = compositeFactory.createForBatchInsertSetOrMap(propertyMeta, component);
+		log.trace("Remove column {} of paged property {} of entity {}", component, propertyMeta.getPropertyName(),
+				context.getEntityClass().getCanonicalName());
+
+		entityDao.removeColumnBatch(key, name, context.getEntityMutator(context.getTableName()));
+		context.flush();
+	}
+
+	public void removeAll() {
+		log.trace("Remove all columns of paged property {} of entity {}", propertyMeta.getPropertyName(), context
+				.getEntityClass().getCanonicalName());
+
+		entityDao.removeColumnRangeBatch(key, start(), end(), context.getEntityMutator(context.getTableName()));
+		context.flush();
+	}
+
+	/**
+	 * Position of the last element of a paged list, -1 if the list is empty.
+	 * Only the last column is read, with a reversed slice
+	 */
+	public int lastListPosition() {
+		log.trace("Find last position of paged list property {} of entity {}", propertyMeta.getPropertyName(),
+				context.getEntityClass().getCanonicalName());
+
+		List<Pair<Composite, String>> lastColumn = context.executeWithReadConsistencyLevel(
+				new SafeExecutionContext<List<Pair<Composite, String>>>() {
+					@Override
+					public List<Pair<Composite, String>> execute() {
+						return entityDao.findColumnsRange(key, end(), start(), true, 1);
+					}
+				}, consistencyLevel);
+		return lastColumn.isEmpty() ? -1 : Integer.parseInt(lastColumn.get(0).left.get(2, STRING_SRZ));
+	}
+
+	public String listPosition(int index) {
+		return compositeFactory.formatListPosition(index);
+	}
+
+	public PropertyMeta getPropertyMeta() {
+		return propertyMeta;
+	}
+
+	public void setKey(Object key) {
+		this.key = key;
+	}
+
+	public void setEntityDao(ThriftGenericEntityDao entityDao) {
+		this.entityDao = entityDao;
+	}
+
+	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	private Composite start() {
+		return compositeFactory.createBaseForQuery(propertyMeta, EQUAL);
+	}
+
+	private Composite end() {
+		return compositeFactory.createBaseForQuery(propertyMeta, GREATER_THAN_EQUAL);
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+
+import org.apache.cassandra.utils.Pair;
+
+/**
+ * List view of a paged list property. get() and set() only touch the column at
+ * the given position, add() appends after the last position and iterating
+ * fetches the elements page by page. Since elements are stored by position,
+ * inserting or removing at a given index is not supported.
+ * 
+ * The position of the next append is read once from the last column then
+ * kept by the view, so that several appends in the same batch do not target
+ * the same position
+ */
+public class ThriftPagedListWrapper<V> extends AbstractList<V> {
+
+	private ThriftPagedColumns columns;
+	private PropertyMeta propertyMeta;
+	private Integer nextPosition;
+
+	public ThriftPagedListWrapper(ThriftPagedColumns columns) {
+		this.columns = columns;
+		this.propertyMeta = columns.getPropertyMeta();
+	}
+
+	@Override
+	public V get(int index) {
+		return this.<V> decodeValue(getExisting(index));
+	}
+
+	@Override
+	public V set(int index, V element) {
+		String previous = getExisting(index);
+		columns.insert(columns.listPosition(index), propertyMeta.forceEncodeToJSON(element));
+		return this.<V> decodeValue(previous);
+	}
+
+	@Override
+	public boolean add(V element) {
+		if (nextPosition == null) {
+			nextPosition = columns.lastListPosition() + 1;
+		}
+		columns.insert(columns.listPosition(nextPosition), propertyMeta.forceEncodeToJSON(element));
+		nextPosition++;
+		return true;
+	}
+
+	@Override
+	public Iterator<V> iterator() {
+		final Iterator<Pair<String, String>> iterator = columns.iterator();
+		return new Iterator<V>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public V next() {
+				return ThriftPagedListWrapper.this.<V> decodeValue(iterator.next().right);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Cannot remove elements from a paged list");
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return columns.count();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return columns.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		columns.removeAll();
+		nextPosition = null;
+	}
+
+	private String getExisting(int index) {
+		String value = index < 0 ? null : columns.getValue(columns.listPosition(index));
+		if (value == null) {
+			throw new IndexOutOfBoundsException("No element at index " + index + " of paged list property '"
+					+ propertyMeta.getPropertyName() + "'");
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T decodeValue(String value) {
+		return (T) propertyMeta.decode(value);
+	}
+}
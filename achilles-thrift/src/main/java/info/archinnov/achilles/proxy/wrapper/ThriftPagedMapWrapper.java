@@ -0,0 +1,150 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.cassandra.utils.Pair;
+
+/**
+ * Map view of a paged map property. get(), containsKey(), put() and remove()
+ * only touch the column of the given key, iterating fetches the entries page
+ * by page in the column order of their JSON encoded keys.
+ * 
+ * To return the previous value, put() and remove() read the column before
+ * writing it, which costs one extra round trip per call. putAll() and
+ * removal through the iterators write without reading
+ */
+public class ThriftPagedMapWrapper<K, V> extends AbstractMap<K, V> {
+
+	private ThriftPagedColumns columns;
+	private PropertyMeta propertyMeta;
+
+	public ThriftPagedMapWrapper(ThriftPagedColumns columns) {
+		this.columns = columns;
+		this.propertyMeta = columns.getPropertyMeta();
+	}
+
+	@Override
+	public V get(Object key) {
+		String value = columns.getValue(propertyMeta.forceEncodeToJSON(key));
+		return value == null ? null : this.<V> decodeValue(value);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return columns.getValue(propertyMeta.forceEncodeToJSON(key)) != null;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		String keyAsString = propertyMeta.forceEncodeToJSON(key);
+		String previous = columns.getValue(keyAsString);
+		columns.insert(keyAsString, propertyMeta.forceEncodeToJSON(value));
+		return previous == null ? null : this.<V> decodeValue(previous);
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> entries) {
+		for (Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+			columns.insert(propertyMeta.forceEncodeToJSON(entry.getKey()),
+					propertyMeta.forceEncodeToJSON(entry.getValue()));
+		}
+	}
+
+	@Override
+	public V remove(Object key) {
+		String keyAsString = propertyMeta.forceEncodeToJSON(key);
+		String previous = columns.getValue(keyAsString);
+		if (previous == null) {
+			return null;
+		}
+		columns.remove(keyAsString);
+		return this.<V> decodeValue(previous);
+	}
+
+	@Override
+	public int size() {
+		return columns.count();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return columns.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		columns.removeAll();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<Entry<K, V>>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				final Iterator<Pair<String, String>> iterator = columns.iterator();
+				return new Iterator<Entry<K, V>>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@SuppressWarnings("unchecked")
+					@Override
+					public Entry<K, V> next() {
+						Pair<String, String> column = iterator.next();
+						K key = (K) propertyMeta.forceDecodeFromJSON(column.left, propertyMeta.getKeyClass());
+						V value = ThriftPagedMapWrapper.this.<V> decodeValue(column.right);
+						return new SimpleImmutableEntry<K, V>(key, value);
+					}
+
+					@Override
+					public void remove() {
+						iterator.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return columns.count();
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return columns.isEmpty();
+			}
+
+			@Override
+			public void clear() {
+				columns.removeAll();
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T decodeValue(String value) {
+		return (T) propertyMeta.decode(value);
+	}
+}
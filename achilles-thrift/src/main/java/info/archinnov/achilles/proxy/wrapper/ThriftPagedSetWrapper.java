@@ -0,0 +1,103 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+import org.apache.cassandra.utils.Pair;
+
+/**
+ * Set view of a paged set property. contains(), add() and remove() only touch
+ * the column of the given element, iterating fetches the elements page by page
+ * in the column order of their JSON encoding
+ */
+public class ThriftPagedSetWrapper<V> extends AbstractSet<V> {
+	private static final String EMPTY = "";
+
+	private ThriftPagedColumns columns;
+	private PropertyMeta propertyMeta;
+
+	public ThriftPagedSetWrapper(ThriftPagedColumns columns) {
+		this.columns = columns;
+		this.propertyMeta = columns.getPropertyMeta();
+	}
+
+	@Override
+	public boolean contains(Object element) {
+		return columns.getValue(propertyMeta.forceEncodeToJSON(element)) != null;
+	}
+
+	@Override
+	public boolean add(V element) {
+		String elementAsString = propertyMeta.forceEncodeToJSON(element);
+		boolean absent = columns.getValue(elementAsString) == null;
+		if (absent) {
+			columns.insert(elementAsString, EMPTY);
+		}
+		return absent;
+	}
+
+	@Override
+	public boolean remove(Object element) {
+		String elementAsString = propertyMeta.forceEncodeToJSON(element);
+		boolean present = columns.getValue(elementAsString) != null;
+		if (present) {
+			columns.remove(elementAsString);
+		}
+		return present;
+	}
+
+	@Override
+	public Iterator<V> iterator() {
+		final Iterator<Pair<String, String>> iterator = columns.iterator();
+		return new Iterator<V>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public V next() {
+				return (V) propertyMeta.decode(iterator.next().left);
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return columns.count();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return columns.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		columns.removeAll();
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper.builder;
+
+import info.archinnov.achilles.context.ThriftPersistenceContext;
+import info.archinnov.achilles.dao.ThriftGenericEntityDao;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.proxy.wrapper.ThriftPagedColumns;
+import info.archinnov.achilles.proxy.wrapper.ThriftPagedListWrapper;
+import info.archinnov.achilles.proxy.wrapper.ThriftPagedMapWrapper;
+import info.archinnov.achilles.proxy.wrapper.ThriftPagedSetWrapper;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+public class ThriftPagedWrapperBuilder {
+	private Object key;
+	private ThriftGenericEntityDao entityDao;
+	private ThriftPersistenceContext context;
+	private PropertyMeta propertyMeta;
+	private ConsistencyLevel consistencyLevel;
+
+	public static ThriftPagedWrapperBuilder builder(ThriftPersistenceContext context, PropertyMeta propertyMeta) {
+		return new ThriftPagedWrapperBuilder(context, propertyMeta);
+	}
+
+	protected ThriftPagedWrapperBuilder(ThriftPersistenceContext context, PropertyMeta propertyMeta) {
+		this.context = context;
+		this.propertyMeta = propertyMeta;
+	}
+
+	public ThriftPagedWrapperBuilder key(Object key) {
+		this.key = key;
+		return this;
+	}
+
+	public ThriftPagedWrapperBuilder entityDao(ThriftGenericEntityDao entityDao) {
+		this.entityDao = entityDao;
+		return this;
+	}
+
+	public ThriftPagedWrapperBuilder consistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+		return this;
+	}
+
+	public <V> ThriftPagedListWrapper<V> buildList() {
+		return new ThriftPagedListWrapper<V>(buildColumns());
+	}
+
+	public <V> ThriftPagedSetWrapper<V> buildSet() {
+		return new ThriftPagedSetWrapper<V>(buildColumns());
+	}
+
+	public <K, V> ThriftPagedMapWrapper<K, V> buildMap() {
+		return new ThriftPagedMapWrapper<K, V>(buildColumns());
+	}
+
+	private ThriftPagedColumns buildColumns() {
+		ThriftPagedColumns columns = new ThriftPagedColumns(context, propertyMeta);
+		columns.setKey(key);
+		columns.setEntityDao(entityDao);
+		columns.setConsistencyLevel(consistencyLevel);
+		return columns;
+	}
+}
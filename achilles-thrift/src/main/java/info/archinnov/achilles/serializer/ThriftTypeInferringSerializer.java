@@ -0,0 +1,47 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.serializer;
+
+import java.nio.ByteBuffer;
+
+import me.prettyprint.cassandra.serializers.AbstractSerializer;
+
+/**
+ * Row key serializer inferring the serializer from the runtime type of each
+ * key, so that a single mutator can batch mutations of column families with
+ * different row key types
+ */
+public class ThriftTypeInferringSerializer extends AbstractSerializer<Object> {
+	private static final ThriftTypeInferringSerializer instance = new ThriftTypeInferringSerializer();
+
+	public static ThriftTypeInferringSerializer get() {
+		return instance;
+	}
+
+	@Override
+	public ByteBuffer toByteBuffer(Object obj) {
+		if (obj == null) {
+			return null;
+		}
+		return ThriftSerializerTypeInferer.getSerializer(obj).toByteBuffer(obj);
+	}
+
+	@Override
+	public Object fromByteBuffer(ByteBuffer byteBuffer) {
+		throw new UnsupportedOperationException("Cannot infer the type of a serialized row key");
+	}
+}
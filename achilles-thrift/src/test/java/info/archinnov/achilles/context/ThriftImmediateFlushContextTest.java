@@ -25,6 +25,7 @@ import info.archinnov.achilles.dao.ThriftAbstractDao;
 import info.archinnov.achilles.dao.ThriftCounterDao;
 import info.archinnov.achilles.dao.ThriftGenericEntityDao;
 import info.archinnov.achilles.dao.ThriftGenericWideRowDao;
+import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -107,6 +108,50 @@ public class ThriftImmediateFlushContextTest {
 		assertThat(mutatorMap).isEmpty();
 	}
 
+	@Test
+	public void should_execute_shared_mutator_once() throws Exception {
+		mutatorMap.put("cf", Pair.<Mutator<?>, ThriftAbstractDao> create(mutator, entityDao));
+		mutatorMap.put("cf2", Pair.<Mutator<?>, ThriftAbstractDao> create(mutator, entityDao));
+		mutatorMap.put(AchillesCounter.THRIFT_COUNTER_CF,
+				Pair.<Mutator<?>, ThriftAbstractDao> create(counterMutator, thriftCounterDao));
+
+		context.flush();
+
+		verify(entityDao, times(1)).executeMutator(mutator);
+		verify(thriftCounterDao, times(1)).executeMutator(counterMutator);
+		assertThat(mutatorMap).isEmpty();
+	}
+
+	@Test
+	public void should_share_mutator_between_column_families_with_same_write_level() throws Exception {
+		when(thriftDaoContext.findEntityDao("cf")).thenReturn(entityDao);
+		when(thriftDaoContext.findWideRowDao("cf2")).thenReturn(cfDao);
+		when(thriftDaoContext.getCounterDao()).thenReturn(thriftCounterDao);
+		when(thriftConsistencyContext.getWriteConsistencyLevel(anyString())).thenReturn(ConsistencyLevel.ONE);
+		when(entityDao.buildMutator()).thenReturn(mutator);
+
+		assertThat(context.getEntityMutator("cf")).isSameAs(mutator);
+		assertThat(context.getWideRowMutator("cf2")).isSameAs(mutator);
+		assertThat(context.getCounterMutator()).isSameAs(mutator);
+
+		verifyZeroInteractions(cfDao, thriftCounterDao);
+		assertThat(mutatorMap.get("cf2").right).isSameAs(cfDao);
+	}
+
+	@Test
+	public void should_not_share_mutator_between_column_families_with_different_write_levels() throws Exception {
+		when(thriftDaoContext.findEntityDao("cf")).thenReturn(entityDao);
+		when(thriftDaoContext.getCounterDao()).thenReturn(thriftCounterDao);
+		when(thriftConsistencyContext.getWriteConsistencyLevel("cf")).thenReturn(ConsistencyLevel.ONE);
+		when(thriftConsistencyContext.getWriteConsistencyLevel(AchillesCounter.THRIFT_COUNTER_CF)).thenReturn(
+				ConsistencyLevel.QUORUM);
+		when(entityDao.buildMutator()).thenReturn(mutator);
+		when(thriftCounterDao.buildMutator()).thenReturn(counterMutator);
+
+		assertThat(context.getEntityMutator("cf")).isSameAs(mutator);
+		assertThat(context.getCounterMutator()).isSameAs(counterMutator);
+	}
+
 	@Test
 	public void should_exception_when_end_batch() throws Exception {
 		exception.expect(UnsupportedOperationException.class);
@@ -17,19 +17,26 @@
 package info.archinnov.achilles.dao;
 
 import static info.archinnov.achilles.entity.metadata.PropertyType.SIMPLE;
-import static org.mockito.Mockito.verify;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
 import info.archinnov.achilles.consistency.ThriftConsistencyLevelPolicy;
+import info.archinnov.achilles.context.ReadCoalescer;
+import info.archinnov.achilles.metrics.SlowStatementLogger;
 import info.archinnov.achilles.serializer.ThriftSerializerUtils;
 import info.archinnov.achilles.test.integration.AchillesInternalThriftResource;
+import info.archinnov.achilles.type.ConsistencyLevel;
 import me.prettyprint.hector.api.Cluster;
 import me.prettyprint.hector.api.Keyspace;
 import me.prettyprint.hector.api.beans.Composite;
+import me.prettyprint.hector.api.mutation.Mutator;
 
 import org.apache.cassandra.utils.Pair;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -83,4 +90,56 @@ public class ThriftAbstractDaoTest {
 		}
 
 	}
+
+	@Test
+	public void should_reinit_consistency_level_when_coalescing_reads() throws Exception {
+		abstractDao.setReadCoalescer(new ReadCoalescer(true));
+
+		Composite composite = new Composite();
+		composite.setComponent(0, SIMPLE.flag(), ThriftSerializerUtils.BYTE_SRZ);
+		composite.setComponent(1, "name", ThriftSerializerUtils.STRING_SRZ);
+		Object value = abstractDao.getValue(123L, composite);
+
+		assertThat(value).isNull();
+		verify(policy).getCurrentReadLevel();
+		verify(policy).loadConsistencyLevelForRead(columnFamily);
+		verify(policy).reinitDefaultConsistencyLevels();
+	}
+
+	@Test
+	public void should_record_writes_but_not_reads_on_read_coalescer() throws Exception {
+		ReadCoalescer readCoalescer = mock(ReadCoalescer.class);
+		abstractDao.setReadCoalescer(readCoalescer);
+
+		Composite composite = new Composite();
+		composite.setComponent(0, SIMPLE.flag(), ThriftSerializerUtils.BYTE_SRZ);
+		composite.setComponent(1, "name", ThriftSerializerUtils.STRING_SRZ);
+		abstractDao.getValue(123L, composite);
+		verify(readCoalescer, never()).recordWrite();
+
+		Mutator<Long> mutator = abstractDao.buildMutator();
+		abstractDao.removeColumnBatch(123L, composite, mutator);
+		abstractDao.executeMutator(mutator);
+		verify(readCoalescer).recordWrite();
+	}
+
+	@Test
+	public void should_log_slow_statement_with_consistency_level_actually_used() throws Exception {
+		SlowStatementLogger slowStatementLogger = mock(SlowStatementLogger.class);
+		when(slowStatementLogger.isEnabled()).thenReturn(true);
+		when(slowStatementLogger.isSlow(eq(columnFamily), anyLong())).thenReturn(true);
+		abstractDao.setSlowStatementLogger(slowStatementLogger);
+		when(policy.getCurrentReadLevel()).thenReturn(ConsistencyLevel.EACH_QUORUM);
+
+		Composite composite = new Composite();
+		composite.setComponent(0, SIMPLE.flag(), ThriftSerializerUtils.BYTE_SRZ);
+		composite.setComponent(1, "name", ThriftSerializerUtils.STRING_SRZ);
+		abstractDao.getValue(123L, composite);
+
+		InOrder inOrder = inOrder(policy, slowStatementLogger);
+		inOrder.verify(policy).getCurrentReadLevel();
+		inOrder.verify(policy).reinitDefaultConsistencyLevels();
+		inOrder.verify(slowStatementLogger).log(eq(columnFamily), anyString(), eq("EACH_QUORUM"),
+				any(Object[].class), anyInt(), anyLong());
+	}
 }
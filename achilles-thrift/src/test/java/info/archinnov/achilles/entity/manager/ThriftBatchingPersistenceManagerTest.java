@@ -21,6 +21,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.consistency.ThriftConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
+import info.archinnov.achilles.context.NegativeLookupCache;
 import info.archinnov.achilles.context.ThriftBatchingFlushContext;
 import info.archinnov.achilles.context.ThriftDaoContext;
 import info.archinnov.achilles.context.ThriftPersistenceContextFactory;
@@ -29,6 +30,10 @@ import info.archinnov.achilles.test.integration.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cassandra.utils.Pair;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -36,6 +41,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
@@ -72,7 +78,8 @@ public class ThriftBatchingPersistenceManagerTest {
 	public void setUp() {
 		when(configContext.getConsistencyPolicy()).thenReturn(consistencyPolicy);
 		manager = new ThriftBatchingPersistenceManager(null, contextFactory, daoContext, configContext);
-		Whitebox.setInternalState(manager, ThriftBatchingFlushContext.class, flushContext);
+		Whitebox.setInternalState(manager, "batching", new BatchingSupport<ThriftBatchingFlushContext>(manager,
+				flushContext));
 	}
 
 	@Test
@@ -96,6 +103,22 @@ public class ThriftBatchingPersistenceManagerTest {
 		verify(flushContext).endBatch();
 	}
 
+	@Test
+	public void should_evict_batch_writes_from_negative_cache_after_flush() throws Exception {
+		NegativeLookupCache negativeLookupCache = mock(NegativeLookupCache.class);
+		manager.negativeLookupCache = negativeLookupCache;
+		List<Pair<Class<?>, String>> batchEvictions = new ArrayList<Pair<Class<?>, String>>();
+		batchEvictions.add(Pair.<Class<?>, String> create(CompleteBean.class, "10"));
+		Whitebox.setInternalState(manager, "batchEvictions", batchEvictions);
+
+		manager.endBatch();
+
+		InOrder inOrder = inOrder(flushContext, negativeLookupCache);
+		inOrder.verify(flushContext).endBatch();
+		inOrder.verify(negativeLookupCache).invalidate(CompleteBean.class, "10");
+		assertThat(Whitebox.getInternalState(manager, "batchEvictions")).isNull();
+	}
+
 	@Test
 	public void should_clean_batch() throws Exception {
 		manager.cleanBatch();
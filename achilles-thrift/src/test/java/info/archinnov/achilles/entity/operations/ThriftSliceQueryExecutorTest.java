@@ -21,6 +21,7 @@ import static org.fest.assertions.api.Assertions.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.clustered.ClusteredEntityFactory;
+import info.archinnov.achilles.composite.ThriftCompositeTransformer;
 import info.archinnov.achilles.consistency.AchillesConsistencyLevelPolicy;
 import info.archinnov.achilles.context.ConfigurationContext;
 import info.archinnov.achilles.context.ThriftPersistenceContext;
@@ -256,6 +257,46 @@ public class ThriftSliceQueryExecutorTest {
 
 	}
 
+	@Test
+	public void should_count_up_to_limit() throws Exception {
+		when(query.isLimitSet()).thenReturn(true);
+		when(query.getLimit()).thenReturn(10);
+		when(executorImpl.countColumns(query, context, 10)).thenReturn(7);
+
+		assertThat(executor.count(query)).isEqualTo(7L);
+	}
+
+	@Test
+	public void should_count_without_limit() throws Exception {
+		when(query.isLimitSet()).thenReturn(false);
+		when(executorImpl.countColumns(query, context, Integer.MAX_VALUE)).thenReturn(1234);
+
+		assertThat(executor.count(query)).isEqualTo(1234L);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_iterate_over_ids_from_column_names() throws Exception {
+		when(pm.type()).thenReturn(SIMPLE);
+		ThriftCompositeTransformer transformer = mock(ThriftCompositeTransformer.class);
+		Whitebox.setInternalState(executor, ThriftCompositeTransformer.class, transformer);
+
+		Composite name = new Composite();
+		HColumn<Composite, Object> hColumn = mock(HColumn.class);
+		when(hColumn.getName()).thenReturn(name);
+		ThriftSliceIterator<Object, Object> columnsIterator = mock(ThriftSliceIterator.class);
+		when(columnsIterator.hasNext()).thenReturn(false);
+		when(columnsIterator.next()).thenReturn(hColumn);
+		when(executorImpl.getColumnsIterator(query, context)).thenReturn(columnsIterator);
+		when(transformer.buildEmbeddedIdFromComponents(context, name.getComponents())).thenReturn(embeddedKey);
+
+		Iterator<Object> ids = executor.iteratorOfIds(query);
+
+		assertThat(ids.next()).isSameAs(embeddedKey);
+		assertThat(ids.hasNext()).isFalse();
+		verify(hColumn, never()).getValue();
+	}
+
 	@Test
 	public void should_remove_entire_row() throws Exception {
 		when(context.isValueless()).thenReturn(true);
@@ -195,10 +195,11 @@ public class ThriftPersisterImplTest {
 		when(compositeFactory.createCompositeForClusteringComponents(context)).thenReturn(comp);
 		wideRowDaosMap.put("cf", wideRowDao);
 		when(compositeFactory.buildRowKey(context)).thenReturn(partitionKey);
+		when(flushContext.getWideRowMutator("cf")).thenReturn(wideRowMutator);
 
 		persisterImpl.persistClusteredEntity(context, clusteredValue);
 
-		verify(wideRowDao).incrementCounter(partitionKey, comp, 10L);
+		verify(wideRowDao).incrementCounterBatch(partitionKey, comp, 10L, wideRowMutator);
 	}
 
 	@Test
@@ -286,9 +287,11 @@ public class ThriftPersisterImplTest {
 		when(compositeFactory.createRowKeyForCounter("fqcn", entity.getId(), idMeta)).thenReturn(rowKey);
 		when(compositeFactory.createBaseForCounterGet(propertyMeta)).thenReturn(name);
 
+		when(flushContext.getCounterMutator()).thenReturn(counterMutator);
+
 		persisterImpl.persistCounter(context, propertyMeta);
 
-		verify(counterDao).incrementCounter(rowKey, name, 10L);
+		verify(counterDao).incrementCounterBatch(rowKey, name, 10L, counterMutator);
 
 	}
 
@@ -17,7 +17,9 @@
 
 package info.archinnov.achilles.junit;
 
+import static info.archinnov.achilles.embedded.AchillesEmbeddedServer.CASSANDRA_TEST_KEYSPACE_NAME;
 import static org.fest.assertions.api.Assertions.*;
+import info.archinnov.achilles.embedded.ThriftEmbeddedServer;
 import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
 import info.archinnov.achilles.entity.manager.ThriftPersistenceManagerFactory;
 import info.archinnov.achilles.test.integration.entity.User;
@@ -53,4 +55,21 @@ public class AchillesThriftResourceBuilderTest {
 		assertThat(resource.getPersistenceManagerFactory()).isSameAs(pmf);
 		assertThat(resource.getPersistenceManager()).isSameAs(manager);
 	}
+
+	@Test
+	public void should_delete_written_keys_only() throws Throwable {
+		AchillesThriftResource resource = AchillesThriftResourceBuilder
+				.withEntityPackages("info.archinnov.achilles.test.integration.entity").tablesToTruncate("User")
+				.truncateAfterTest().deleteWrittenKeysOnly().build();
+
+		resource.before();
+		Long id = RandomUtils.nextLong();
+		manager.persist(new User(id, "fn", "ln"));
+
+		resource.after();
+
+		assertThat(manager.find(User.class, id)).isNull();
+		assertThat(new ThriftEmbeddedServer(true, "info.archinnov.achilles.test.integration.entity",
+				CASSANDRA_TEST_KEYSPACE_NAME).hasData("User")).isFalse();
+	}
 }
@@ -36,8 +36,6 @@ import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -104,6 +102,17 @@ public class ThriftEntityInterceptorBuilderTest {
 		eagerMethods.add(nameGetter);
 		eagerMethods.add(ageGetter);
 
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age").accessors()
+				.build();
+		ageMeta.setOrdinal(0);
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.accessors().build();
+		nameMeta.setOrdinal(1);
+
+		when(getterMetas.get(ageGetter)).thenReturn(ageMeta);
+		when(getterMetas.get(nameGetter)).thenReturn(nameMeta);
+		when(entityMeta.getMetaByOrdinal(0)).thenReturn(ageMeta);
+		when(entityMeta.getMetaByOrdinal(1)).thenReturn(nameMeta);
 		when(entityMeta.getGetterMetas()).thenReturn(getterMetas);
 		when(entityMeta.getSetterMetas()).thenReturn(setterMetas);
 		when(entityMeta.getEagerGetters()).thenReturn(eagerMethods);
@@ -122,10 +131,10 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
 		assertThat(interceptor.getTarget()).isEqualTo(entity);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
-		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(HashSet.class);
+		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(LoadedGetters.class);
 		assertThat(interceptor.getAlreadyLoaded()).containsOnly(nameGetter, ageGetter);
 
 		assertThat(context.isClusteredEntity()).isFalse();
@@ -155,7 +164,7 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
 		assertThat(interceptor.getTarget()).isEqualTo(entity);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
 		assertThat(interceptor.getAlreadyLoaded()).isEmpty();
@@ -192,10 +201,10 @@ public class ThriftEntityInterceptorBuilderTest {
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(embeddedKey);
 		assertThat(interceptor.getTarget()).isEqualTo(bean);
 		assertThat(interceptor.getDirtyMap()).isNotNull();
-		assertThat(interceptor.getDirtyMap()).isInstanceOf(HashMap.class);
+		assertThat(interceptor.getDirtyMap()).isInstanceOf(DirtyMap.class);
 
 		assertThat(interceptor.getAlreadyLoaded()).isNotNull();
-		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(HashSet.class);
+		assertThat(interceptor.getAlreadyLoaded()).isInstanceOf(LoadedGetters.class);
 
 		assertThat(context.isClusteredEntity()).isTrue();
 
@@ -0,0 +1,150 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.LAZY_SET;
+import static info.archinnov.achilles.serializer.ThriftSerializerUtils.STRING_SRZ;
+import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.composite.ThriftCompositeFactory;
+import info.archinnov.achilles.context.ThriftPersistenceContext;
+import info.archinnov.achilles.context.execution.SafeExecutionContext;
+import info.archinnov.achilles.dao.ThriftGenericEntityDao;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Arrays;
+import java.util.List;
+
+import me.prettyprint.hector.api.beans.Composite;
+import me.prettyprint.hector.api.mutation.Mutator;
+
+import org.apache.cassandra.utils.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Optional;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ThriftPagedColumnsTest {
+
+	private ThriftPagedColumns columns;
+
+	private Long key = 10L;
+
+	@Mock
+	private ThriftPersistenceContext context;
+
+	@Mock
+	private ThriftGenericEntityDao entityDao;
+
+	@Mock
+	private Mutator<Object> mutator;
+
+	@Captor
+	private ArgumentCaptor<SafeExecutionContext<String>> stringExecCaptor;
+
+	@Captor
+	private ArgumentCaptor<SafeExecutionContext<List<Pair<Composite, String>>>> columnsExecCaptor;
+
+	@Captor
+	private ArgumentCaptor<Composite> compositeCaptor;
+
+	private PropertyMeta propertyMeta;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() throws Exception {
+		propertyMeta = PropertyMetaTestBuilder.valueClass(String.class).field("tags").type(LAZY_SET).build();
+		columns = new ThriftPagedColumns(context, propertyMeta);
+		columns.setKey(key);
+		columns.setEntityDao(entityDao);
+		columns.setConsistencyLevel(LOCAL_QUORUM);
+
+		when((Class<CompleteBean>) context.getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getTableName()).thenReturn("table");
+		when(context.getEntityMutator("table")).thenReturn(mutator);
+		when(context.getTtt()).thenReturn(Optional.<Integer> absent());
+		when(context.getTimestamp()).thenReturn(Optional.<Long> absent());
+	}
+
+	@Test
+	public void should_get_single_column_with_read_level() throws Exception {
+		when(context.executeWithReadConsistencyLevel(stringExecCaptor.capture(), eq(LOCAL_QUORUM))).thenReturn("");
+
+		assertThat(columns.getValue("tag")).isEqualTo("");
+
+		stringExecCaptor.getValue().execute();
+		verify(entityDao).getValue(eq(key), compositeCaptor.capture());
+		Composite name = compositeCaptor.getValue();
+		assertThat(name.get(1, STRING_SRZ)).isEqualTo("tags");
+		assertThat(name.get(2, STRING_SRZ)).isEqualTo("tag");
+	}
+
+	@Test
+	public void should_insert_single_column_and_flush() throws Exception {
+		columns.insert("tag", "");
+
+		verify(entityDao).insertColumnBatch(eq(key), compositeCaptor.capture(), eq(""),
+				eq(Optional.<Integer> absent()), eq(Optional.<Long> absent()), eq(mutator));
+		assertThat(compositeCaptor.getValue().get(2, STRING_SRZ)).isEqualTo("tag");
+		verify(context).flush();
+	}
+
+	@Test
+	public void should_remove_single_column_and_flush() throws Exception {
+		columns.remove("tag");
+
+		verify(entityDao).removeColumnBatch(eq(key), compositeCaptor.capture(), eq(mutator));
+		assertThat(compositeCaptor.getValue().get(2, STRING_SRZ)).isEqualTo("tag");
+		verify(context).flush();
+	}
+
+	@Test
+	public void should_format_list_position() throws Exception {
+		assertThat(columns.listPosition(12)).isEqualTo("000012");
+	}
+
+	@Test
+	public void should_find_last_list_position_with_reversed_slice() throws Exception {
+		Composite lastName = new ThriftCompositeFactory().createForBatchInsertSetOrMap(propertyMeta, "000007");
+		List<Pair<Composite, String>> lastColumn = Arrays.asList(Pair.create(lastName, "tag"));
+		when(context.executeWithReadConsistencyLevel(columnsExecCaptor.capture(), eq(LOCAL_QUORUM))).thenReturn(
+				lastColumn);
+
+		assertThat(columns.lastListPosition()).isEqualTo(7);
+
+		columnsExecCaptor.getValue().execute();
+		verify(entityDao).findColumnsRange(eq(key), any(Composite.class), any(Composite.class), eq(true), eq(1));
+	}
+
+	@Test
+	public void should_return_minus_one_as_last_position_of_empty_list() throws Exception {
+		when(context.executeWithReadConsistencyLevel(columnsExecCaptor.capture(), eq(LOCAL_QUORUM))).thenReturn(
+				Arrays.<Pair<Composite, String>> asList());
+
+		assertThat(columns.lastListPosition()).isEqualTo(-1);
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.LAZY_LIST;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ThriftPagedListWrapperTest {
+
+	@Mock
+	private ThriftPagedColumns columns;
+
+	private ThriftPagedListWrapper<String> wrapper;
+
+	@Before
+	public void setUp() throws Exception {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.valueClass(String.class).field("followers")
+				.type(LAZY_LIST).build();
+		when(columns.getPropertyMeta()).thenReturn(propertyMeta);
+		for (int position = 0; position < 6; position++) {
+			when(columns.listPosition(position)).thenReturn(String.format("%06d", position));
+		}
+		wrapper = new ThriftPagedListWrapper<String>(columns);
+	}
+
+	@Test
+	public void should_append_after_last_position_read_once() throws Exception {
+		when(columns.lastListPosition()).thenReturn(2);
+
+		wrapper.add("john");
+		wrapper.add("helen");
+
+		verify(columns).insert("000003", "john");
+		verify(columns).insert("000004", "helen");
+		verify(columns, times(1)).lastListPosition();
+		verify(columns, never()).count();
+	}
+
+	@Test
+	public void should_append_to_empty_list_at_first_position() throws Exception {
+		when(columns.lastListPosition()).thenReturn(-1);
+
+		wrapper.add("john");
+
+		verify(columns).insert("000000", "john");
+	}
+
+	@Test
+	public void should_read_last_position_again_after_clear() throws Exception {
+		when(columns.lastListPosition()).thenReturn(4, -1);
+
+		wrapper.add("john");
+		wrapper.clear();
+		wrapper.add("helen");
+
+		verify(columns).insert("000005", "john");
+		verify(columns).removeAll();
+		verify(columns).insert("000000", "helen");
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.proxy.wrapper;
+
+import static info.archinnov.achilles.entity.metadata.PropertyType.LAZY_MAP;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import info.archinnov.achilles.entity.metadata.PropertyMeta;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.cassandra.utils.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ThriftPagedMapWrapperTest {
+
+	@Mock
+	private ThriftPagedColumns columns;
+
+	private ThriftPagedMapWrapper<Integer, String> wrapper;
+
+	@Before
+	public void setUp() throws Exception {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.keyValueClass(Integer.class, String.class)
+				.field("preferences").type(LAZY_MAP).build();
+		when(columns.getPropertyMeta()).thenReturn(propertyMeta);
+		wrapper = new ThriftPagedMapWrapper<Integer, String>(columns);
+	}
+
+	@Test
+	public void should_get_single_column() throws Exception {
+		when(columns.getValue("1")).thenReturn("one");
+
+		assertThat(wrapper.get(1)).isEqualTo("one");
+		assertThat(wrapper.get(2)).isNull();
+		verify(columns, never()).iterator();
+	}
+
+	@Test
+	public void should_put_and_return_previous_value() throws Exception {
+		when(columns.getValue("1")).thenReturn("one");
+
+		assertThat(wrapper.put(1, "uno")).isEqualTo("one");
+		verify(columns).insert("1", "uno");
+	}
+
+	@Test
+	public void should_put_all_without_reading_previous_values() throws Exception {
+		Map<Integer, String> entries = new LinkedHashMap<Integer, String>();
+		entries.put(1, "one");
+		entries.put(2, "two");
+
+		wrapper.putAll(entries);
+
+		verify(columns).insert("1", "one");
+		verify(columns).insert("2", "two");
+		verify(columns, never()).getValue(anyString());
+	}
+
+	@Test
+	public void should_not_remove_absent_key() throws Exception {
+		assertThat(wrapper.remove(1)).isNull();
+		verify(columns, never()).remove(anyString());
+	}
+
+	@Test
+	public void should_remove_present_key() throws Exception {
+		when(columns.getValue("1")).thenReturn("one");
+
+		assertThat(wrapper.remove(1)).isEqualTo("one");
+		verify(columns).remove("1");
+	}
+
+	@Test
+	public void should_iterate_over_columns() throws Exception {
+		Iterator<Pair<String, String>> iterator = Arrays.asList(Pair.create("1", "one"), Pair.create("2", "two"))
+				.iterator();
+		when(columns.iterator()).thenReturn(iterator);
+
+		Iterator<Entry<Integer, String>> entries = wrapper.entrySet().iterator();
+		Entry<Integer, String> first = entries.next();
+		Entry<Integer, String> second = entries.next();
+
+		assertThat(first.getKey()).isEqualTo(1);
+		assertThat(first.getValue()).isEqualTo("one");
+		assertThat(second.getKey()).isEqualTo(2);
+		assertThat(second.getValue()).isEqualTo("two");
+		assertThat(entries.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_count_and_clear_through_columns() throws Exception {
+		when(columns.count()).thenReturn(12);
+
+		assertThat(wrapper.size()).isEqualTo(12);
+		wrapper.clear();
+		verify(columns).removeAll();
+	}
+}
@@ -128,6 +128,18 @@ public class AchillesInternalThriftResource extends AchillesTestResource {
 		return policy;
 	}
 
+	/**
+	 * Delete only the entities written through the PersistenceManager instead
+	 * of truncating the tables. Tables still holding data after the deletion
+	 * are truncated
+	 * 
+	 * @return this resource
+	 */
+	public AchillesInternalThriftResource deleteWrittenKeysOnly() {
+		deleteWrittenKeysOnly(pmf, manager);
+		return this;
+	}
+
 	@Override
 	protected void truncateTables() {
 		if (tables != null) {
@@ -137,6 +149,11 @@ public class AchillesInternalThriftResource extends AchillesTestResource {
 		}
 	}
 
+	@Override
+	protected boolean hasData(String table) {
+		return server.hasData(table);
+	}
+
 	public <K> ThriftGenericEntityDao getEntityDao(String columnFamily, Class<K> keyClass) {
 		return new ThriftGenericEntityDao(cluster, keyspace, columnFamily, policy, Pair.create(keyClass, String.class));
 	}
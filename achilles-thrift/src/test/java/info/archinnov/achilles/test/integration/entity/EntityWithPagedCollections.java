@@ -0,0 +1,99 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.entity;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithPagedCollections.TABLE_NAME;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.annotations.Paged;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Entity(table = TABLE_NAME)
+public class EntityWithPagedCollections {
+
+	public static final String TABLE_NAME = "entity_with_paged_collections";
+
+	@Id
+	private Long id;
+
+	@Column
+	private String name;
+
+	@Column
+	@Paged(pageSize = 3)
+	private List<String> followers;
+
+	@Column
+	@Paged(pageSize = 3)
+	private Set<String> tags;
+
+	@Column
+	@Paged(pageSize = 3)
+	private Map<Integer, String> preferences;
+
+	public EntityWithPagedCollections() {
+	}
+
+	public EntityWithPagedCollections(Long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public List<String> getFollowers() {
+		return followers;
+	}
+
+	public void setFollowers(List<String> followers) {
+		this.followers = followers;
+	}
+
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(Set<String> tags) {
+		this.tags = tags;
+	}
+
+	public Map<Integer, String> getPreferences() {
+		return preferences;
+	}
+
+	public void setPreferences(Map<Integer, String> preferences) {
+		this.preferences = preferences;
+	}
+}
@@ -28,6 +28,7 @@ import info.archinnov.achilles.dao.ThriftAbstractDao;
 import info.archinnov.achilles.dao.ThriftCounterDao;
 import info.archinnov.achilles.dao.ThriftGenericEntityDao;
 import info.archinnov.achilles.embedded.ThriftEmbeddedServer;
+import info.archinnov.achilles.entity.manager.BatchingSupport;
 import info.archinnov.achilles.entity.manager.ThriftBatchingPersistenceManager;
 import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
 import info.archinnov.achilles.entity.manager.ThriftPersistenceManagerFactory;
@@ -271,7 +272,8 @@ public class BatchModeIT {
 	}
 
 	private void assertThatBatchContextHasBeenReset(ThriftBatchingPersistenceManager batchEm) {
-		ThriftBatchingFlushContext flushContext = Whitebox.getInternalState(batchEm, "flushContext");
+		BatchingSupport<ThriftBatchingFlushContext> batching = Whitebox.getInternalState(batchEm, "batching");
+		ThriftBatchingFlushContext flushContext = batching.getFlushContext();
 		Map<String, Pair<Mutator<?>, ThriftAbstractDao>> mutatorMap = Whitebox.getInternalState(flushContext,
 				"mutatorMap");
 		boolean hasCustomConsistencyLevels = (Boolean) Whitebox.getInternalState(flushContext,
@@ -26,11 +26,13 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.dao.ThriftGenericWideRowDao;
 import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
 import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.query.slice.SlicePage;
 import info.archinnov.achilles.test.integration.AchillesInternalThriftResource;
 import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
 import info.archinnov.achilles.test.integration.entity.ClusteredEntity.ClusteredKey;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -50,7 +52,8 @@ public class ClusteredEntityIT {
 	public ExpectedException exception = ExpectedException.none();
 
 	@Rule
-	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME);
+	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME)
+			.deleteWrittenKeysOnly();
 
 	private ThriftPersistenceManager manager = resource.getPersistenceManager();
 
@@ -648,6 +651,97 @@ public class ClusteredEntityIT {
 
 	}
 
+	@Test
+	public void should_query_several_partitions_in_clustering_order() throws Exception {
+		long partitionKey1 = RandomUtils.nextLong();
+		long partitionKey2 = RandomUtils.nextLong();
+		insertClusteredEntity(partitionKey1, 1, "name1", "value11");
+		insertClusteredEntity(partitionKey2, 2, "name1", "value21");
+		insertClusteredEntity(partitionKey1, 3, "name1", "value13");
+		insertClusteredEntity(partitionKey2, 3, "name2", "value23");
+
+		List<ClusteredEntity> entities = manager.sliceQuery(ClusteredEntity.class)
+				.partitionKeys(Arrays.asList(partitionKey1, partitionKey2)).limit(3).get();
+
+		assertThat(entities).hasSize(3);
+		assertThat(entities.get(0).getValue()).isEqualTo("value11");
+		assertThat(entities.get(1).getValue()).isEqualTo("value21");
+		assertThat(entities.get(2).getValue()).isEqualTo("value13");
+
+		Iterator<ClusteredEntity> iter = manager.sliceQuery(ClusteredEntity.class)
+				.partitionKeys(Arrays.asList(partitionKey1, partitionKey2)).ordering(DESCENDING).iterator(1);
+
+		assertThat(iter.next().getValue()).isEqualTo("value23");
+		assertThat(iter.next().getValue()).isEqualTo("value13");
+		assertThat(iter.next().getValue()).isEqualTo("value21");
+		assertThat(iter.next().getValue()).isEqualTo("value11");
+		assertThat(iter.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_count_and_get_ids_only() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 5; i++) {
+			insertClusteredEntity(partitionKey, i, "name" + i, "value" + i);
+		}
+
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).count()).isEqualTo(5L);
+		assertThat(manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).limit(3).count()).isEqualTo(3L);
+		assertThat(
+				manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+						.toClusterings(2).ordering(DESCENDING).count()).isEqualTo(3L);
+
+		List<ClusteredKey> ids = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).limit(2)
+				.keysOnly();
+		assertThat(ids).containsExactly(new ClusteredKey(partitionKey, 1, "name1"),
+				new ClusteredKey(partitionKey, 2, "name2"));
+
+		Iterator<ClusteredKey> iter = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.iteratorOfIds(2);
+		int count = 0;
+		while (iter.hasNext()) {
+			count++;
+			assertThat(iter.next()).isEqualTo(new ClusteredKey(partitionKey, count, "name" + count));
+		}
+		assertThat(count).isEqualTo(5);
+	}
+
+	@Test
+	public void should_page_with_cursor() throws Exception {
+		long partitionKey = RandomUtils.nextLong();
+		for (int i = 1; i <= 5; i++) {
+			insertClusteredEntity(partitionKey, i, "name" + i, "value" + i);
+		}
+
+		SlicePage<ClusteredEntity> page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value2");
+		assertThat(page.hasNextPage()).isTrue();
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(2);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value3");
+		assertThat(page.getEntities().get(1).getValue()).isEqualTo("value4");
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey)
+				.afterCursor(page.getNextCursor()).getPage(2);
+		assertThat(page.getEntities()).hasSize(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value5");
+		assertThat(page.hasNextPage()).isFalse();
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+				.toClusterings(1).ordering(DESCENDING).bounding(EXCLUSIVE_BOUNDS).getPage(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value3");
+
+		page = manager.sliceQuery(ClusteredEntity.class).partitionKey(partitionKey).fromClusterings(4)
+				.toClusterings(1).ordering(DESCENDING).bounding(EXCLUSIVE_BOUNDS)
+				.afterCursor(page.getNextCursor()).getPage(1);
+		assertThat(page.getEntities().get(0).getValue()).isEqualTo("value2");
+		assertThat(page.hasNextPage()).isFalse();
+	}
+
 	private String insertValues(long partitionKey, int count) {
 		String namePrefix = "name";
 		String clusteredValuePrefix = "value";
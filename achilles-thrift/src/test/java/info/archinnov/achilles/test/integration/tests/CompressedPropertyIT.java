@@ -0,0 +1,84 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.serializer.ThriftSerializerUtils.STRING_SRZ;
+import static info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.dao.ThriftGenericEntityDao;
+import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalThriftResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithCompressedProperty;
+
+import java.util.List;
+
+import me.prettyprint.hector.api.beans.Composite;
+
+import org.apache.cassandra.utils.Pair;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CompressedPropertyIT {
+
+	@Rule
+	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME)
+			.deleteWrittenKeysOnly();
+
+	private ThriftPersistenceManager manager = resource.getPersistenceManager();
+
+	private ThriftGenericEntityDao dao = resource.getEntityDao(TABLE_NAME, Long.class);
+
+	@Test
+	public void should_persist_and_find_compressed_property() throws Exception {
+		Long id = RandomUtils.nextLong();
+		String content = StringUtils.repeat("{\"name\":\"DuyHai\",\"age\":35},", 200);
+		manager.persist(new EntityWithCompressedProperty(id, content, "summary"));
+
+		EntityWithCompressedProperty found = manager.find(EntityWithCompressedProperty.class, id);
+
+		assertThat(found.getContent()).isEqualTo(content);
+		assertThat(found.getSummary()).isEqualTo("summary");
+
+		List<Pair<Composite, String>> columns = dao.findColumnsRange(id, null, null, false, 20);
+		assertThat(columns).isNotEmpty();
+		for (Pair<Composite, String> column : columns) {
+			String propertyName = column.left.get(1, STRING_SRZ);
+			if ("content".equals(propertyName)) {
+				assertThat(column.right.charAt(0)).isEqualTo('\u0001');
+				assertThat(column.right.length()).isLessThan(content.length() / 5);
+			} else if ("summary".equals(propertyName)) {
+				assertThat(column.right).isEqualTo("summary");
+			}
+		}
+	}
+
+	@Test
+	public void should_update_compressed_property() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithCompressedProperty entity = manager.merge(new EntityWithCompressedProperty(id, "content",
+				"summary"));
+
+		String content = StringUtils.repeat("new content ", 100);
+		entity.setContent(content);
+		manager.merge(entity);
+
+		assertThat(manager.find(EntityWithCompressedProperty.class, id).getContent()).isEqualTo(content);
+	}
+}
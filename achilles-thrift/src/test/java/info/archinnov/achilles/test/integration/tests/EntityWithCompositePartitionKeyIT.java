@@ -29,7 +29,8 @@ import com.google.common.base.Optional;
 public class EntityWithCompositePartitionKeyIT {
 
 	@Rule
-	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME);
+	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME)
+			.deleteWrittenKeysOnly();
 
 	private ThriftPersistenceManager manager = resource.getPersistenceManager();
 
@@ -0,0 +1,203 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.test.integration.entity.EntityWithPagedCollections.TABLE_NAME;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.ThriftBatchingPersistenceManager;
+import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.test.integration.AchillesInternalThriftResource;
+import info.archinnov.achilles.test.integration.entity.EntityWithPagedCollections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PagedCollectionIT {
+
+	@Rule
+	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.AFTER_TEST, TABLE_NAME);
+
+	private ThriftPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_read_paged_map_by_key_and_by_pages() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = new EntityWithPagedCollections(id, "name");
+		Map<Integer, String> preferences = new HashMap<Integer, String>();
+		for (int i = 0; i < 10; i++) {
+			preferences.put(i, "value" + i);
+		}
+		entity.setPreferences(preferences);
+		manager.persist(entity);
+
+		EntityWithPagedCollections found = manager.find(EntityWithPagedCollections.class, id);
+
+		Map<Integer, String> pagedPreferences = found.getPreferences();
+		assertThat(pagedPreferences.get(5)).isEqualTo("value5");
+		assertThat(pagedPreferences.get(12)).isNull();
+		assertThat(pagedPreferences.containsKey(9)).isTrue();
+		assertThat(pagedPreferences.size()).isEqualTo(10);
+
+		Map<Integer, String> iterated = new HashMap<Integer, String>();
+		for (Entry<Integer, String> entry : pagedPreferences.entrySet()) {
+			iterated.put(entry.getKey(), entry.getValue());
+		}
+		assertThat(iterated).isEqualTo(preferences);
+	}
+
+	@Test
+	public void should_write_paged_map_element_by_element() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = manager.merge(new EntityWithPagedCollections(id, "name"));
+
+		Map<Integer, String> pagedPreferences = entity.getPreferences();
+		assertThat(pagedPreferences.isEmpty()).isTrue();
+		assertThat(pagedPreferences.put(1, "one")).isNull();
+		assertThat(pagedPreferences.put(1, "uno")).isEqualTo("one");
+		pagedPreferences.put(2, "two");
+		pagedPreferences.put(3, "three");
+		assertThat(pagedPreferences.remove(2)).isEqualTo("two");
+
+		Iterator<Entry<Integer, String>> iterator = pagedPreferences.entrySet().iterator();
+		assertThat(iterator.next().getKey()).isEqualTo(1);
+		iterator.remove();
+
+		Map<Integer, String> found = manager.find(EntityWithPagedCollections.class, id).getPreferences();
+		assertThat(found.size()).isEqualTo(1);
+		assertThat(found.get(3)).isEqualTo("three");
+
+		found.clear();
+		assertThat(manager.find(EntityWithPagedCollections.class, id).getPreferences().isEmpty()).isTrue();
+	}
+
+	@Test
+	public void should_read_and_write_paged_set() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = new EntityWithPagedCollections(id, "name");
+		Set<String> tags = new HashSet<String>();
+		for (int i = 0; i < 7; i++) {
+			tags.add("tag" + i);
+		}
+		entity.setTags(tags);
+		entity = manager.merge(entity);
+
+		Set<String> pagedTags = manager.find(EntityWithPagedCollections.class, id).getTags();
+		assertThat(pagedTags.contains("tag3")).isTrue();
+		assertThat(pagedTags.contains("tag9")).isFalse();
+		assertThat(new HashSet<String>(pagedTags)).isEqualTo(tags);
+
+		assertThat(pagedTags.add("tag3")).isFalse();
+		assertThat(pagedTags.add("tag9")).isTrue();
+		assertThat(pagedTags.remove("tag0")).isTrue();
+
+		Set<String> found = manager.find(EntityWithPagedCollections.class, id).getTags();
+		assertThat(found.size()).isEqualTo(7);
+		assertThat(found).contains("tag9").doesNotContain("tag0");
+	}
+
+	@Test
+	public void should_read_and_write_paged_list() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = new EntityWithPagedCollections(id, "name");
+		List<String> followers = new ArrayList<String>();
+		for (int i = 0; i < 8; i++) {
+			followers.add("follower" + i);
+		}
+		entity.setFollowers(followers);
+		manager.persist(entity);
+
+		List<String> pagedFollowers = manager.find(EntityWithPagedCollections.class, id).getFollowers();
+		assertThat(pagedFollowers.get(4)).isEqualTo("follower4");
+		assertThat(new ArrayList<String>(pagedFollowers)).isEqualTo(followers);
+
+		assertThat(pagedFollowers.set(4, "newFollower4")).isEqualTo("follower4");
+		pagedFollowers.add("follower8");
+
+		List<String> found = manager.find(EntityWithPagedCollections.class, id).getFollowers();
+		assertThat(found.size()).isEqualTo(9);
+		assertThat(found.get(4)).isEqualTo("newFollower4");
+		assertThat(found.get(8)).isEqualTo("follower8");
+	}
+
+	@Test
+	public void should_replace_paged_collection_with_setter() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = new EntityWithPagedCollections(id, "name");
+		Set<String> tags = new HashSet<String>();
+		tags.add("old");
+		entity.setTags(tags);
+		entity = manager.merge(entity);
+
+		Set<String> newTags = new HashSet<String>();
+		newTags.add("new1");
+		newTags.add("new2");
+		entity.setTags(newTags);
+		assertThat(entity.getTags()).containsOnly("new1", "new2");
+		manager.merge(entity);
+
+		assertThat(manager.find(EntityWithPagedCollections.class, id).getTags()).containsOnly("new1", "new2");
+	}
+
+	@Test
+	public void should_defer_paged_writes_in_batch_mode() throws Exception {
+		Long id = RandomUtils.nextLong();
+		manager.persist(new EntityWithPagedCollections(id, "name"));
+
+		ThriftBatchingPersistenceManager batchManager = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchManager.startBatch();
+		EntityWithPagedCollections entity = batchManager.find(EntityWithPagedCollections.class, id);
+		entity.getPreferences().put(1, "one");
+
+		assertThat(manager.find(EntityWithPagedCollections.class, id).getPreferences().isEmpty()).isTrue();
+
+		batchManager.endBatch();
+
+		assertThat(manager.find(EntityWithPagedCollections.class, id).getPreferences().get(1)).isEqualTo("one");
+	}
+
+	@Test
+	public void should_append_twice_to_paged_list_in_batch_mode() throws Exception {
+		Long id = RandomUtils.nextLong();
+		EntityWithPagedCollections entity = new EntityWithPagedCollections(id, "name");
+		entity.setFollowers(new ArrayList<String>(Arrays.asList("follower0", "follower1")));
+		manager.persist(entity);
+
+		ThriftBatchingPersistenceManager batchManager = resource.getPersistenceManagerFactory()
+				.createBatchingPersistenceManager();
+		batchManager.startBatch();
+		EntityWithPagedCollections found = batchManager.find(EntityWithPagedCollections.class, id);
+		found.getFollowers().add("follower2");
+		found.getFollowers().add("follower3");
+		batchManager.endBatch();
+
+		assertThat(new ArrayList<String>(manager.find(EntityWithPagedCollections.class, id).getFollowers()))
+				.containsExactly("follower0", "follower1", "follower2", "follower3");
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ *
+ * Copyright (C) 2012-2013 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.entity.manager.ThriftPersistenceManager;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.junit.AchillesTestResource.Steps;
+import info.archinnov.achilles.query.scan.ScanConsumer;
+import info.archinnov.achilles.test.integration.AchillesInternalThriftResource;
+import info.archinnov.achilles.test.integration.entity.ClusteredEntity;
+import info.archinnov.achilles.test.integration.entity.CompleteBean;
+import info.archinnov.achilles.test.integration.entity.CompleteBeanTestBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ScanIT {
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public AchillesInternalThriftResource resource = new AchillesInternalThriftResource(Steps.BOTH, "CompleteBean");
+
+	private ThriftPersistenceManager manager = resource.getPersistenceManager();
+
+	@Test
+	public void should_scan_all_entities_of_column_family() throws Exception {
+		Map<Long, String> expected = new HashMap<Long, String>();
+		for (int i = 0; i < 20; i++) {
+			CompleteBean bean = CompleteBeanTestBuilder.builder().randomId().name("name" + i).buid();
+			manager.persist(bean);
+			expected.put(bean.getId(), bean.getName());
+		}
+
+		final Map<Long, String> scanned = new ConcurrentHashMap<Long, String>();
+		manager.scan(CompleteBean.class).parallelism(2).pageSize(3).forEach(new ScanConsumer<CompleteBean>() {
+			@Override
+			public void accept(CompleteBean entity) {
+				scanned.put(entity.getId(), entity.getName());
+			}
+		});
+
+		assertThat(scanned).isEqualTo(expected);
+	}
+
+	@Test
+	public void should_exception_when_scanning_clustered_entity() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot scan clustered entity type '" + ClusteredEntity.class.getCanonicalName()
+				+ "'. Please use slice queries on each partition instead");
+
+		manager.scan(ClusteredEntity.class);
+	}
+}